@@ -1,6 +1,11 @@
 import banco.*;
 import exceptions.*;
 import interfaces.IConta;
+import monitoramento.MetricasOperacoes;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -15,14 +20,85 @@ import java.util.List;
 public class Main {
     
     private static final Scanner scanner = new Scanner(System.in);
-    private static final Banco banco = new Banco("YLLOCIN Bank");
+    private static final Banco banco = criarBanco();
+    private static final AgendadorMensal agendador = new AgendadorMensal(banco);
+    private static final CompactadorHistorico compactador = new CompactadorHistorico(
+        Path.of("historico-arquivado"), Duration.ofDays(365), 1000);
+    // Saques e transferências acima do padrão são recusados antes de mexer no saldo
+    private static final DetectorVelocidade detector = new DetectorVelocidade(
+        new DetectorVelocidade.Limites()
+            .quantidade(DetectorVelocidade.Janela.MINUTO, 10)
+            .quantidade(DetectorVelocidade.Janela.HORA, 60)
+            .valor(DetectorVelocidade.Janela.DIA, new BigDecimal("50000")),
+        new DetectorVelocidade.Limites()
+            .quantidade(DetectorVelocidade.Janela.MINUTO, 20)
+            .valor(DetectorVelocidade.Janela.DIA, new BigDecimal("100000")),
+        true);
+    // -Dyllocin.replicacao.porta=P liga o envio do diário para réplicas (java banco.ReplicaBanco P)
+    private static ReplicadorPrimario replicador;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     
+    // -Dyllocin.particoes=N (N > 1) liga o modo particionado
+    private static Banco criarBanco() {
+        int particoes = Integer.getInteger("yllocin.particoes", 1);
+        return particoes > 1
+            ? new BancoParticionado("YLLOCIN Bank", particoes)
+            : new Banco("YLLOCIN Bank");
+    }
+
     public static void main(String[] args) {
+        MetricasOperacoes.habilitar();
+        MetricasOperacoes.registrarJmx();
+        carregarTarifas();
+        agendador.iniciar();
+        assinarArquivoEventos();
+        Conta.adicionarFiltro(detector);
+        iniciarReplicacao();
+
         exibirBoasVindas();
         menuPrincipal();
     }
     
+    // Grava os eventos do banco em arquivo local (segue funcionando sem ele).
+    // O disco não segura as contas: se atrasar uma volta do anel, o arquivo perde eventos
+    private static void assinarArquivoEventos() {
+        try {
+            banco.assinarEventos("arquivo", new ArquivoEventos(Path.of("eventos-banco.log")),
+                BarramentoEventos.Politica.DESCARTAR);
+        } catch (IOException e) {
+            exibirErro("Arquivo de eventos indisponível: " + e.getMessage());
+        }
+    }
+
+    // -Dyllocin.tarifas=arquivo (padrão tarifas.txt); sem o arquivo valem as tarifas padrão.
+    // O agendador recarrega o arquivo quando ele muda
+    private static void carregarTarifas() {
+        Path arquivo = Path.of(System.getProperty("yllocin.tarifas", "tarifas.txt"));
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        try {
+            TabelaTarifas.carregarArquivo(arquivo);
+            System.out.println("💲 Tabela de tarifas carregada de " + arquivo);
+        } catch (IOException | IllegalArgumentException e) {
+            exibirErro("Tabela de tarifas ignorada, usando a padrão: " + e.getMessage());
+        }
+    }
+
+    private static void iniciarReplicacao() {
+        Integer porta = Integer.getInteger("yllocin.replicacao.porta");
+        if (porta == null) {
+            return;
+        }
+        try {
+            replicador = new ReplicadorPrimario(banco, porta, 65536);
+            replicador.iniciar();
+        } catch (IOException e) {
+            replicador = null;
+            exibirErro("Replicação indisponível: " + e.getMessage());
+        }
+    }
+
     private static void exibirBoasVindas() {
         System.out.println("╔═══════════════════════════════════════╗");
         System.out.println("║                                       ║");
@@ -281,10 +357,10 @@ public class Main {
             System.out.printf("💰 Saldo disponível: R$ %.2f%n", contaOrigemObj.getSaldo().doubleValue());
 
             int numeroDestino = lerInteiro("Número da conta DESTINO: ");
-            IConta contaDestino = banco.buscarContaPorNumero(numeroDestino);
+            banco.buscarContaPorNumero(numeroDestino);
             double valor = lerValorPositivo("Valor da transferência: R$ ");
 
-            contaOrigemObj.transferir(BigDecimal.valueOf(valor), contaDestino);
+            banco.transferir(contaOrigemObj.getNumero(), numeroDestino, BigDecimal.valueOf(valor));
 
             exibirSucesso("Transferência realizada com sucesso!");
             System.out.printf("💰 Novo saldo: R$ %.2f%n", contaOrigemObj.getSaldo().doubleValue());
@@ -433,7 +509,7 @@ public class Main {
             System.out.printf("👤 Titular: %s%n", conta.getCliente().getNome());
             System.out.printf("📄 CPF: %s%n", conta.getCliente().getCpf());
             System.out.printf("💰 Saldo: R$ %.2f%n", conta.getSaldo().doubleValue());
-            System.out.printf("📊 Transações: %d%n", conta.getHistorico().size());
+            System.out.printf("📊 Transações: %d%n", conta.getTotalTransacoes());
             System.out.println("════════════════════════");
 
         } catch (ContaInexistenteException e) {
@@ -478,7 +554,7 @@ public class Main {
                     System.out.printf("%d. 💳 %s%n", i + 1, conta.getTipoConta());
                     System.out.printf("   🔢 Número: %d%n", conta.getNumero());
                     System.out.printf("   💰 Saldo: R$ %.2f%n", conta.getSaldo().doubleValue());
-                    System.out.printf("   📊 Transações: %d%n", conta.getHistorico().size());
+                    System.out.printf("   📊 Transações: %d%n", conta.getTotalTransacoes());
                     System.out.println("   " + "─".repeat(30));
                 }
 
@@ -582,6 +658,18 @@ public class Main {
         // ✅ USA: getTotalContas()
         System.out.printf("💳 Total de Contas: %d%n", banco.getTotalContas());
 
+        System.out.println();
+        System.out.println("╔══════════════════════════════════════╗");
+        System.out.println("║           ⏱️ DESEMPENHO              ║");
+        System.out.println("╚══════════════════════════════════════╝");
+        System.out.print(MetricasOperacoes.getInstancia().getRelatorioTexto());
+        System.out.printf("📅 %s%n", agendador.getUltimoFechamento());
+        System.out.print(banco.getEventos().getRelatorioTexto());
+        System.out.printf("🚨 Operações suspeitas recusadas: %d%n", detector.getSinalizadas());
+        if (replicador != null) {
+            System.out.print(replicador.getRelatorioTexto());
+        }
+
         System.out.println();
         System.out.println("╔══════════════════════════════════════╗");
         System.out.println("║           🛠️ OPERAÇÕES               ║");
@@ -594,6 +682,15 @@ public class Main {
             System.out.println("❌ Backup cancelado.");
         }
 
+        if (perguntarSimNao("Deseja arquivar o histórico antigo das contas?")) {
+            try {
+                int arquivadas = banco.compactarHistorico(compactador);
+                exibirSucesso(String.format("%d transações arquivadas em %s", arquivadas, compactador.getDiretorio()));
+            } catch (IOException e) {
+                exibirErro("Falha ao arquivar histórico: " + e.getMessage());
+            }
+        }
+
         pausar();
     }
     
@@ -606,6 +703,7 @@ public class Main {
         System.out.println("2. 💳 Relatório Anual (Conta Corrente)");
         System.out.println("3. 🎯 Meta de Poupança");
         System.out.println("4. 🔍 Busca Avançada");
+        System.out.println("5. 🔮 Projeção da Carteira de Poupanças");
         System.out.println("0. Voltar ao menu principal");
         System.out.println("─".repeat(40));
         
@@ -615,6 +713,7 @@ public class Main {
             case 1 -> simulacaoRendimento();
             case 2 -> relatorioAnualContaCorrente();
             case 3 -> buscaAvancada();
+            case 5 -> projecaoCarteiraPoupancas();
             case 0 -> System.out.println("Voltando ao menu principal...");
             default -> exibirErro("Opção inválida!");
         }
@@ -656,6 +755,31 @@ public class Main {
         }
     }
     
+    private static void projecaoCarteiraPoupancas() {
+        exibirTitulo("PROJEÇÃO DA CARTEIRA DE POUPANÇAS");
+
+        ProjecaoRendimentos projecao = ProjecaoRendimentos.dasPoupancas(banco);
+        if (projecao.getQuantidadeContas() == 0) {
+            exibirAviso("Nenhuma conta poupança encontrada.");
+            return;
+        }
+
+        int meses = lerInteiro("Prazo da projeção (meses): ");
+        if (meses <= 0) {
+            exibirErro("Prazo deve ser positivo!");
+            return;
+        }
+
+        double[] totais = projecao.projetarTotaisPorMes(meses);
+        System.out.printf("🐷 Poupanças: %d%n", projecao.getQuantidadeContas());
+        System.out.printf("💰 Saldo atual da carteira: R$ %.2f%n", projecao.getTotalSaldos());
+        for (int mes = 12; mes < meses; mes += 12) {
+            System.out.printf("📅 %3d meses: R$ %.2f%n", mes, totais[mes]);
+        }
+        System.out.printf("💎 Em %d meses: R$ %.2f (rendimento: +R$ %.2f)%n",
+            meses, totais[meses], projecao.projetarRendimento(meses));
+    }
+    
     private static void relatorioAnualContaCorrente() {
         exibirTitulo("RELATÓRIO ANUAL - CONTA CORRENTE");
         
@@ -735,9 +859,10 @@ public class Main {
                 case 3 -> {
                     System.out.println("\n📊 Contas mais movimentadas:");
                     for (IConta conta : banco.getContas()) {
-                        if (conta.getHistorico().size() > 0) {
-                            System.out.printf("💳 Conta %d - %s transações%n", 
-                                conta.getNumero(), conta.getHistorico().size());
+                        long total = conta.getTotalTransacoes();
+                        if (total > 0) {
+                            System.out.printf("💳 Conta %d - %d transações%n", 
+                                conta.getNumero(), total);
                         }
                     }
                 }
@@ -931,6 +1056,12 @@ public class Main {
         System.out.println("║                                       ║");
         System.out.println("╚═══════════════════════════════════════╝");
         
+        agendador.parar();
+        if (replicador != null) {
+            replicador.parar();
+        }
+        // Entrega o que ainda estiver no barramento antes de sair
+        banco.getEventos().encerrar(2000);
         scanner.close();
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package banco;
+
+import java.math.BigDecimal;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumulador de créditos distribuído para contas de recebimento
+ * -----------------------------------------------------
+ * Depósitos somam centavos em células distribuídas (LongAdder), sem disputar
+ * o saldo da conta. A conta incorpora o total pendente ao saldo na leitura
+ * do histórico, antes de qualquer débito ou numa manutenção periódica.
+ */
+class AcumuladorCreditos {
+    private final LongAdder centavosRecebidos = new LongAdder();
+    private final Queue<Transacao> transacoesPendentes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Registra um crédito se o valor couber em centavos inteiros
+     *
+     * @return false se o valor tiver fração de centavo (o chamador usa o caminho normal)
+     */
+    boolean registrar(BigDecimal valor, Transacao transacao) {
+        BigDecimal centavos = valor.movePointRight(2);
+        if (centavos.signum() <= 0 || centavos.stripTrailingZeros().scale() > 0) {
+            return false;
+        }
+
+        // A transação entra antes do valor: quem incorporar o valor encontra o registro
+        transacoesPendentes.add(transacao);
+        centavosRecebidos.add(centavos.longValueExact());
+        return true;
+    }
+
+    // Soma monotônica de tudo o que já foi creditado
+    long getCentavosRecebidos() {
+        return centavosRecebidos.sum();
+    }
+
+    Queue<Transacao> getTransacoesPendentes() {
+        return transacoesPendentes;
+    }
+}
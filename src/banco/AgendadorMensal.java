@@ -0,0 +1,175 @@
+package banco;
+
+import interfaces.IConta;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Agendador do fechamento mensal do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Na virada do mês, percorre as contas cobrando a tarifa de manutenção e ao
+ * final gera o resumo do fechamento. O rendimento das poupanças não passa
+ * por aqui: é materializado pela própria conta no primeiro acesso do mês.
+ *
+ * - Recuperação: cada conta guarda o último mês cobrado, então meses
+ *   perdidos (sistema parado) são cobrados de uma vez, numa passada por conta
+ * - Fatias: as contas são processadas em blocos limitados por quantidade e
+ *   por tempo, com pausa entre eles, para não gerar pico de carga
+ *
+ * A mesma verificação periódica recarrega a tabela de tarifas quando o
+ * arquivo dela muda (TabelaTarifas.recarregarSeAlterado).
+ */
+public class AgendadorMensal {
+
+    private static final int CONTAS_POR_FATIA = 256;
+    private static final long ORCAMENTO_FATIA_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long PAUSA_ENTRE_FATIAS_MILLIS = 50;
+    private static final long INTERVALO_VERIFICACAO_SEGUNDOS = 60;
+
+    private final Banco banco;
+    private final ScheduledExecutorService executor;
+
+    // Estado do ciclo (protegido pelo monitor do agendador)
+    private int mesProcessado = MesCorrente.atual();
+    private List<IConta> contasDoCiclo;
+    private int cursor;
+    private int mesDoCiclo;
+    private BigDecimal totalTarifas;
+    private volatile String ultimoFechamento = "Nenhum fechamento realizado";
+
+    public AgendadorMensal(Banco banco) {
+        if (banco == null) {
+            throw new IllegalArgumentException("Banco não pode ser nulo");
+        }
+        this.banco = banco;
+        this.executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "agendador-mensal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ================= CICLO DE VIDA =================
+
+    public void iniciar() {
+        executor.scheduleWithFixedDelay(this::verificar,
+            0, INTERVALO_VERIFICACAO_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    public void parar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executa agora, sem fatias, o fechamento pendente (ou o restante do ciclo em andamento)
+     */
+    public synchronized void executarAgora() {
+        if (contasDoCiclo == null && !iniciarCicloSePendente()) {
+            return;
+        }
+        processarAte(Long.MAX_VALUE, Integer.MAX_VALUE);
+        if (cursor >= contasDoCiclo.size()) {
+            concluirCiclo();
+        }
+    }
+
+    public String getUltimoFechamento() {
+        return ultimoFechamento;
+    }
+
+    // ================= PROCESSAMENTO EM FATIAS =================
+
+    private synchronized void verificar() {
+        recarregarTarifas();
+        if (contasDoCiclo == null && iniciarCicloSePendente()) {
+            executor.execute(this::processarFatia);
+        }
+    }
+
+    private synchronized void processarFatia() {
+        if (contasDoCiclo == null) {
+            return; // concluído por executarAgora()
+        }
+
+        processarAte(ORCAMENTO_FATIA_NANOS, CONTAS_POR_FATIA);
+
+        if (cursor >= contasDoCiclo.size()) {
+            concluirCiclo();
+        } else if (!executor.isShutdown()) {
+            executor.schedule(this::processarFatia, PAUSA_ENTRE_FATIAS_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Arquivo com erro mantém a tabela em uso; a próxima verificação tenta de novo
+    private void recarregarTarifas() {
+        try {
+            if (TabelaTarifas.recarregarSeAlterado()) {
+                System.out.println("💲 Tabela de tarifas recarregada");
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Falha ao recarregar a tabela de tarifas: " + e.getMessage());
+        }
+    }
+
+    private boolean iniciarCicloSePendente() {
+        int mesAtual = MesCorrente.atual();
+        if (mesAtual <= mesProcessado) {
+            return false;
+        }
+
+        contasDoCiclo = banco.getContas();
+        cursor = 0;
+        mesDoCiclo = mesAtual;
+        totalTarifas = BigDecimal.ZERO;
+        return true;
+    }
+
+    /*
+     * O limite de tempo é um orçamento contado a partir desta chamada, não um
+     * prazo absoluto. Com prazo, executarAgora() passava Long.MAX_VALUE e
+     * "System.nanoTime() - prazo" transbordava quando nanoTime() era negativo
+     * (a origem é arbitrária), encerrando o ciclo na primeira conta.
+     */
+    private void processarAte(long orcamentoNanos, int limiteContas) {
+        long inicio = System.nanoTime();
+        int processadas = 0;
+        while (cursor < contasDoCiclo.size() && processadas < limiteContas) {
+            IConta conta = contasDoCiclo.get(cursor++);
+            processarConta(conta);
+            processadas++;
+
+            if (System.nanoTime() - inicio >= orcamentoNanos) {
+                break;
+            }
+        }
+    }
+
+    // Uma passada por conta, cobrindo todos os meses pendentes dela
+    private void processarConta(IConta conta) {
+        try {
+            if (conta instanceof Conta) {
+                totalTarifas = totalTarifas.add(((Conta) conta).cobrarManutencaoPendente());
+            }
+        } catch (RuntimeException e) {
+            System.err.printf("❌ Fechamento mensal falhou na conta %d: %s%n", conta.getNumero(), e.getMessage());
+        }
+    }
+
+    private void concluirCiclo() {
+        int meses = mesDoCiclo - mesProcessado;
+        ultimoFechamento = String.format(
+            "Fechamento %02d/%d: %d contas, %d mês(es), tarifas R$ %.2f",
+            mesDoCiclo % 12 + 1, mesDoCiclo / 12,
+            contasDoCiclo.size(), meses,
+            totalTarifas.doubleValue());
+
+        mesProcessado = mesDoCiclo;
+        contasDoCiclo = null;
+        System.out.println("📅 " + ultimoFechamento);
+    }
+}
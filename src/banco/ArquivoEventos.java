@@ -0,0 +1,79 @@
+package banco;
+
+import interfaces.IAssinanteEventos;
+import monitoramento.EventoPersistenciaJfr;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Destino local dos eventos do barramento do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Acrescenta cada evento como uma linha de texto (ver EventoBancario.formatarEm)
+ * ao fim de um arquivo. A escrita é bufferizada e o flush acontece no fim de
+ * cada lote entregue pelo barramento, então o custo de disco fica todo na
+ * thread do assinante.
+ */
+public class ArquivoEventos implements IAssinanteEventos {
+
+    private final Path arquivo;
+    private final BufferedWriter saida;
+    private final StringBuilder linha = new StringBuilder(160);
+    private long gravados;
+    private long desdeDescarga;
+
+    public ArquivoEventos(Path arquivo) throws IOException {
+        if (arquivo == null) {
+            throw new IllegalArgumentException("Arquivo de eventos não pode ser nulo");
+        }
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        this.arquivo = arquivo;
+        this.saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void aoReceber(EventoBancario evento, long sequencia, boolean fimDoLote) {
+        linha.setLength(0);
+        evento.formatarEm(linha, sequencia).append(System.lineSeparator());
+        try {
+            saida.append(linha);
+            gravados++;
+            desdeDescarga++;
+            if (fimDoLote) {
+                EventoPersistenciaJfr descarga = EventoPersistenciaJfr.iniciar();
+                saida.flush();
+                descarga.concluir("Arquivo de eventos", desdeDescarga);
+                desdeDescarga = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar evento em " + arquivo, e);
+        }
+    }
+
+    @Override
+    public void aoEncerrar() {
+        try {
+            saida.close();
+        } catch (IOException e) {
+            System.err.printf("⚠️ Falha ao fechar arquivo de eventos %s: %s%n", arquivo, e.getMessage());
+        }
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    // Lido pela thread do assinante; em outras threads é só uma aproximação
+    public long getGravados() {
+        return gravados;
+    }
+}
@@ -1,11 +1,22 @@
 package banco;
 
+import interfaces.IAssinanteEventos;
 import interfaces.IConta;
+import interfaces.IObservadorConta;
 import exceptions.ContaInexistenteException;
+import monitoramento.EventoPersistenciaJfr;
+import monitoramento.EventoRelatorioJfr;
+import monitoramento.EventoRendimentoLoteJfr;
+import monitoramento.MetricasOperacoes;
+import monitoramento.MetricasOperacoes.Operacao;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 
@@ -14,14 +25,85 @@ import java.util.stream.Collectors;
  * Gerencia clientes e contas do banco
  */
 public class Banco {
+    // Anel do barramento de eventos (potência de 2)
+    private static final int CAPACIDADE_EVENTOS = 8192;
+    // Quanto o relatório gerencial espera o modelo de leitura alcançar o barramento
+    private static final long ESPERA_PROJECAO_MILLIS = 500;
+
     private final String nome;
     private final List<Cliente> clientes;
     private final List<IConta> contas;
+    private final MotorTransferencias motorTransferencias;
+
+    // Índices sobre as mesmas listas: CPF -> cliente, número -> conta, cliente (CPF) -> contas
+    private final Map<String, Cliente> clientesPorCpf = new ConcurrentHashMap<>();
+    private final Map<Integer, IConta> contasPorNumero = new ConcurrentHashMap<>();
+    private final Map<Cliente, List<IConta>> contasPorCliente = new ConcurrentHashMap<>();
+
+    // Eventos de transações e do ciclo de vida de contas e clientes
+    private final BarramentoEventos eventos;
+    private final IObservadorConta publicadorTransacoes;
+    // Modelo de leitura do relatório gerencial (nulo nas partições)
+    private final ProjecaoRelatorios projecao;
     
     public Banco(String nome) {
+        this(nome, new BarramentoEventos(CAPACIDADE_EVENTOS, BarramentoEventos.Politica.ESPERAR), true);
+    }
+
+    // Partições de um BancoParticionado publicam no barramento da fachada
+    Banco(String nome, BarramentoEventos eventos) {
+        this(nome, eventos, false);
+    }
+
+    private Banco(String nome, BarramentoEventos eventos, boolean comProjecao) {
         this.nome = nome;
         this.clientes = new ArrayList<>();
-        this.contas = new ArrayList<>();
+        // Lida também pelo AgendadorMensal em segundo plano
+        this.contas = new CopyOnWriteArrayList<>();
+        this.motorTransferencias = new MotorTransferencias();
+        this.eventos = eventos;
+        this.publicadorTransacoes = new IObservadorConta() {
+            @Override
+            public void aoRegistrarTransacao(IConta conta, Transacao transacao, SaldoVersionado saldo) {
+                eventos.publicar(EventoBancario.transacao(conta, transacao, saldo));
+            }
+
+            @Override
+            public void aoAcumularCredito(IConta conta, Transacao transacao) {
+                eventos.publicar(EventoBancario.creditoPendente(conta, transacao));
+            }
+        };
+        this.projecao = comProjecao ? new ProjecaoRelatorios() : null;
+        if (projecao != null) {
+            eventos.assinar("relatorios", projecao);
+        }
+    }
+
+    // ================= EVENTOS =================
+
+    /**
+     * Assina o barramento de eventos do banco; o assinante recebe, na sua
+     * própria thread, tudo o que for publicado a partir de agora
+     */
+    public BarramentoEventos.Assinatura assinarEventos(String nome, IAssinanteEventos assinante) {
+        return eventos.assinar(nome, assinante);
+    }
+
+    /**
+     * Idem, escolhendo a política: DESCARTAR para assinantes lentos que não
+     * podem segurar as contas (os eventos são publicados durante o registro)
+     */
+    public BarramentoEventos.Assinatura assinarEventos(String nome, IAssinanteEventos assinante,
+                                                      BarramentoEventos.Politica politica) {
+        return eventos.assinar(nome, assinante, politica);
+    }
+
+    public BarramentoEventos getEventos() {
+        return eventos;
+    }
+
+    public ProjecaoRelatorios getProjecao() {
+        return projecao;
     }
     
     // ================= GESTÃO DE CLIENTES =================
@@ -32,23 +114,27 @@ public class Banco {
         }
         
         // Verificar se CPF já existe
-        boolean cpfExiste = clientes.stream()
-            .anyMatch(c -> c.getCpf().equals(cliente.getCpf()));
-        
-        if (cpfExiste) {
+        if (clientesPorCpf.putIfAbsent(cliente.getCpf(), cliente) != null) {
             throw new IllegalArgumentException("CPF já cadastrado no sistema");
         }
         
         clientes.add(cliente);
+        eventos.publicar(EventoBancario.clienteCadastrado(cliente));
         System.out.printf("Cliente %s adicionado com sucesso!%n", cliente.getNome());
     }
 
     @SuppressWarnings("unused")
     public Cliente buscarClientePorCpf(String cpf) {
-        return clientes.stream()
-            .filter(cliente -> cliente.getCpf().equals(cpf))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+        long inicio = MetricasOperacoes.iniciar();
+        try {
+            Cliente cliente = clientesPorCpf.get(cpf);
+            if (cliente == null) {
+                throw new RuntimeException("Cliente não encontrado");
+            }
+            return cliente;
+        } finally {
+            MetricasOperacoes.registrar(Operacao.BUSCA_CLIENTE, inicio);
+        }
     }
 
     @SuppressWarnings("unused")
@@ -61,15 +147,21 @@ public class Banco {
 
     @SuppressWarnings("unused")
     public boolean removerCliente(String cpf) {
+        Cliente cliente = clientesPorCpf.get(cpf);
+        if (cliente == null) {
+            return false;
+        }
+
         // Verificar se cliente tem contas ativas
-        boolean temContas = contas.stream()
-            .anyMatch(conta -> conta.getCliente().getCpf().equals(cpf));
-        
-        if (temContas) {
+        if (contasPorCliente.containsKey(cliente)) {
             throw new RuntimeException("Cliente possui contas ativas. Encerre as contas primeiro.");
         }
         
-        return clientes.removeIf(cliente -> cliente.getCpf().equals(cpf));
+        boolean removido = clientesPorCpf.remove(cpf, cliente) && clientes.remove(cliente);
+        if (removido) {
+            eventos.publicar(EventoBancario.clienteRemovido(cpf));
+        }
+        return removido;
     }
     
     // ================= GESTÃO DE CONTAS =================
@@ -78,7 +170,17 @@ public class Banco {
      * Método auxiliar para adicionar conta no sistema e exibir confirmação
      */
     private void adicionarContaNoSistema(IConta conta) {
+        if (conta instanceof Conta) {
+            ((Conta) conta).definirObservador(publicadorTransacoes);
+        }
         contas.add(conta);
+        contasPorNumero.put(conta.getNumero(), conta);
+        contasPorCliente.compute(conta.getCliente(), (cliente, contasDoCliente) -> {
+            List<IConta> atualizadas = contasDoCliente != null ? contasDoCliente : new CopyOnWriteArrayList<>();
+            atualizadas.add(conta);
+            return atualizadas;
+        });
+        eventos.publicar(EventoBancario.contaAberta(conta));
         
         System.out.println("╔══════════════════════════════════════╗");
         System.out.println("║       CONTA CRIADA COM SUCESSO!      ║");
@@ -98,11 +200,7 @@ public class Banco {
         }
 
         // Verificar se já tem conta-corrente
-        boolean jaTemCC = contas.stream()
-            .anyMatch(conta -> conta.getCliente().equals(cliente) &&
-                      conta.getTipoConta().equals("Conta Corrente"));
-
-        if (jaTemCC) {
+        if (possuiConta(cliente, "Conta Corrente")) {
             throw new RuntimeException("Cliente já possui uma Conta Corrente");
         }
 
@@ -119,11 +217,7 @@ public class Banco {
         }
         
         // Verificar se já tem conta poupança
-        boolean jaTemCP = contas.stream()
-            .anyMatch(conta -> conta.getCliente().equals(cliente) && 
-                      conta.getTipoConta().equals("Conta Poupança"));
-        
-        if (jaTemCP) {
+        if (possuiConta(cliente, "Conta Poupança")) {
             throw new RuntimeException("Cliente já possui uma Conta Poupança");
         }
         
@@ -133,147 +227,200 @@ public class Banco {
         return conta;
     }
     
+    private boolean possuiConta(Cliente cliente, String tipoConta) {
+        for (IConta conta : contasPorCliente.getOrDefault(cliente, List.of())) {
+            if (conta.getTipoConta().equals(tipoConta)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     public IConta buscarContaPorNumero(int numero) {
-        return contas.stream()
-            .filter(conta -> conta.getNumero() == numero)
-            .findFirst()
-            .orElseThrow(() -> new ContaInexistenteException(
-                "Conta número " + numero + " não encontrada"));
+        long inicio = MetricasOperacoes.iniciar();
+        try {
+            IConta conta = contasPorNumero.get(numero);
+            if (conta == null) {
+                throw new ContaInexistenteException("Conta número " + numero + " não encontrada");
+            }
+            return conta;
+        } finally {
+            MetricasOperacoes.registrar(Operacao.BUSCA_CONTA, inicio);
+        }
     }
     
     public List<IConta> buscarContasPorCliente(Cliente cliente) {
-        return contas.stream()
-            .filter(conta -> conta.getCliente().equals(cliente))
-            .collect(Collectors.toList());
+        long inicio = MetricasOperacoes.iniciar();
+        try {
+            return new ArrayList<>(contasPorCliente.getOrDefault(cliente, List.of()));
+        } finally {
+            MetricasOperacoes.registrar(Operacao.BUSCA_CONTA, inicio);
+        }
     }
     
     public boolean encerrarConta(int numeroConta) {
-        Optional<IConta> contaOpt = contas.stream()
-            .filter(conta -> conta.getNumero() == numeroConta)
-            .findFirst();
-        
-        if (contaOpt.isEmpty()) {
+        IConta conta = contasPorNumero.get(numeroConta);
+        if (conta == null) {
             return false;
         }
         
-        IConta conta = contaOpt.get();
-        
         // Verificar se saldo é zero
         if (conta.getSaldo().compareTo(BigDecimal.ZERO) != 0) {
             throw new RuntimeException("Conta deve ter saldo zero para encerramento");
         }
         
-        return contas.remove(conta);
+        if (!contas.remove(conta)) {
+            return false;
+        }
+        contasPorNumero.remove(numeroConta, conta);
+        contasPorCliente.computeIfPresent(conta.getCliente(), (cliente, contasDoCliente) -> {
+            contasDoCliente.remove(conta);
+            return contasDoCliente.isEmpty() ? null : contasDoCliente;
+        });
+        if (conta instanceof Conta) {
+            ((Conta) conta).definirObservador(null);
+        }
+        eventos.publicar(EventoBancario.contaEncerrada(conta));
+        return true;
+    }
+    
+    /**
+     * Transferência entre duas contas do banco, localizadas pelo número
+     */
+    public void transferir(int numeroOrigem, int numeroDestino, BigDecimal valor) {
+        IConta origem = buscarContaPorNumero(numeroOrigem);
+        origem.transferir(valor, buscarContaPorNumero(numeroDestino));
+    }
+
+    /**
+     * Executa várias transferências como uma operação única (tudo ou nada)
+     */
+    public void executarTransferenciasEmLote(List<MotorTransferencias.Transferencia> lote) {
+        motorTransferencias.executarLote(lote);
+        System.out.printf("✅ Lote de %d transferências concluído!%n", lote.size());
     }
     
     // ================= RELATÓRIOS E ESTATÍSTICAS =================
     
     public void gerarRelatorioCompleto() {
+        long inicio = MetricasOperacoes.iniciar();
+        EventoRelatorioJfr evento = new EventoRelatorioJfr();
+        evento.begin();
+        try {
+            imprimirRelatorioCompleto();
+        } finally {
+            MetricasOperacoes.registrar(Operacao.RELATORIO, inicio);
+            registrarEventoRelatorio(evento, "Relatório gerencial");
+        }
+    }
+    
+    private void registrarEventoRelatorio(EventoRelatorioJfr evento, String nomeRelatorio) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.nome = nomeRelatorio;
+            evento.contasAnalisadas = contasAtivas().size();
+            evento.commit();
+        }
+    }
+    
+    private void imprimirRelatorioCompleto() {
         System.out.println("╔══════════════════════════════════════════╗");
         System.out.println("║         RELATÓRIO GERENCIAL              ║");
         System.out.println("║            YLLOCIN BANK                  ║");
         System.out.println("╚══════════════════════════════════════════╝\n");
+
+        // Lê do modelo de leitura, não das contas; antes, dá a ele a chance de
+        // alcançar o que já foi publicado (quem acabou de operar se vê no relatório)
+        long publicada = eventos.getPublicados() - 1;
+        boolean emDia = projecao.aguardarSequencia(publicada, ESPERA_PROJECAO_MILLIS);
+        ProjecaoRelatorios.FotoRelatorio foto = projecao.getFoto(5, 3);
         
         // Estatísticas gerais
         System.out.println("📊 ESTATÍSTICAS GERAIS");
         System.out.println("─".repeat(40));
-        System.out.printf("Total de Clientes: %d%n", clientes.size());
-        System.out.printf("Total de Contas: %d%n", contas.size());
+        System.out.printf("Total de Clientes: %d%n", foto.getTotalClientes());
+        System.out.printf("Total de Contas: %d%n", foto.getTotalContas());
         
         // Breakdown por tipo de conta
-        long contasCorrente = contas.stream()
-            .filter(conta -> conta.getTipoConta().equals("Conta Corrente"))
-            .count();
-        
-        long contasPoupanca = contas.stream()
-            .filter(conta -> conta.getTipoConta().equals("Conta Poupança"))
-            .count();
-        
-        System.out.printf("  • Contas Corrente: %d%n", contasCorrente);
-        System.out.printf("  • Contas Poupança: %d%n", contasPoupanca);
+        System.out.printf("  • Contas Corrente: %d%n", foto.getContasPorTipo("Conta Corrente"));
+        System.out.printf("  • Contas Poupança: %d%n", foto.getContasPorTipo("Conta Poupança"));
         
         // Saldo total
-        BigDecimal saldoTotal = contas.stream()
-            .map(IConta::getSaldo)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        System.out.printf("💰 Patrimônio Total: R$ %.2f%n%n", saldoTotal.doubleValue());
+        System.out.printf("💰 Patrimônio Total: R$ %.2f%n%n", foto.getPatrimonioTotal().doubleValue());
         
         // Top clientes por saldo
         System.out.println("🏆 TOP CLIENTES POR PATRIMÔNIO");
         System.out.println("─".repeat(40));
         
-        clientes.stream()
-            .sorted((c1, c2) -> {
-                BigDecimal saldo1 = calcularPatrimonioCliente(c1);
-                BigDecimal saldo2 = calcularPatrimonioCliente(c2);
-                return saldo2.compareTo(saldo1); // Ordem decrescente
-            })
-            .limit(5)
-            .forEach(cliente -> {
-                BigDecimal patrimonio = calcularPatrimonioCliente(cliente);
-                System.out.printf("👤 %s: R$ %.2f%n", 
-                    cliente.getNome(), patrimonio.doubleValue());
-            });
+        for (ProjecaoRelatorios.PosicaoCliente posicao : foto.getTopClientes()) {
+            System.out.printf("👤 %s: R$ %.2f%n", 
+                posicao.getNome(), posicao.getPatrimonio().doubleValue());
+        }
         
         // Análise por faixa etária
         System.out.println("\n👥 CLIENTES POR FAIXA ETÁRIA");
         System.out.println("─".repeat(40));
         
-        long menores = clientes.stream().filter(c -> c.getIdade() < 18).count();
-        long jovens = clientes.stream().filter(c -> c.getIdade() >= 18 && c.getIdade() < 30).count();
-        long adultos = clientes.stream().filter(c -> c.getIdade() >= 30 && c.getIdade() < 60).count();
-        long seniores = clientes.stream().filter(c -> c.getIdade() >= 60).count();
-        
-        System.out.printf("👶 Menores (< 18): %d%n", menores);
-        System.out.printf("🧑 Jovens (18-29): %d%n", jovens);
-        System.out.printf("👨 Adultos (30-59): %d%n", adultos);
-        System.out.printf("👴 Seniores (60+): %d%n", seniores);
+        System.out.printf("👶 Menores (< 18): %d%n", foto.getClientesNaFaixa(FaixaEtaria.MENOR));
+        System.out.printf("🧑 Jovens (18-29): %d%n", foto.getClientesNaFaixa(FaixaEtaria.JOVEM));
+        System.out.printf("👨 Adultos (30-59): %d%n", foto.getClientesNaFaixa(FaixaEtaria.ADULTO));
+        System.out.printf("👴 Seniores (60+): %d%n", foto.getClientesNaFaixa(FaixaEtaria.SENIOR));
         
         // Contas com maior movimentação
         System.out.println("\n📈 CONTAS COM MAIS TRANSAÇÕES");
         System.out.println("─".repeat(40));
         
-        contas.stream()
-            .sorted((c1, c2) -> Integer.compare(
-                c2.getHistorico().size(), 
-                c1.getHistorico().size()))
-            .limit(3)
-            .forEach(conta -> System.out.printf("💳 Conta %d (%s) - %s: %d transações%n",
-                conta.getNumero(),
-                conta.getTipoConta(),
-                conta.getCliente().getNome(),
-                conta.getHistorico().size()));
+        for (ProjecaoRelatorios.PosicaoConta posicao : foto.getMaisMovimentadas()) {
+            System.out.printf("💳 Conta %d (%s) - %s: %d transações%n",
+                posicao.getNumero(),
+                posicao.getTipoConta(),
+                posicao.getTitular(),
+                posicao.getTransacoes());
+        }
         
+        if (!emDia) {
+            System.out.printf("%n⏳ Relatório até o evento %d (%d ainda no barramento)%n",
+                foto.getSequencia(), publicada - foto.getSequencia());
+        }
         System.out.println("\n" + "═".repeat(50));
     }
     
-    private BigDecimal calcularPatrimonioCliente(Cliente cliente) {
-        return contas.stream()
-            .filter(conta -> conta.getCliente().equals(cliente))
-            .map(IConta::getSaldo)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void gerarRelatorioMovimentacao() {
+        long inicio = MetricasOperacoes.iniciar();
+        EventoRelatorioJfr evento = new EventoRelatorioJfr();
+        evento.begin();
+        try {
+            imprimirRelatorioMovimentacao();
+        } finally {
+            MetricasOperacoes.registrar(Operacao.RELATORIO, inicio);
+            registrarEventoRelatorio(evento, "Relatório de movimentação");
+        }
     }
     
-    public void gerarRelatorioMovimentacao() {
+    private void imprimirRelatorioMovimentacao() {
         System.out.println("📊 RELATÓRIO DE MOVIMENTAÇÃO");
         System.out.println("═".repeat(50));
         
-        contas.forEach(conta -> {
+        // Buffer reaproveitado; as últimas 3 vêm do anel de recentes de cada conta
+        StringBuilder linhas = new StringBuilder(512);
+        contasAtivas().forEach(conta -> {
             System.out.printf("💳 Conta %d - %s (%s)%n", 
                 conta.getNumero(), 
                 conta.getTipoConta(),
                 conta.getCliente().getNome());
             
-            if (conta.getHistorico().isEmpty()) {
+            linhas.setLength(0);
+            int[] exibidas = new int[1];
+            conta.visitarTransacoesRecentes(3, transacao -> {
+                transacao.formatarEm(linhas.append("   ")).append(System.lineSeparator());
+                exibidas[0]++;
+            });
+            
+            if (exibidas[0] == 0) {
                 System.out.println("   Nenhuma movimentação registrada");
             } else {
-                System.out.printf("   Últimas %d transações:%n", 
-                    Math.min(3, conta.getHistorico().size()));
-                
-                conta.getHistorico().stream()
-                    .skip(Math.max(0, conta.getHistorico().size() - 3))
-                    .forEach(transacao -> System.out.println("   " + transacao));
+                System.out.printf("   Últimas %d transações:%n", exibidas[0]);
+                System.out.print(linhas);
             }
             
             System.out.println("─".repeat(40));
@@ -282,46 +429,162 @@ public class Banco {
     
     // ================= OPERAÇÕES DE MANUTENÇÃO =================
     
+    /**
+     * Materializa o rendimento pendente de todas as poupanças. Opcional: cada
+     * poupança já credita o próprio rendimento no primeiro acesso do mês.
+     */
     public void aplicarRendimentoPoupancas() {
         System.out.println("💰 Aplicando rendimento nas contas poupança...");
         
-        contas.stream()
+        EventoRendimentoLoteJfr evento = new EventoRendimentoLoteJfr();
+        evento.begin();
+        
+        List<BigDecimal> rendimentos = contasAtivas().stream()
             .filter(conta -> conta.getTipoConta().equals("Conta Poupança"))
             .map(conta -> (ContaPoupanca) conta)
-            .forEach(ContaPoupanca::aplicarRendimento);
+            .map(ContaPoupanca::aplicarRendimento)
+            .collect(Collectors.toList());
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.contasProcessadas = rendimentos.size();
+            evento.totalRendimento = rendimentos.stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .doubleValue();
+            evento.commit();
+        }
         
         System.out.println("✅ Rendimento aplicado em todas as contas poupança!");
     }
     
+    /**
+     * Incorpora os créditos acumulados nas contas de recebimento e os ajustes
+     * devidos (rendimento de meses fechados) - manutenção periódica. Contas sem
+     * nada pendente saem sem pegar a trava.
+     */
+    public void incorporarCreditosPendentes() {
+        contasAtivas().stream()
+            .filter(conta -> conta instanceof Conta)
+            .map(conta -> (Conta) conta)
+            .forEach(Conta::incorporarCreditosPendentes);
+    }
+    
+    /**
+     * Arquiva o histórico antigo das contas com o compactador dado
+     *
+     * @return total de transações arquivadas
+     */
+    public int compactarHistorico(CompactadorHistorico compactador) throws IOException {
+        return compactador.compactar(this);
+    }
+
     public void executarBackupDados() {
         System.out.println("💾 Executando backup dos dados...");
+        
+        EventoPersistenciaJfr evento = EventoPersistenciaJfr.iniciar();
         // Aqui seria implementada a lógica de backup real
+        evento.concluir("Backup", getTotalClientes() + getTotalContas());
+        
         System.out.printf("✅ Backup concluído: %d clientes, %d contas salvas%n", 
-            clientes.size(), contas.size());
+            getTotalClientes(), getTotalContas());
     }
     
+    // ================= AUDITORIA =================
+
+    /**
+     * Trilha de auditoria de todas as contas, intercaladas pela sequência global
+     * (merge de k listas ordenadas). Paginação: passe a sequência da última
+     * transação recebida como cursor da próxima chamada.
+     *
+     * Cada conta entrega só a sua página a partir do cursor (busca binária
+     * no histórico ordenado), então o custo de uma página não depende do
+     * tamanho dos históricos.
+     *
+     * A página para na marca de confirmação lida antes de percorrer as contas:
+     * um número menor que ainda esteja sendo gravado em outra conta não pode
+     * ficar para trás do cursor.
+     */
+    public List<Transacao> gerarTrilhaAuditoria(long aposSequencia, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite da página deve ser positivo");
+        }
+        long confirmada = SequenciaTransacoes.confirmada();
+
+        // Cada fila guarda a próxima transação de uma conta e a posição dela
+        PriorityQueue<CursorAuditoria> filas = new PriorityQueue<>();
+        for (IConta conta : contasAtivas()) {
+            List<Transacao> pagina = conta.getHistoricoApos(aposSequencia, limite);
+            if (!pagina.isEmpty()) {
+                filas.add(new CursorAuditoria(pagina));
+            }
+        }
+
+        List<Transacao> trilha = new ArrayList<>(limite);
+        while (trilha.size() < limite && !filas.isEmpty()
+                && filas.peek().atual().getSequencia() <= confirmada) {
+            CursorAuditoria cursor = filas.poll();
+            trilha.add(cursor.atual());
+            if (cursor.avancar()) {
+                filas.add(cursor);
+            }
+        }
+        return trilha;
+    }
+
+    private static final class CursorAuditoria implements Comparable<CursorAuditoria> {
+        private final List<Transacao> transacoes;
+        private int posicao;
+
+        CursorAuditoria(List<Transacao> transacoes) {
+            this.transacoes = transacoes;
+        }
+
+        Transacao atual() {
+            return transacoes.get(posicao);
+        }
+
+        boolean avancar() {
+            return ++posicao < transacoes.size();
+        }
+
+        @Override
+        public int compareTo(CursorAuditoria outro) {
+            return atual().compareTo(outro.atual());
+        }
+    }
+
     // ================= GETTERS =================
 
+    /**
+     * Visões usadas por relatórios, manutenção e getters (sem cópia).
+     * O BancoParticionado devolve a junção das partições.
+     */
+    protected List<IConta> contasAtivas() {
+        return contas;
+    }
 
+    protected List<Cliente> clientesCadastrados() {
+        return clientes;
+    }
     
     public List<Cliente> getClientes() {
-        return new ArrayList<>(clientes); // Retorna cópia para segurança
+        return new ArrayList<>(clientesCadastrados()); // Retorna cópia para segurança
     }
     
     public List<IConta> getContas() {
-        return new ArrayList<>(contas); // Retorna cópia para segurança
+        return new ArrayList<>(contasAtivas()); // Retorna cópia para segurança
     }
     
     public int getTotalClientes() {
-        return clientes.size();
+        return clientesCadastrados().size();
     }
     
     public int getTotalContas() {
-        return contas.size();
+        return contasAtivas().size();
     }
     
     public BigDecimal getPatrimonioTotal() {
-        return contas.stream()
+        return contasAtivas().stream()
             .map(IConta::getSaldo)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
@@ -329,6 +592,6 @@ public class Banco {
     @Override
     public String toString() {
         return String.format("Banco{nome='%s', clientes=%d, contas=%d, patrimonio=%.2f}",
-            nome, clientes.size(), contas.size(), getPatrimonioTotal().doubleValue());
+            nome, getTotalClientes(), getTotalContas(), getPatrimonioTotal().doubleValue());
     }
 }
\ No newline at end of file
@@ -0,0 +1,384 @@
+package banco;
+
+import exceptions.ContaInexistenteException;
+import interfaces.IConta;
+import monitoramento.MetricasOperacoes;
+import monitoramento.MetricasOperacoes.Operacao;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Banco particionado do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Fachada com a mesma API do Banco, repartida em N partições independentes
+ * (cada uma é um Banco):
+ * - Clientes vão para a partição do hash do CPF; as contas acompanham o titular
+ * - Um diretório número da conta -> partição resolve buscas por número
+ * - Cadastros e encerramentos travam só o monitor da própria partição
+ * - Cada partição tem seu diário (DiarioParticao) e seu diretório de histórico
+ *   (compactarHistorico grava em particao-N dentro do diretório do compactador)
+ *
+ * Transferências dentro de uma partição seguem o caminho normal da conta.
+ * Entre partições, usam duas fases:
+ *   1. Preparação: as contas de todas as partições são travadas em ordem de
+ *      número; cada partição grava PREPARADA e vota (suas contas continuam
+ *      abertas nela) e o lote é validado sobre os saldos projetados
+ *   2. Desfecho: com todos os votos, a decisão vai para o diário do
+ *      coordenador, o lote é aplicado e cada partição grava CONFIRMADA;
+ *      qualquer falha na preparação grava ABORTADA e nada é alterado
+ *
+ * Relatórios, auditoria e manutenção do Banco enxergam a junção das partições.
+ * Todas as partições publicam no barramento de eventos da fachada.
+ */
+public class BancoParticionado extends Banco {
+
+    private final Banco[] particoes;
+    private final DiarioParticao[] diarios;
+    private final DiarioParticao diarioCoordenador = new DiarioParticao("coordenador");
+    private final Map<Integer, Integer> diretorio = new ConcurrentHashMap<>();
+    private final MotorTransferencias motor = new MotorTransferencias();
+    private final AtomicLong proximoIdTransacao = new AtomicLong();
+
+    public BancoParticionado(String nome, int quantidadeParticoes) {
+        super(nome);
+        if (quantidadeParticoes <= 0) {
+            throw new IllegalArgumentException("Quantidade de partições deve ser positiva");
+        }
+
+        this.particoes = new Banco[quantidadeParticoes];
+        this.diarios = new DiarioParticao[quantidadeParticoes];
+        for (int i = 0; i < quantidadeParticoes; i++) {
+            particoes[i] = new Banco(nome + " #" + i, getEventos());
+            diarios[i] = new DiarioParticao("particao-" + i);
+        }
+    }
+
+    // ================= ROTEAMENTO =================
+
+    public int particaoDoCpf(String cpf) {
+        long chave = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                chave = chave * 10 + (c - '0');
+            }
+        }
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) particoes.length);
+    }
+
+    public int particaoDaConta(int numeroConta) {
+        Integer particao = diretorio.get(numeroConta);
+        if (particao == null) {
+            throw new ContaInexistenteException("Conta número " + numeroConta + " não encontrada");
+        }
+        return particao;
+    }
+
+    private Banco particaoDoCliente(Cliente cliente) {
+        return particoes[particaoDoCpf(cliente.getCpf())];
+    }
+
+    // ================= CLIENTES =================
+
+    @Override
+    public void adicionarCliente(Cliente cliente) {
+        if (cliente == null) {
+            throw new IllegalArgumentException("Cliente não pode ser nulo");
+        }
+        Banco particao = particaoDoCliente(cliente);
+        synchronized (particao) {
+            particao.adicionarCliente(cliente);
+        }
+    }
+
+    @Override
+    public Cliente buscarClientePorCpf(String cpf) {
+        Banco particao = particoes[particaoDoCpf(cpf)];
+        synchronized (particao) {
+            return particao.buscarClientePorCpf(cpf);
+        }
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorNome(String nome) {
+        List<Cliente> encontrados = new ArrayList<>();
+        for (Banco particao : particoes) {
+            synchronized (particao) {
+                encontrados.addAll(particao.buscarClientesPorNome(nome));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public boolean removerCliente(String cpf) {
+        Banco particao = particoes[particaoDoCpf(cpf)];
+        synchronized (particao) {
+            return particao.removerCliente(cpf);
+        }
+    }
+
+    // ================= CONTAS =================
+
+    @Override
+    public ContaCorrente criarContaCorrente(Cliente cliente) {
+        int indice = particaoDoCpf(cliente.getCpf());
+        ContaCorrente conta;
+        synchronized (particoes[indice]) {
+            conta = particoes[indice].criarContaCorrente(cliente);
+        }
+        diretorio.put(conta.getNumero(), indice);
+        return conta;
+    }
+
+    @Override
+    public ContaPoupanca criarContaPoupanca(Cliente cliente) {
+        int indice = particaoDoCpf(cliente.getCpf());
+        ContaPoupanca conta;
+        synchronized (particoes[indice]) {
+            conta = particoes[indice].criarContaPoupanca(cliente);
+        }
+        diretorio.put(conta.getNumero(), indice);
+        return conta;
+    }
+
+    @Override
+    public IConta buscarContaPorNumero(int numero) {
+        Integer particao = diretorio.get(numero);
+        if (particao == null) {
+            throw new ContaInexistenteException("Conta número " + numero + " não encontrada");
+        }
+        return particoes[particao].buscarContaPorNumero(numero);
+    }
+
+    @Override
+    public List<IConta> buscarContasPorCliente(Cliente cliente) {
+        return particaoDoCliente(cliente).buscarContasPorCliente(cliente);
+    }
+
+    /**
+     * Encerra com a trava da conta: uma transferência em preparação vê a
+     * conta aberta até o fim ou não a vê mais
+     */
+    @Override
+    public boolean encerrarConta(int numeroConta) {
+        Integer indice = diretorio.get(numeroConta);
+        if (indice == null) {
+            return false;
+        }
+
+        IConta conta = particoes[indice].buscarContaPorNumero(numeroConta);
+        Conta contaImpl = conta instanceof Conta ? (Conta) conta : null;
+        if (contaImpl != null) {
+            contaImpl.getTrava().lock();
+        }
+        try {
+            boolean encerrada;
+            synchronized (particoes[indice]) {
+                encerrada = particoes[indice].encerrarConta(numeroConta);
+            }
+            if (encerrada) {
+                diretorio.remove(numeroConta);
+            }
+            return encerrada;
+        } finally {
+            if (contaImpl != null) {
+                contaImpl.getTrava().unlock();
+            }
+        }
+    }
+
+    // ================= TRANSFERÊNCIAS =================
+
+    @Override
+    public void transferir(int numeroOrigem, int numeroDestino, BigDecimal valor) {
+        if (particaoDaConta(numeroOrigem) == particaoDaConta(numeroDestino)) {
+            super.transferir(numeroOrigem, numeroDestino, valor);
+            return;
+        }
+
+        long inicio = MetricasOperacoes.iniciar();
+        try {
+            if (!IConta.validarValor(valor)) {
+                throw new IllegalArgumentException("Valor deve ser positivo");
+            }
+            MotorTransferencias.Transferencia transferencia = new MotorTransferencias.Transferencia(
+                buscarContaPorNumero(numeroOrigem), buscarContaPorNumero(numeroDestino), valor);
+            // Mesmos filtros (limitador, detector) de uma transferência comum
+            ((Conta) transferencia.getOrigem()).aplicarFiltros(TipoTransacao.TRANSFERENCIA, valor);
+
+            executarEmDuasFases(List.of(transferencia));
+        } finally {
+            MetricasOperacoes.registrar(Operacao.TRANSFERENCIA, inicio);
+        }
+    }
+
+    @Override
+    public void executarTransferenciasEmLote(List<MotorTransferencias.Transferencia> lote) {
+        TreeSet<Integer> envolvidas = new TreeSet<>();
+        for (Conta conta : MotorTransferencias.contasDoLote(lote).values()) {
+            envolvidas.add(particaoDaConta(conta.getNumero()));
+        }
+
+        if (envolvidas.size() == 1) {
+            particoes[envolvidas.first()].executarTransferenciasEmLote(lote);
+            return;
+        }
+
+        // Na partição única o motor já filtra; aqui é o coordenador
+        MotorTransferencias.aplicarFiltros(lote);
+        executarEmDuasFases(lote);
+        System.out.printf("✅ Lote de %d transferências concluído entre %d partições!%n",
+            lote.size(), envolvidas.size());
+    }
+
+    private void executarEmDuasFases(List<MotorTransferencias.Transferencia> lote) {
+        long id = proximoIdTransacao.incrementAndGet();
+        Map<Integer, Conta> contas = MotorTransferencias.contasDoLote(lote);
+        String resumo = resumir(lote);
+
+        // Partição -> contas dela no lote (partições em ordem de índice)
+        Map<Integer, List<Conta>> participantes = new TreeMap<>();
+        for (Conta conta : contas.values()) {
+            participantes.computeIfAbsent(particaoDaConta(conta.getNumero()), k -> new ArrayList<>()).add(conta);
+        }
+
+        List<Integer> preparadas = new ArrayList<>(participantes.size());
+        boolean decidido = false;
+
+        List<Conta> travadas = MotorTransferencias.travar(contas.values());
+        try {
+            // Fase 1: cada partição prepara e vota
+            for (Map.Entry<Integer, List<Conta>> participante : participantes.entrySet()) {
+                int indice = participante.getKey();
+                diarios[indice].registrar(id, DiarioParticao.Estado.PREPARADA, resumo);
+                preparadas.add(indice);
+                votar(indice, participante.getValue());
+            }
+            motor.validarLote(lote, contas);
+
+            // Fase 2: decisão registrada, aplica e confirma em cada partição
+            diarioCoordenador.registrar(id, DiarioParticao.Estado.CONFIRMADA, resumo);
+            decidido = true;
+            motor.aplicarLote(lote);
+            for (int indice : preparadas) {
+                diarios[indice].registrar(id, DiarioParticao.Estado.CONFIRMADA, resumo);
+            }
+        } catch (RuntimeException e) {
+            // Depois da decisão não há volta: a falha fica visível como PREPARADA sem desfecho
+            // nos diários das partições (getEmAberto), para inspeção
+            if (!decidido) {
+                diarioCoordenador.registrar(id, DiarioParticao.Estado.ABORTADA, e.getMessage());
+                for (int indice : preparadas) {
+                    diarios[indice].registrar(id, DiarioParticao.Estado.ABORTADA, e.getMessage());
+                }
+            }
+            throw e;
+        } finally {
+            MotorTransferencias.destravar(travadas);
+        }
+    }
+
+    // Voto da partição: todas as suas contas do lote continuam abertas nela
+    private void votar(int indice, List<Conta> contas) {
+        for (Conta conta : contas) {
+            Integer atual = diretorio.get(conta.getNumero());
+            if (atual == null || atual != indice) {
+                throw new ContaInexistenteException(String.format(
+                    "Conta número %d não está mais ativa na partição %d", conta.getNumero(), indice));
+            }
+        }
+    }
+
+    private static String resumir(List<MotorTransferencias.Transferencia> lote) {
+        if (lote.size() == 1) {
+            MotorTransferencias.Transferencia t = lote.get(0);
+            return String.format("%d -> %d R$ %s", t.getOrigem().getNumero(),
+                t.getDestino().getNumero(), t.getValor().toPlainString());
+        }
+        return String.format("lote de %d transferências", lote.size());
+    }
+
+    // ================= HISTÓRICO =================
+
+    /**
+     * Arquiva o histórico antigo de cada partição no seu próprio subdiretório (particao-N)
+     *
+     * @return total de transações arquivadas
+     */
+    @Override
+    public int compactarHistorico(CompactadorHistorico compactador) throws IOException {
+        int total = 0;
+        for (int i = 0; i < particoes.length; i++) {
+            total += compactador.noSubdiretorio("particao-" + i).compactar(particoes[i]);
+        }
+        return total;
+    }
+
+    // ================= VISÕES E GETTERS =================
+
+    @Override
+    protected List<IConta> contasAtivas() {
+        List<IConta> todas = new ArrayList<>();
+        for (Banco particao : particoes) {
+            todas.addAll(particao.contasAtivas());
+        }
+        return todas;
+    }
+
+    @Override
+    protected List<Cliente> clientesCadastrados() {
+        List<Cliente> todos = new ArrayList<>();
+        for (Banco particao : particoes) {
+            synchronized (particao) {
+                todos.addAll(particao.clientesCadastrados());
+            }
+        }
+        return todos;
+    }
+
+    @Override
+    public int getTotalContas() {
+        int total = 0;
+        for (Banco particao : particoes) {
+            total += particao.getTotalContas();
+        }
+        return total;
+    }
+
+    @Override
+    public int getTotalClientes() {
+        int total = 0;
+        for (Banco particao : particoes) {
+            synchronized (particao) {
+                total += particao.getTotalClientes();
+            }
+        }
+        return total;
+    }
+
+    public int getQuantidadeParticoes() {
+        return particoes.length;
+    }
+
+    public Banco getParticao(int indice) {
+        return particoes[indice];
+    }
+
+    public DiarioParticao getDiario(int indice) {
+        return diarios[indice];
+    }
+
+    public DiarioParticao getDiarioCoordenador() {
+        return diarioCoordenador;
+    }
+}
@@ -0,0 +1,396 @@
+package banco;
+
+import interfaces.IAssinanteEventos;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Barramento de eventos (publish/subscribe) do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Anel de tamanho fixo sem travas, no estilo Disruptor:
+ * - Produtores reservam a próxima sequência com compare-and-set, gravam o
+ *   evento na posição (sequência & máscara) e marcam a posição como publicada
+ * - Cada assinante tem uma thread própria e um cursor; lê em lotes tudo o que
+ *   já foi publicado e só então avança o cursor
+ * - Uma posição só é reaproveitada quando o assinante mais atrasado já passou
+ *   por ela
+ *
+ * Anel cheio (contrapressão), conforme a política:
+ * - ESPERAR: o produtor aguarda espaço (nenhum evento se perde)
+ * - DESCARTAR: o evento novo é descartado e contado em getDescartados()
+ *
+ * A política também vale por assinatura. Só assinaturas ESPERAR seguram os
+ * produtores (que publicam sob o monitor do histórico da conta); uma
+ * assinatura DESCARTAR (ex.: gravação em disco) nunca trava uma conta: se
+ * ficar uma volta inteira para trás, pula o que foi sobrescrito e conta em
+ * getPerdidos(). A leitura dela é validada como num seqlock: a posição é
+ * marcada EM_GRAVACAO antes de o evento ser trocado.
+ *
+ * Sem assinantes, publicar() retorna sem tocar no anel.
+ */
+public final class BarramentoEventos {
+
+    public enum Politica {
+        ESPERAR,
+        DESCARTAR
+    }
+
+    // Pausa do produtor com o anel cheio e do assinante ocioso
+    private static final long PAUSA_PRODUTOR_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long PAUSA_ASSINANTE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int GIROS_ANTES_DE_PAUSAR = 100;
+    // Marca da posição enquanto o produtor troca o evento
+    private static final long EM_GRAVACAO = -2;
+
+    private final int capacidade;
+    private final int mascara;
+    private final EventoBancario[] anel;
+    // Sequência publicada em cada posição (-1 = nunca usada)
+    private final AtomicLongArray publicadas;
+    private final Politica politica;
+
+    // Última sequência reservada
+    private final AtomicLong cursor = new AtomicLong(-1);
+    // Menor cursor de assinante visto na última verificação (evita varrer a cada publicação)
+    private volatile long minimoEmCache = -1;
+
+    private volatile Assinatura[] assinaturas = new Assinatura[0];
+    private final LongAdder descartados = new LongAdder();
+
+    /**
+     * @param capacidade eventos no anel (potência de 2)
+     */
+    public BarramentoEventos(int capacidade, Politica politica) {
+        if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("Capacidade do barramento deve ser potência de 2");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("Política de contrapressão não pode ser nula");
+        }
+        this.capacidade = capacidade;
+        this.mascara = capacidade - 1;
+        this.anel = new EventoBancario[capacidade];
+        this.publicadas = new AtomicLongArray(capacidade);
+        for (int i = 0; i < capacidade; i++) {
+            publicadas.set(i, -1);
+        }
+        this.politica = politica;
+    }
+
+    // ================= PUBLICAÇÃO =================
+
+    /**
+     * Publica um evento para todos os assinantes
+     *
+     * @return false se não há assinantes ou o evento foi descartado
+     */
+    public boolean publicar(EventoBancario evento) {
+        Assinatura[] atuais = assinaturas;
+        if (atuais.length == 0) {
+            return false;
+        }
+
+        long sequencia;
+        while (true) {
+            long ultima = cursor.get();
+            sequencia = ultima + 1;
+            long volta = sequencia - capacidade;
+
+            if (volta > minimoEmCache) {
+                long minimo = menorCursorEssencial(assinaturas, ultima);
+                minimoEmCache = minimo;
+                if (volta > minimo) {
+                    if (politica == Politica.DESCARTAR) {
+                        descartados.increment();
+                        return false;
+                    }
+                    LockSupport.parkNanos(PAUSA_PRODUTOR_NANOS);
+                    continue;
+                }
+            }
+
+            if (cursor.compareAndSet(ultima, sequencia)) {
+                break;
+            }
+        }
+
+        int posicao = (int) (sequencia & mascara);
+        // Assinantes DESCARTAR podem estar lendo a volta anterior: marca antes de trocar
+        publicadas.set(posicao, EM_GRAVACAO);
+        VarHandle.storeStoreFence();
+        anel[posicao] = evento;
+        // A escrita volátil publica o evento gravado acima
+        publicadas.set(posicao, sequencia);
+        return true;
+    }
+
+    private static long menorCursor(Assinatura[] atuais, long padrao) {
+        long minimo = padrao;
+        for (Assinatura assinatura : atuais) {
+            minimo = Math.min(minimo, assinatura.processada.get());
+        }
+        return minimo;
+    }
+
+    // Só as assinaturas ESPERAR limitam o reaproveitamento do anel
+    private static long menorCursorEssencial(Assinatura[] atuais, long padrao) {
+        long minimo = padrao;
+        for (Assinatura assinatura : atuais) {
+            if (assinatura.politica == Politica.ESPERAR) {
+                minimo = Math.min(minimo, assinatura.processada.get());
+            }
+        }
+        return minimo;
+    }
+
+    // ================= ASSINATURAS =================
+
+    /**
+     * Registra um assinante; ele recebe os eventos publicados a partir de agora
+     * e segura os produtores se atrasar (ESPERAR)
+     */
+    public Assinatura assinar(String nome, IAssinanteEventos assinante) {
+        return assinar(nome, assinante, Politica.ESPERAR);
+    }
+
+    /**
+     * Registra um assinante com a política dele: DESCARTAR para quem pode
+     * perder eventos em vez de atrasar as contas
+     */
+    public synchronized Assinatura assinar(String nome, IAssinanteEventos assinante, Politica politica) {
+        if (assinante == null) {
+            throw new IllegalArgumentException("Assinante não pode ser nulo");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("Política da assinatura não pode ser nula");
+        }
+
+        Assinatura assinatura = new Assinatura(nome, assinante, politica, cursor.get());
+        Assinatura[] novas = Arrays.copyOf(assinaturas, assinaturas.length + 1);
+        novas[novas.length - 1] = assinatura;
+        assinaturas = novas;
+
+        assinatura.thread.start();
+        return assinatura;
+    }
+
+    private synchronized void remover(Assinatura assinatura) {
+        assinaturas = Arrays.stream(assinaturas)
+            .filter(a -> a != assinatura)
+            .toArray(Assinatura[]::new);
+    }
+
+    /**
+     * Espera os assinantes consumirem tudo o que já foi publicado
+     *
+     * @return false se o prazo acabou antes
+     */
+    public boolean aguardarConsumo(long timeoutMillis) {
+        long alvo = cursor.get();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (menorCursor(assinaturas, alvo) < alvo) {
+            if (System.nanoTime() - limite >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(PAUSA_ASSINANTE_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Drena o que estiver pendente (até o prazo) e encerra todas as assinaturas
+     */
+    public void encerrar(long timeoutMillis) {
+        aguardarConsumo(timeoutMillis);
+        for (Assinatura assinatura : assinaturas) {
+            assinatura.cancelar();
+        }
+    }
+
+    // ================= MÉTRICAS =================
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public Politica getPolitica() {
+        return politica;
+    }
+
+    // Eventos aceitos no anel desde a criação
+    public long getPublicados() {
+        return cursor.get() + 1;
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public Assinatura[] getAssinaturas() {
+        return assinaturas.clone();
+    }
+
+    public String getRelatorioTexto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("📡 Eventos: %d publicados, %d descartados (anel de %d, %s)%n",
+            getPublicados(), getDescartados(), capacidade, politica));
+        for (Assinatura assinatura : assinaturas) {
+            sb.append(String.format("   • %-20s atraso %d | falhas %d | perdidos %d (%s)%n",
+                assinatura.getNome(), assinatura.getAtraso(), assinatura.getFalhas(),
+                assinatura.getPerdidos(), assinatura.politica));
+        }
+        return sb.toString();
+    }
+
+    // ================= CONSUMO =================
+
+    /**
+     * Um assinante do barramento com sua thread e seu cursor
+     */
+    public final class Assinatura {
+        private final String nome;
+        private final IAssinanteEventos assinante;
+        private final Politica politica;
+        private final Thread thread;
+        // Última sequência entregue (lida pelos produtores para saber se há espaço)
+        private final AtomicLong processada;
+        private final long inicio;
+        private final LongAdder falhas = new LongAdder();
+        private final LongAdder perdidos = new LongAdder();
+        private volatile boolean ativa = true;
+
+        private Assinatura(String nome, IAssinanteEventos assinante, Politica politica, long inicio) {
+            this.nome = nome;
+            this.assinante = assinante;
+            this.politica = politica;
+            this.processada = new AtomicLong(inicio);
+            this.inicio = inicio;
+            this.thread = new Thread(this::consumir, "eventos-" + nome);
+            this.thread.setDaemon(true);
+        }
+
+        private void consumir() {
+            int ociosas = 0;
+            try {
+                while (ativa) {
+                    long proxima = processada.get() + 1;
+                    if (politica == Politica.DESCARTAR) {
+                        proxima = pularSobrescritos(proxima);
+                    }
+                    long disponivel = ultimaPublicada(proxima);
+
+                    if (disponivel < proxima) {
+                        if (++ociosas < GIROS_ANTES_DE_PAUSAR) {
+                            Thread.onSpinWait();
+                        } else {
+                            LockSupport.parkNanos(PAUSA_ASSINANTE_NANOS);
+                        }
+                        continue;
+                    }
+                    ociosas = 0;
+
+                    for (long sequencia = proxima; sequencia <= disponivel; sequencia++) {
+                        int posicao = (int) (sequencia & mascara);
+                        EventoBancario evento = anel[posicao];
+                        if (politica == Politica.DESCARTAR) {
+                            // Sobrescrito depois de lido como publicado: o evento já é de outra volta
+                            VarHandle.acquireFence();
+                            if (publicadas.get(posicao) != sequencia) {
+                                perdidos.increment();
+                                continue;
+                            }
+                        }
+                        try {
+                            assinante.aoReceber(evento, sequencia, sequencia == disponivel);
+                        } catch (RuntimeException e) {
+                            // Um evento com problema não pode parar o consumo dos demais
+                            falhas.increment();
+                        }
+                    }
+                    processada.set(disponivel);
+                }
+            } finally {
+                // Mesmo se a thread morrer, sai da lista para não segurar os produtores
+                ativa = false;
+                remover(this);
+                assinante.aoEncerrar();
+            }
+        }
+
+        // Assinatura DESCARTAR que ficou uma volta para trás recomeça no mais antigo ainda no anel
+        private long pularSobrescritos(long proxima) {
+            long maisAntiga = cursor.get() - capacidade + 1;
+            if (proxima >= maisAntiga) {
+                return proxima;
+            }
+            perdidos.add(maisAntiga - proxima);
+            processada.set(maisAntiga - 1);
+            return maisAntiga;
+        }
+
+        // Última sequência contígua já publicada a partir de 'proxima'
+        private long ultimaPublicada(long proxima) {
+            long reservada = cursor.get();
+            long sequencia = proxima;
+            while (sequencia <= reservada && publicadas.get((int) (sequencia & mascara)) == sequencia) {
+                sequencia++;
+            }
+            return sequencia - 1;
+        }
+
+        /**
+         * Para a thread do assinante (o que não foi consumido fica para trás)
+         */
+        public void cancelar() {
+            if (!ativa) {
+                return;
+            }
+            ativa = false;
+            remover(this);
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public long getProcessados() {
+            return processada.get() - inicio;
+        }
+
+        // Eventos publicados que este assinante ainda não recebeu
+        public long getAtraso() {
+            return Math.max(0, cursor.get() - processada.get());
+        }
+
+        public long getFalhas() {
+            return falhas.sum();
+        }
+
+        // Eventos pulados por uma assinatura DESCARTAR que ficou para trás
+        public long getPerdidos() {
+            return perdidos.sum();
+        }
+
+        public Politica getPolitica() {
+            return politica;
+        }
+
+        public boolean isAtiva() {
+            return ativa;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package banco;
+
+import java.util.Arrays;
+
+/**
+ * Cache de chaves de idempotência do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Guarda o resultado das operações já executadas para que uma repetição
+ * com a mesma chave devolva o resultado original em O(1).
+ *
+ * Estrutura compacta e limitada:
+ * - As entradas ficam num anel de tamanho fixo, em ordem de inserção.
+ *   Como o TTL é igual para todas, essa também é a ordem de expiração:
+ *   a remoção acontece sempre pela cabeça do anel.
+ * - O índice é uma tabela de endereçamento aberto de int (hash de 64 bits
+ *   da chave guardado em long[]), com remoção por deslocamento.
+ *
+ * Não é thread-safe: a conta usa o próprio cache como monitor.
+ */
+class CacheIdempotencia<V> {
+    private static final int VAZIO = -1;
+
+    private final int capacidade;
+    private final long ttlNanos;
+
+    // Entradas no anel (indexadas pela posição no anel)
+    private final long[] hashes;
+    private final String[] chaves;
+    private final Object[] resultados;
+    private final long[] expiraEm;
+    private int inicio;
+    private int tamanho;
+
+    // Índice: posição no anel ou VAZIO
+    private final int[] tabela;
+    private final int mascara;
+
+    CacheIdempotencia(int capacidade, long ttlNanos) {
+        if (capacidade <= 0 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("Capacidade e TTL devem ser positivos");
+        }
+        this.capacidade = capacidade;
+        this.ttlNanos = ttlNanos;
+        this.hashes = new long[capacidade];
+        this.chaves = new String[capacidade];
+        this.resultados = new Object[capacidade];
+        this.expiraEm = new long[capacidade];
+
+        // Tabela com no máximo 50% de ocupação
+        int tamanhoTabela = Integer.highestOneBit(capacidade * 2 - 1) << 1;
+        this.tabela = new int[tamanhoTabela];
+        this.mascara = tamanhoTabela - 1;
+        Arrays.fill(tabela, VAZIO);
+    }
+
+    @SuppressWarnings("unchecked")
+    V buscar(String chave, long agora) {
+        removerExpiradas(agora);
+
+        long hash = hash64(chave);
+        for (int i = (int) hash & mascara; tabela[i] != VAZIO; i = (i + 1) & mascara) {
+            int entrada = tabela[i];
+            if (hashes[entrada] == hash && chaves[entrada].equals(chave)) {
+                return (V) resultados[entrada];
+            }
+        }
+        return null;
+    }
+
+    void guardar(String chave, V resultado, long agora) {
+        removerExpiradas(agora);
+        if (tamanho == capacidade) {
+            removerMaisAntiga();
+        }
+
+        int entrada = (inicio + tamanho) % capacidade;
+        long hash = hash64(chave);
+        hashes[entrada] = hash;
+        chaves[entrada] = chave;
+        resultados[entrada] = resultado;
+        expiraEm[entrada] = agora + ttlNanos;
+        tamanho++;
+
+        int i = (int) hash & mascara;
+        while (tabela[i] != VAZIO) {
+            i = (i + 1) & mascara;
+        }
+        tabela[i] = entrada;
+    }
+
+    int getTamanho() {
+        return tamanho;
+    }
+
+    private void removerExpiradas(long agora) {
+        while (tamanho > 0 && expiraEm[inicio] - agora <= 0) {
+            removerMaisAntiga();
+        }
+    }
+
+    private void removerMaisAntiga() {
+        int entrada = inicio;
+
+        // Localiza a entrada no índice
+        int i = (int) hashes[entrada] & mascara;
+        while (tabela[i] != entrada) {
+            i = (i + 1) & mascara;
+        }
+        removerDoIndice(i);
+
+        chaves[entrada] = null;
+        resultados[entrada] = null;
+        inicio = (inicio + 1) % capacidade;
+        tamanho--;
+    }
+
+    // Remoção em endereçamento aberto sem lápides: desloca o agrupamento seguinte
+    private void removerDoIndice(int livre) {
+        tabela[livre] = VAZIO;
+        for (int i = (livre + 1) & mascara; tabela[i] != VAZIO; i = (i + 1) & mascara) {
+            int ideal = (int) hashes[tabela[i]] & mascara;
+            // Move se a posição ideal não estiver entre (livre, i]
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                tabela[livre] = tabela[i];
+                tabela[i] = VAZIO;
+                livre = i;
+            }
+        }
+    }
+
+    // FNV-1a de 64 bits com mistura final
+    private static long hash64(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            h ^= chave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return h;
+    }
+}
@@ -1,7 +1,7 @@
 package banco;
 
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.ZoneId;
 
 
 /**
@@ -11,20 +11,28 @@ import java.time.Period;
  * - Permite clientes de qualquer idade
  * - Regras específicas para cada tipo de conta
  * - Suporte a emancipação legal
+ *
+ * Identidade: dois clientes são o mesmo cliente quando têm o mesmo CPF
+ * (hash calculado uma vez, na construção). O CPF é a chave dos índices
+ * do banco, então é final: não há como trocá-lo depois do cadastro.
  */
 public class Cliente {
     private String nome;
-    private String cpf;
+    private final String cpf;
+    private final int hashCpf;
     private LocalDate dataNascimento;
     private String email;
     private String telefone;
     private boolean emancipado;
     private Cliente responsavelLegal;
+    // Idade calculada vale até o próximo aniversário (ver getIdade())
+    private volatile IdadeEmCache idadeEmCache;
 
     // Construtor principal - para clientes maiores de idade
     public Cliente(String nome, String cpf, LocalDate dataNascimento, String telefone) {
         setNome(nome);
-        setCpf(cpf);
+        this.cpf = validarCPF(cpf);
+        this.hashCpf = this.cpf.hashCode();
         setDataNascimento(dataNascimento);
         setTelefone(telefone);
         // Para maiores de idade, não precisa de responsável legal
@@ -38,6 +46,7 @@ public class Cliente {
     public Cliente(String nome, String cpf, LocalDate dataNascimento, String telefone, Cliente responsavelLegal) {
         this.nome = validarNome(nome);
         this.cpf = validarCPF(cpf);
+        this.hashCpf = this.cpf.hashCode();
         this.dataNascimento = dataNascimento;
         this.telefone = telefone != null ? telefone : "";
         //this.dataAbertura = LocalDate.now();
@@ -80,19 +89,6 @@ public class Cliente {
         return cpf;
     }
 
-    public void setCpf(String cpf) {
-        if (cpf == null || cpf.trim().isEmpty()) {
-            throw new IllegalArgumentException("CPF não pode ser vazio");
-        }
-
-        String cpfLimpo = cpf.replaceAll("[^0-9]", "");
-        if (cpfLimpo.length() != 11) {
-            throw new IllegalArgumentException("CPF deve ter 11 dígitos");
-        }
-
-        this.cpf = formatarCpf(cpfLimpo);
-    }
-
     public LocalDate getDataNascimento() {
         return dataNascimento;
     }
@@ -171,9 +167,46 @@ public class Cliente {
         }
     }
 
-    // MÉTODO CALCULADO
+    // MÉTODO CALCULADO (em cache até o próximo aniversário, no relógio do banco)
     public int getIdade() {
-        return Period.between(this.dataNascimento, LocalDate.now()).getYears();
+        Relogio relogio = Relogio.atual();
+        long agora = relogio.millis();
+        IdadeEmCache cache = idadeEmCache;
+        if (cache == null || cache.dataNascimento != dataNascimento
+                || agora < cache.validaDe || agora >= cache.validaAte) {
+            cache = calcularIdade(relogio);
+            idadeEmCache = cache;
+        }
+        return cache.idade;
+    }
+
+    public FaixaEtaria getFaixaEtaria() {
+        return FaixaEtaria.daIdade(getIdade());
+    }
+
+    private IdadeEmCache calcularIdade(Relogio relogio) {
+        LocalDate nascimento = dataNascimento;
+        LocalDate hoje = relogio.hoje();
+        int idade = FaixaEtaria.idade(nascimento, hoje);
+        ZoneId zona = relogio.getZona();
+        // Vale de hoje (relógio voltando recalcula) até o dia do próximo aniversário
+        return new IdadeEmCache(nascimento, idade,
+            hoje.atStartOfDay(zona).toInstant().toEpochMilli(),
+            FaixaEtaria.proximoAniversario(nascimento, idade).atStartOfDay(zona).toInstant().toEpochMilli());
+    }
+
+    private static final class IdadeEmCache {
+        private final LocalDate dataNascimento;
+        private final int idade;
+        private final long validaDe;
+        private final long validaAte;
+
+        IdadeEmCache(LocalDate dataNascimento, int idade, long validaDe, long validaAte) {
+            this.dataNascimento = dataNascimento;
+            this.idade = idade;
+            this.validaDe = validaDe;
+            this.validaAte = validaAte;
+        }
     }
 
 
@@ -199,7 +232,8 @@ public class Cliente {
     // MÉTODOS UTILITÁRIOS]
 
     /**
-     * Valida o formato do CPF (apenas formato, não verifica dígitos verificadores)
+     * Valida o formato do CPF (apenas formato, não verifica dígitos verificadores).
+     * Único caminho de entrada do CPF: os dois construtores passam por aqui.
      *
      * @param cpf CPF a ser validado
      * @return CPF formatado se válido
@@ -223,7 +257,7 @@ public class Cliente {
             throw new IllegalArgumentException("CPF inválido: todos os dígitos são iguais");
         }
 
-        return validarCPF(cpfLimpo);
+        return formatarCpf(cpfLimpo);
     }
 
 
@@ -247,7 +281,7 @@ public class Cliente {
         return nomeFormatado;
     }
 
-    private String formatarCpf(String cpf) {
+    private static String formatarCpf(String cpf) {
         return String.format("%s.%s.%s-%s",
                 cpf.substring(0, 3),
                 cpf.substring(3, 6),
@@ -269,6 +303,19 @@ public class Cliente {
         }
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Cliente outro = (Cliente) obj;
+        return hashCpf == outro.hashCpf && cpf.equals(outro.cpf);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCpf;
+    }
+
     @Override
     public String toString() {
         return String.format("Cliente{nome='%s', cpf='%s', idade=%d, telefone='%s'}",
@@ -311,17 +358,3 @@ public class Cliente {
 
     }
 }
-
-//       // @Override
-//        public boolean equals (Object obj){
-//            if (this == obj) return true;
-//            if (obj == null || getClass() != obj.getClass()) return false;
-//            Cliente cliente = (Cliente) obj;
-//            return cpf.equals(cliente.cpf);
-
-
-        //@Override
-       // public int hashCode () {
-        //    return cpf.hashCode();
-
-
@@ -0,0 +1,91 @@
+package banco;
+
+import interfaces.IConta;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Compactador do histórico de transações do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Tira da memória as transações antigas de cada conta:
+ * - Além de maximoEmMemoria por conta, as mais antigas saem
+ * - Com idadeMaxima definida, também sai tudo o que for mais velho que ela
+ *
+ * O detalhe vai para um segmento GZIP no diretório de arquivo e a conta fica
+ * com um resumo (ResumoHistorico) das quantidades e totais. Extrato e
+ * consultas paginadas leem os segmentos de volta quando precisam.
+ *
+ * A gravação em disco acontece sem a trava da conta; só a troca final do
+ * prefixo em memória pelo resumo é feita sob o monitor do histórico.
+ */
+public class CompactadorHistorico {
+
+    private final Path diretorio;
+    private final Duration idadeMaxima;
+    private final int maximoEmMemoria;
+
+    /**
+     * @param idadeMaxima     transações mais velhas que isso são arquivadas (null = só pela quantidade)
+     * @param maximoEmMemoria transações mantidas em memória por conta
+     */
+    public CompactadorHistorico(Path diretorio, Duration idadeMaxima, int maximoEmMemoria) {
+        if (diretorio == null) {
+            throw new IllegalArgumentException("Diretório de arquivo não pode ser nulo");
+        }
+        if (idadeMaxima != null && idadeMaxima.isNegative()) {
+            throw new IllegalArgumentException("Idade máxima não pode ser negativa");
+        }
+        if (maximoEmMemoria < 0) {
+            throw new IllegalArgumentException("Máximo em memória não pode ser negativo");
+        }
+        this.diretorio = diretorio;
+        this.idadeMaxima = idadeMaxima;
+        this.maximoEmMemoria = maximoEmMemoria;
+    }
+
+    /**
+     * Compacta uma conta
+     *
+     * @return quantidade de transações arquivadas
+     */
+    public synchronized int compactar(Conta conta) throws IOException {
+        LocalDateTime corte = idadeMaxima != null ? Relogio.atual().agora().minus(idadeMaxima) : null;
+
+        List<Transacao> arquivadas = conta.selecionarParaArquivar(corte, maximoEmMemoria);
+        if (arquivadas.isEmpty()) {
+            return 0;
+        }
+
+        SegmentoHistorico segmento = SegmentoHistorico.gravar(diretorio, conta.getNumero(), arquivadas);
+        conta.confirmarArquivamento(segmento, arquivadas);
+        return arquivadas.size();
+    }
+
+    /**
+     * Compacta todas as contas do banco
+     *
+     * @return total de transações arquivadas
+     */
+    public int compactar(Banco banco) throws IOException {
+        int total = 0;
+        for (IConta conta : banco.getContas()) {
+            if (conta instanceof Conta) {
+                total += compactar((Conta) conta);
+            }
+        }
+        return total;
+    }
+
+    // Mesmos limites, gravando num subdiretório (ex.: uma partição do BancoParticionado)
+    public CompactadorHistorico noSubdiretorio(String nome) {
+        return new CompactadorHistorico(diretorio.resolve(nome), idadeMaxima, maximoEmMemoria);
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+}
@@ -1,16 +1,43 @@
 package banco;
 
 import interfaces.IConta;
+import interfaces.IFiltroOperacao;
+import interfaces.IObservadorConta;
+import exceptions.ChaveIdempotenciaReutilizadaException;
 import exceptions.SaldoInsuficienteException;
+import monitoramento.EventoTransferenciaJfr;
+import monitoramento.MetricasOperacoes;
+import monitoramento.MetricasOperacoes.Operacao;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 
 /**
  * Classe abstrata que representa uma conta bancária no YLLOCIN Bank
  *---------------------------------------------------------------------
  * Define a estrutura comum para todas as contas
+ *
+ * Concorrência:
+ * - O saldo fica num SaldoVersionado imutável; leituras nunca travam
+ * - Toda escrita aplica uma variação via compare-and-set (com nova tentativa)
+ * - Débitos são validados e aplicados com a trava da conta; créditos puros
+ *   (depositar) dispensam a trava, já que só podem aumentar o saldo
  */
 public abstract class Conta implements IConta {
 
@@ -18,62 +45,238 @@ public abstract class Conta implements IConta {
     protected static final int AGENCIA_PADRAO = 1;
     protected static int SEQUENCIAL = 1001;
 
+    // Cache de idempotência: últimas chaves por conta, válidas por 24 horas
+    private static final int CAPACIDADE_IDEMPOTENCIA = 4096;
+    private static final long VALIDADE_IDEMPOTENCIA = TimeUnit.HOURS.toNanos(24);
+
     protected int agencia;
     protected int numero;
-    protected BigDecimal saldo;
     protected Cliente cliente;
     protected List<Transacao> historico;
 
+    // Saldo + versão publicados atomicamente
+    private final AtomicReference<SaldoVersionado> estadoSaldo;
+
+    // Créditos distribuídos (contas de recebimento) - null no modo normal
+    private volatile AcumuladorCreditos acumuladorCreditos;
+
+    // Depósitos que perderam o compare-and-set do saldo; a partir do limiar a
+    // conta é considerada quente e passa a créditos distribuídos
+    static final int LIMIAR_DISPUTAS_CREDITO = 256;
+    private final AtomicInteger disputasCredito = new AtomicInteger();
+
+    // Trava da conta - operações em várias contas adquirem em ordem de número
+    private final ReentrantLock trava = new ReentrantLock();
+
+    // Criado no primeiro uso de uma chave de idempotência
+    private volatile CacheIdempotencia<Transacao> cacheIdempotencia;
+
+    // Chaves com operação em andamento (protegido pelo monitor do cache)
+    private final Map<String, OperacaoPendente> pendentesIdempotencia = new HashMap<>();
+
+    // Operações tarifadas feitas no mês corrente (protegido pela trava)
+    private int mesContagem = -1;
+    private final int[] operacoesNoMes = new int[OperacaoTarifada.values().length];
+
+    // Último mês com manutenção já cobrada (protegido pela trava)
+    private int mesUltimaManutencao = MesCorrente.atual();
+
+    // Últimas transações para extratos e relatórios (protegido pelo monitor do histórico)
+    private static final int CAPACIDADE_RECENTES = 16;
+    private final TransacoesRecentes recentes = new TransacoesRecentes(CAPACIDADE_RECENTES);
+
+    // Histórico já arquivado em disco pelo CompactadorHistorico
+    private volatile ResumoHistorico resumoHistorico = ResumoHistorico.VAZIO;
+
+    // Recebe cada transação registrada (o Banco publica no barramento de eventos); null = ninguém
+    private volatile IObservadorConta observador;
+
+    // Filtros consultados antes de cada operação (ex.: limitador de taxa)
+    private static volatile IFiltroOperacao[] filtros = new IFiltroOperacao[0];
+
     // Construtor protegido - só pode ser chamado pelas subclasses
     protected Conta(Cliente cliente) {
         this.agencia = AGENCIA_PADRAO;
-        this.numero = SEQUENCIAL++;
-        this.saldo = BigDecimal.ZERO;
+        this.numero = proximoNumero();
+        this.estadoSaldo = new AtomicReference<>(SaldoVersionado.INICIAL);
         this.cliente = cliente;
-        this.historico = new ArrayList<>();
+        this.historico = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    // Contas podem ser criadas em paralelo (partições de um BancoParticionado)
+    private static synchronized int proximoNumero() {
+        return SEQUENCIAL++;
     }
 
     // Implementação das operações bancárias
     @Override
     public void sacar(BigDecimal valor) {
+        executarSaque(valor);
+    }
+
+    @Override
+    public Transacao sacar(BigDecimal valor, String chaveIdempotencia) {
+        return executarIdempotente(chaveIdempotencia, TipoTransacao.SAQUE, valor, null,
+            () -> executarSaque(valor));
+    }
+
+    private Transacao executarSaque(BigDecimal valor) {
+        long inicio = MetricasOperacoes.iniciar();
+        try {
+            return debitarComValidacao(valor);
+        } finally {
+            MetricasOperacoes.registrar(Operacao.SAQUE, inicio);
+        }
+    }
+
+    private Transacao debitarComValidacao(BigDecimal valor) {
 
         if (valor.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Valor deve ser positivo");
         }
 
-        if (this.saldo.compareTo(valor) < 0) {
-            throw new SaldoInsuficienteException(
-                    String.format("Saldo insuficiente. Saldo atual: R$ %.2f" ,
-                            this.saldo.doubleValue()));
-        }
+        aplicarFiltros(TipoTransacao.SAQUE, valor);
 
-        this.saldo = this.saldo.subtract(valor);
+        trava.lock();
+        try {
+            incorporarCreditosPendentes();
 
-        // Registra a transação
-        registrarTransacao(new Transacao(TipoTransacao.SAQUE, valor,
-                "Saque realizado" , String.valueOf(this.numero)));
+            BigDecimal saldoAtual = getSaldo();
+            if (saldoAtual.compareTo(valor) < 0) {
+                throw new SaldoInsuficienteException(
+                        String.format("Saldo insuficiente. Saldo atual: R$ %.2f" ,
+                                saldoAtual.doubleValue()));
+            }
 
-        // Chama método específico de cada tipo de conta
-        aplicarTaxaSaque();
+            return debitarSaque(valor, OperacaoTarifada.SAQUE);
+        } finally {
+            trava.unlock();
+        }
     }
 
     @Override
     public void depositar(BigDecimal valor) {
+        executarDeposito(valor);
+    }
+
+    @Override
+    public Transacao depositar(BigDecimal valor, String chaveIdempotencia) {
+        return executarIdempotente(chaveIdempotencia, TipoTransacao.DEPOSITO, valor, null,
+            () -> executarDeposito(valor));
+    }
+
+    private Transacao executarDeposito(BigDecimal valor) {
         BigDecimal valorDeposito = valor;
 
         if (valorDeposito.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Valor deve ser positivo");
         }
 
-        this.saldo = this.saldo.add(valor);
+        aplicarFiltros(TipoTransacao.DEPOSITO, valor);
 
-        // Registra a transação
-        registrarTransacao(new Transacao(TipoTransacao.DEPOSITO, valor,
-                "Depósito realizado" , String.valueOf(this.numero)));
+        long inicio = MetricasOperacoes.iniciar();
+        try {
+            // Crédito puro: compare-and-set sem trava
+            return creditarDeposito(valor);
+        } finally {
+            MetricasOperacoes.registrar(Operacao.DEPOSITO, inicio);
+        }
+    }
+
+    /**
+     * Ativa o modo de créditos distribuídos, indicado para contas de recebimento
+     * com muitos depósitos simultâneos. Depósitos passam a somar em células
+     * separadas e são incorporados ao saldo antes de débitos e leituras do histórico.
+     * O modo não pode ser desativado. Contas com depósitos disputados passam a ele
+     * sozinhas (ver LIMIAR_DISPUTAS_CREDITO).
+     */
+    public void ativarCreditosDistribuidos() {
+        trava.lock();
+        try {
+            if (acumuladorCreditos == null) {
+                acumuladorCreditos = new AcumuladorCreditos();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public boolean isCreditosDistribuidos() {
+        return acumuladorCreditos != null;
+    }
+
+    /**
+     * Incorpora ao saldo e ao histórico os créditos acumulados. Chamado com a
+     * trava da conta antes de qualquer débito; também pode rodar periodicamente.
+     */
+    public void incorporarCreditosPendentes() {
+        AcumuladorCreditos acumulador = acumuladorCreditos;
+        if (acumulador == null && !temAjustesPendentes()) {
+            return;
+        }
+
+        trava.lock();
+        try {
+            // Ajustes devidos (ex.: rendimento) incidem sobre o saldo anterior aos créditos novos
+            if (temAjustesPendentes()) {
+                aplicarAjustesPendentes();
+            }
+            if (acumulador == null) {
+                return;
+            }
+
+            long recebidos = acumulador.getCentavosRecebidos();
+            while (true) {
+                SaldoVersionado atual = estadoSaldo.get();
+                long pendentes = recebidos - atual.getCentavosIncorporados();
+                if (pendentes <= 0
+                        || estadoSaldo.compareAndSet(atual, atual.comCreditosIncorporados(pendentes))) {
+                    break;
+                }
+            }
+
+            Transacao transacao;
+            while ((transacao = acumulador.getTransacoesPendentes().poll()) != null) {
+                registrarTransacao(transacao);
+            }
+        } finally {
+            trava.unlock();
+        }
     }
 
     @Override
     public void transferir(BigDecimal valor, IConta contaDestino) {
+        executarTransferencia(valor, contaDestino);
+    }
+
+    @Override
+    public Transacao transferir(BigDecimal valor, IConta contaDestino, String chaveIdempotencia) {
+        return executarIdempotente(chaveIdempotencia, TipoTransacao.TRANSFERENCIA, valor,
+            contaDestino != null ? String.valueOf(contaDestino.getNumero()) : null,
+            () -> executarTransferencia(valor, contaDestino));
+    }
+
+    private Transacao executarTransferencia(BigDecimal valor, IConta contaDestino) {
+        long inicio = MetricasOperacoes.iniciar();
+        EventoTransferenciaJfr evento = new EventoTransferenciaJfr();
+        evento.begin();
+        try {
+            Transacao transacao = transferirComTravas(valor, contaDestino);
+            evento.concluida = true;
+            return transacao;
+        } finally {
+            MetricasOperacoes.registrar(Operacao.TRANSFERENCIA, inicio);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.contaOrigem = this.numero;
+                evento.contaDestino = contaDestino != null ? contaDestino.getNumero() : 0;
+                evento.valor = valor != null ? valor.doubleValue() : 0.0;
+                evento.commit();
+            }
+        }
+    }
+
+    private Transacao transferirComTravas(BigDecimal valor, IConta contaDestino) {
         BigDecimal valorTransferencia = valor;
 
         // Validações
@@ -89,43 +292,586 @@ public abstract class Conta implements IConta {
             throw new IllegalArgumentException("Não é possível transferir para a mesma conta");
         }
 
-        // Verifica saldo suficiente (incluindo possíveis taxas)
-        BigDecimal saldoNecessario = valorTransferencia;
+        aplicarFiltros(TipoTransacao.TRANSFERENCIA, valor);
+
+        // Trava as duas contas sempre na ordem do número, evitando deadlock
+        Conta destinoImpl = contaDestino instanceof Conta ? (Conta) contaDestino : null;
+        Conta primeira = destinoImpl != null && destinoImpl.numero < this.numero ? destinoImpl : this;
+        Conta segunda = primeira == this ? destinoImpl : this;
+
+        primeira.trava.lock();
+        if (segunda != null) {
+            segunda.trava.lock();
+        }
+        try {
+            incorporarCreditosPendentes();
+
+            // Verifica saldo suficiente (incluindo possíveis taxas)
+            BigDecimal saldoNecessario = valorTransferencia.add(
+                    calcularTarifa(OperacaoTarifada.TRANSFERENCIA, valorTransferencia, 0));
+            BigDecimal saldoAtual = getSaldo();
+
+            if (saldoAtual.compareTo(saldoNecessario) < 0) {
+                throw new SaldoInsuficienteException(
+                        String.format("Saldo insuficiente para transferência. Saldo atual: R$ %.2f" ,
+                                saldoAtual.doubleValue()));
+            }
+
+            // Credita primeiro: se o destino recusar, nada foi debitado. Com a
+            // trava da origem, o saldo validado só pode aumentar até o débito.
+            if (destinoImpl != null) {
+                destinoImpl.creditarDeposito(valor);
+            } else {
+                contaDestino.depositar(valor);
+            }
+
+            debitarSaque(valor, OperacaoTarifada.TRANSFERENCIA); // Já registra transação e aplica taxas
+            return registrarTransferenciaEnviada(valor, contaDestino.getNumero());
+        } finally {
+            if (segunda != null) {
+                segunda.trava.unlock();
+            }
+            primeira.trava.unlock();
+        }
+    }
+
+    /**
+     * Executa a operação uma única vez por chave. Repetições dentro da validade
+     * devolvem a transação original sem reexecutar nem percorrer o histórico.
+     * Operações que falham não são guardadas, então podem ser repetidas.
+     *
+     * A transação guardada é a impressão digital do pedido: repetir a chave com
+     * outro tipo, valor ou destino é erro do cliente, não uma repetição.
+     *
+     * O monitor do cache só cobre a consulta e a publicação. Enquanto a operação
+     * roda, a chave fica marcada como pendente: só repetições da mesma chave
+     * esperam por ela, as demais chaves da conta seguem em paralelo.
+     */
+    private Transacao executarIdempotente(String chave, TipoTransacao tipo, BigDecimal valor,
+                                          String contaDestino, Supplier<Transacao> operacao) {
+        if (chave == null || chave.isBlank()) {
+            throw new IllegalArgumentException("Chave de idempotência não pode ser vazia");
+        }
+
+        CacheIdempotencia<Transacao> cache = cacheIdempotencia;
+        if (cache == null) {
+            synchronized (this) {
+                cache = cacheIdempotencia;
+                if (cache == null) {
+                    cache = new CacheIdempotencia<>(CAPACIDADE_IDEMPOTENCIA, VALIDADE_IDEMPOTENCIA);
+                    cacheIdempotencia = cache;
+                }
+            }
+        }
+
+        // O cache é sempre adquirido antes (e fora) das travas das contas
+        OperacaoPendente minha = new OperacaoPendente(tipo, valor, contaDestino);
+        while (true) {
+            OperacaoPendente emAndamento;
+            synchronized (cache) {
+                Transacao original = cache.buscar(chave, System.nanoTime());
+                if (original != null) {
+                    verificarMesmoPedido(chave, original, original.getTipo(), original.getValor(),
+                        original.getContaDestino(), tipo, valor, contaDestino);
+                    return original;
+                }
+                emAndamento = pendentesIdempotencia.putIfAbsent(chave, minha);
+            }
+            if (emAndamento == null) {
+                break;
+            }
+
+            // Mesma chave em execução: espera e consulta de novo (se ela falhou, esta tenta)
+            verificarMesmoPedido(chave, "operação em andamento", emAndamento.tipo, emAndamento.valor,
+                emAndamento.contaDestino, tipo, valor, contaDestino);
+            emAndamento.aguardar();
+        }
+
+        Transacao resultado = null;
+        try {
+            resultado = operacao.get();
+            return resultado;
+        } finally {
+            synchronized (cache) {
+                if (resultado != null) {
+                    cache.guardar(chave, resultado, System.nanoTime());
+                }
+                pendentesIdempotencia.remove(chave);
+            }
+            minha.concluir();
+        }
+    }
+
+    private static void verificarMesmoPedido(String chave, Object original, TipoTransacao tipoOriginal,
+                                             BigDecimal valorOriginal, String destinoOriginal,
+                                             TipoTransacao tipo, BigDecimal valor, String contaDestino) {
+        if (tipoOriginal != tipo
+                || valor == null || valorOriginal.compareTo(valor) != 0
+                || !Objects.equals(destinoOriginal, contaDestino)) {
+            throw new ChaveIdempotenciaReutilizadaException(String.format(
+                "Chave de idempotência '%s' já usada em outra operação: %s", chave, original));
+        }
+    }
+
+    /**
+     * Marca de uma chave cuja operação ainda está rodando
+     */
+    private static final class OperacaoPendente {
+        private final TipoTransacao tipo;
+        private final BigDecimal valor;
+        private final String contaDestino;
+        private final CountDownLatch concluida = new CountDownLatch(1);
+
+        private OperacaoPendente(TipoTransacao tipo, BigDecimal valor, String contaDestino) {
+            this.tipo = tipo;
+            this.valor = valor;
+            this.contaDestino = contaDestino;
+        }
+
+        private void concluir() {
+            concluida.countDown();
+        }
+
+        // Espera sem desistir: a operação sempre conclui (inclusive quando falha)
+        private void aguardar() {
+            boolean interrompida = false;
+            while (true) {
+                try {
+                    concluida.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ================= FILTROS DE OPERAÇÃO =================
+
+    public static synchronized void adicionarFiltro(IFiltroOperacao filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("Filtro não pode ser nulo");
+        }
+        IFiltroOperacao[] novos = Arrays.copyOf(filtros, filtros.length + 1);
+        novos[novos.length - 1] = filtro;
+        filtros = novos;
+    }
+
+    public static synchronized void removerFiltro(IFiltroOperacao filtro) {
+        filtros = Arrays.stream(filtros)
+            .filter(f -> f != filtro)
+            .toArray(IFiltroOperacao[]::new);
+    }
+
+    // Executado antes de qualquer trava; um filtro recusa lançando exceção
+    void aplicarFiltros(TipoTransacao tipo, BigDecimal valor) {
+        aplicarFiltros(filtros, tipo, valor);
+    }
+
+    // Se um filtro recusa, os anteriores (que já aceitaram) devolvem o que consumiram
+    private void aplicarFiltros(IFiltroOperacao[] atuais, TipoTransacao tipo, BigDecimal valor) {
+        for (int i = 0; i < atuais.length; i++) {
+            try {
+                atuais[i].antesDaOperacao(this, tipo, valor);
+            } catch (RuntimeException e) {
+                devolverFiltros(atuais, i, tipo, valor);
+                throw e;
+            }
+        }
+    }
+
+    private void devolverFiltros(IFiltroOperacao[] atuais, int quantidade, TipoTransacao tipo, BigDecimal valor) {
+        for (int i = 0; i < quantidade; i++) {
+            atuais[i].devolver(this, tipo, valor);
+        }
+    }
+
+    // ================= OPERAÇÕES INTERNAS (chamador valida e segura a trava) =================
+
+    /**
+     * Aplica uma variação ao saldo com compare-and-set, repetindo se outra
+     * thread publicou uma versão nova no meio do caminho
+     */
+    protected SaldoVersionado alterarSaldo(BigDecimal variacao) {
+        while (true) {
+            SaldoVersionado atual = estadoSaldo.get();
+            SaldoVersionado novo = atual.comVariacao(variacao);
+            if (estadoSaldo.compareAndSet(atual, novo)) {
+                return novo;
+            }
+        }
+    }
+
+    Transacao debitarSaque(BigDecimal valor, OperacaoTarifada operacao) {
+        alterarSaldo(valor.negate());
+
+        // Registra a transação
+        Transacao transacao = new Transacao(TipoTransacao.SAQUE, valor,
+                "Saque realizado" , String.valueOf(this.numero));
+        registrarTransacao(transacao);
+
+        // Tarifa conforme a tabela vigente para o tipo de conta
+        cobrarTarifa(operacao, valor);
+        return transacao;
+    }
+
+    // ================= TARIFAS =================
+
+    /**
+     * Tarifa da operação pela tabela vigente
+     *
+     * @param operacoesAdicionais operações do mesmo tipo ainda não contadas (ex.: itens anteriores de um lote)
+     */
+    BigDecimal calcularTarifa(OperacaoTarifada operacao, BigDecimal valor, int operacoesAdicionais) {
+        return TabelaTarifas.getAtual().calcular(getTipoConta(), operacao, valor,
+                getOperacoesNoMes(operacao) + operacoesAdicionais);
+    }
+
+    /**
+     * Cobra a tarifa da operação e conta a operação no mês (chamador segura a trava)
+     */
+    protected void cobrarTarifa(OperacaoTarifada operacao, BigDecimal valor) {
+        BigDecimal tarifa = calcularTarifa(operacao, valor, 0);
+        contarOperacoes(operacao, 1);
+
+        if (tarifa.signum() > 0) {
+            alterarSaldo(tarifa.negate());
+
+            // Registra a taxa como transação
+            registrarTransacao(new Transacao(
+                    TipoTransacao.TAXA,
+                    tarifa,
+                    operacao.getDescricaoTaxa(),
+                    String.valueOf(this.numero)));
+        }
+    }
+
+    /**
+     * Cobra numa única transação a manutenção dos meses fechados ainda não
+     * cobrados (recuperação após períodos sem processamento). A cobrança é
+     * limitada ao saldo disponível.
+     *
+     * @return valor efetivamente cobrado
+     */
+    public BigDecimal cobrarManutencaoPendente() {
+        trava.lock();
+        try {
+            int mesAtual = MesCorrente.atual();
+            int meses = mesAtual - mesUltimaManutencao;
+            if (meses <= 0) {
+                return BigDecimal.ZERO;
+            }
+            mesUltimaManutencao = mesAtual;
+
+            incorporarCreditosPendentes();
+            BigDecimal saldo = getSaldo();
+            BigDecimal tarifa = TabelaTarifas.getAtual()
+                    .calcular(getTipoConta(), OperacaoTarifada.MANUTENCAO_MENSAL, saldo, 0)
+                    .multiply(BigDecimal.valueOf(meses))
+                    .min(saldo);
+
+            if (tarifa.signum() <= 0) {
+                return BigDecimal.ZERO;
+            }
 
-        if (this instanceof ContaCorrente) {
-            saldoNecessario = saldoNecessario.add(BigDecimal.valueOf(0.50)); // Taxa de saque
+            alterarSaldo(tarifa.negate());
+            registrarTransacao(new Transacao(
+                    TipoTransacao.TAXA,
+                    tarifa,
+                    meses == 1
+                        ? OperacaoTarifada.MANUTENCAO_MENSAL.getDescricaoTaxa()
+                        : String.format("%s (%d meses)", OperacaoTarifada.MANUTENCAO_MENSAL.getDescricaoTaxa(), meses),
+                    String.valueOf(this.numero)));
+            return tarifa;
+        } finally {
+            trava.unlock();
         }
+    }
+
+    public int getOperacoesNoMes(OperacaoTarifada operacao) {
+        return mesContagem == MesCorrente.atual() ? operacoesNoMes[operacao.ordinal()] : 0;
+    }
 
-        if (this.saldo.compareTo(saldoNecessario) < 0) {
-            throw new SaldoInsuficienteException(
-                    String.format("Saldo insuficiente para transferência. Saldo atual: R$ %.2f" ,
-                            this.saldo.doubleValue()));
+    private void contarOperacoes(OperacaoTarifada operacao, int quantidade) {
+        int mes = MesCorrente.atual();
+        if (mes != mesContagem) {
+            Arrays.fill(operacoesNoMes, 0);
+            mesContagem = mes;
         }
+        operacoesNoMes[operacao.ordinal()] += quantidade;
+    }
 
-        // Executa a transferência
-        this.sacar(valor); // Já registra transação e aplica taxas
-        contaDestino.depositar(valor);
+    Transacao creditarDeposito(BigDecimal valor) {
+        if (temAjustesPendentes()) {
+            incorporarCreditosPendentes();
+        }
+
+        Transacao transacao = new Transacao(TipoTransacao.DEPOSITO, valor,
+                "Depósito realizado" , String.valueOf(this.numero));
+
+        AcumuladorCreditos acumulador = acumuladorCreditos;
+        if (acumulador != null && acumulador.registrar(valor, transacao)) {
+            IObservadorConta atual = observador;
+            if (atual != null) {
+                atual.aoAcumularCredito(this, transacao);
+            }
+            return transacao;
+        }
+
+        int perdidas = 0;
+        while (true) {
+            SaldoVersionado atual = estadoSaldo.get();
+            if (estadoSaldo.compareAndSet(atual, atual.comVariacao(valor))) {
+                break;
+            }
+            perdidas++;
+        }
 
-        // Registra transação específica de transferência no histórico do destinatário
-        Conta contaDestinoImpl = (Conta) contaDestino;
-        registrarTransacao(new Transacao(
+        // Registra a transação
+        registrarTransacao(transacao);
+
+        if (perdidas > 0) {
+            contarDisputasCredito(perdidas);
+        }
+        return transacao;
+    }
+
+    /**
+     * Soma tentativas perdidas por depósitos e, no limiar, ativa os créditos
+     * distribuídos. Só tenta a trava: o depósito pode estar dentro de um lote que
+     * já segura outras travas, e o próximo depósito disputado tenta de novo.
+     */
+    void contarDisputasCredito(int perdidas) {
+        if (acumuladorCreditos != null
+                || disputasCredito.addAndGet(perdidas) < LIMIAR_DISPUTAS_CREDITO
+                || !trava.tryLock()) {
+            return;
+        }
+        try {
+            ativarCreditosDistribuidos();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    Transacao registrarTransferenciaEnviada(BigDecimal valor, int numeroDestino) {
+        // Registra transação específica de transferência no histórico de origem
+        Transacao transacao = new Transacao(
                 TipoTransacao.TRANSFERENCIA,
                 valor,
-                "Transferência para Conta " + contaDestino.getNumero(),
+                "Transferência para Conta " + numeroDestino,
                 String.valueOf(this.numero),
-                String.valueOf(contaDestino.getNumero())));
+                String.valueOf(numeroDestino));
+        registrarTransacao(transacao);
+        return transacao;
+    }
+
+    ReentrantLock getTrava() {
+        return trava;
+    }
+
+    // ================= AJUSTES PREGUIÇOSOS =================
+
+    /**
+     * Indica se há lançamentos devidos ainda não materializados (ex.: rendimento
+     * de meses fechados). Consultado sem trava em leituras e movimentações,
+     * deve ser barato.
+     */
+    protected boolean temAjustesPendentes() {
+        return false;
+    }
+
+    /**
+     * Materializa os lançamentos devidos (chamador segura a trava). Deve deixar
+     * temAjustesPendentes() falso antes de consultar o saldo.
+     */
+    protected void aplicarAjustesPendentes() {
     }
 
+    @Override
+    public ResultadoLote executarLote(List<OperacaoLote> operacoes, boolean atomico) {
+        if (operacoes == null) {
+            throw new IllegalArgumentException("Lista de operações não pode ser nula");
+        }
+
+        // Itens com valor inválido falham na validação e não passam pelos filtros.
+        // Uma recusa de filtro rejeita o lote inteiro, antes de qualquer alteração
+        IFiltroOperacao[] atuais = filtros;
+        int filtrados = 0;
+        try {
+            for (; filtrados < operacoes.size(); filtrados++) {
+                OperacaoLote operacao = operacoes.get(filtrados);
+                if (validoParaFiltros(operacao)) {
+                    aplicarFiltros(atuais, operacao.getTipo(), operacao.getValor());
+                }
+            }
+        } catch (RuntimeException e) {
+            devolverFiltrosDoLote(atuais, operacoes, filtrados, null);
+            throw e;
+        }
+
+        // Itens recusados no lote (saldo insuficiente ou lote atômico rejeitado) devolvem o que consumiram
+        ResultadoLote resultado = null;
+        trava.lock();
+        try {
+            resultado = executarLoteComTrava(operacoes, atomico);
+            return resultado;
+        } finally {
+            trava.unlock();
+            devolverFiltrosDoLote(atuais, operacoes, operacoes.size(), resultado);
+        }
+    }
+
+    private static boolean validoParaFiltros(OperacaoLote operacao) {
+        return operacao != null && IConta.validarValor(operacao.getValor());
+    }
+
+    // Sem resultado (lote rejeitado), devolve todos os itens filtrados
+    private void devolverFiltrosDoLote(IFiltroOperacao[] atuais, List<OperacaoLote> operacoes, int filtrados,
+                                       ResultadoLote resultado) {
+        if (atuais.length == 0) {
+            return;
+        }
+        for (int i = 0; i < filtrados; i++) {
+            OperacaoLote operacao = operacoes.get(i);
+            if (validoParaFiltros(operacao) && (resultado == null || !resultado.isSucesso(i))) {
+                devolverFiltros(atuais, atuais.length, operacao.getTipo(), operacao.getValor());
+            }
+        }
+    }
+
+    private ResultadoLote executarLoteComTrava(List<OperacaoLote> operacoes, boolean atomico) {
+        incorporarCreditosPendentes();
+        if (operacoes.isEmpty()) {
+            return new ResultadoLote(List.of(), getSaldo(), 0);
+        }
+
+        String numeroConta = String.valueOf(this.numero);
+
+        // Uma única passada: valida, calcula o saldo final e monta as transações
+        BigDecimal saldoInicial = getSaldo();
+        BigDecimal saldoProjetado = saldoInicial;
+        List<Transacao> novasTransacoes = new ArrayList<>(operacoes.size() * 2);
+        List<String> falhas = new ArrayList<>(operacoes.size());
+        int aplicadas = 0;
+        int saquesAplicados = 0;
+
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLote operacao = operacoes.get(i);
+            String falha = null;
+
+            if (operacao == null || !IConta.validarValor(operacao.getValor())) {
+                falha = "Valor deve ser positivo";
+            } else if (operacao.getTipo() == TipoTransacao.DEPOSITO) {
+                saldoProjetado = saldoProjetado.add(operacao.getValor());
+                novasTransacoes.add(new Transacao(TipoTransacao.DEPOSITO,
+                        operacao.getValor(), operacao.getDescricao(), numeroConta, null));
+            } else if (saldoProjetado.compareTo(operacao.getValor()) < 0) {
+                falha = String.format("Saldo insuficiente. Saldo atual: R$ %.2f" ,
+                        saldoProjetado.doubleValue());
+            } else {
+                BigDecimal tarifa = calcularTarifa(OperacaoTarifada.SAQUE, operacao.getValor(), saquesAplicados);
+                saldoProjetado = saldoProjetado.subtract(operacao.getValor()).subtract(tarifa);
+                novasTransacoes.add(new Transacao(TipoTransacao.SAQUE,
+                        operacao.getValor(), operacao.getDescricao(), numeroConta, null));
+                if (tarifa.signum() > 0) {
+                    novasTransacoes.add(new Transacao(TipoTransacao.TAXA,
+                            tarifa, OperacaoTarifada.SAQUE.getDescricaoTaxa(), numeroConta, null));
+                }
+                saquesAplicados++;
+            }
+
+            if (falha != null && atomico) {
+                // Lote atômico: nada foi aplicado ainda, basta rejeitar
+                String mensagem = String.format("Lote rejeitado na operação %d: %s", i + 1, falha);
+                if (operacao != null && operacao.getTipo() == TipoTransacao.SAQUE
+                        && IConta.validarValor(operacao.getValor())) {
+                    throw new SaldoInsuficienteException(mensagem);
+                }
+                throw new IllegalArgumentException(mensagem);
+            }
+
+            falhas.add(falha);
+            if (falha == null) {
+                aplicadas++;
+            }
+        }
+
+        // Aplica a variação líquida e grava todo o histórico de uma vez
+        SaldoVersionado saldoFinal = alterarSaldo(saldoProjetado.subtract(saldoInicial));
+        synchronized (historico) {
+            gravarNoHistorico(novasTransacoes);
+            for (Transacao transacao : novasTransacoes) {
+                recentes.adicionar(transacao);
+                transacao.emitirEventoJfr();
+            }
+
+            // O lote vira uma única versão do saldo: todas saem com o saldo final
+            IObservadorConta atual = observador;
+            if (atual != null) {
+                for (Transacao transacao : novasTransacoes) {
+                    atual.aoRegistrarTransacao(this, transacao, saldoFinal);
+                }
+            }
+        }
+        contarOperacoes(OperacaoTarifada.SAQUE, saquesAplicados);
+
+        return new ResultadoLote(falhas, saldoFinal.getSaldo(), aplicadas);
+    }
 
-    // Método abstrato - cada tipo de conta implementa sua própria taxa
-    protected abstract void aplicarTaxaSaque();
 
     // Método para obter o tipo da conta (para relatórios)
     public abstract String getTipoConta();
 
     // Método protegido para registrar transação
     protected void registrarTransacao(Transacao transacao) {
-        this.historico.add(transacao);
+        synchronized (historico) {
+            long sequencia = SequenciaTransacoes.proxima();
+            transacao.atribuirSequencia(sequencia);
+            try {
+                historico.add(transacao);
+            } finally {
+                SequenciaTransacoes.confirmar(sequencia);
+            }
+            recentes.adicionar(transacao);
+            transacao.emitirEventoJfr();
+
+            // Ainda sob o monitor: os eventos de uma conta saem na ordem do histórico
+            IObservadorConta atual = observador;
+            if (atual != null) {
+                atual.aoRegistrarTransacao(this, transacao, estadoSaldo.get());
+            }
+        }
+    }
+
+    /*
+     * Sob o monitor do histórico: numera o lote num bloco só, grava e então
+     * confirma. Lotes maiores que a janela da sequência vão em partes.
+     */
+    private void gravarNoHistorico(List<Transacao> transacoes) {
+        for (int inicio = 0; inicio < transacoes.size(); inicio += SequenciaTransacoes.JANELA) {
+            List<Transacao> parte = transacoes.subList(inicio,
+                    Math.min(transacoes.size(), inicio + SequenciaTransacoes.JANELA));
+            SequenciaTransacoes.Bloco bloco = SequenciaTransacoes.reservar(parte.size());
+            try {
+                for (Transacao transacao : parte) {
+                    transacao.atribuirSequencia(bloco.proxima());
+                }
+                historico.addAll(parte);
+            } finally {
+                bloco.confirmar();
+            }
+        }
+    }
+
+    /**
+     * Define quem acompanha os lançamentos desta conta (null remove)
+     */
+    void definirObservador(IObservadorConta observador) {
+        this.observador = observador;
     }
 
     @Override
@@ -138,26 +884,25 @@ public abstract class Conta implements IConta {
         System.out.printf("🏦 Agência: %d%n" , this.agencia);
         System.out.printf("💳 Número: %d%n" , this.numero);
         System.out.printf("📝 Tipo: %s%n" , getTipoConta());
-        System.out.printf("💰 Saldo: R$ %.2f%n" , this.saldo.doubleValue());
+        System.out.printf("💰 Saldo: R$ %.2f%n" , getSaldo().doubleValue());
         System.out.println("══════════════════════════════════════");
 
         System.out.println("\n📊 HISTÓRICO DE TRANSAÇÕES");
         System.out.println("──────────────────────────────────────");
 
-        if (historico.isEmpty()) {
+        // Últimas 10 transações, direto do anel de recentes (sem copiar o histórico)
+        StringBuilder linhas = new StringBuilder(10 * 96);
+        int exibidas = formatarRecentes(10, "", linhas);
+        long total = getTotalTransacoes();
+
+        if (exibidas == 0) {
             System.out.println("   Nenhuma transação realizada.");
         } else {
-            // Mostra as últimas 10 transações
-            int limite = Math.min(10, historico.size());
-            int inicio = historico.size() - limite;
-
-            for (int i = inicio; i < historico.size(); i++) {
-                System.out.println(historico.get(i));
-            }
+            System.out.print(linhas);
 
-            if (historico.size() > 10) {
+            if (total > exibidas) {
                 System.out.printf("\n... e mais %d transações anteriores%n" ,
-                        historico.size() - 10);
+                        total - exibidas);
             }
         }
 
@@ -177,7 +922,32 @@ public abstract class Conta implements IConta {
 
     @Override
     public BigDecimal getSaldo() {
-        return saldo;
+        // Materializa ajustes devidos sem bloquear: com a trava ocupada, quem a
+        // segura está movimentando a conta e fará a materialização
+        if (temAjustesPendentes() && trava.tryLock()) {
+            try {
+                incorporarCreditosPendentes();
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        SaldoVersionado atual = estadoSaldo.get();
+        AcumuladorCreditos acumulador = acumuladorCreditos;
+        if (acumulador == null) {
+            return atual.getSaldo();
+        }
+
+        // Soma o que ainda está nas células (a soma só cresce, então nunca fica negativa)
+        long pendentes = acumulador.getCentavosRecebidos() - atual.getCentavosIncorporados();
+        return pendentes > 0
+            ? atual.getSaldo().add(BigDecimal.valueOf(pendentes, 2))
+            : atual.getSaldo();
+    }
+
+    // Saldo e versão lidos juntos, sem trava (créditos distribuídos entram após incorporação)
+    public SaldoVersionado getSaldoVersionado() {
+        return estadoSaldo.get();
     }
 
     @Override
@@ -187,9 +957,155 @@ public abstract class Conta implements IConta {
 
     @Override
     public List<Transacao> getHistorico() {
+        incorporarCreditosPendentes();
         return new ArrayList<>(historico);
     }
 
+    @Override
+    public void visitarTransacoesRecentes(int quantidade, Consumer<Transacao> visitante) {
+        if (quantidade <= 0 || quantidade > CAPACIDADE_RECENTES) {
+            throw new IllegalArgumentException(
+                "Quantidade de transações recentes deve estar entre 1 e " + CAPACIDADE_RECENTES);
+        }
+
+        incorporarCreditosPendentes();
+        synchronized (historico) {
+            recentes.visitar(quantidade, visitante);
+        }
+    }
+
+    @Override
+    public long getTotalTransacoes() {
+        return historico.size() + resumoHistorico.getQuantidade();
+    }
+
+    /**
+     * Formata as últimas transações no buffer (uma por linha, com o prefixo dado)
+     * e devolve quantas foram escritas. A impressão fica para depois, fora do monitor.
+     */
+    private int formatarRecentes(int quantidade, String prefixo, StringBuilder destino) {
+        int[] escritas = new int[1];
+        visitarTransacoesRecentes(quantidade, transacao -> {
+            transacao.formatarEm(destino.append(prefixo)).append(System.lineSeparator());
+            escritas[0]++;
+        });
+        return escritas[0];
+    }
+
+    @Override
+    public List<Transacao> getHistoricoApos(long sequencia, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite da página deve ser positivo");
+        }
+        incorporarCreditosPendentes();
+
+        // A sequência é dada na gravação, sob o monitor, e o arquivamento só
+        // retira prefixos: segmentos e memória, nessa ordem, formam uma lista
+        // já ordenada. Resumo e memória são lidos juntos, sob o monitor, para
+        // um arquivamento no meio não perder nem repetir transações.
+        ResumoHistorico resumo;
+        List<Transacao> daMemoria;
+        synchronized (historico) {
+            resumo = resumoHistorico;
+            daMemoria = paginaApos(historico, sequencia, limite);
+        }
+        if (resumo.getMaiorSequencia() <= sequencia) {
+            return daMemoria;
+        }
+
+        // Traz do disco só os segmentos que passam do cursor, até encher a página
+        List<Transacao> pagina = new ArrayList<>(limite);
+        for (SegmentoHistorico segmento : resumo.getSegmentos()) {
+            if (pagina.size() >= limite) {
+                break;
+            }
+            if (segmento.getMaiorSequencia() > sequencia) {
+                pagina.addAll(paginaApos(lerSegmento(segmento), sequencia, limite - pagina.size()));
+            }
+        }
+        pagina.addAll(daMemoria.subList(0, Math.min(daMemoria.size(), limite - pagina.size())));
+        return pagina;
+    }
+
+    // Até 'limite' transações depois da sequência, por busca binária na lista ordenada
+    private static List<Transacao> paginaApos(List<Transacao> ordenadas, long sequencia, int limite) {
+        int baixo = 0;
+        int alto = ordenadas.size();
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (ordenadas.get(meio).getSequencia() <= sequencia) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return new ArrayList<>(ordenadas.subList(baixo, Math.min(ordenadas.size(), baixo + limite)));
+    }
+
+    // ================= HISTÓRICO ARQUIVADO =================
+
+    /**
+     * Histórico inteiro, incluindo o que foi arquivado em disco (lê os segmentos)
+     */
+    public List<Transacao> getHistoricoCompleto() {
+        List<Transacao> emMemoria = getHistorico();
+        ResumoHistorico resumo = resumoHistorico;
+        if (resumo.isVazio()) {
+            return emMemoria;
+        }
+
+        List<Transacao> completo = new ArrayList<>((int) resumo.getQuantidade() + emMemoria.size());
+        for (SegmentoHistorico segmento : resumo.getSegmentos()) {
+            completo.addAll(lerSegmento(segmento));
+        }
+        completo.addAll(emMemoria);
+        return completo;
+    }
+
+    public ResumoHistorico getResumoHistorico() {
+        return resumoHistorico;
+    }
+
+    private static List<Transacao> lerSegmento(SegmentoHistorico segmento) {
+        try {
+            return segmento.ler();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o histórico arquivado " + segmento.getArquivo(), e);
+        }
+    }
+
+    /**
+     * Prefixo do histórico em memória a arquivar: o que passa do máximo em
+     * memória e, depois disso, o que for anterior ao corte de idade
+     */
+    List<Transacao> selecionarParaArquivar(LocalDateTime corte, int maximoEmMemoria) {
+        incorporarCreditosPendentes();
+        synchronized (historico) {
+            int tamanho = historico.size();
+            int quantidade = Math.max(0, tamanho - maximoEmMemoria);
+            while (corte != null && quantidade < tamanho
+                    && historico.get(quantidade).getdataHora().isBefore(corte)) {
+                quantidade++;
+            }
+            return new ArrayList<>(historico.subList(0, quantidade));
+        }
+    }
+
+    /**
+     * Retira da memória o prefixo já gravado no segmento e atualiza o resumo.
+     * O histórico só cresce no fim, então o prefixo selecionado continua no início.
+     */
+    void confirmarArquivamento(SegmentoHistorico segmento, List<Transacao> arquivadas) {
+        synchronized (historico) {
+            List<Transacao> prefixo = historico.subList(0, arquivadas.size());
+            if (!prefixo.equals(arquivadas)) {
+                throw new IllegalStateException("Histórico da conta " + numero + " mudou durante a compactação");
+            }
+            prefixo.clear();
+            resumoHistorico = resumoHistorico.comSegmento(segmento, arquivadas);
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("%s{agencia=%d, numero=%d, saldo=R$ %.2f, cliente=%s}" ,
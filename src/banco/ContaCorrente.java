@@ -1,37 +1,23 @@
 package banco;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 
 /**
  * Conta Corrente - especialização da classe Conta para o YLLOCIN Bank
  * -----------------------------------------------
  * Características:
- * - Taxa de R$ 0,50 por saque
+ * - Tarifas de saque e transferência pela TabelaTarifas (padrão R$ 0,50)
  * - Ideal para movimentação diária
  * - Disponível para maiores de 18 anos ou emancipados
  */
 public class ContaCorrente extends Conta {
     
-    private static final double TAXA_SAQUE = 0.50;
-    
     public ContaCorrente(Cliente cliente) {
         super(cliente);
     }
-    
-    @Override
-    protected void aplicarTaxaSaque() {
-        // Conta corrente tem taxa de saque
-        this.saldo = this.saldo.subtract(BigDecimal.valueOf(TAXA_SAQUE));
-        
-        // Registra a taxa como transação
-        registrarTransacao(new Transacao(
-            TipoTransacao.TAXA, 
-            BigDecimal.valueOf(TAXA_SAQUE), 
-            "Taxa de saque", 
-            String.valueOf(this.numero)));
-    }
-    
+
     @Override
     public String getTipoConta() {
         return "Conta Corrente";
@@ -55,9 +41,10 @@ public class ContaCorrente extends Conta {
         BigDecimal limiteBasico = BigDecimal.valueOf(1000.00);
         
         // Limite aumenta baseado no saldo médio
-        if (this.saldo.compareTo(BigDecimal.valueOf(5000)) > 0) {
+        BigDecimal saldoAtual = getSaldo();
+        if (saldoAtual.compareTo(BigDecimal.valueOf(5000)) > 0) {
             limiteBasico = limiteBasico.multiply(BigDecimal.valueOf(3));
-        } else if (this.saldo.compareTo(BigDecimal.valueOf(1000)) > 0) {
+        } else if (saldoAtual.compareTo(BigDecimal.valueOf(1000)) > 0) {
             limiteBasico = limiteBasico.multiply(BigDecimal.valueOf(2));
         }
         
@@ -70,21 +57,23 @@ public class ContaCorrente extends Conta {
         System.out.println("══════════════════════════════════════");
         System.out.printf("💳 Conta: %d%n", this.numero);
         System.out.printf("👤 Titular: %s%n", this.cliente.getNome());
-        System.out.printf("💰 Saldo atual: R$ %.2f%n", this.saldo.doubleValue());
+        System.out.printf("💰 Saldo atual: R$ %.2f%n", getSaldo().doubleValue());
         
-        // Análise de transações
-        long totalTransacoes = this.historico.size();
-        long saques = this.historico.stream()
+        // Análise de transações (cópia do histórico em memória + resumo do arquivado)
+        List<Transacao> transacoes = getHistorico();
+        ResumoHistorico arquivado = getResumoHistorico();
+        long totalTransacoes = transacoes.size() + arquivado.getQuantidade();
+        long saques = arquivado.getQuantidade(TipoTransacao.SAQUE) + transacoes.stream()
             .filter(t -> t.getTipo() == TipoTransacao.SAQUE)
             .count();
-        long depositos = this.historico.stream()
+        long depositos = arquivado.getQuantidade(TipoTransacao.DEPOSITO) + transacoes.stream()
             .filter(t -> t.getTipo() == TipoTransacao.DEPOSITO)
             .count();
         
-        BigDecimal totalTaxas = this.historico.stream()
+        BigDecimal totalTaxas = transacoes.stream()
             .filter(t -> t.getTipo() == TipoTransacao.TAXA)
             .map(Transacao::getValor)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+            .reduce(arquivado.getTotal(TipoTransacao.TAXA), BigDecimal::add);
         
         System.out.printf("📈 Total de transações: %d%n", totalTransacoes);
         System.out.printf("💸 Saques realizados: %d%n", saques);
@@ -93,14 +82,15 @@ public class ContaCorrente extends Conta {
         System.out.println("══════════════════════════════════════");
     }
     
+    // Tarifa do próximo saque pela tabela vigente, sem considerar faixas de valor
     public double getTAXA_SAQUE() {
-        return TAXA_SAQUE;
+        return calcularTarifa(OperacaoTarifada.SAQUE, null, 0).doubleValue();
     }
     
     @Override
     public String toString() {
         return String.format("ContaCorrente{numero=%d, titular=%s, saldo=%.2f, taxa=%.2f}", 
-                           numero, cliente.getNome(), saldo.doubleValue(), TAXA_SAQUE);
+                           numero, cliente.getNome(), getSaldo().doubleValue(), getTAXA_SAQUE());
     }
 
     /**
@@ -115,7 +105,7 @@ public class ContaCorrente extends Conta {
 
         System.out.printf("👤 Cliente: %s%n", this.cliente.getNome());
         System.out.printf("💳 Conta: %d%n", this.numero);
-        System.out.printf("💰 Saldo: R$ %.2f%n", this.saldo.doubleValue());
+        System.out.printf("💰 Saldo: R$ %.2f%n", getSaldo().doubleValue());
         System.out.println("─".repeat(50));
 
         // ✅ USANDO: consultarLimiteCredito()
@@ -1,31 +1,34 @@
 package banco;
 
+import monitoramento.MetricasOperacoes;
+import monitoramento.MetricasOperacoes.Operacao;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.List;
 
 
 /**
  * Conta Poupança - especialização da classe Conta para o YLLOCIN Bank
  * -----------------------------------------------
  * Características:
- * - Rendimento mensal de 0.5%
+ * - Rendimento mensal de 0.5%, creditado no primeiro acesso após a virada
+ *   do mês (contas paradas não custam nada até serem consultadas)
  * - Sem taxa de saque
  * - Disponível para todos os clientes
  */
 public class ContaPoupanca extends Conta {
     
     private static final double RENDIMENTO_MENSAL = 0.005; // 0.5% ao mês
-    private LocalDate dataUltimoRendimento;
+    private volatile LocalDate dataUltimoRendimento;
+
+    // Último mês já rendido, no formato de MesCorrente (alterado com a trava)
+    private volatile int mesRendimento;
     
     public ContaPoupanca(Cliente cliente) {
         super(cliente);
-        this.dataUltimoRendimento = LocalDate.now();
-    }
-    
-    @Override
-    protected void aplicarTaxaSaque() {
-        // Conta poupança não tem taxa de saque
-        // Método vazio, sem implementação necessária
+        this.dataUltimoRendimento = Relogio.atual().hoje();
+        this.mesRendimento = MesCorrente.atual();
     }
     
     @Override
@@ -33,23 +36,90 @@ public class ContaPoupanca extends Conta {
         return "Conta Poupança";
     }
     
+    // ================= RENDIMENTO PREGUIÇOSO =================
+
+    @Override
+    protected boolean temAjustesPendentes() {
+        return mesRendimento < MesCorrente.atual();
+    }
+
+    @Override
+    protected void aplicarAjustesPendentes() {
+        materializarRendimento();
+    }
+
     // Métodos específicos da Conta Poupança
-    public void aplicarRendimento() {
-        BigDecimal rendimento = this.saldo.multiply(BigDecimal.valueOf(RENDIMENTO_MENSAL));
-        
-        if (rendimento.compareTo(BigDecimal.ZERO) > 0) {
-            this.saldo = this.saldo.add(rendimento);
-            this.dataUltimoRendimento = LocalDate.now();
-            
-            // Registra o rendimento como transação
-            registrarTransacao(new Transacao(
-                TipoTransacao.RENDIMENTO,
-                rendimento,
-                "Rendimento mensal aplicado",
-                String.valueOf(this.numero)));
-            
+
+    /**
+     * Materializa o rendimento devido até o mês corrente. O rendimento já é
+     * creditado automaticamente no primeiro acesso após a virada do mês, então
+     * chamadas repetidas no mesmo mês não creditam de novo.
+     */
+    public BigDecimal aplicarRendimento() {
+        BigDecimal rendimento = aplicarRendimentoPendente();
+        if (rendimento.signum() > 0) {
             System.out.printf("💰 Rendimento aplicado: R$ %.2f%n", rendimento.doubleValue());
         }
+        return rendimento;
+    }
+
+    /**
+     * Aplica de uma vez, com juros compostos, o rendimento dos meses fechados
+     * desde o último rendimento
+     *
+     * @return rendimento creditado (zero se não havia mês pendente)
+     */
+    public BigDecimal aplicarRendimentoPendente() {
+        long inicio = MetricasOperacoes.iniciar();
+        getTrava().lock();
+        try {
+            return materializarRendimento();
+        } finally {
+            getTrava().unlock();
+            MetricasOperacoes.registrar(Operacao.RENDIMENTO, inicio);
+        }
+    }
+
+    // Chamador segura a trava
+    private BigDecimal materializarRendimento() {
+        int mesAtual = MesCorrente.atual();
+        int meses = mesAtual - mesRendimento;
+        if (meses <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        this.mesRendimento = mesAtual;
+        this.dataUltimoRendimento = Relogio.atual().hoje();
+
+        // Base: o saldo versionado, sem créditos distribuídos ainda não
+        // incorporados. Toda movimentação materializa o rendimento antes, então
+        // esse saldo não mudou desde o fechamento do primeiro mês pendente; os
+        // meses seguintes capitalizam sobre ele.
+        BigDecimal rendimento = rendimentoDevido(getSaldoVersionado().getSaldo(), meses);
+
+        if (rendimento.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        alterarSaldo(rendimento);
+
+        // Registra o rendimento como transação
+        registrarTransacao(new Transacao(
+            TipoTransacao.RENDIMENTO,
+            rendimento,
+            meses == 1
+                ? "Rendimento mensal aplicado"
+                : String.format("Rendimento de %d meses aplicado", meses),
+            String.valueOf(this.numero)));
+        return rendimento;
+    }
+
+    // Rendimento composto de 'meses' meses sobre a base, em centavos
+    static BigDecimal rendimentoDevido(BigDecimal base, int meses) {
+        BigDecimal fator = BigDecimal.ONE.add(BigDecimal.valueOf(RENDIMENTO_MENSAL))
+            .pow(meses)
+            .subtract(BigDecimal.ONE);
+        return base.multiply(fator).setScale(2, RoundingMode.HALF_EVEN);
     }
     
     public void consultarRendimento() {
@@ -57,25 +127,24 @@ public class ContaPoupanca extends Conta {
         System.out.println("═══════════════════════════════════════════");
         System.out.printf("🐷 Conta: %d%n", this.numero);
         System.out.printf("👤 Titular: %s%n", this.cliente.getNome());
-        System.out.printf("💰 Saldo atual: R$ %.2f%n", this.saldo.doubleValue());
+        BigDecimal saldoInicial = getSaldo();
+        System.out.printf("💰 Saldo atual: R$ %.2f%n", saldoInicial.doubleValue());
         
-        // Simulação para próximos meses
-        BigDecimal saldoAtual = this.saldo;
+        // Projeção em fórmula fechada: saldo(n) = saldo * (1 + r)^n
+        double saldo = saldoInicial.doubleValue();
         System.out.println("\n🔮 PROJEÇÃO DE RENDIMENTOS:");
         
         for (int mes = 1; mes <= 12; mes++) {
-            BigDecimal rendimentoMes = saldoAtual.multiply(BigDecimal.valueOf(RENDIMENTO_MENSAL));
-            saldoAtual = saldoAtual.add(rendimentoMes);
-            
             if (mes <= 6 || mes == 12) { // Mostra primeiros 6 meses e o 12º
+                double saldoMes = saldo * ProjecaoRendimentos.fatorCapitalizacao(RENDIMENTO_MENSAL, mes);
                 System.out.printf("%2dº mês: R$ %.2f (rendimento: +R$ %.2f)%n", 
-                    mes, saldoAtual.doubleValue(), rendimentoMes.doubleValue());
+                    mes, saldoMes, saldoMes / (1 + RENDIMENTO_MENSAL) * RENDIMENTO_MENSAL);
             }
         }
         
-        BigDecimal rendimentoAnual = saldoAtual.subtract(this.saldo);
-        System.out.printf("\n💎 Rendimento total em 12 meses: R$ %.2f%n", rendimentoAnual.doubleValue());
-        System.out.printf("📊 Taxa anual efetiva: %.2f%%%n", (Math.pow(1 + RENDIMENTO_MENSAL, 12) - 1) * 100);
+        double taxaAnual = ProjecaoRendimentos.fatorCapitalizacao(RENDIMENTO_MENSAL, 12) - 1;
+        System.out.printf("\n💎 Rendimento total em 12 meses: R$ %.2f%n", saldo * taxaAnual);
+        System.out.printf("📊 Taxa anual efetiva: %.2f%%%n", taxaAnual * 100);
         System.out.println("═══════════════════════════════════════════");
     }
     
@@ -84,25 +153,18 @@ public class ContaPoupanca extends Conta {
         System.out.println("═══════════════════════════════════════════");
         System.out.printf("💰 Meta desejada: R$ %.2f%n", valorMeta);
         System.out.printf("⏰ Prazo: %d meses%n", meses);
-        System.out.printf("💳 Saldo atual: R$ %.2f%n", this.saldo.doubleValue());
+        double saldoAtual = getSaldo().doubleValue();
+        System.out.printf("💳 Saldo atual: R$ %.2f%n", saldoAtual);
         
-        // Calcular quanto precisa depositar mensalmente
-        BigDecimal metaDecimal = BigDecimal.valueOf(valorMeta);
-        BigDecimal saldoFuturo = this.saldo;
+        // Crescimento só com rendimento e depósito mensal necessário, em fórmula fechada
+        double saldoFuturo = saldoAtual * ProjecaoRendimentos.fatorCapitalizacao(RENDIMENTO_MENSAL, meses);
+        double depositoMensal = ProjecaoRendimentos.aporteParaMeta(saldoAtual, valorMeta, RENDIMENTO_MENSAL, meses);
         
-        // Simular crescimento só com rendimento
-        for (int i = 0; i < meses; i++) {
-            saldoFuturo = saldoFuturo.multiply(BigDecimal.valueOf(1 + RENDIMENTO_MENSAL));
-        }
-        
-        BigDecimal diferenca = metaDecimal.subtract(saldoFuturo);
-        
-        if (diferenca.compareTo(BigDecimal.ZERO) <= 0) {
+        if (depositoMensal <= 0) {
             System.out.println("🎉 PARABÉNS! Você já atingirá a meta apenas com rendimentos!");
-            System.out.printf("💎 Saldo final projetado: R$ %.2f%n", saldoFuturo.doubleValue());
+            System.out.printf("💎 Saldo final projetado: R$ %.2f%n", saldoFuturo);
         } else {
-            // Calcular depósito mensal necessário (aproximação simples)
-            double depositoMensal = diferenca.doubleValue() / meses;
+            // Depósitos rendem a partir do mês seguinte ao aporte
             System.out.printf("📈 Depósito mensal necessário: R$ %.2f%n", depositoMensal);
             System.out.printf("💡 Total a ser depositado: R$ %.2f%n", depositoMensal * meses);
         }
@@ -116,16 +178,18 @@ public class ContaPoupanca extends Conta {
         System.out.println("════════════════════════════════════════════");
         System.out.printf("🐷 Conta: %d%n", this.numero);
         System.out.printf("👤 Titular: %s%n", this.cliente.getNome());
-        System.out.printf("💰 Saldo atual: R$ %.2f%n", this.saldo.doubleValue());
+        System.out.printf("💰 Saldo atual: R$ %.2f%n", getSaldo().doubleValue());
         System.out.printf("📅 Último rendimento: %s%n", this.dataUltimoRendimento);
         
-
-        BigDecimal totalRendimentos = this.historico.stream()
+        // Histórico em memória + resumo do que já foi arquivado
+        List<Transacao> transacoes = getHistorico();
+        ResumoHistorico arquivado = getResumoHistorico();
+        BigDecimal totalRendimentos = transacoes.stream()
             .filter(t -> t.getTipo() == TipoTransacao.RENDIMENTO)
             .map(Transacao::getValor)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+            .reduce(arquivado.getTotal(TipoTransacao.RENDIMENTO), BigDecimal::add);
         
-        long quantidadeRendimentos = this.historico.stream()
+        long quantidadeRendimentos = arquivado.getQuantidade(TipoTransacao.RENDIMENTO) + transacoes.stream()
             .filter(t -> t.getTipo() == TipoTransacao.RENDIMENTO)
             .count();
         
@@ -150,6 +214,6 @@ public class ContaPoupanca extends Conta {
     @Override
     public String toString() {
         return String.format("ContaPoupanca{numero=%d, titular=%s, saldo=%.2f, rendimento=%.3f%%}", 
-                           numero, cliente.getNome(), saldo.doubleValue(), RENDIMENTO_MENSAL * 100);
+                           numero, cliente.getNome(), getSaldo().doubleValue(), RENDIMENTO_MENSAL * 100);
     }
 }
\ No newline at end of file
@@ -0,0 +1,371 @@
+package banco;
+
+import exceptions.OperacaoSuspeitaException;
+import interfaces.IConta;
+import interfaces.IFiltroOperacao;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Detector de velocidade de movimentação do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Acompanha saques e transferências por conta e por CPF do titular em três
+ * janelas deslizantes (último minuto, hora e dia), com quantidade e soma:
+ * - Cada janela é um anel de baldes de tempo com totais corridos; ao avançar,
+ *   os baldes que saíram da janela são subtraídos e zerados
+ * - Tudo fica em arrays de long (endereçamento aberto, uma linha por chave)
+ *   divididos em faixas com travas independentes, sem objetos por conta
+ * - A verificação acontece antes da operação: acima de um limite ela é
+ *   recusada com OperacaoSuspeitaException (ou só sinalizada, sem bloqueio)
+ *
+ * As janelas andam de balde em balde (5 s no minuto, 5 min na hora, 1 h no
+ * dia). Tentativas contam mesmo que a operação falhe depois (ex.: sem saldo);
+ * operações recusadas pelo detector não contam.
+ */
+public class DetectorVelocidade implements IFiltroOperacao {
+
+    public enum Janela {
+        MINUTO("no último minuto", 12, 5_000L),
+        HORA("na última hora", 12, 300_000L),
+        DIA("no último dia", 24, 3_600_000L);
+
+        private final String descricao;
+        private final int baldes;
+        private final long larguraMillis;
+
+        Janela(String descricao, int baldes, long larguraMillis) {
+            this.descricao = descricao;
+            this.baldes = baldes;
+            this.larguraMillis = larguraMillis;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    /**
+     * Limites de quantidade e valor por janela (sem limite por padrão)
+     */
+    public static final class Limites {
+        private final long[] quantidades = new long[JANELAS.length];
+        private final long[] centavos = new long[JANELAS.length];
+
+        public Limites() {
+            Arrays.fill(quantidades, Long.MAX_VALUE);
+            Arrays.fill(centavos, Long.MAX_VALUE);
+        }
+
+        public Limites quantidade(Janela janela, int maximo) {
+            if (maximo <= 0) {
+                throw new IllegalArgumentException("Quantidade máxima deve ser positiva");
+            }
+            quantidades[janela.ordinal()] = maximo;
+            return this;
+        }
+
+        public Limites valor(Janela janela, BigDecimal maximo) {
+            if (maximo == null || maximo.signum() <= 0) {
+                throw new IllegalArgumentException("Valor máximo deve ser positivo");
+            }
+            centavos[janela.ordinal()] = paraCentavos(maximo);
+            return this;
+        }
+    }
+
+    private static final Janela[] JANELAS = Janela.values();
+    private static final int FAIXAS = 16;
+
+    // Layout da linha de cada chave, por janela: [último balde, quantidade, centavos, (quantidade, centavos) por balde]
+    private static final int CABECALHO = 3;
+    private static final int[] INICIO_JANELA = new int[JANELAS.length];
+    private static final int LARGURA_LINHA;
+
+    static {
+        int largura = 0;
+        for (Janela janela : JANELAS) {
+            INICIO_JANELA[janela.ordinal()] = largura;
+            largura += CABECALHO + 2 * janela.baldes;
+        }
+        LARGURA_LINHA = largura;
+    }
+
+    // Prefixos que separam chaves de conta e de CPF na mesma tabela
+    private static final long PREFIXO_CONTA = 1L << 40;
+    private static final long PREFIXO_CPF = 2L << 40;
+
+    private final Limites limitesConta;
+    private final Limites limitesCliente;
+    private final boolean bloquear;
+
+    private final TabelaJanelas[] faixas = new TabelaJanelas[FAIXAS];
+    private final LongAdder sinalizadas = new LongAdder();
+
+    /**
+     * @param bloquear true recusa a operação; false só conta a sinalização e deixa passar
+     */
+    public DetectorVelocidade(Limites limitesConta, Limites limitesCliente, boolean bloquear) {
+        if (limitesConta == null || limitesCliente == null) {
+            throw new IllegalArgumentException("Limites não podem ser nulos");
+        }
+        this.limitesConta = limitesConta;
+        this.limitesCliente = limitesCliente;
+        this.bloquear = bloquear;
+
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new TabelaJanelas();
+        }
+    }
+
+    @Override
+    public void antesDaOperacao(IConta conta, TipoTransacao tipo, BigDecimal valor) {
+        if (tipo != TipoTransacao.SAQUE && tipo != TipoTransacao.TRANSFERENCIA) {
+            return;
+        }
+
+        long agora = Relogio.atual().millis();
+        long centavos = paraCentavos(valor);
+
+        long chaveConta = PREFIXO_CONTA | conta.getNumero();
+        Janela excedidaConta = registrar(chaveConta, limitesConta, centavos, agora);
+        if (excedidaConta != null) {
+            sinalizar(String.format("Movimentação acima do padrão %s para a conta %d. Operação bloqueada por segurança.",
+                excedidaConta.getDescricao(), conta.getNumero()));
+        }
+
+        long chaveCliente = PREFIXO_CPF | chaveCpf(conta.getCliente().getCpf());
+        Janela excedidaCliente = registrar(chaveCliente, limitesCliente, centavos, agora);
+        if (excedidaCliente != null) {
+            if (bloquear) {
+                desfazer(chaveConta, centavos, agora);
+            }
+            sinalizar(String.format("Movimentação acima do padrão %s para o cliente. Operação bloqueada por segurança.",
+                excedidaCliente.getDescricao()));
+        }
+    }
+
+    private void sinalizar(String mensagem) {
+        sinalizadas.increment();
+        if (bloquear) {
+            throw new OperacaoSuspeitaException(mensagem);
+        }
+    }
+
+    /**
+     * Avança as janelas da chave e soma a operação
+     *
+     * @return a primeira janela cujo limite seria excedido (null se nenhuma);
+     *         no modo de bloqueio, nada é somado quando há excesso
+     */
+    private Janela registrar(long chave, Limites limites, long centavos, long agora) {
+        TabelaJanelas tabela = faixas[faixa(chave)];
+        synchronized (tabela) {
+            int base = tabela.localizar(chave) * LARGURA_LINHA;
+            long[] linhas = tabela.linhas;
+
+            Janela excedida = null;
+            for (Janela janela : JANELAS) {
+                int inicio = base + INICIO_JANELA[janela.ordinal()];
+                avancar(linhas, inicio, janela, agora);
+
+                if (excedida == null
+                        && (linhas[inicio + 1] + 1 > limites.quantidades[janela.ordinal()]
+                            || centavos > limites.centavos[janela.ordinal()] - linhas[inicio + 2])) {
+                    excedida = janela;
+                }
+            }
+
+            if (excedida != null && bloquear) {
+                return excedida;
+            }
+
+            for (Janela janela : JANELAS) {
+                int inicio = base + INICIO_JANELA[janela.ordinal()];
+                int balde = inicio + CABECALHO + 2 * (int) (linhas[inicio] % janela.baldes);
+                linhas[balde]++;
+                linhas[balde + 1] += centavos;
+                linhas[inicio + 1]++;
+                linhas[inicio + 2] += centavos;
+            }
+            return excedida;
+        }
+    }
+
+    // Tira da conta uma operação que o limite do cliente acabou recusando
+    private void desfazer(long chave, long centavos, long agora) {
+        TabelaJanelas tabela = faixas[faixa(chave)];
+        synchronized (tabela) {
+            int base = tabela.localizar(chave) * LARGURA_LINHA;
+            long[] linhas = tabela.linhas;
+
+            for (Janela janela : JANELAS) {
+                int inicio = base + INICIO_JANELA[janela.ordinal()];
+                // Se o balde já girou, a operação saiu sozinha da janela
+                if (linhas[inicio] != agora / janela.larguraMillis) {
+                    continue;
+                }
+                int balde = inicio + CABECALHO + 2 * (int) (linhas[inicio] % janela.baldes);
+                linhas[balde]--;
+                linhas[balde + 1] -= centavos;
+                linhas[inicio + 1]--;
+                linhas[inicio + 2] -= centavos;
+            }
+        }
+    }
+
+    /**
+     * Leva a janela até o balde atual, subtraindo e zerando os que saíram.
+     * Se o relógio voltar, continua somando no último balde.
+     */
+    private static void avancar(long[] linhas, int inicio, Janela janela, long agora) {
+        long atual = agora / janela.larguraMillis;
+        long ultimo = linhas[inicio];
+        if (atual <= ultimo) {
+            return;
+        }
+
+        long passos = Math.min(atual - ultimo, janela.baldes);
+        for (long k = 1; k <= passos; k++) {
+            int balde = inicio + CABECALHO + 2 * (int) ((ultimo + k) % janela.baldes);
+            linhas[inicio + 1] -= linhas[balde];
+            linhas[inicio + 2] -= linhas[balde + 1];
+            linhas[balde] = 0;
+            linhas[balde + 1] = 0;
+        }
+        linhas[inicio] = atual;
+    }
+
+    // ================= CONSULTAS =================
+
+    public long getQuantidadeConta(int numeroConta, Janela janela) {
+        return consultar(PREFIXO_CONTA | numeroConta, janela, 1);
+    }
+
+    public BigDecimal getTotalConta(int numeroConta, Janela janela) {
+        return BigDecimal.valueOf(consultar(PREFIXO_CONTA | numeroConta, janela, 2), 2);
+    }
+
+    public long getQuantidadeCliente(String cpf, Janela janela) {
+        return consultar(PREFIXO_CPF | chaveCpf(cpf), janela, 1);
+    }
+
+    public BigDecimal getTotalCliente(String cpf, Janela janela) {
+        return BigDecimal.valueOf(consultar(PREFIXO_CPF | chaveCpf(cpf), janela, 2), 2);
+    }
+
+    // Operações sinalizadas (recusadas, no modo de bloqueio) desde a criação
+    public long getSinalizadas() {
+        return sinalizadas.sum();
+    }
+
+    private long consultar(long chave, Janela janela, int campo) {
+        TabelaJanelas tabela = faixas[faixa(chave)];
+        synchronized (tabela) {
+            int posicao = tabela.procurar(chave);
+            if (posicao < 0) {
+                return 0;
+            }
+            int inicio = posicao * LARGURA_LINHA + INICIO_JANELA[janela.ordinal()];
+            avancar(tabela.linhas, inicio, janela, Relogio.atual().millis());
+            return tabela.linhas[inicio + campo];
+        }
+    }
+
+    // ================= AUXILIARES =================
+
+    private static long paraCentavos(BigDecimal valor) {
+        BigDecimal arredondado = valor.setScale(2, RoundingMode.HALF_UP);
+        // Valores absurdos saturam (e estouram qualquer limite) em vez de transbordar a soma
+        return arredondado.precision() <= 15
+            ? arredondado.unscaledValue().longValue()
+            : Long.MAX_VALUE / 4;
+    }
+
+    private static int faixa(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 60) & (FAIXAS - 1);
+    }
+
+    // Apenas os dígitos do CPF, como número
+    private static long chaveCpf(String cpf) {
+        long chave = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                chave = chave * 10 + (c - '0');
+            }
+        }
+        return chave;
+    }
+
+    /**
+     * Tabela de uma faixa: chaves e, em paralelo, uma linha de LARGURA_LINHA longs por chave
+     */
+    private static class TabelaJanelas {
+        private long[] chaves = new long[16];
+        private long[] linhas = new long[16 * LARGURA_LINHA];
+        private int tamanho;
+
+        // Posição da chave, ou -1
+        int procurar(long chave) {
+            int mascara = chaves.length - 1;
+            int i = (int) mix(chave) & mascara;
+            while (chaves[i] != 0) {
+                if (chaves[i] == chave) {
+                    return i;
+                }
+                i = (i + 1) & mascara;
+            }
+            return -1;
+        }
+
+        // Posição da chave, criando a linha zerada se ainda não existir
+        int localizar(long chave) {
+            int mascara = chaves.length - 1;
+            int i = (int) mix(chave) & mascara;
+            while (chaves[i] != 0) {
+                if (chaves[i] == chave) {
+                    return i;
+                }
+                i = (i + 1) & mascara;
+            }
+
+            if ((tamanho + 1) * 2 > chaves.length) {
+                crescer();
+                return localizar(chave);
+            }
+
+            chaves[i] = chave;
+            tamanho++;
+            return i;
+        }
+
+        private void crescer() {
+            long[] chavesAntigas = chaves;
+            long[] linhasAntigas = linhas;
+
+            chaves = new long[chavesAntigas.length * 2];
+            linhas = new long[chaves.length * LARGURA_LINHA];
+
+            int mascara = chaves.length - 1;
+            for (int j = 0; j < chavesAntigas.length; j++) {
+                if (chavesAntigas[j] != 0) {
+                    int i = (int) mix(chavesAntigas[j]) & mascara;
+                    while (chaves[i] != 0) {
+                        i = (i + 1) & mascara;
+                    }
+                    chaves[i] = chavesAntigas[j];
+                    System.arraycopy(linhasAntigas, j * LARGURA_LINHA, linhas, i * LARGURA_LINHA, LARGURA_LINHA);
+                }
+            }
+        }
+
+        private static long mix(long chave) {
+            long h = chave * 0xC2B2AE3D27D4EB4FL;
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package banco;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Diário (journal) de uma partição do BancoParticionado
+ * -----------------------------------------------------
+ * Registra cada passo do protocolo de duas fases nas transferências entre
+ * partições: PREPARADA quando a partição vota, CONFIRMADA ou ABORTADA no
+ * desfecho.
+ *
+ * Uma transação PREPARADA sem desfecho está em dúvida (getEmAberto()): o
+ * coordenador decidiu, mas a aplicação falhou no meio. Só os últimos
+ * registros ficam guardados para consulta; as contagens são totais.
+ *
+ * O diário vive só em memória, como os saldos das contas: serve para
+ * acompanhar o protocolo, não para recuperar o banco depois de uma parada.
+ */
+public final class DiarioParticao {
+
+    public enum Estado {
+        PREPARADA,
+        CONFIRMADA,
+        ABORTADA
+    }
+
+    private static final int REGISTROS_GUARDADOS = 1024;
+
+    private final String nome;
+    private final ArrayDeque<Registro> recentes = new ArrayDeque<>();
+    private final Map<Long, Registro> emAberto = new LinkedHashMap<>();
+    private long proximaSequencia = 1;
+    private long confirmadas;
+    private long abortadas;
+
+    public DiarioParticao(String nome) {
+        this.nome = nome;
+    }
+
+    synchronized void registrar(long idTransacao, Estado estado, String detalhe) {
+        Registro registro = new Registro(proximaSequencia++, idTransacao, estado,
+            Relogio.atual().agora(), detalhe);
+
+        switch (estado) {
+            case PREPARADA -> emAberto.put(idTransacao, registro);
+            case CONFIRMADA -> {
+                emAberto.remove(idTransacao);
+                confirmadas++;
+            }
+            case ABORTADA -> {
+                emAberto.remove(idTransacao);
+                abortadas++;
+            }
+        }
+
+        recentes.addLast(registro);
+        if (recentes.size() > REGISTROS_GUARDADOS) {
+            recentes.removeFirst();
+        }
+    }
+
+    // ================= CONSULTAS =================
+
+    public synchronized List<Registro> getRegistrosRecentes() {
+        return new ArrayList<>(recentes);
+    }
+
+    // Transações preparadas ainda sem desfecho
+    public synchronized List<Registro> getEmAberto() {
+        return new ArrayList<>(emAberto.values());
+    }
+
+    public synchronized long getConfirmadas() {
+        return confirmadas;
+    }
+
+    public synchronized long getAbortadas() {
+        return abortadas;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("DiarioParticao{%s, confirmadas=%d, abortadas=%d, emAberto=%d}",
+            nome, confirmadas, abortadas, emAberto.size());
+    }
+
+    /**
+     * Uma linha do diário
+     */
+    public static final class Registro {
+        private final long sequencia;
+        private final long idTransacao;
+        private final Estado estado;
+        private final LocalDateTime dataHora;
+        private final String detalhe;
+
+        private Registro(long sequencia, long idTransacao, Estado estado, LocalDateTime dataHora, String detalhe) {
+            this.sequencia = sequencia;
+            this.idTransacao = idTransacao;
+            this.estado = estado;
+            this.dataHora = dataHora;
+            this.detalhe = detalhe;
+        }
+
+        public long getSequencia() {
+            return sequencia;
+        }
+
+        public long getIdTransacao() {
+            return idTransacao;
+        }
+
+        public Estado getEstado() {
+            return estado;
+        }
+
+        public LocalDateTime getDataHora() {
+            return dataHora;
+        }
+
+        public String getDetalhe() {
+            return detalhe;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d %s tx=%d %s", sequencia, estado, idTransacao, detalhe);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package banco;
+
+import interfaces.IConta;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+/**
+ * Evento publicado no barramento do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Um evento por mudança de estado que interessa a sistemas externos:
+ * - TRANSACAO: cada lançamento no histórico de uma conta, com o saldo e a
+ *   versão do saldo logo depois dele
+ * - CREDITO_PENDENTE: depósito que entrou no acumulador de créditos
+ *   distribuídos e ainda não está no saldo nem no histórico (vira TRANSACAO
+ *   quando a conta o incorpora)
+ * - CONTA_ABERTA / CONTA_ENCERRADA: ciclo de vida das contas
+ * - CLIENTE_CADASTRADO / CLIENTE_REMOVIDO: ciclo de vida dos clientes
+ *
+ * Imutável. Campos que não se aplicam ao tipo ficam nulos (ou 0). Eventos de
+ * cadastro levam nome e nascimento do cliente, para quem consome de fora.
+ */
+public final class EventoBancario {
+
+    public enum Tipo {
+        TRANSACAO,
+        CONTA_ABERTA,
+        CONTA_ENCERRADA,
+        CLIENTE_CADASTRADO,
+        CLIENTE_REMOVIDO,
+        CREDITO_PENDENTE
+    }
+
+    private final Tipo tipo;
+    private final LocalDateTime dataHora;
+    private final int numeroConta;
+    private final String tipoConta;
+    private final String cpf;
+    private final String nomeCliente;
+    private final LocalDate dataNascimento;
+    private final Transacao transacao;
+    private final BigDecimal saldoApos;
+    private final long versaoSaldo;
+    // Créditos distribuídos já no saldo (centavos, soma monotônica da conta)
+    private final long centavosIncorporados;
+
+    private EventoBancario(Tipo tipo, LocalDateTime dataHora, int numeroConta, String tipoConta,
+                           String cpf, String nomeCliente, LocalDate dataNascimento,
+                           Transacao transacao, BigDecimal saldoApos, long versaoSaldo) {
+        this(tipo, dataHora, numeroConta, tipoConta, cpf, nomeCliente, dataNascimento,
+            transacao, saldoApos, versaoSaldo, 0L);
+    }
+
+    private EventoBancario(Tipo tipo, LocalDateTime dataHora, int numeroConta, String tipoConta,
+                           String cpf, String nomeCliente, LocalDate dataNascimento,
+                           Transacao transacao, BigDecimal saldoApos, long versaoSaldo,
+                           long centavosIncorporados) {
+        this.tipo = tipo;
+        this.dataHora = dataHora;
+        this.numeroConta = numeroConta;
+        this.tipoConta = tipoConta;
+        this.cpf = cpf;
+        this.nomeCliente = nomeCliente;
+        this.dataNascimento = dataNascimento;
+        this.transacao = transacao;
+        this.saldoApos = saldoApos;
+        this.versaoSaldo = versaoSaldo;
+        this.centavosIncorporados = centavosIncorporados;
+    }
+
+    // ================= FÁBRICAS =================
+
+    public static EventoBancario transacao(IConta conta, Transacao transacao, SaldoVersionado saldo) {
+        return new EventoBancario(Tipo.TRANSACAO, transacao.getdataHora(), conta.getNumero(),
+            conta.getTipoConta(), conta.getCliente().getCpf(), null, null,
+            transacao, saldo.getSaldo(), saldo.getVersao(), saldo.getCentavosIncorporados());
+    }
+
+    public static EventoBancario creditoPendente(IConta conta, Transacao transacao) {
+        return new EventoBancario(Tipo.CREDITO_PENDENTE, transacao.getdataHora(), conta.getNumero(),
+            conta.getTipoConta(), conta.getCliente().getCpf(), null, null, transacao, null, 0L);
+    }
+
+    public static EventoBancario contaAberta(IConta conta) {
+        return deConta(Tipo.CONTA_ABERTA, conta);
+    }
+
+    public static EventoBancario contaEncerrada(IConta conta) {
+        return deConta(Tipo.CONTA_ENCERRADA, conta);
+    }
+
+    public static EventoBancario clienteCadastrado(Cliente cliente) {
+        return new EventoBancario(Tipo.CLIENTE_CADASTRADO, Relogio.atual().agora(),
+            0, null, cliente.getCpf(), cliente.getNome(), cliente.getDataNascimento(), null, null, 0L);
+    }
+
+    public static EventoBancario clienteRemovido(String cpf) {
+        return new EventoBancario(Tipo.CLIENTE_REMOVIDO, Relogio.atual().agora(),
+            0, null, cpf, null, null, null, null, 0L);
+    }
+
+    private static EventoBancario deConta(Tipo tipo, IConta conta) {
+        return new EventoBancario(tipo, Relogio.atual().agora(), conta.getNumero(),
+            conta.getTipoConta(), conta.getCliente().getCpf(), null, null, null, conta.getSaldo(), 0L);
+    }
+
+    // Evento recebido de outro processo (replicação)
+    static EventoBancario restaurar(Tipo tipo, LocalDateTime dataHora, int numeroConta, String tipoConta,
+                                    String cpf, String nomeCliente, LocalDate dataNascimento,
+                                    Transacao transacao, BigDecimal saldoApos, long versaoSaldo) {
+        return new EventoBancario(tipo, dataHora, numeroConta, tipoConta, cpf, nomeCliente,
+            dataNascimento, transacao, saldoApos, versaoSaldo);
+    }
+
+    // ================= FORMATAÇÃO =================
+
+    /**
+     * Escreve o evento como uma linha separada por ';' (sem quebra de linha):
+     *   sequência;dataHora;tipo;conta;tipoConta;cpf;tipoTransação;sequênciaTransação;valor;saldo;versão
+     */
+    public StringBuilder formatarEm(StringBuilder sb, long sequencia) {
+        sb.append(sequencia).append(';')
+          .append(dataHora).append(';')
+          .append(tipo.name()).append(';');
+        if (numeroConta != 0) {
+            sb.append(numeroConta);
+        }
+        sb.append(';');
+        anexarOpcional(sb, tipoConta).append(';');
+        anexarOpcional(sb, cpf).append(';');
+        if (transacao != null) {
+            sb.append(transacao.getTipo().name()).append(';')
+              .append(transacao.getSequencia()).append(';')
+              .append(transacao.getValor().toPlainString()).append(';');
+        } else {
+            sb.append(";;;");
+        }
+        if (saldoApos != null) {
+            sb.append(saldoApos.toPlainString());
+        }
+        sb.append(';');
+        if (versaoSaldo != 0) {
+            sb.append(versaoSaldo);
+        }
+        return sb;
+    }
+
+    private static StringBuilder anexarOpcional(StringBuilder sb, String texto) {
+        return texto != null ? sb.append(texto) : sb;
+    }
+
+    // ================= GETTERS =================
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    // 0 para eventos de cliente
+    public int getNumeroConta() {
+        return numeroConta;
+    }
+
+    public String getTipoConta() {
+        return tipoConta;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    // Só em CLIENTE_CADASTRADO
+    public String getNomeCliente() {
+        return nomeCliente;
+    }
+
+    public LocalDate getDataNascimento() {
+        return dataNascimento;
+    }
+
+    // Só em eventos TRANSACAO e CREDITO_PENDENTE
+    public Transacao getTransacao() {
+        return transacao;
+    }
+
+    public BigDecimal getSaldoApos() {
+        return saldoApos;
+    }
+
+    // Versão do saldo após a transação: entre eventos da mesma conta, a maior é o saldo mais recente
+    public long getVersaoSaldo() {
+        return versaoSaldo;
+    }
+
+    // Só em eventos TRANSACAO gerados neste processo (a replicação não leva)
+    long getCentavosIncorporados() {
+        return centavosIncorporados;
+    }
+
+    @Override
+    public String toString() {
+        return formatarEm(new StringBuilder(128), 0).toString();
+    }
+}
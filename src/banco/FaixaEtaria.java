@@ -0,0 +1,64 @@
+package banco;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Period;
+
+/**
+ * Enum das faixas etárias usadas nos relatórios do YLLOCIN Bank
+ * Também concentra a conta de idade (Period em anos) e de próximo aniversário
+ */
+public enum FaixaEtaria {
+    MENOR("Menores (< 18)", 0),
+    JOVEM("Jovens (18-29)", 18),
+    ADULTO("Adultos (30-59)", 30),
+    SENIOR("Seniores (60+)", 60);
+
+    // Nascidos em 29/02 fazem aniversário em 01/03 nos anos não bissextos (regra do Period)
+    static final MonthDay VINTE_NOVE_DE_FEVEREIRO = MonthDay.of(2, 29);
+
+    private static final FaixaEtaria[] FAIXAS = values();
+
+    private final String descricao;
+    private final int idadeMinima;
+
+    FaixaEtaria(String descricao, int idadeMinima) {
+        this.descricao = descricao;
+        this.idadeMinima = idadeMinima;
+    }
+
+    public static FaixaEtaria daIdade(int idade) {
+        for (int i = FAIXAS.length - 1; i > 0; i--) {
+            if (idade >= FAIXAS[i].idadeMinima) {
+                return FAIXAS[i];
+            }
+        }
+        return MENOR;
+    }
+
+    static int idade(LocalDate dataNascimento, LocalDate hoje) {
+        return Period.between(dataNascimento, hoje).getYears();
+    }
+
+    // Primeiro dia em que a idade passa de 'idadeAtual'
+    static LocalDate proximoAniversario(LocalDate dataNascimento, int idadeAtual) {
+        LocalDate aniversario = dataNascimento.plusYears(idadeAtual + 1L);
+        if (idade(dataNascimento, aniversario) <= idadeAtual) {
+            aniversario = aniversario.plusDays(1);
+        }
+        return aniversario;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public int getIdadeMinima() {
+        return idadeMinima;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
@@ -0,0 +1,250 @@
+package banco;
+
+import exceptions.LimiteOperacoesExcedidoException;
+import interfaces.IConta;
+import interfaces.IFiltroOperacao;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Limitador de taxa de operações do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Balde de fichas (token bucket) por conta e por CPF do titular:
+ * - Cada operação consome uma ficha da conta e uma do cliente
+ * - As fichas são recarregadas sob demanda, no momento do acesso
+ * - Sem fichas, a operação espera até o tempo máximo configurado ou é recusada
+ *
+ * Os baldes ficam em tabelas de long (endereçamento aberto) divididas em
+ * faixas com travas independentes, sem um objeto por conta. Um balde parado
+ * há mais tempo do que leva para encher do zero (mais a espera máxima) está
+ * cheio, igual a um novo: antes de crescer, a tabela descarta esses baldes.
+ */
+public class LimitadorTaxa implements IFiltroOperacao {
+
+    // Fichas guardadas em milionésimos para permitir recarga fracionária
+    private static final long ESCALA = 1_000_000L;
+    private static final int FAIXAS = 16;
+
+    // Prefixos que separam chaves de conta e de CPF na mesma tabela
+    private static final long PREFIXO_CONTA = 1L << 40;
+    private static final long PREFIXO_CPF = 2L << 40;
+
+    private final long capacidadeConta;
+    private final long recargaContaPorSegundo;
+    private final long capacidadeCliente;
+    private final long recargaClientePorSegundo;
+    private final long esperaMaximaNanos;
+
+    private final TabelaBaldes[] faixas = new TabelaBaldes[FAIXAS];
+
+    /**
+     * @param capacidadeConta        rajada máxima por conta
+     * @param operacoesPorSegundoConta ritmo sustentado por conta
+     * @param capacidadeCliente      rajada máxima por CPF (somando todas as contas)
+     * @param operacoesPorSegundoCliente ritmo sustentado por CPF
+     * @param esperaMaximaMillis     tempo que uma operação pode aguardar na fila (0 = recusar na hora)
+     */
+    public LimitadorTaxa(int capacidadeConta, int operacoesPorSegundoConta,
+                         int capacidadeCliente, int operacoesPorSegundoCliente,
+                         long esperaMaximaMillis) {
+        if (capacidadeConta <= 0 || operacoesPorSegundoConta <= 0
+                || capacidadeCliente <= 0 || operacoesPorSegundoCliente <= 0) {
+            throw new IllegalArgumentException("Capacidades e ritmos devem ser positivos");
+        }
+        if (esperaMaximaMillis < 0) {
+            throw new IllegalArgumentException("Espera máxima não pode ser negativa");
+        }
+
+        this.capacidadeConta = capacidadeConta * ESCALA;
+        this.recargaContaPorSegundo = operacoesPorSegundoConta;
+        this.capacidadeCliente = capacidadeCliente * ESCALA;
+        this.recargaClientePorSegundo = operacoesPorSegundoCliente;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMillis);
+
+        // Tempo para qualquer balde voltar a ficar cheio, mesmo devendo a espera máxima
+        long ociosidadeNanos = Math.max(
+            this.capacidadeConta * 1_000 / recargaContaPorSegundo,
+            this.capacidadeCliente * 1_000 / recargaClientePorSegundo) + esperaMaximaNanos;
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new TabelaBaldes(ociosidadeNanos);
+        }
+    }
+
+    @Override
+    public void antesDaOperacao(IConta conta, TipoTransacao tipo, BigDecimal valor) {
+        long agora = System.nanoTime();
+
+        long chaveConta = PREFIXO_CONTA | conta.getNumero();
+        long esperaConta = reservar(chaveConta, capacidadeConta, recargaContaPorSegundo, agora);
+        if (esperaConta < 0) {
+            throw new LimiteOperacoesExcedidoException(String.format(
+                "Limite de operações excedido para a conta %d. Tente novamente em instantes.",
+                conta.getNumero()));
+        }
+
+        long chaveCliente = PREFIXO_CPF | chaveCpf(conta.getCliente().getCpf());
+        long esperaCliente = reservar(chaveCliente, capacidadeCliente, recargaClientePorSegundo, agora);
+        if (esperaCliente < 0) {
+            devolver(chaveConta, capacidadeConta);
+            throw new LimiteOperacoesExcedidoException(
+                "Limite de operações excedido para o cliente. Tente novamente em instantes.");
+        }
+
+        // Fila: aguarda a ficha reservada ficar disponível
+        long espera = Math.max(esperaConta, esperaCliente);
+        if (espera > 0) {
+            LockSupport.parkNanos(espera);
+        }
+    }
+
+    // Operação aceita que não chegou a ser executada: as fichas voltam aos baldes
+    @Override
+    public void devolver(IConta conta, TipoTransacao tipo, BigDecimal valor) {
+        devolver(PREFIXO_CONTA | conta.getNumero(), capacidadeConta);
+        devolver(PREFIXO_CPF | chaveCpf(conta.getCliente().getCpf()), capacidadeCliente);
+    }
+
+    /**
+     * Reserva uma ficha, recarregando o balde antes
+     *
+     * @return 0 se havia ficha, o tempo de espera em nanos se a ficha foi
+     *         reservada para o futuro, ou -1 se a espera excederia o máximo
+     */
+    private long reservar(long chave, long capacidade, long recargaPorSegundo, long agora) {
+        TabelaBaldes tabela = faixas[faixa(chave)];
+        synchronized (tabela) {
+            int i = tabela.localizar(chave, capacidade, agora);
+
+            // Recarga preguiçosa: fichas acumuladas desde o último acesso. Além do
+            // tempo de encher o balde a conta nem é feita (decorrido * recarga transbordaria)
+            long decorrido = agora - tabela.atualizadoEm[i];
+            if (decorrido > 0) {
+                long paraEncher = (capacidade - tabela.fichas[i]) * 1_000 / recargaPorSegundo;
+                tabela.fichas[i] = decorrido > paraEncher
+                    ? capacidade
+                    : Math.min(capacidade, tabela.fichas[i] + decorrido * recargaPorSegundo / 1_000);
+                tabela.atualizadoEm[i] = agora;
+            }
+
+            long restante = tabela.fichas[i] - ESCALA;
+            if (restante >= 0) {
+                tabela.fichas[i] = restante;
+                return 0;
+            }
+
+            long espera = -restante * 1_000 / recargaPorSegundo;
+            if (espera > esperaMaximaNanos) {
+                return -1;
+            }
+
+            // Fica devendo: quem chegar depois espera mais
+            tabela.fichas[i] = restante;
+            return Math.max(1, espera);
+        }
+    }
+
+    private void devolver(long chave, long capacidade) {
+        TabelaBaldes tabela = faixas[faixa(chave)];
+        synchronized (tabela) {
+            int i = tabela.localizar(chave, capacidade, System.nanoTime());
+            tabela.fichas[i] = Math.min(capacidade, tabela.fichas[i] + ESCALA);
+        }
+    }
+
+    private static int faixa(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 60) & (FAIXAS - 1);
+    }
+
+    // Apenas os dígitos do CPF, como número
+    private static long chaveCpf(String cpf) {
+        long chave = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                chave = chave * 10 + (c - '0');
+            }
+        }
+        return chave;
+    }
+
+    /**
+     * Tabela de baldes de uma faixa: chave, fichas e último acesso em arrays paralelos
+     */
+    private static class TabelaBaldes {
+        private final long ociosidadeNanos;
+        private long[] chaves = new long[64];
+        private long[] fichas = new long[64];
+        private long[] atualizadoEm = new long[64];
+        private int tamanho;
+
+        TabelaBaldes(long ociosidadeNanos) {
+            this.ociosidadeNanos = ociosidadeNanos;
+        }
+
+        // Posição da chave, criando o balde cheio se ainda não existir
+        int localizar(long chave, long capacidade, long agora) {
+            int mascara = chaves.length - 1;
+            int i = (int) mix(chave) & mascara;
+            while (chaves[i] != 0) {
+                if (chaves[i] == chave) {
+                    return i;
+                }
+                i = (i + 1) & mascara;
+            }
+
+            if ((tamanho + 1) * 2 > chaves.length) {
+                reorganizar(agora);
+                return localizar(chave, capacidade, agora);
+            }
+
+            chaves[i] = chave;
+            fichas[i] = capacidade;
+            atualizadoEm[i] = agora;
+            tamanho++;
+            return i;
+        }
+
+        // Refaz a tabela sem os baldes ociosos; só dobra se continuar mais de 1/4 ocupada
+        private void reorganizar(long agora) {
+            long[] chavesAntigas = chaves;
+            long[] fichasAntigas = fichas;
+            long[] atualizadoAntigo = atualizadoEm;
+
+            int ativos = 0;
+            for (int j = 0; j < chavesAntigas.length; j++) {
+                if (chavesAntigas[j] != 0 && agora - atualizadoAntigo[j] < ociosidadeNanos) {
+                    ativos++;
+                }
+            }
+
+            int novoTamanho = (ativos + 1) * 4 > chavesAntigas.length
+                ? chavesAntigas.length * 2
+                : chavesAntigas.length;
+            chaves = new long[novoTamanho];
+            fichas = new long[novoTamanho];
+            atualizadoEm = new long[novoTamanho];
+            tamanho = ativos;
+
+            int mascara = chaves.length - 1;
+            for (int j = 0; j < chavesAntigas.length; j++) {
+                if (chavesAntigas[j] != 0 && agora - atualizadoAntigo[j] < ociosidadeNanos) {
+                    int i = (int) mix(chavesAntigas[j]) & mascara;
+                    while (chaves[i] != 0) {
+                        i = (i + 1) & mascara;
+                    }
+                    chaves[i] = chavesAntigas[j];
+                    fichas[i] = fichasAntigas[j];
+                    atualizadoEm[i] = atualizadoAntigo[j];
+                }
+            }
+        }
+
+        private static long mix(long chave) {
+            long h = chave * 0xC2B2AE3D27D4EB4FL;
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package banco;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Mês corrente em cache para as contagens mensais de operações
+ * -----------------------------------------------------
+ * Evita consultar o calendário a cada operação: o mês só é recalculado
+ * quando o relógio sai do intervalo do mês guardado (o Relogio simulado
+ * também pode voltar no tempo).
+ */
+final class MesCorrente {
+    private static volatile MesCorrente cache = calcular(Relogio.atual());
+
+    private final int mes;
+    private final long inicioDoMesMillis;
+    private final long fimDoMesMillis;
+
+    private MesCorrente(int mes, long inicioDoMesMillis, long fimDoMesMillis) {
+        this.mes = mes;
+        this.inicioDoMesMillis = inicioDoMesMillis;
+        this.fimDoMesMillis = fimDoMesMillis;
+    }
+
+    // Mês como número contínuo (ano * 12 + mês)
+    static int atual() {
+        Relogio relogio = Relogio.atual();
+        long agora = relogio.millis();
+        MesCorrente atual = cache;
+        if (agora >= atual.fimDoMesMillis || agora < atual.inicioDoMesMillis) {
+            atual = calcular(relogio);
+            cache = atual;
+        }
+        return atual.mes;
+    }
+
+    // Mês de uma data, no mesmo formato
+    static int de(LocalDate data) {
+        return data.getYear() * 12 + data.getMonthValue() - 1;
+    }
+
+    private static MesCorrente calcular(Relogio relogio) {
+        ZoneId zona = relogio.getZona();
+        LocalDate inicio = relogio.hoje().withDayOfMonth(1);
+        return new MesCorrente(
+            de(inicio),
+            inicio.atStartOfDay(zona).toInstant().toEpochMilli(),
+            inicio.plusMonths(1).atStartOfDay(zona).toInstant().toEpochMilli());
+    }
+}
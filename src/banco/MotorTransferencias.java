@@ -0,0 +1,177 @@
+package banco;
+
+import exceptions.SaldoInsuficienteException;
+import interfaces.IConta;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Motor de transferências em lote do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Executa um lote de transferências entre várias contas como uma única
+ * operação (tudo ou nada):
+ * - Passa cada transferência pelos filtros da origem (limitador, detector);
+ *   uma recusa rejeita o lote inteiro
+ * - Trava todas as contas envolvidas em ordem crescente de número (sem deadlock)
+ * - Valida o lote inteiro sobre saldos projetados antes de alterar qualquer conta
+ * - Aplica as transferências em ordem, na thread que segura as travas
+ */
+public class MotorTransferencias {
+
+    /**
+     * Uma transferência dentro do lote
+     */
+    public static class Transferencia {
+        private final Conta origem;
+        private final Conta destino;
+        private final BigDecimal valor;
+
+        public Transferencia(IConta origem, IConta destino, BigDecimal valor) {
+            if (!(origem instanceof Conta) || !(destino instanceof Conta)) {
+                throw new IllegalArgumentException("Transferência em lote exige contas do YLLOCIN Bank");
+            }
+            this.origem = (Conta) origem;
+            this.destino = (Conta) destino;
+            this.valor = valor;
+        }
+
+        public IConta getOrigem() {
+            return origem;
+        }
+
+        public IConta getDestino() {
+            return destino;
+        }
+
+        public BigDecimal getValor() {
+            return valor;
+        }
+    }
+
+    public void executarLote(List<Transferencia> lote) {
+        Map<Integer, Conta> contas = contasDoLote(lote);
+        aplicarFiltros(lote);
+
+        List<Conta> travadas = travar(contas.values());
+        try {
+            validarLote(lote, contas);
+            aplicarLote(lote);
+        } finally {
+            destravar(travadas);
+        }
+    }
+
+    // ================= FASES (usadas também pelo BancoParticionado) =================
+
+    // Contas envolvidas, já ordenadas pelo número
+    static Map<Integer, Conta> contasDoLote(List<Transferencia> lote) {
+        if (lote == null || lote.isEmpty()) {
+            throw new IllegalArgumentException("Lote de transferências não pode ser vazio");
+        }
+
+        Map<Integer, Conta> contas = new TreeMap<>();
+        for (Transferencia t : lote) {
+            if (t == null) {
+                throw new IllegalArgumentException("Transferência não pode ser nula");
+            }
+            contas.put(t.origem.getNumero(), t.origem);
+            contas.put(t.destino.getNumero(), t.destino);
+        }
+        return contas;
+    }
+
+    /**
+     * Mesmos filtros de uma transferência comum, item a item e antes de
+     * qualquer trava; o primeiro que recusar rejeita o lote
+     */
+    static void aplicarFiltros(List<Transferencia> lote) {
+        for (int i = 0; i < lote.size(); i++) {
+            Transferencia t = lote.get(i);
+            if (!IConta.validarValor(t.valor)) {
+                throw new IllegalArgumentException(
+                    String.format("Transferência %d: valor deve ser positivo", i + 1));
+            }
+            t.origem.aplicarFiltros(TipoTransacao.TRANSFERENCIA, t.valor);
+        }
+    }
+
+    /**
+     * Trava as contas na ordem recebida (crescente de número) e incorpora os
+     * créditos pendentes de cada uma
+     */
+    static List<Conta> travar(Collection<Conta> contasOrdenadas) {
+        List<Conta> travadas = new ArrayList<>(contasOrdenadas.size());
+        try {
+            for (Conta conta : contasOrdenadas) {
+                conta.getTrava().lock();
+                travadas.add(conta);
+                conta.incorporarCreditosPendentes();
+            }
+        } catch (RuntimeException e) {
+            destravar(travadas);
+            throw e;
+        }
+        return travadas;
+    }
+
+    static void destravar(List<Conta> travadas) {
+        for (int i = travadas.size() - 1; i >= 0; i--) {
+            travadas.get(i).getTrava().unlock();
+        }
+    }
+
+    // Simula o lote inteiro sobre os saldos atuais - nada é alterado aqui
+    void validarLote(List<Transferencia> lote, Map<Integer, Conta> contas) {
+        Map<Integer, BigDecimal> saldos = new HashMap<>();
+        Map<Integer, Integer> transferenciasPorOrigem = new HashMap<>();
+        contas.forEach((numero, conta) -> saldos.put(numero, conta.getSaldo()));
+
+        for (int i = 0; i < lote.size(); i++) {
+            Transferencia t = lote.get(i);
+
+            if (!IConta.validarValor(t.valor)) {
+                throw new IllegalArgumentException(
+                    String.format("Transferência %d: valor deve ser positivo", i + 1));
+            }
+
+            if (t.origem.getNumero() == t.destino.getNumero()) {
+                throw new IllegalArgumentException(
+                    String.format("Transferência %d: não é possível transferir para a mesma conta", i + 1));
+            }
+
+            BigDecimal saldoOrigem = saldos.get(t.origem.getNumero());
+            // Tarifa considera as transferências anteriores da mesma origem no lote
+            int anteriores = transferenciasPorOrigem.merge(t.origem.getNumero(), 1, Integer::sum) - 1;
+            BigDecimal tarifa = t.origem.calcularTarifa(OperacaoTarifada.TRANSFERENCIA, t.valor, anteriores);
+            BigDecimal saldoNecessario = t.valor.add(tarifa);
+
+            if (saldoOrigem.compareTo(saldoNecessario) < 0) {
+                throw new SaldoInsuficienteException(String.format(
+                    "Lote rejeitado na transferência %d: saldo insuficiente na conta %d (R$ %.2f)",
+                    i + 1, t.origem.getNumero(), saldoOrigem.doubleValue()));
+            }
+
+            saldos.put(t.origem.getNumero(), saldoOrigem.subtract(saldoNecessario));
+            saldos.merge(t.destino.getNumero(), t.valor, BigDecimal::add);
+        }
+    }
+
+    /*
+     * Só a thread dona das travas pode aplicar: os lançamentos materializam
+     * ajustes pendentes (que tomam a trava da conta) e mexem em estado
+     * protegido por ela, como a contagem de operações do mês
+     */
+    void aplicarLote(List<Transferencia> lote) {
+        for (Transferencia t : lote) {
+            t.origem.debitarSaque(t.valor, OperacaoTarifada.TRANSFERENCIA);
+            t.destino.creditarDeposito(t.valor);
+            t.origem.registrarTransferenciaEnviada(t.valor, t.destino.getNumero());
+        }
+    }
+}
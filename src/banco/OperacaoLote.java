@@ -0,0 +1,48 @@
+package banco;
+
+import java.math.BigDecimal;
+
+/**
+ * Classe que representa uma operação dentro de um lote no YLLOCIN Bank
+ * -----------------------------------------------------
+ * Objeto imutável usado por IConta.executarLote para agrupar
+ * depósitos e saques de uma mesma conta
+ */
+public class OperacaoLote {
+    private final TipoTransacao tipo;
+    private final BigDecimal valor;
+    private final String descricao;
+
+    private OperacaoLote(TipoTransacao tipo, BigDecimal valor, String descricao) {
+        this.tipo = tipo;
+        this.valor = valor;
+        this.descricao = descricao;
+    }
+
+    // Fábricas para os tipos suportados em lote
+    public static OperacaoLote deposito(BigDecimal valor) {
+        return new OperacaoLote(TipoTransacao.DEPOSITO, valor, "Depósito em lote");
+    }
+
+    public static OperacaoLote saque(BigDecimal valor) {
+        return new OperacaoLote(TipoTransacao.SAQUE, valor, "Saque em lote");
+    }
+
+    public TipoTransacao getTipo() {
+        return tipo;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OperacaoLote{tipo=%s, valor=%.2f}",
+            tipo, valor == null ? 0.0 : valor.doubleValue());
+    }
+}
@@ -0,0 +1,21 @@
+package banco;
+
+/**
+ * Enum das operações que podem ser tarifadas no YLLOCIN Bank
+ */
+public enum OperacaoTarifada {
+    SAQUE("Taxa de saque"),
+    TRANSFERENCIA("Taxa de transferência"),
+    MANUTENCAO_MENSAL("Tarifa de manutenção mensal");
+
+    private final String descricaoTaxa;
+
+    OperacaoTarifada(String descricaoTaxa) {
+        this.descricaoTaxa = descricaoTaxa;
+    }
+
+    // Descrição usada na transação TAXA gerada pela cobrança
+    public String getDescricaoTaxa() {
+        return descricaoTaxa;
+    }
+}
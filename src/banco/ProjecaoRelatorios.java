@@ -0,0 +1,724 @@
+package banco;
+
+import interfaces.IAssinanteEventos;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Modelo de leitura dos relatórios do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Assina o barramento de eventos e mantém, só com o que vem nos eventos,
+ * os números que o relatório gerencial precisa:
+ * - Patrimônio por cliente (somado pela variação do saldo de cada conta)
+ * - Quantidade de contas por tipo
+ * - Transações por conta (ranking de movimentação)
+ *
+ * O relatório lê daqui e não toca nas contas nem nas travas delas. O saldo
+ * de uma conta só muda por um evento de versão maior, então evento
+ * repetido ou fora de ordem não faz o número voltar.
+ *
+ * O que a conta ainda não materializou também vem dos eventos:
+ * - Créditos distribuídos: o que os eventos CREDITO_PENDENTE somam menos o
+ *   que as transações dizem já incorporado (nunca negativo, para o caso de
+ *   a incorporação chegar antes do crédito)
+ * - Rendimento das poupanças: calculado como a conta faria, sobre o saldo
+ *   versionado, pelos meses fechados desde o último rendimento. Toda
+ *   movimentação materializa o rendimento antes, então qualquer lançamento
+ *   marca o mês dele como rendido.
+ *
+ * Clientes por faixa etária são contadores: cada cliente guarda a sua
+ * faixa e fica num índice por dia de aniversário. Na virada do dia só os
+ * aniversariantes dos dias que passaram são reclassificados.
+ *
+ * Os números de clientes e contas ficam em vetores paralelos, um por campo,
+ * na posição do item na lista densa. A foto copia os vetores em bloco sob o
+ * monitor (sem criar objeto por item) e, já fora dele, uma única passada
+ * dividida em fork-join acima de LIMIAR_SEQUENCIAL itens soma o patrimônio,
+ * conta as contas por tipo e seleciona os rankings; só quem entra num
+ * ranking vira objeto.
+ *
+ * Fica atrás do banco pelo que ainda estiver no barramento (ver aguardarSequencia()).
+ */
+public final class ProjecaoRelatorios implements IAssinanteEventos {
+
+    // Abaixo disso a passada roda na própria thread (dividir custa mais que ganha)
+    private static final int LIMIAR_SEQUENCIAL = 16_384;
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final String POUPANCA = "Conta Poupança";
+
+    private final Map<String, ClienteProjetado> clientes = new HashMap<>();
+    private final Map<Integer, ContaProjetada> contas = new HashMap<>();
+    // Os mesmos objetos em listas densas: a posição na lista indexa os vetores
+    private final List<ClienteProjetado> listaClientes = new ArrayList<>();
+    private final List<ContaProjetada> listaContas = new ArrayList<>();
+
+    // Vetores dos clientes
+    private String[] nomesClientes = new String[CAPACIDADE_INICIAL];
+    private BigDecimal[] patrimonios = new BigDecimal[CAPACIDADE_INICIAL];
+
+    // Vetores das contas (o tipo é a posição em 'tipos')
+    private int[] numerosContas = new int[CAPACIDADE_INICIAL];
+    private int[] tiposContas = new int[CAPACIDADE_INICIAL];
+    private String[] titularesContas = new String[CAPACIDADE_INICIAL];
+    private long[] transacoesContas = new long[CAPACIDADE_INICIAL];
+    // Saldo com créditos e rendimento pendentes (o que getSaldo() da conta daria)
+    private BigDecimal[] saldosContas = new BigDecimal[CAPACIDADE_INICIAL];
+    private final List<String> tipos = new ArrayList<>();
+
+    // Mês até o qual o rendimento pendente das poupanças foi calculado
+    private int mesDosRendimentos = MesCorrente.atual();
+
+    private final int[] clientesPorFaixa = new int[FaixaEtaria.values().length];
+    private final Map<MonthDay, List<ClienteProjetado>> aniversariantes = new HashMap<>();
+    // Dia em que as faixas foram calculadas pela última vez
+    private LocalDate diaDasFaixas;
+
+    // Última sequência do barramento já aplicada
+    private volatile long sequencia = -1;
+
+    @Override
+    public synchronized void aoReceber(EventoBancario evento, long sequencia, boolean fimDoLote) {
+        switch (evento.getTipo()) {
+            case CLIENTE_CADASTRADO -> cadastrarCliente(evento);
+            case CLIENTE_REMOVIDO -> {
+                // Só sai sem contas: o patrimônio dele já é zero
+                ClienteProjetado cliente = clientes.remove(evento.getCpf());
+                if (cliente != null) {
+                    removerCliente(cliente);
+                    desclassificar(cliente);
+                }
+            }
+            case CONTA_ABERTA -> abrirConta(evento);
+            case CONTA_ENCERRADA -> encerrarConta(evento.getNumeroConta());
+            case TRANSACAO -> registrarTransacao(evento);
+            case CREDITO_PENDENTE -> acumularCredito(evento);
+        }
+        this.sequencia = sequencia;
+    }
+
+    private void cadastrarCliente(EventoBancario evento) {
+        if (clientes.containsKey(evento.getCpf())) {
+            // O banco recusa CPF repetido; as contas já apontam para o cadastro atual
+            return;
+        }
+        // Faixas em dia antes de entrar (a atualização não deve ver o cliente sem faixa)
+        LocalDate hoje = atualizarFaixas();
+        ClienteProjetado cliente = new ClienteProjetado(evento.getNomeCliente(), evento.getDataNascimento());
+        clientes.put(evento.getCpf(), cliente);
+        adicionarCliente(cliente);
+        classificar(cliente, hoje);
+    }
+
+    private void abrirConta(EventoBancario evento) {
+        if (contas.containsKey(evento.getNumeroConta())) {
+            return;
+        }
+        ClienteProjetado titular = clientes.get(evento.getCpf());
+        ContaProjetada conta = new ContaProjetada(evento.getNumeroConta(), titular,
+            POUPANCA.equals(evento.getTipoConta()), MesCorrente.de(evento.getDataHora().toLocalDate()));
+        contas.put(conta.numero, conta);
+        adicionarConta(conta, evento.getTipoConta(), titular != null ? titular.nome : evento.getCpf());
+        if (evento.getSaldoApos() != null) {
+            conta.saldo = evento.getSaldoApos();
+        }
+        recalcular(conta);
+    }
+
+    private void encerrarConta(int numero) {
+        ContaProjetada conta = contas.remove(numero);
+        if (conta == null) {
+            return;
+        }
+        atualizarSaldo(conta, BigDecimal.ZERO);
+        removerConta(conta);
+    }
+
+    private void registrarTransacao(EventoBancario evento) {
+        ContaProjetada conta = contas.get(evento.getNumeroConta());
+        if (conta == null) {
+            return;
+        }
+        transacoesContas[conta.indice]++;
+        marcarMovimentacao(conta, evento);
+        if (evento.getSaldoApos() != null && evento.getVersaoSaldo() > conta.versao) {
+            conta.versao = evento.getVersaoSaldo();
+            conta.saldo = evento.getSaldoApos();
+        }
+        recalcular(conta);
+    }
+
+    // Ainda fora do saldo e do histórico: não conta como transação
+    private void acumularCredito(EventoBancario evento) {
+        ContaProjetada conta = contas.get(evento.getNumeroConta());
+        if (conta == null) {
+            return;
+        }
+        conta.centavosRecebidos += evento.getTransacao().getValor().movePointRight(2).longValueExact();
+        marcarMovimentacao(conta, evento);
+        recalcular(conta);
+    }
+
+    private void marcarMovimentacao(ContaProjetada conta, EventoBancario evento) {
+        conta.centavosIncorporados = Math.max(conta.centavosIncorporados, evento.getCentavosIncorporados());
+        if (conta.poupanca && evento.getTransacao() != null) {
+            int mes = MesCorrente.de(evento.getTransacao().getdataHora().toLocalDate());
+            conta.mesRendimento = Math.max(conta.mesRendimento, mes);
+        }
+    }
+
+    // Saldo versionado mais o que a conta ainda vai materializar
+    private void recalcular(ContaProjetada conta) {
+        BigDecimal saldo = conta.saldo;
+        long pendentes = conta.centavosRecebidos - conta.centavosIncorporados;
+        if (pendentes > 0) {
+            saldo = saldo.add(BigDecimal.valueOf(pendentes, 2));
+        }
+        if (conta.poupanca && mesDosRendimentos > conta.mesRendimento) {
+            BigDecimal rendimento = ContaPoupanca.rendimentoDevido(conta.saldo,
+                mesDosRendimentos - conta.mesRendimento);
+            if (rendimento.signum() > 0) {
+                saldo = saldo.add(rendimento);
+            }
+        }
+        atualizarSaldo(conta, saldo);
+    }
+
+    // Na virada do mês todas as poupanças passam a ter um mês a mais pendente
+    private void atualizarRendimentos() {
+        int mes = MesCorrente.atual();
+        if (mes == mesDosRendimentos) {
+            return;
+        }
+        mesDosRendimentos = mes;
+        for (ContaProjetada conta : listaContas) {
+            if (conta.poupanca) {
+                recalcular(conta);
+            }
+        }
+    }
+
+    private void atualizarSaldo(ContaProjetada conta, BigDecimal novoSaldo) {
+        BigDecimal variacao = novoSaldo.subtract(saldosContas[conta.indice]);
+        if (variacao.signum() == 0) {
+            return;
+        }
+        saldosContas[conta.indice] = novoSaldo;
+        if (conta.titular != null) {
+            patrimonios[conta.titular.indice] = patrimonios[conta.titular.indice].add(variacao);
+        }
+    }
+
+    // ================= VETORES =================
+
+    private void adicionarCliente(ClienteProjetado cliente) {
+        int indice = listaClientes.size();
+        if (indice == nomesClientes.length) {
+            int capacidade = indice * 2;
+            nomesClientes = Arrays.copyOf(nomesClientes, capacidade);
+            patrimonios = Arrays.copyOf(patrimonios, capacidade);
+        }
+        cliente.indice = indice;
+        listaClientes.add(cliente);
+        nomesClientes[indice] = cliente.nome;
+        patrimonios[indice] = BigDecimal.ZERO;
+    }
+
+    // Remoção O(1): o último ocupa o lugar do removido, na lista e nos vetores
+    private void removerCliente(ClienteProjetado cliente) {
+        int ultimo = listaClientes.size() - 1;
+        ClienteProjetado movido = listaClientes.remove(ultimo);
+        if (movido != cliente) {
+            listaClientes.set(cliente.indice, movido);
+            nomesClientes[cliente.indice] = nomesClientes[ultimo];
+            patrimonios[cliente.indice] = patrimonios[ultimo];
+            movido.indice = cliente.indice;
+        }
+        nomesClientes[ultimo] = null;
+        patrimonios[ultimo] = null;
+    }
+
+    private void adicionarConta(ContaProjetada conta, String tipoConta, String titular) {
+        int indice = listaContas.size();
+        if (indice == numerosContas.length) {
+            int capacidade = indice * 2;
+            numerosContas = Arrays.copyOf(numerosContas, capacidade);
+            tiposContas = Arrays.copyOf(tiposContas, capacidade);
+            titularesContas = Arrays.copyOf(titularesContas, capacidade);
+            transacoesContas = Arrays.copyOf(transacoesContas, capacidade);
+            saldosContas = Arrays.copyOf(saldosContas, capacidade);
+        }
+        int tipo = tipos.indexOf(tipoConta);
+        if (tipo < 0) {
+            tipo = tipos.size();
+            tipos.add(tipoConta);
+        }
+        conta.indice = indice;
+        listaContas.add(conta);
+        numerosContas[indice] = conta.numero;
+        tiposContas[indice] = tipo;
+        titularesContas[indice] = titular;
+        transacoesContas[indice] = 0;
+        saldosContas[indice] = BigDecimal.ZERO;
+    }
+
+    private void removerConta(ContaProjetada conta) {
+        int ultimo = listaContas.size() - 1;
+        ContaProjetada movida = listaContas.remove(ultimo);
+        if (movida != conta) {
+            int indice = conta.indice;
+            listaContas.set(indice, movida);
+            numerosContas[indice] = numerosContas[ultimo];
+            tiposContas[indice] = tiposContas[ultimo];
+            titularesContas[indice] = titularesContas[ultimo];
+            transacoesContas[indice] = transacoesContas[ultimo];
+            saldosContas[indice] = saldosContas[ultimo];
+            movida.indice = indice;
+        }
+        titularesContas[ultimo] = null;
+        saldosContas[ultimo] = null;
+    }
+
+    // ================= FAIXAS ETÁRIAS =================
+
+    private void classificar(ClienteProjetado cliente, LocalDate hoje) {
+        cliente.faixa = FaixaEtaria.daIdade(FaixaEtaria.idade(cliente.dataNascimento, hoje));
+        clientesPorFaixa[cliente.faixa.ordinal()]++;
+        aniversariantes.computeIfAbsent(MonthDay.from(cliente.dataNascimento), dia -> new ArrayList<>()).add(cliente);
+    }
+
+    private void desclassificar(ClienteProjetado cliente) {
+        clientesPorFaixa[cliente.faixa.ordinal()]--;
+        MonthDay dia = MonthDay.from(cliente.dataNascimento);
+        List<ClienteProjetado> doDia = aniversariantes.get(dia);
+        doDia.remove(cliente);
+        if (doDia.isEmpty()) {
+            aniversariantes.remove(dia);
+        }
+    }
+
+    /**
+     * Leva as faixas até hoje reclassificando só quem fez aniversário nos
+     * dias que passaram; relógio para trás ou mais de um ano parado refaz tudo
+     */
+    private LocalDate atualizarFaixas() {
+        LocalDate hoje = Relogio.atual().hoje();
+        if (hoje.equals(diaDasFaixas)) {
+            return hoje;
+        }
+        if (diaDasFaixas == null || hoje.isBefore(diaDasFaixas) || hoje.isAfter(diaDasFaixas.plusDays(366))) {
+            for (ClienteProjetado cliente : listaClientes) {
+                reclassificar(cliente, hoje);
+            }
+        } else {
+            for (LocalDate dia = diaDasFaixas.plusDays(1); !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+                reclassificar(aniversariantes.get(MonthDay.from(dia)), hoje);
+                if (dia.getMonthValue() == 3 && dia.getDayOfMonth() == 1 && !dia.isLeapYear()) {
+                    reclassificar(aniversariantes.get(FaixaEtaria.VINTE_NOVE_DE_FEVEREIRO), hoje);
+                }
+            }
+        }
+        diaDasFaixas = hoje;
+        return hoje;
+    }
+
+    private void reclassificar(List<ClienteProjetado> doDia, LocalDate hoje) {
+        if (doDia != null) {
+            for (ClienteProjetado cliente : doDia) {
+                reclassificar(cliente, hoje);
+            }
+        }
+    }
+
+    private void reclassificar(ClienteProjetado cliente, LocalDate hoje) {
+        FaixaEtaria faixa = FaixaEtaria.daIdade(FaixaEtaria.idade(cliente.dataNascimento, hoje));
+        if (faixa != cliente.faixa) {
+            clientesPorFaixa[cliente.faixa.ordinal()]--;
+            clientesPorFaixa[faixa.ordinal()]++;
+            cliente.faixa = faixa;
+        }
+    }
+
+    // ================= CONSULTAS =================
+
+    /**
+     * Números do relatório gerencial num instante (cópia; não muda depois).
+     * Sob o monitor só copia os vetores em bloco; a passada que soma e monta
+     * os rankings roda fora dele, sem segurar a aplicação dos eventos.
+     */
+    public FotoRelatorio getFoto(int topClientes, int topMovimentacao) {
+        Vetores vetores;
+        long sequenciaFoto;
+        int[] faixasFoto;
+
+        synchronized (this) {
+            atualizarFaixas();
+            atualizarRendimentos();
+            int totalClientes = listaClientes.size();
+            int totalContas = listaContas.size();
+            vetores = new Vetores(
+                Arrays.copyOf(nomesClientes, totalClientes),
+                Arrays.copyOf(patrimonios, totalClientes),
+                Arrays.copyOf(numerosContas, totalContas),
+                Arrays.copyOf(tiposContas, totalContas),
+                Arrays.copyOf(titularesContas, totalContas),
+                Arrays.copyOf(transacoesContas, totalContas),
+                Arrays.copyOf(saldosContas, totalContas),
+                tipos.toArray(new String[0]));
+            sequenciaFoto = sequencia;
+            faixasFoto = clientesPorFaixa.clone();
+        }
+
+        int itens = vetores.patrimonios.length + vetores.saldos.length;
+        Agregacao agregacao = new Agregacao(vetores, 0, itens, topClientes, topMovimentacao);
+        Parcial total = itens <= LIMIAR_SEQUENCIAL
+            ? agregacao.compute()
+            : ForkJoinPool.commonPool().invoke(agregacao);
+
+        Map<String, Integer> contasPorTipo = new LinkedHashMap<>();
+        for (int tipo = 0; tipo < vetores.tipos.length; tipo++) {
+            if (total.contasPorTipo[tipo] > 0) {
+                contasPorTipo.put(vetores.tipos[tipo], total.contasPorTipo[tipo]);
+            }
+        }
+
+        List<PosicaoCliente> posicoesClientes = new ArrayList<>(total.maioresPatrimonios.size());
+        while (!total.maioresPatrimonios.isEmpty()) {
+            posicoesClientes.add(total.maioresPatrimonios.poll());
+        }
+        Collections.reverse(posicoesClientes);
+
+        List<PosicaoConta> posicoesContas = new ArrayList<>(total.maisMovimentadas.size());
+        while (!total.maisMovimentadas.isEmpty()) {
+            posicoesContas.add(total.maisMovimentadas.poll());
+        }
+        Collections.reverse(posicoesContas);
+
+        return new FotoRelatorio(sequenciaFoto, vetores.patrimonios.length, vetores.saldos.length, contasPorTipo,
+            total.patrimonio, posicoesClientes, faixasFoto, posicoesContas);
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    /**
+     * Espera o modelo aplicar até a sequência do barramento (ex.: tudo o que
+     * já foi publicado antes de gerar um relatório)
+     */
+    public boolean aguardarSequencia(long alvo, long timeoutMillis) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (sequencia < alvo) {
+            if (System.nanoTime() - limite >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    // ================= AGREGAÇÃO =================
+
+    // Cópia dos vetores tirada pela foto (só lida daí em diante)
+    private static final class Vetores {
+        private final String[] nomesClientes;
+        private final BigDecimal[] patrimonios;
+        private final int[] numerosContas;
+        private final int[] tiposContas;
+        private final String[] titularesContas;
+        private final long[] transacoesContas;
+        private final BigDecimal[] saldos;
+        private final String[] tipos;
+
+        Vetores(String[] nomesClientes, BigDecimal[] patrimonios, int[] numerosContas, int[] tiposContas,
+                String[] titularesContas, long[] transacoesContas, BigDecimal[] saldos, String[] tipos) {
+            this.nomesClientes = nomesClientes;
+            this.patrimonios = patrimonios;
+            this.numerosContas = numerosContas;
+            this.tiposContas = tiposContas;
+            this.titularesContas = titularesContas;
+            this.transacoesContas = transacoesContas;
+            this.saldos = saldos;
+            this.tipos = tipos;
+        }
+    }
+
+    /**
+     * Uma passada sobre [clientes | contas]: índices abaixo do total de
+     * clientes são clientes, o resto são contas
+     */
+    private static final class Agregacao extends RecursiveTask<Parcial> {
+        private static final long serialVersionUID = 1L;
+
+        private final Vetores vetores;
+        private final int inicio;
+        private final int fim;
+        private final int topClientes;
+        private final int topContas;
+
+        Agregacao(Vetores vetores, int inicio, int fim, int topClientes, int topContas) {
+            this.vetores = vetores;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.topClientes = topClientes;
+            this.topContas = topContas;
+        }
+
+        @Override
+        protected Parcial compute() {
+            if (fim - inicio <= LIMIAR_SEQUENCIAL) {
+                Parcial parcial = new Parcial(vetores.tipos.length, topClientes, topContas);
+                int totalClientes = vetores.patrimonios.length;
+                for (int i = inicio; i < fim; i++) {
+                    if (i < totalClientes) {
+                        parcial.somarCliente(vetores, i);
+                    } else {
+                        parcial.somarConta(vetores, i - totalClientes);
+                    }
+                }
+                return parcial;
+            }
+
+            int meio = (inicio + fim) >>> 1;
+            Agregacao esquerda = new Agregacao(vetores, inicio, meio, topClientes, topContas);
+            Agregacao direita = new Agregacao(vetores, meio, fim, topClientes, topContas);
+            esquerda.fork();
+            Parcial parcial = direita.compute();
+            return parcial.juntar(esquerda.join());
+        }
+    }
+
+    /**
+     * Acumuladores de um pedaço da passada
+     */
+    private static final class Parcial {
+        private final int topClientes;
+        private final int topContas;
+        private BigDecimal patrimonio = BigDecimal.ZERO;
+        private final int[] contasPorTipo;
+        // Heaps de tamanho N com o menor no topo
+        private final PriorityQueue<PosicaoCliente> maioresPatrimonios;
+        private final PriorityQueue<PosicaoConta> maisMovimentadas;
+
+        Parcial(int quantidadeTipos, int topClientes, int topContas) {
+            this.topClientes = topClientes;
+            this.topContas = topContas;
+            this.contasPorTipo = new int[quantidadeTipos];
+            this.maioresPatrimonios = new PriorityQueue<>(topClientes + 1,
+                Comparator.comparing(PosicaoCliente::getPatrimonio));
+            this.maisMovimentadas = new PriorityQueue<>(topContas + 1,
+                Comparator.comparingLong(PosicaoConta::getTransacoes));
+        }
+
+        // Só cria a posição se ela entra no ranking
+        void somarCliente(Vetores vetores, int i) {
+            BigDecimal valor = vetores.patrimonios[i];
+            if (topClientes > 0 && (maioresPatrimonios.size() < topClientes
+                    || valor.compareTo(maioresPatrimonios.peek().getPatrimonio()) > 0)) {
+                manterMaiores(maioresPatrimonios, new PosicaoCliente(vetores.nomesClientes[i], valor), topClientes);
+            }
+        }
+
+        void somarConta(Vetores vetores, int i) {
+            patrimonio = patrimonio.add(vetores.saldos[i]);
+            contasPorTipo[vetores.tiposContas[i]]++;
+            long transacoes = vetores.transacoesContas[i];
+            if (topContas > 0 && (maisMovimentadas.size() < topContas
+                    || transacoes > maisMovimentadas.peek().getTransacoes())) {
+                manterMaiores(maisMovimentadas, new PosicaoConta(vetores.numerosContas[i],
+                    vetores.tipos[vetores.tiposContas[i]], vetores.titularesContas[i], transacoes), topContas);
+            }
+        }
+
+        Parcial juntar(Parcial outro) {
+            patrimonio = patrimonio.add(outro.patrimonio);
+            for (int tipo = 0; tipo < contasPorTipo.length; tipo++) {
+                contasPorTipo[tipo] += outro.contasPorTipo[tipo];
+            }
+            for (PosicaoCliente cliente : outro.maioresPatrimonios) {
+                manterMaiores(maioresPatrimonios, cliente, topClientes);
+            }
+            for (PosicaoConta conta : outro.maisMovimentadas) {
+                manterMaiores(maisMovimentadas, conta, topContas);
+            }
+            return this;
+        }
+
+        private static <T> void manterMaiores(PriorityQueue<T> heap, T item, int limite) {
+            if (limite <= 0) {
+                return;
+            }
+            if (heap.size() < limite) {
+                heap.offer(item);
+            } else if (heap.comparator().compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(item);
+            }
+        }
+    }
+
+    // ================= ESTADO PROJETADO =================
+
+    // Posição na lista densa (e nos vetores) correspondente
+    private abstract static class ItemIndexado {
+        int indice;
+    }
+
+    private static final class ClienteProjetado extends ItemIndexado {
+        private final String nome;
+        private final LocalDate dataNascimento;
+        private FaixaEtaria faixa;
+
+        ClienteProjetado(String nome, LocalDate dataNascimento) {
+            this.nome = nome;
+            this.dataNascimento = dataNascimento;
+        }
+    }
+
+    private static final class ContaProjetada extends ItemIndexado {
+        private final int numero;
+        private final ClienteProjetado titular;
+        private final boolean poupanca;
+        // Saldo versionado do último evento (sem nada pendente)
+        private BigDecimal saldo = BigDecimal.ZERO;
+        private long versao;
+        private long centavosRecebidos;
+        private long centavosIncorporados;
+        // Último mês já rendido (só poupanças)
+        private int mesRendimento;
+
+        ContaProjetada(int numero, ClienteProjetado titular, boolean poupanca, int mesAbertura) {
+            this.numero = numero;
+            this.titular = titular;
+            this.poupanca = poupanca;
+            this.mesRendimento = mesAbertura;
+        }
+    }
+
+    // ================= RESULTADO =================
+
+    public static final class PosicaoCliente {
+        private final String nome;
+        private final BigDecimal patrimonio;
+
+        PosicaoCliente(String nome, BigDecimal patrimonio) {
+            this.nome = nome;
+            this.patrimonio = patrimonio;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public BigDecimal getPatrimonio() {
+            return patrimonio;
+        }
+    }
+
+    public static final class PosicaoConta {
+        private final int numero;
+        private final String tipoConta;
+        private final String titular;
+        private final long transacoes;
+
+        PosicaoConta(int numero, String tipoConta, String titular, long transacoes) {
+            this.numero = numero;
+            this.tipoConta = tipoConta;
+            this.titular = titular;
+            this.transacoes = transacoes;
+        }
+
+        public int getNumero() {
+            return numero;
+        }
+
+        public String getTipoConta() {
+            return tipoConta;
+        }
+
+        public String getTitular() {
+            return titular;
+        }
+
+        public long getTransacoes() {
+            return transacoes;
+        }
+    }
+
+    public static final class FotoRelatorio {
+        private final long sequencia;
+        private final int totalClientes;
+        private final int totalContas;
+        private final Map<String, Integer> contasPorTipo;
+        private final BigDecimal patrimonioTotal;
+        private final List<PosicaoCliente> topClientes;
+        private final int[] faixasEtarias;
+        private final List<PosicaoConta> maisMovimentadas;
+
+        FotoRelatorio(long sequencia, int totalClientes, int totalContas, Map<String, Integer> contasPorTipo,
+                      BigDecimal patrimonioTotal, List<PosicaoCliente> topClientes, int[] faixasEtarias,
+                      List<PosicaoConta> maisMovimentadas) {
+            this.sequencia = sequencia;
+            this.totalClientes = totalClientes;
+            this.totalContas = totalContas;
+            this.contasPorTipo = Collections.unmodifiableMap(contasPorTipo);
+            this.patrimonioTotal = patrimonioTotal;
+            this.topClientes = Collections.unmodifiableList(topClientes);
+            this.faixasEtarias = faixasEtarias;
+            this.maisMovimentadas = Collections.unmodifiableList(maisMovimentadas);
+        }
+
+        // Última sequência do barramento refletida nesta foto
+        public long getSequencia() {
+            return sequencia;
+        }
+
+        public int getTotalClientes() {
+            return totalClientes;
+        }
+
+        public int getTotalContas() {
+            return totalContas;
+        }
+
+        public int getContasPorTipo(String tipoConta) {
+            return contasPorTipo.getOrDefault(tipoConta, 0);
+        }
+
+        public Map<String, Integer> getContasPorTipo() {
+            return contasPorTipo;
+        }
+
+        public BigDecimal getPatrimonioTotal() {
+            return patrimonioTotal;
+        }
+
+        // Maior patrimônio primeiro
+        public List<PosicaoCliente> getTopClientes() {
+            return topClientes;
+        }
+
+        public int getClientesNaFaixa(FaixaEtaria faixa) {
+            return faixasEtarias[faixa.ordinal()];
+        }
+
+        // Mais transações primeiro
+        public List<PosicaoConta> getMaisMovimentadas() {
+            return maisMovimentadas;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package banco;
+
+import interfaces.IConta;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Motor de projeção de rendimentos das poupanças do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Projeta de uma vez todas as poupanças com a fórmula fechada dos juros
+ * compostos, sem simular mês a mês:
+ *
+ *   saldo(n) = saldo * (1 + r)^n + aporte * ((1 + r)^n - 1) / r
+ *
+ * Saldos e aportes ficam em arrays de double (uma foto tirada na criação) e
+ * os fatores de cada mês são calculados uma única vez, então a projeção da
+ * carteira inteira custa O(contas + meses). Os laços sobre os arrays são
+ * simples o bastante para o JIT vetorizar.
+ *
+ * Valores aproximados (double) - para planejamento, não para lançamentos.
+ */
+public final class ProjecaoRendimentos {
+
+    private final double taxaMensal;
+    private final int[] numeros;
+    private final double[] saldos;
+    private final double[] aportesMensais;
+    private final double totalSaldos;
+    private final double totalAportes;
+
+    /**
+     * @param aportesMensais depósito mensal previsto por conta (null = sem aportes)
+     */
+    public ProjecaoRendimentos(double taxaMensal, int[] numeros, double[] saldos, double[] aportesMensais) {
+        if (taxaMensal < 0) {
+            throw new IllegalArgumentException("Taxa mensal não pode ser negativa");
+        }
+        if (numeros.length != saldos.length
+                || (aportesMensais != null && aportesMensais.length != saldos.length)) {
+            throw new IllegalArgumentException("Arrays de contas, saldos e aportes devem ter o mesmo tamanho");
+        }
+
+        this.taxaMensal = taxaMensal;
+        this.numeros = numeros.clone();
+        this.saldos = saldos.clone();
+        this.aportesMensais = aportesMensais != null ? aportesMensais.clone() : new double[saldos.length];
+        this.totalSaldos = somar(this.saldos);
+        this.totalAportes = somar(this.aportesMensais);
+    }
+
+    /**
+     * Foto das poupanças do banco, sem aportes
+     */
+    public static ProjecaoRendimentos dasPoupancas(Banco banco) {
+        List<IConta> contas = banco.getContas();
+
+        int n = 0;
+        int[] numeros = new int[contas.size()];
+        double[] saldos = new double[contas.size()];
+        double taxa = 0.0;
+
+        for (IConta conta : contas) {
+            if (conta instanceof ContaPoupanca poupanca) {
+                numeros[n] = poupanca.getNumero();
+                saldos[n] = poupanca.getSaldo().doubleValue();
+                taxa = poupanca.getTaxaRendimento();
+                n++;
+            }
+        }
+
+        return new ProjecaoRendimentos(taxa,
+            Arrays.copyOf(numeros, n), Arrays.copyOf(saldos, n), null);
+    }
+
+    // ================= FÓRMULA FECHADA =================
+
+    // (1 + r)^n
+    public static double fatorCapitalizacao(double taxaMensal, int meses) {
+        return Math.pow(1.0 + taxaMensal, meses);
+    }
+
+    // Valor acumulado por um aporte de 1 ao fim de cada mês: ((1 + r)^n - 1) / r
+    public static double fatorAportes(double taxaMensal, int meses) {
+        return taxaMensal == 0.0
+            ? meses
+            : Math.expm1(meses * Math.log1p(taxaMensal)) / taxaMensal;
+    }
+
+    /**
+     * Aporte mensal necessário para sair do saldo e chegar à meta no prazo
+     * (zero se o rendimento sozinho basta)
+     */
+    public static double aporteParaMeta(double saldo, double meta, double taxaMensal, int meses) {
+        if (meses <= 0) {
+            throw new IllegalArgumentException("Prazo deve ser positivo");
+        }
+        double falta = meta - saldo * fatorCapitalizacao(taxaMensal, meses);
+        return falta <= 0 ? 0.0 : falta / fatorAportes(taxaMensal, meses);
+    }
+
+    // ================= PROJEÇÕES =================
+
+    /**
+     * Saldo projetado de cada conta ao fim do prazo (mesma ordem de getNumeros())
+     */
+    public double[] projetarSaldos(int meses) {
+        validarPrazo(meses);
+        double capitalizacao = fatorCapitalizacao(taxaMensal, meses);
+        double acumuloAportes = fatorAportes(taxaMensal, meses);
+
+        double[] projetados = new double[saldos.length];
+        for (int i = 0; i < saldos.length; i++) {
+            projetados[i] = saldos[i] * capitalizacao + aportesMensais[i] * acumuloAportes;
+        }
+        return projetados;
+    }
+
+    /**
+     * Total da carteira ao fim de cada mês: posição 0 = hoje, posição n = mês n.
+     * Como a taxa é a mesma para todas, basta aplicar os fatores às somas.
+     */
+    public double[] projetarTotaisPorMes(int meses) {
+        validarPrazo(meses);
+
+        double[] totais = new double[meses + 1];
+        double capitalizacao = 1.0;
+        double acumuloAportes = 0.0;
+        for (int m = 0; m <= meses; m++) {
+            totais[m] = totalSaldos * capitalizacao + totalAportes * acumuloAportes;
+            acumuloAportes = acumuloAportes * (1.0 + taxaMensal) + 1.0;
+            capitalizacao *= 1.0 + taxaMensal;
+        }
+        return totais;
+    }
+
+    public double projetarTotal(int meses) {
+        validarPrazo(meses);
+        return totalSaldos * fatorCapitalizacao(taxaMensal, meses)
+            + totalAportes * fatorAportes(taxaMensal, meses);
+    }
+
+    // Rendimento total previsto no prazo (sem contar os aportes)
+    public double projetarRendimento(int meses) {
+        return projetarTotal(meses) - totalSaldos - totalAportes * meses;
+    }
+
+    // ================= GETTERS =================
+
+    public int getQuantidadeContas() {
+        return saldos.length;
+    }
+
+    public int[] getNumeros() {
+        return numeros.clone();
+    }
+
+    public double getTotalSaldos() {
+        return totalSaldos;
+    }
+
+    public double getTaxaMensal() {
+        return taxaMensal;
+    }
+
+    private static void validarPrazo(int meses) {
+        if (meses < 0) {
+            throw new IllegalArgumentException("Prazo não pode ser negativo");
+        }
+    }
+
+    private static double somar(double[] valores) {
+        double soma = 0.0;
+        for (double valor : valores) {
+            soma += valor;
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,97 @@
+package banco;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+
+/**
+ * Formato de rede da replicação do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Réplica -> primário: marca, versão, época e última sequência aplicada (-1
+ * sem estado) no início da conexão; depois confirmações periódicas (long).
+ *
+ * Primário -> réplica: quadros com um byte de tipo:
+ * - REGISTRO: sequência, instante no primário (ms) e um evento do diário
+ * - FOTO: época, sequências base e fim e o estado completo (clientes e contas)
+ * - BATIMENTO: última sequência do primário e instante, quando não há registros
+ *
+ * As transações usam o mesmo formato binário dos segmentos de histórico.
+ */
+final class ProtocoloReplicacao {
+
+    static final int MARCA = 0x594C5250; // "YLRP"
+    static final int VERSAO = 1;
+
+    static final byte REGISTRO = 1;
+    static final byte FOTO = 2;
+    static final byte BATIMENTO = 3;
+
+    private ProtocoloReplicacao() {
+    }
+
+    // ================= EVENTOS =================
+
+    static void escreverEvento(DataOutputStream saida, EventoBancario evento) throws IOException {
+        LocalDateTime dataHora = evento.getDataHora();
+        saida.writeByte(evento.getTipo().ordinal());
+        saida.writeLong(dataHora.toEpochSecond(ZoneOffset.UTC));
+        saida.writeInt(dataHora.getNano());
+        saida.writeInt(evento.getNumeroConta());
+        SegmentoHistorico.escreverOpcional(saida, evento.getTipoConta());
+        SegmentoHistorico.escreverOpcional(saida, evento.getCpf());
+        SegmentoHistorico.escreverOpcional(saida, evento.getNomeCliente());
+        escreverData(saida, evento.getDataNascimento());
+
+        saida.writeBoolean(evento.getTransacao() != null);
+        if (evento.getTransacao() != null) {
+            SegmentoHistorico.escreverTransacao(saida, evento.getTransacao());
+        }
+        escreverValor(saida, evento.getSaldoApos());
+        saida.writeLong(evento.getVersaoSaldo());
+    }
+
+    static EventoBancario lerEvento(DataInputStream entrada) throws IOException {
+        EventoBancario.Tipo tipo = EventoBancario.Tipo.values()[entrada.readByte()];
+        LocalDateTime dataHora = LocalDateTime.ofEpochSecond(entrada.readLong(), entrada.readInt(), ZoneOffset.UTC);
+        int numeroConta = entrada.readInt();
+        String tipoConta = SegmentoHistorico.lerOpcional(entrada);
+        String cpf = SegmentoHistorico.lerOpcional(entrada);
+        String nomeCliente = SegmentoHistorico.lerOpcional(entrada);
+        LocalDate dataNascimento = lerData(entrada);
+        Transacao transacao = entrada.readBoolean() ? SegmentoHistorico.lerTransacao(entrada) : null;
+        BigDecimal saldoApos = lerValor(entrada);
+        long versaoSaldo = entrada.readLong();
+
+        return EventoBancario.restaurar(tipo, dataHora, numeroConta, tipoConta, cpf,
+            nomeCliente, dataNascimento, transacao, saldoApos, versaoSaldo);
+    }
+
+    // ================= CAMPOS OPCIONAIS =================
+
+    static void escreverValor(DataOutputStream saida, BigDecimal valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeUTF(valor.toPlainString());
+        }
+    }
+
+    static BigDecimal lerValor(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? new BigDecimal(entrada.readUTF()) : null;
+    }
+
+    static void escreverData(DataOutputStream saida, LocalDate data) throws IOException {
+        saida.writeBoolean(data != null);
+        if (data != null) {
+            saida.writeLong(data.toEpochDay());
+        }
+    }
+
+    static LocalDate lerData(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? LocalDate.ofEpochDay(entrada.readLong()) : null;
+    }
+}
@@ -0,0 +1,208 @@
+package banco;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Relógio do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Fonte única de data e hora para transações, rendimentos e contagens
+ * mensais. Implementações:
+ * - sistema(): LocalDateTime.now() a cada chamada (precisão total)
+ * - grosso(ms): reaproveita a última leitura dentro da resolução e guarda o
+ *   fuso até a próxima mudança de horário - sem resolver fuso por chamada
+ * - simulado(inicio): parado até avancar(), para testes, replays e benchmarks
+ *
+ * O relógio ativo é global (Relogio.atual()); o padrão é o grosso de 1 ms.
+ */
+public abstract class Relogio {
+
+    private static volatile Relogio atual = grosso(1);
+
+    protected final ZoneId zona;
+
+    protected Relogio(ZoneId zona) {
+        if (zona == null) {
+            throw new IllegalArgumentException("Fuso horário não pode ser nulo");
+        }
+        this.zona = zona;
+    }
+
+    // ================= RELÓGIO ATIVO =================
+
+    public static Relogio atual() {
+        return atual;
+    }
+
+    public static void definir(Relogio relogio) {
+        if (relogio == null) {
+            throw new IllegalArgumentException("Relógio não pode ser nulo");
+        }
+        atual = relogio;
+    }
+
+    // ================= FÁBRICAS =================
+
+    public static Relogio sistema() {
+        return new Sistema(ZoneId.systemDefault());
+    }
+
+    public static Relogio grosso(long resolucaoMillis) {
+        return new Grosso(ZoneId.systemDefault(), resolucaoMillis, System::currentTimeMillis);
+    }
+
+    // Relógio grosso sobre outra fonte de milissegundos (testes de virada de mês e de fuso)
+    static Relogio grosso(ZoneId zona, long resolucaoMillis, LongSupplier fonteMillis) {
+        return new Grosso(zona, resolucaoMillis, fonteMillis);
+    }
+
+    public static Simulado simulado(LocalDateTime inicio) {
+        ZoneId zona = ZoneId.systemDefault();
+        return new Simulado(zona, inicio.atZone(zona).toInstant().toEpochMilli());
+    }
+
+    // ================= CONSULTAS =================
+
+    public abstract long millis();
+
+    public abstract LocalDateTime agora();
+
+    public LocalDate hoje() {
+        return agora().toLocalDate();
+    }
+
+    public ZoneId getZona() {
+        return zona;
+    }
+
+    // ================= IMPLEMENTAÇÕES =================
+
+    private static final class Sistema extends Relogio {
+
+        Sistema(ZoneId zona) {
+            super(zona);
+        }
+
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public LocalDateTime agora() {
+            return LocalDateTime.now(zona);
+        }
+    }
+
+    /**
+     * Leitura em cache: dentro da resolução devolve o mesmo LocalDateTime; o
+     * deslocamento do fuso vale até a próxima transição (horário de verão)
+     */
+    private static final class Grosso extends Relogio {
+        private final long resolucaoMillis;
+        private final LongSupplier fonteMillis;
+        private volatile Leitura ultima;
+
+        Grosso(ZoneId zona, long resolucaoMillis, LongSupplier fonteMillis) {
+            super(zona);
+            if (resolucaoMillis <= 0) {
+                throw new IllegalArgumentException("Resolução deve ser positiva");
+            }
+            this.resolucaoMillis = resolucaoMillis;
+            this.fonteMillis = fonteMillis;
+            this.ultima = ler(fonteMillis.getAsLong(), null);
+        }
+
+        @Override
+        public long millis() {
+            return fonteMillis.getAsLong();
+        }
+
+        @Override
+        public LocalDateTime agora() {
+            long agora = fonteMillis.getAsLong();
+            Leitura leitura = ultima;
+            if (agora >= leitura.inicioMillis && agora < leitura.inicioMillis + resolucaoMillis) {
+                return leitura.dataHora;
+            }
+
+            // Corridas aqui só recalculam a mesma leitura
+            leitura = ler(agora, leitura);
+            ultima = leitura;
+            return leitura.dataHora;
+        }
+
+        private Leitura ler(long agora, Leitura anterior) {
+            ZoneOffset deslocamento;
+            long validoAteMillis;
+            if (anterior != null && agora >= anterior.inicioMillis && agora < anterior.deslocamentoValidoAte) {
+                deslocamento = anterior.deslocamento;
+                validoAteMillis = anterior.deslocamentoValidoAte;
+            } else {
+                Instant instante = Instant.ofEpochMilli(agora);
+                deslocamento = zona.getRules().getOffset(instante);
+                ZoneOffsetTransition proxima = zona.getRules().nextTransition(instante);
+                validoAteMillis = proxima != null ? proxima.toEpochSecond() * 1_000 : Long.MAX_VALUE;
+            }
+
+            long inicio = agora - Math.floorMod(agora, resolucaoMillis);
+            LocalDateTime dataHora = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(inicio, 1_000),
+                Math.floorMod(inicio, 1_000) * 1_000_000,
+                deslocamento);
+            return new Leitura(inicio, dataHora, deslocamento, validoAteMillis);
+        }
+
+        private static final class Leitura {
+            private final long inicioMillis;
+            private final LocalDateTime dataHora;
+            private final ZoneOffset deslocamento;
+            private final long deslocamentoValidoAte;
+
+            Leitura(long inicioMillis, LocalDateTime dataHora, ZoneOffset deslocamento, long deslocamentoValidoAte) {
+                this.inicioMillis = inicioMillis;
+                this.dataHora = dataHora;
+                this.deslocamento = deslocamento;
+                this.deslocamentoValidoAte = deslocamentoValidoAte;
+            }
+        }
+    }
+
+    /**
+     * Relógio controlado manualmente: só anda com avancar() ou ajustar()
+     */
+    public static final class Simulado extends Relogio {
+        private final AtomicLong millisAtual;
+
+        private Simulado(ZoneId zona, long millisInicial) {
+            super(zona);
+            this.millisAtual = new AtomicLong(millisInicial);
+        }
+
+        public void avancar(Duration duracao) {
+            millisAtual.addAndGet(duracao.toMillis());
+        }
+
+        public void ajustar(LocalDateTime dataHora) {
+            millisAtual.set(dataHora.atZone(zona).toInstant().toEpochMilli());
+        }
+
+        @Override
+        public long millis() {
+            return millisAtual.get();
+        }
+
+        @Override
+        public LocalDateTime agora() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(millisAtual.get()), zona);
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package banco;
+
+import exceptions.ContaInexistenteException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Réplica somente leitura do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Conecta ao ReplicadorPrimario por socket local e aplica os registros do
+ * diário em ordem de sequência. Serve saldos, extratos e relatórios sem
+ * tocar no primário.
+ *
+ * - Ao conectar, informa a última sequência aplicada; o primário continua
+ *   dali ou manda uma foto se a réplica ficou para trás (ou é nova)
+ * - Saldos só avançam pela versão (registro repetido ou atrasado não volta
+ *   o saldo); transações da janela entre base e fim da foto são conferidas
+ *   contra o que já veio nela
+ * - Caindo a conexão, tenta de novo sozinha
+ *
+ * Cada conta guarda as últimas transações (TRANSACOES_POR_CONTA) e a
+ * contagem total.
+ */
+public class ReplicaBanco {
+
+    private static final int TRANSACOES_POR_CONTA = 1000;
+    private static final long PAUSA_RECONEXAO_MILLIS = 500;
+    private static final int CONFIRMAR_A_CADA = 256;
+
+    private final String host;
+    private final int porta;
+
+    // Trocados inteiros ao receber uma foto; só a thread de replicação escreve
+    private volatile Map<Integer, ContaReplicada> contas = new ConcurrentHashMap<>();
+    private volatile Map<String, ClienteReplicado> clientes = new ConcurrentHashMap<>();
+
+    private volatile long epoca;
+    private volatile long ultimaAplicada = -1;
+    private volatile long ultimaDoPrimario;
+    private volatile long fimDaFoto;
+    private volatile long atrasoMillis;
+    private volatile long fotosRecebidas;
+
+    private volatile boolean ativa;
+    private volatile boolean conectada;
+    private volatile Socket socket;
+    private Thread thread;
+
+    public ReplicaBanco(String host, int porta) {
+        this.host = host;
+        this.porta = porta;
+    }
+
+    // ================= CICLO DE VIDA =================
+
+    public synchronized void iniciar() {
+        if (ativa) {
+            return;
+        }
+        ativa = true;
+        thread = new Thread(this::executar, "replica-" + porta);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Espera a thread de replicação sair: um iniciar() logo depois não fica com duas aplicando registros
+    public synchronized void parar() {
+        ativa = false;
+        Socket atual = socket;
+        if (atual != null) {
+            try {
+                atual.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+
+        // Sem a conexão, a thread sai na pausa de reconexão ou no próximo batimento do primário
+        Thread anterior = thread;
+        thread = null;
+        if (anterior != null && anterior != Thread.currentThread()) {
+            LockSupport.unpark(anterior);
+            try {
+                anterior.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void executar() {
+        while (ativa) {
+            try (Socket conexao = new Socket(host, porta)) {
+                conexao.setTcpNoDelay(true);
+                socket = conexao;
+                conectada = true;
+                sincronizar(conexao);
+            } catch (IOException e) {
+                // Primário fora do ar ou conexão perdida: tenta de novo
+            } finally {
+                conectada = false;
+                socket = null;
+            }
+            if (ativa) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(PAUSA_RECONEXAO_MILLIS));
+            }
+        }
+    }
+
+    private void sincronizar(Socket conexao) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexao.getInputStream()));
+        DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(conexao.getOutputStream()));
+
+        saida.writeInt(ProtocoloReplicacao.MARCA);
+        saida.writeInt(ProtocoloReplicacao.VERSAO);
+        saida.writeLong(epoca);
+        saida.writeLong(ultimaAplicada);
+        saida.flush();
+
+        int semConfirmar = 0;
+        while (ativa) {
+            byte tipo = entrada.readByte();
+            switch (tipo) {
+                case ProtocoloReplicacao.REGISTRO -> {
+                    long sequencia = entrada.readLong();
+                    long instante = entrada.readLong();
+                    byte[] registro = new byte[entrada.readInt()];
+                    entrada.readFully(registro);
+                    aplicarRegistro(sequencia, instante, registro);
+                    semConfirmar++;
+                }
+                case ProtocoloReplicacao.FOTO -> aplicarFoto(entrada);
+                case ProtocoloReplicacao.BATIMENTO -> {
+                    ultimaDoPrimario = Math.max(ultimaDoPrimario, entrada.readLong());
+                    entrada.readLong();
+                    if (ultimaAplicada >= ultimaDoPrimario) {
+                        atrasoMillis = 0;
+                    }
+                }
+                default -> throw new IOException("Quadro de replicação desconhecido: " + tipo);
+            }
+
+            // Confirma ao esvaziar o que chegou (ou a cada tantos registros)
+            if (semConfirmar >= CONFIRMAR_A_CADA || entrada.available() == 0) {
+                saida.writeLong(ultimaAplicada);
+                saida.flush();
+                semConfirmar = 0;
+            }
+        }
+    }
+
+    // ================= APLICAÇÃO =================
+
+    private void aplicarRegistro(long sequencia, long instante, byte[] registro) throws IOException {
+        if (sequencia <= ultimaAplicada) {
+            return;
+        }
+        if (sequencia != ultimaAplicada + 1) {
+            // Buraco na sequência: reconecta e deixa o primário decidir (registros ou foto)
+            throw new IOException("Registro " + sequencia + " fora de ordem (última aplicada: " + ultimaAplicada + ")");
+        }
+
+        EventoBancario evento = ProtocoloReplicacao.lerEvento(
+            new DataInputStream(new ByteArrayInputStream(registro)));
+        aplicar(evento);
+
+        ultimaAplicada = sequencia;
+        ultimaDoPrimario = Math.max(ultimaDoPrimario, sequencia);
+        atrasoMillis = Math.max(0, System.currentTimeMillis() - instante);
+
+        if (sequencia == fimDaFoto) {
+            // Janela da foto vencida: daqui em diante nada pode estar repetido
+            for (ContaReplicada conta : contas.values()) {
+                conta.encerrarConferencia();
+            }
+        }
+    }
+
+    private void aplicar(EventoBancario evento) {
+        switch (evento.getTipo()) {
+            case CLIENTE_CADASTRADO -> clientes.put(evento.getCpf(),
+                new ClienteReplicado(evento.getCpf(), evento.getNomeCliente(), evento.getDataNascimento()));
+            case CLIENTE_REMOVIDO -> clientes.remove(evento.getCpf());
+            case CONTA_ABERTA -> contas.putIfAbsent(evento.getNumeroConta(), new ContaReplicada(
+                evento.getNumeroConta(), evento.getTipoConta(), evento.getCpf(),
+                evento.getSaldoApos() != null ? evento.getSaldoApos() : BigDecimal.ZERO, 0L, 0L, null));
+            case CONTA_ENCERRADA -> contas.remove(evento.getNumeroConta());
+            case TRANSACAO -> {
+                ContaReplicada conta = contas.get(evento.getNumeroConta());
+                if (conta != null) {
+                    conta.aplicar(evento.getTransacao(), evento.getSaldoApos(), evento.getVersaoSaldo());
+                }
+            }
+        }
+    }
+
+    private void aplicarFoto(DataInputStream entrada) throws IOException {
+        long epocaFoto = entrada.readLong();
+        long base = entrada.readLong();
+        long fim = entrada.readLong();
+        entrada.readLong(); // instante da foto no primário
+        boolean conferir = fim > base;
+
+        int totalClientes = entrada.readInt();
+        Map<String, ClienteReplicado> novosClientes = new ConcurrentHashMap<>(Math.max(16, totalClientes * 2));
+        for (int i = 0; i < totalClientes; i++) {
+            String cpf = entrada.readUTF();
+            novosClientes.put(cpf, new ClienteReplicado(cpf, entrada.readUTF(), ProtocoloReplicacao.lerData(entrada)));
+        }
+
+        int totalContas = entrada.readInt();
+        Map<Integer, ContaReplicada> novasContas = new ConcurrentHashMap<>(Math.max(16, totalContas * 2));
+        for (int i = 0; i < totalContas; i++) {
+            int numero = entrada.readInt();
+            String tipoConta = entrada.readUTF();
+            String cpf = entrada.readUTF();
+            BigDecimal saldo = ProtocoloReplicacao.lerValor(entrada);
+            long versao = entrada.readLong();
+            long arquivadas = entrada.readLong();
+
+            int quantidade = entrada.readInt();
+            List<Transacao> transacoes = new ArrayList<>(quantidade);
+            for (int j = 0; j < quantidade; j++) {
+                transacoes.add(SegmentoHistorico.lerTransacao(entrada));
+            }
+
+            ContaReplicada conta = new ContaReplicada(numero, tipoConta, cpf, saldo, versao,
+                arquivadas, conferir ? new HashSet<>() : null);
+            conta.carregar(transacoes);
+            novasContas.put(numero, conta);
+        }
+
+        clientes = novosClientes;
+        contas = novasContas;
+        epoca = epocaFoto;
+        fimDaFoto = fim;
+        ultimaAplicada = base;
+        ultimaDoPrimario = Math.max(base, fim);
+        fotosRecebidas++;
+    }
+
+    // ================= CONSULTAS =================
+
+    public BigDecimal getSaldo(int numeroConta) {
+        return conta(numeroConta).getSaldo();
+    }
+
+    /**
+     * Últimas transações da conta, da mais antiga para a mais nova
+     */
+    public List<Transacao> getExtrato(int numeroConta, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser positiva");
+        }
+        return conta(numeroConta).ultimas(quantidade);
+    }
+
+    public long getTotalTransacoes(int numeroConta) {
+        return conta(numeroConta).getTotal();
+    }
+
+    public void imprimirExtrato(int numeroConta) {
+        ContaReplicada conta = conta(numeroConta);
+        ClienteReplicado titular = clientes.get(conta.cpf);
+
+        System.out.println("╔══════════════════════════════════════╗");
+        System.out.println("║      EXTRATO DA CONTA (RÉPLICA)      ║");
+        System.out.println("╚══════════════════════════════════════╝");
+        System.out.printf("👤 Titular: %s%n", titular != null ? titular.nome : conta.cpf);
+        System.out.printf("💳 Número: %d%n", conta.numero);
+        System.out.printf("📝 Tipo: %s%n", conta.tipoConta);
+        System.out.printf("💰 Saldo: R$ %.2f%n", conta.getSaldo().doubleValue());
+        System.out.printf("🔁 Atraso da réplica: %d registros%n", getAtrasoRegistros());
+        System.out.println("──────────────────────────────────────");
+
+        List<Transacao> ultimas = conta.ultimas(10);
+        if (ultimas.isEmpty()) {
+            System.out.println("   Nenhuma transação realizada.");
+        }
+        StringBuilder linhas = new StringBuilder(ultimas.size() * 96);
+        for (Transacao transacao : ultimas) {
+            transacao.formatarEm(linhas).append(System.lineSeparator());
+        }
+        System.out.print(linhas);
+        System.out.println("══════════════════════════════════════");
+    }
+
+    public int getTotalContas() {
+        return contas.size();
+    }
+
+    public int getTotalClientes() {
+        return clientes.size();
+    }
+
+    public BigDecimal getPatrimonioTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (ContaReplicada conta : contas.values()) {
+            total = total.add(conta.getSaldo());
+        }
+        return total;
+    }
+
+    public void imprimirRelatorioResumo() {
+        Map<String, BigDecimal> patrimonioPorCpf = new HashMap<>();
+        Map<String, Integer> contasPorTipo = new HashMap<>();
+        for (ContaReplicada conta : contas.values()) {
+            patrimonioPorCpf.merge(conta.cpf, conta.getSaldo(), BigDecimal::add);
+            contasPorTipo.merge(conta.tipoConta, 1, Integer::sum);
+        }
+
+        System.out.println("📊 RELATÓRIO DA RÉPLICA");
+        System.out.println("─".repeat(40));
+        System.out.printf("Total de Clientes: %d%n", getTotalClientes());
+        System.out.printf("Total de Contas: %d%n", getTotalContas());
+        contasPorTipo.forEach((tipo, quantidade) -> System.out.printf("  • %s: %d%n", tipo, quantidade));
+        System.out.printf("💰 Patrimônio Total: R$ %.2f%n", getPatrimonioTotal().doubleValue());
+
+        System.out.println("\n🏆 TOP CLIENTES POR PATRIMÔNIO");
+        patrimonioPorCpf.entrySet().stream()
+            .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+            .limit(5)
+            .forEach(entrada -> {
+                ClienteReplicado cliente = clientes.get(entrada.getKey());
+                System.out.printf("👤 %s: R$ %.2f%n",
+                    cliente != null ? cliente.nome : entrada.getKey(), entrada.getValue().doubleValue());
+            });
+        System.out.printf("%n🔁 %s%n", getStatus());
+    }
+
+    private ContaReplicada conta(int numeroConta) {
+        ContaReplicada conta = contas.get(numeroConta);
+        if (conta == null) {
+            throw new ContaInexistenteException("Conta número " + numeroConta + " não encontrada na réplica");
+        }
+        return conta;
+    }
+
+    // ================= MÉTRICAS =================
+
+    public boolean isConectada() {
+        return conectada;
+    }
+
+    public long getUltimaAplicada() {
+        return ultimaAplicada;
+    }
+
+    // Registros que o primário já tem e esta réplica ainda não aplicou
+    public long getAtrasoRegistros() {
+        return Math.max(0, ultimaDoPrimario - ultimaAplicada);
+    }
+
+    // Tempo entre o registro entrar no diário do primário e ser aplicado aqui (último medido)
+    public long getAtrasoMillis() {
+        return atrasoMillis;
+    }
+
+    public long getFotosRecebidas() {
+        return fotosRecebidas;
+    }
+
+    /**
+     * Espera a réplica aplicar até a sequência (ex.: ler o que acabou de ser escrito)
+     */
+    public boolean aguardarSequencia(long sequencia, long timeoutMillis) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (ultimaAplicada < sequencia) {
+            if (System.nanoTime() - limite >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    public String getStatus() {
+        return String.format("Réplica %s: aplicada %d | atraso %d registros (%d ms) | fotos %d",
+            conectada ? "conectada" : "desconectada", ultimaAplicada,
+            getAtrasoRegistros(), atrasoMillis, fotosRecebidas);
+    }
+
+    // ================= ESTADO REPLICADO =================
+
+    private static final class ClienteReplicado {
+        private final String cpf;
+        private final String nome;
+        private final LocalDate dataNascimento;
+
+        ClienteReplicado(String cpf, String nome, LocalDate dataNascimento) {
+            this.cpf = cpf;
+            this.nome = nome;
+            this.dataNascimento = dataNascimento;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s, %s)", nome, cpf, dataNascimento);
+        }
+    }
+
+    private static final class ContaReplicada {
+        private final int numero;
+        private final String tipoConta;
+        private final String cpf;
+        private final ArrayDeque<Transacao> transacoes = new ArrayDeque<>();
+        private BigDecimal saldo;
+        private long versao;
+        private long total;
+        // Sequências vindas na foto (só durante a janela base..fim)
+        private Set<Long> daFoto;
+
+        ContaReplicada(int numero, String tipoConta, String cpf, BigDecimal saldo, long versao,
+                       long arquivadas, Set<Long> daFoto) {
+            this.numero = numero;
+            this.tipoConta = tipoConta;
+            this.cpf = cpf;
+            this.saldo = saldo;
+            this.versao = versao;
+            this.total = arquivadas;
+            this.daFoto = daFoto;
+        }
+
+        synchronized void carregar(List<Transacao> historico) {
+            for (Transacao transacao : historico) {
+                adicionar(transacao);
+                if (daFoto != null) {
+                    daFoto.add(transacao.getSequencia());
+                }
+            }
+        }
+
+        synchronized void aplicar(Transacao transacao, BigDecimal saldoApos, long versaoSaldo) {
+            if (daFoto == null || !daFoto.contains(transacao.getSequencia())) {
+                adicionar(transacao);
+            }
+            if (versaoSaldo > versao && saldoApos != null) {
+                saldo = saldoApos;
+                versao = versaoSaldo;
+            }
+        }
+
+        private void adicionar(Transacao transacao) {
+            transacoes.addLast(transacao);
+            total++;
+            if (transacoes.size() > TRANSACOES_POR_CONTA) {
+                transacoes.removeFirst();
+            }
+        }
+
+        synchronized void encerrarConferencia() {
+            daFoto = null;
+        }
+
+        synchronized BigDecimal getSaldo() {
+            return saldo;
+        }
+
+        synchronized long getTotal() {
+            return total;
+        }
+
+        synchronized List<Transacao> ultimas(int quantidade) {
+            List<Transacao> resultado = new ArrayList<>(Math.min(quantidade, transacoes.size()));
+            int pular = Math.max(0, transacoes.size() - quantidade);
+            for (Transacao transacao : transacoes) {
+                if (pular-- > 0) {
+                    continue;
+                }
+                resultado.add(transacao);
+            }
+            return resultado;
+        }
+    }
+
+    // ================= PROCESSO DE RÉPLICA =================
+
+    /**
+     * Sobe uma réplica apontando para o primário local e mostra o estado a cada 5 s
+     * Uso: java banco.ReplicaBanco <porta> [host]
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: java banco.ReplicaBanco <porta> [host]");
+            return;
+        }
+        ReplicaBanco replica = new ReplicaBanco(args.length > 1 ? args[1] : "localhost", Integer.parseInt(args[0]));
+        replica.iniciar();
+        while (true) {
+            LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(5));
+            System.out.printf("🔁 %s | contas %d | patrimônio R$ %.2f%n",
+                replica.getStatus(), replica.getTotalContas(), replica.getPatrimonioTotal().doubleValue());
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package banco;
+
+import interfaces.IAssinanteEventos;
+import interfaces.IConta;
+import monitoramento.EventoPersistenciaJfr;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Lado primário da replicação do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Assina o barramento de eventos do banco e mantém um diário em memória com
+ * os últimos eventos já codificados (sequência contínua a partir de 1). Cada
+ * réplica conectada (socket local) tem uma thread de envio:
+ * - Se a réplica já tem tudo até uma sequência ainda presente no diário,
+ *   recebe só os registros seguintes
+ * - Se ficou para trás do que o diário guarda (ou é nova), recebe uma foto do
+ *   estado atual e segue a partir dela
+ *
+ * A foto é tirada sem parar o banco: começa marcando a última sequência do
+ * diário (base) e termina esperando o diário alcançar o que foi publicado
+ * durante a foto (fim). Os registros entre base e fim são reenviados e a
+ * réplica descarta o que já veio na foto.
+ */
+public class ReplicadorPrimario {
+
+    private static final long ESPERA_REGISTROS_MILLIS = 500;
+    private static final long ESPERA_FOTO_MILLIS = 5_000;
+    private static final int REGISTROS_POR_LOTE = 512;
+
+    private final Banco banco;
+    private final int portaSolicitada;
+    // Identifica esta execução do primário: sequências de outra época não valem aqui
+    private final long epoca = ThreadLocalRandom.current().nextLong();
+    private final Diario diario;
+    private final List<ConexaoReplica> conexoes = new CopyOnWriteArrayList<>();
+
+    private volatile ServerSocket servidor;
+    private volatile BarramentoEventos.Assinatura assinatura;
+    // Última sequência do barramento já copiada para o diário
+    private volatile long ultimaDoBarramento = -1;
+
+    /**
+     * @param porta              porta local (0 = escolhida pelo sistema, ver getPorta())
+     * @param capacidadeDiario   eventos guardados para réplicas que reconectam
+     */
+    public ReplicadorPrimario(Banco banco, int porta, int capacidadeDiario) {
+        if (banco == null) {
+            throw new IllegalArgumentException("Banco não pode ser nulo");
+        }
+        if (capacidadeDiario <= 0) {
+            throw new IllegalArgumentException("Capacidade do diário deve ser positiva");
+        }
+        this.banco = banco;
+        this.portaSolicitada = porta;
+        this.diario = new Diario(capacidadeDiario);
+    }
+
+    // ================= CICLO DE VIDA =================
+
+    public synchronized void iniciar() throws IOException {
+        if (servidor != null) {
+            return;
+        }
+        servidor = new ServerSocket(portaSolicitada, 16, InetAddress.getLoopbackAddress());
+        assinatura = banco.assinarEventos("replicacao", new Copiador());
+
+        Thread aceitacao = new Thread(this::aceitarConexoes, "replicacao-aceite");
+        aceitacao.setDaemon(true);
+        aceitacao.start();
+        System.out.printf("🔁 Replicação ativa na porta %d%n", servidor.getLocalPort());
+    }
+
+    public synchronized void parar() {
+        if (servidor == null) {
+            return;
+        }
+        fecharSilenciosamente(servidor);
+        for (ConexaoReplica conexao : conexoes) {
+            conexao.fechar();
+        }
+        assinatura.cancelar();
+        servidor = null;
+    }
+
+    private void aceitarConexoes() {
+        ServerSocket atual = servidor;
+        while (atual != null && !atual.isClosed()) {
+            try {
+                Socket socket = atual.accept();
+                socket.setTcpNoDelay(true);
+                ConexaoReplica conexao = new ConexaoReplica(socket);
+                conexoes.add(conexao);
+                conexao.iniciar();
+            } catch (IOException e) {
+                // Servidor fechado em parar()
+                return;
+            }
+        }
+    }
+
+    // ================= DIÁRIO =================
+
+    /**
+     * Copia os eventos do barramento para o diário, já codificados
+     */
+    private final class Copiador implements IAssinanteEventos {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final DataOutputStream saida = new DataOutputStream(buffer);
+
+        @Override
+        public void aoReceber(EventoBancario evento, long sequencia, boolean fimDoLote) {
+            buffer.reset();
+            try {
+                ProtocoloReplicacao.escreverEvento(saida, evento);
+                diario.adicionar(buffer.toByteArray(), System.currentTimeMillis());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                // Só depois de entrar no diário: a foto espera por este marco
+                ultimaDoBarramento = sequencia;
+            }
+        }
+    }
+
+    /**
+     * Anel dos últimos eventos codificados, com sequência própria contínua
+     */
+    private static final class Diario {
+        private final byte[][] registros;
+        private final long[] instantes;
+        private long ultima; // 0 = vazio
+
+        Diario(int capacidade) {
+            this.registros = new byte[capacidade][];
+            this.instantes = new long[capacidade];
+        }
+
+        synchronized void adicionar(byte[] registro, long instante) {
+            ultima++;
+            int posicao = (int) (ultima % registros.length);
+            registros[posicao] = registro;
+            instantes[posicao] = instante;
+            notifyAll();
+        }
+
+        synchronized long getUltima() {
+            return ultima;
+        }
+
+        // Menor sequência ainda guardada
+        synchronized long getPrimeira() {
+            return Math.max(1, ultima - registros.length + 1);
+        }
+
+        /**
+         * Registros depois de 'apos' (até o máximo), esperando até o prazo se não houver nenhum
+         *
+         * @return false se 'apos' já saiu do diário (a réplica precisa de foto)
+         */
+        synchronized boolean copiarApos(long apos, int maximo, long esperaMillis,
+                                        List<byte[]> destino, List<Long> instantesDestino) throws InterruptedException {
+            if (apos < getPrimeira() - 1 || apos > ultima) {
+                return false;
+            }
+            if (apos == ultima) {
+                wait(esperaMillis);
+                if (apos < getPrimeira() - 1) {
+                    return false;
+                }
+            }
+
+            long ate = Math.min(ultima, apos + maximo);
+            for (long sequencia = apos + 1; sequencia <= ate; sequencia++) {
+                int posicao = (int) (sequencia % registros.length);
+                destino.add(registros[posicao]);
+                instantesDestino.add(instantes[posicao]);
+            }
+            return true;
+        }
+    }
+
+    // ================= CONEXÕES =================
+
+    /**
+     * Uma réplica conectada: envio numa thread, confirmações lidas em outra
+     */
+    public final class ConexaoReplica {
+        private final Socket socket;
+        private final String endereco;
+        private volatile long enviada;
+        private volatile long confirmada;
+        private volatile long fotosEnviadas;
+        private volatile boolean ativa = true;
+
+        private ConexaoReplica(Socket socket) {
+            this.socket = socket;
+            this.endereco = socket.getRemoteSocketAddress().toString();
+        }
+
+        private void iniciar() {
+            Thread envio = new Thread(this::enviar, "replicacao-envio-" + endereco);
+            envio.setDaemon(true);
+            envio.start();
+        }
+
+        private void enviar() {
+            try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                 DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+                if (entrada.readInt() != ProtocoloReplicacao.MARCA || entrada.readInt() != ProtocoloReplicacao.VERSAO) {
+                    throw new IOException("Réplica com protocolo incompatível: " + endereco);
+                }
+                long epocaReplica = entrada.readLong();
+                long posicao = entrada.readLong();
+                if (epocaReplica != epoca) {
+                    posicao = -1; // força a foto
+                }
+                confirmada = Math.max(0, posicao);
+
+                Thread leitura = new Thread(() -> lerConfirmacoes(entrada), "replicacao-confirmacoes-" + endereco);
+                leitura.setDaemon(true);
+                leitura.start();
+
+                List<byte[]> lote = new ArrayList<>(REGISTROS_POR_LOTE);
+                List<Long> instantes = new ArrayList<>(REGISTROS_POR_LOTE);
+                while (ativa) {
+                    lote.clear();
+                    instantes.clear();
+                    if (!diario.copiarApos(posicao, REGISTROS_POR_LOTE, ESPERA_REGISTROS_MILLIS, lote, instantes)) {
+                        posicao = enviarFoto(saida);
+                        fotosEnviadas++;
+                        continue;
+                    }
+
+                    if (lote.isEmpty()) {
+                        saida.writeByte(ProtocoloReplicacao.BATIMENTO);
+                        saida.writeLong(diario.getUltima());
+                        saida.writeLong(System.currentTimeMillis());
+                    }
+                    for (int i = 0; i < lote.size(); i++) {
+                        byte[] registro = lote.get(i);
+                        saida.writeByte(ProtocoloReplicacao.REGISTRO);
+                        saida.writeLong(++posicao);
+                        saida.writeLong(instantes.get(i));
+                        saida.writeInt(registro.length);
+                        saida.write(registro);
+                    }
+                    saida.flush();
+                    enviada = posicao;
+                }
+            } catch (IOException e) {
+                // Réplica desconectou; ela volta a se conectar sozinha
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                fechar();
+            }
+        }
+
+        private void lerConfirmacoes(DataInputStream entrada) {
+            try {
+                while (ativa) {
+                    confirmada = entrada.readLong();
+                }
+            } catch (IOException e) {
+                fechar();
+            }
+        }
+
+        /**
+         * Envia o estado completo e devolve a sequência a partir da qual os
+         * registros devem continuar (a base da foto)
+         */
+        private long enviarFoto(DataOutputStream saida) throws IOException {
+            long base = diario.getUltima();
+            long alvoBarramento = banco.getEventos().getPublicados() - 1;
+
+            List<Cliente> clientes = banco.getClientes();
+            List<FotoConta> contas = new ArrayList<>();
+            for (IConta conta : banco.getContas()) {
+                if (conta instanceof Conta contaImpl) {
+                    contas.add(FotoConta.de(contaImpl));
+                }
+            }
+
+            // Tudo o que foi publicado durante a foto precisa estar no diário
+            long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ESPERA_FOTO_MILLIS);
+            while (ultimaDoBarramento < alvoBarramento && System.nanoTime() - limite < 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            long fim = diario.getUltima();
+
+            EventoPersistenciaJfr evento = EventoPersistenciaJfr.iniciar();
+            saida.writeByte(ProtocoloReplicacao.FOTO);
+            saida.writeLong(epoca);
+            saida.writeLong(base);
+            saida.writeLong(fim);
+            saida.writeLong(System.currentTimeMillis());
+
+            saida.writeInt(clientes.size());
+            for (Cliente cliente : clientes) {
+                saida.writeUTF(cliente.getCpf());
+                saida.writeUTF(cliente.getNome());
+                ProtocoloReplicacao.escreverData(saida, cliente.getDataNascimento());
+            }
+
+            saida.writeInt(contas.size());
+            for (FotoConta conta : contas) {
+                conta.escrever(saida);
+            }
+            saida.flush();
+            evento.concluir("Foto de replicação", clientes.size() + contas.size());
+            return base;
+        }
+
+        private void fechar() {
+            ativa = false;
+            fecharSilenciosamente(socket);
+            conexoes.remove(this);
+        }
+
+        public String getEndereco() {
+            return endereco;
+        }
+
+        public long getEnviada() {
+            return enviada;
+        }
+
+        public long getConfirmada() {
+            return confirmada;
+        }
+
+        // Registros do diário que a réplica ainda não confirmou
+        public long getAtraso() {
+            return Math.max(0, diario.getUltima() - confirmada);
+        }
+
+        public long getFotosEnviadas() {
+            return fotosEnviadas;
+        }
+    }
+
+    /**
+     * Estado de uma conta para a foto: saldo, versão e histórico em memória
+     * lidos juntos sob o monitor do histórico
+     */
+    private static final class FotoConta {
+        private final int numero;
+        private final String tipoConta;
+        private final String cpf;
+        private final SaldoVersionado saldo;
+        private final long arquivadas;
+        private final List<Transacao> transacoes;
+
+        private FotoConta(int numero, String tipoConta, String cpf, SaldoVersionado saldo,
+                          long arquivadas, List<Transacao> transacoes) {
+            this.numero = numero;
+            this.tipoConta = tipoConta;
+            this.cpf = cpf;
+            this.saldo = saldo;
+            this.arquivadas = arquivadas;
+            this.transacoes = transacoes;
+        }
+
+        static FotoConta de(Conta conta) {
+            SaldoVersionado saldo;
+            List<Transacao> transacoes;
+            synchronized (conta.historico) {
+                saldo = conta.getSaldoVersionado();
+                transacoes = new ArrayList<>(conta.historico);
+            }
+            return new FotoConta(conta.getNumero(), conta.getTipoConta(), conta.getCliente().getCpf(),
+                saldo, conta.getResumoHistorico().getQuantidade(), transacoes);
+        }
+
+        void escrever(DataOutputStream saida) throws IOException {
+            saida.writeInt(numero);
+            saida.writeUTF(tipoConta);
+            saida.writeUTF(cpf);
+            ProtocoloReplicacao.escreverValor(saida, saldo.getSaldo());
+            saida.writeLong(saldo.getVersao());
+            saida.writeLong(arquivadas);
+            saida.writeInt(transacoes.size());
+            for (Transacao transacao : transacoes) {
+                SegmentoHistorico.escreverTransacao(saida, transacao);
+            }
+        }
+    }
+
+    // ================= MÉTRICAS =================
+
+    public int getPorta() {
+        ServerSocket atual = servidor;
+        return atual != null ? atual.getLocalPort() : -1;
+    }
+
+    public long getUltimaSequencia() {
+        return diario.getUltima();
+    }
+
+    public List<ConexaoReplica> getConexoes() {
+        return new ArrayList<>(conexoes);
+    }
+
+    public String getRelatorioTexto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("🔁 Replicação: porta %d, diário em %d, %d réplica(s)%n",
+            getPorta(), diario.getUltima(), conexoes.size()));
+        for (ConexaoReplica conexao : conexoes) {
+            sb.append(String.format("   • %-22s confirmada %d | atraso %d | fotos %d%n",
+                conexao.getEndereco(), conexao.getConfirmada(), conexao.getAtraso(), conexao.getFotosEnviadas()));
+        }
+        return sb.toString();
+    }
+
+    private static void fecharSilenciosamente(Closeable recurso) {
+        try {
+            recurso.close();
+        } catch (IOException e) {
+            // Já estava fechado
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package banco;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe que representa o resultado de um lote de operações no YLLOCIN Bank
+ * -----------------------------------------------------
+ * Guarda o status de cada item (na mesma ordem do lote) e o saldo final
+ */
+public class ResultadoLote {
+    private final List<String> falhas;
+    private final BigDecimal saldoFinal;
+    private final int aplicadas;
+
+    ResultadoLote(List<String> falhas, BigDecimal saldoFinal, int aplicadas) {
+        this.falhas = Collections.unmodifiableList(new ArrayList<>(falhas));
+        this.saldoFinal = saldoFinal;
+        this.aplicadas = aplicadas;
+    }
+
+    // null na posição indica que o item foi aplicado com sucesso
+    public boolean isSucesso(int indice) {
+        return falhas.get(indice) == null;
+    }
+
+    public String getMensagemFalha(int indice) {
+        return falhas.get(indice);
+    }
+
+    public int getTotalOperacoes() {
+        return falhas.size();
+    }
+
+    public int getAplicadas() {
+        return aplicadas;
+    }
+
+    public int getRejeitadas() {
+        return falhas.size() - aplicadas;
+    }
+
+    public BigDecimal getSaldoFinal() {
+        return saldoFinal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoLote{aplicadas=%d, rejeitadas=%d, saldoFinal=%.2f}",
+            aplicadas, getRejeitadas(), saldoFinal.doubleValue());
+    }
+}
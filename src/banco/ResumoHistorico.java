@@ -0,0 +1,124 @@
+package banco;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Resumo (checkpoint) do histórico arquivado de uma conta
+ * -----------------------------------------------------
+ * O que saiu da memória continua contado aqui: quantidade e soma por tipo de
+ * transação, período coberto e os segmentos em disco com o detalhe.
+ * Imutável - cada compactação gera um novo resumo.
+ */
+public final class ResumoHistorico {
+
+    static final ResumoHistorico VAZIO = new ResumoHistorico(
+        Collections.emptyList(),
+        new long[TipoTransacao.values().length],
+        zeros(),
+        null, null);
+
+    private final List<SegmentoHistorico> segmentos;
+    private final long[] quantidadePorTipo;
+    private final BigDecimal[] totalPorTipo;
+    private final LocalDateTime primeiraData;
+    private final LocalDateTime ultimaData;
+
+    private ResumoHistorico(List<SegmentoHistorico> segmentos, long[] quantidadePorTipo,
+                            BigDecimal[] totalPorTipo, LocalDateTime primeiraData, LocalDateTime ultimaData) {
+        this.segmentos = segmentos;
+        this.quantidadePorTipo = quantidadePorTipo;
+        this.totalPorTipo = totalPorTipo;
+        this.primeiraData = primeiraData;
+        this.ultimaData = ultimaData;
+    }
+
+    // Novo resumo incluindo um segmento recém-arquivado
+    ResumoHistorico comSegmento(SegmentoHistorico segmento, List<Transacao> arquivadas) {
+        List<SegmentoHistorico> novosSegmentos = new ArrayList<>(segmentos);
+        novosSegmentos.add(segmento);
+
+        long[] quantidades = quantidadePorTipo.clone();
+        BigDecimal[] totais = totalPorTipo.clone();
+        LocalDateTime primeira = primeiraData;
+        LocalDateTime ultima = ultimaData;
+
+        for (Transacao transacao : arquivadas) {
+            int tipo = transacao.getTipo().ordinal();
+            quantidades[tipo]++;
+            totais[tipo] = totais[tipo].add(transacao.getValor());
+
+            LocalDateTime data = transacao.getdataHora();
+            if (primeira == null || data.isBefore(primeira)) {
+                primeira = data;
+            }
+            if (ultima == null || data.isAfter(ultima)) {
+                ultima = data;
+            }
+        }
+
+        return new ResumoHistorico(Collections.unmodifiableList(novosSegmentos),
+            quantidades, totais, primeira, ultima);
+    }
+
+    // ================= CONSULTAS =================
+
+    public boolean isVazio() {
+        return segmentos.isEmpty();
+    }
+
+    public long getQuantidade() {
+        long total = 0;
+        for (long quantidade : quantidadePorTipo) {
+            total += quantidade;
+        }
+        return total;
+    }
+
+    public long getQuantidade(TipoTransacao tipo) {
+        return quantidadePorTipo[tipo.ordinal()];
+    }
+
+    public BigDecimal getTotal(TipoTransacao tipo) {
+        return totalPorTipo[tipo.ordinal()];
+    }
+
+    // Maior sequência arquivada (0 se nada foi arquivado)
+    public long getMaiorSequencia() {
+        long maior = 0;
+        for (SegmentoHistorico segmento : segmentos) {
+            maior = Math.max(maior, segmento.getMaiorSequencia());
+        }
+        return maior;
+    }
+
+    public List<SegmentoHistorico> getSegmentos() {
+        return segmentos;
+    }
+
+    public LocalDateTime getPrimeiraData() {
+        return primeiraData;
+    }
+
+    public LocalDateTime getUltimaData() {
+        return ultimaData;
+    }
+
+    private static BigDecimal[] zeros() {
+        BigDecimal[] totais = new BigDecimal[TipoTransacao.values().length];
+        for (int i = 0; i < totais.length; i++) {
+            totais[i] = BigDecimal.ZERO;
+        }
+        return totais;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResumoHistorico{segmentos=%d, transacoes=%d, periodo=%s..%s}",
+            segmentos.size(), getQuantidade(), primeiraData, ultimaData);
+    }
+}
@@ -0,0 +1,53 @@
+package banco;
+
+import java.math.BigDecimal;
+
+/**
+ * Classe que representa o saldo de uma conta junto com sua versão
+ * -----------------------------------------------------
+ * Objeto imutável: cada alteração de saldo publica uma nova instância
+ * com a versão incrementada, permitindo leituras sem trava.
+ * Em contas com créditos distribuídos, guarda também quantos centavos do
+ * acumulador já foram incorporados ao saldo.
+ */
+public final class SaldoVersionado {
+    static final SaldoVersionado INICIAL = new SaldoVersionado(BigDecimal.ZERO, 0L, 0L);
+
+    private final BigDecimal saldo;
+    private final long versao;
+    private final long centavosIncorporados;
+
+    private SaldoVersionado(BigDecimal saldo, long versao, long centavosIncorporados) {
+        this.saldo = saldo;
+        this.versao = versao;
+        this.centavosIncorporados = centavosIncorporados;
+    }
+
+    // Próximo estado a partir de uma variação no saldo
+    SaldoVersionado comVariacao(BigDecimal variacao) {
+        return new SaldoVersionado(saldo.add(variacao), versao + 1, centavosIncorporados);
+    }
+
+    // Próximo estado incorporando créditos do acumulador distribuído
+    SaldoVersionado comCreditosIncorporados(long centavos) {
+        return new SaldoVersionado(saldo.add(BigDecimal.valueOf(centavos, 2)),
+            versao + 1, centavosIncorporados + centavos);
+    }
+
+    long getCentavosIncorporados() {
+        return centavosIncorporados;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SaldoVersionado{saldo=%.2f, versao=%d}", saldo.doubleValue(), versao);
+    }
+}
@@ -0,0 +1,172 @@
+package banco;
+
+import monitoramento.EventoPersistenciaJfr;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Segmento de histórico arquivado do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Um arquivo GZIP com transações antigas de uma conta, em formato binário:
+ *   cabeçalho (marca, versão, quantidade) + uma transação por registro
+ *
+ * O objeto guarda só os metadados (caminho, faixa de sequências e quantidade);
+ * as transações são lidas do disco quando pedidas.
+ *
+ * A sequência global recomeça a cada execução, então o nome do arquivo leva
+ * também a identificação da execução; um arquivo existente nunca é sobrescrito.
+ */
+public final class SegmentoHistorico {
+
+    private static final int MARCA = 0x594C4853; // "YLHS"
+    private static final int VERSAO = 1;
+
+    // Identifica esta execução no nome dos arquivos (instante de início em base 36)
+    private static final String EXECUCAO = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Path arquivo;
+    private final long menorSequencia;
+    private final long maiorSequencia;
+    private final int quantidade;
+
+    private SegmentoHistorico(Path arquivo, long menorSequencia, long maiorSequencia, int quantidade) {
+        this.arquivo = arquivo;
+        this.menorSequencia = menorSequencia;
+        this.maiorSequencia = maiorSequencia;
+        this.quantidade = quantidade;
+    }
+
+    // ================= GRAVAÇÃO =================
+
+    /**
+     * Grava as transações num novo segmento do diretório. O arquivo é escrito
+     * com outro nome e renomeado no fim, então nunca fica pela metade.
+     */
+    static SegmentoHistorico gravar(Path diretorio, int numeroConta, List<Transacao> transacoes) throws IOException {
+        if (transacoes.isEmpty()) {
+            throw new IllegalArgumentException("Segmento de histórico não pode ser vazio");
+        }
+
+        long menor = Long.MAX_VALUE;
+        long maior = Long.MIN_VALUE;
+        for (Transacao transacao : transacoes) {
+            menor = Math.min(menor, transacao.getSequencia());
+            maior = Math.max(maior, transacao.getSequencia());
+        }
+
+        Files.createDirectories(diretorio);
+        Path arquivo = diretorio.resolve(
+                String.format("conta-%d-%s-%d-%d.hist.gz", numeroConta, EXECUCAO, menor, maior));
+        if (Files.exists(arquivo)) {
+            throw new FileAlreadyExistsException(arquivo.toString(), null, "segmento de histórico já arquivado");
+        }
+        Path temporario = diretorio.resolve(arquivo.getFileName() + ".tmp");
+
+        EventoPersistenciaJfr evento = EventoPersistenciaJfr.iniciar();
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temporario))))) {
+            saida.writeInt(MARCA);
+            saida.writeInt(VERSAO);
+            saida.writeInt(transacoes.size());
+            for (Transacao transacao : transacoes) {
+                escreverTransacao(saida, transacao);
+            }
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE);
+        evento.concluir("Segmento de histórico", transacoes.size());
+
+        return new SegmentoHistorico(arquivo, menor, maior, transacoes.size());
+    }
+
+    // Formato binário de uma transação (também usado pela replicação)
+    static void escreverTransacao(DataOutputStream saida, Transacao transacao) throws IOException {
+        LocalDateTime dataHora = transacao.getdataHora();
+        saida.writeLong(transacao.getSequencia());
+        saida.writeUTF(transacao.getTipo().name());
+        saida.writeUTF(transacao.getValor().toPlainString());
+        saida.writeLong(dataHora.toEpochSecond(ZoneOffset.UTC));
+        saida.writeInt(dataHora.getNano());
+        escreverOpcional(saida, transacao.getdescricao());
+        escreverOpcional(saida, transacao.getcontaOrigem());
+        escreverOpcional(saida, transacao.getContaDestino());
+    }
+
+    static void escreverOpcional(DataOutputStream saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    // ================= LEITURA =================
+
+    public List<Transacao> ler() throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(arquivo))))) {
+            if (entrada.readInt() != MARCA || entrada.readInt() != VERSAO) {
+                throw new IOException("Arquivo de histórico inválido: " + arquivo);
+            }
+
+            int total = entrada.readInt();
+            List<Transacao> transacoes = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                transacoes.add(lerTransacao(entrada));
+            }
+            return transacoes;
+        }
+    }
+
+    static Transacao lerTransacao(DataInputStream entrada) throws IOException {
+        return Transacao.restaurar(
+            entrada.readLong(),
+            TipoTransacao.valueOf(entrada.readUTF()),
+            new BigDecimal(entrada.readUTF()),
+            LocalDateTime.ofEpochSecond(entrada.readLong(), entrada.readInt(), ZoneOffset.UTC),
+            lerOpcional(entrada),
+            lerOpcional(entrada),
+            lerOpcional(entrada));
+    }
+
+    static String lerOpcional(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    // ================= GETTERS =================
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    public long getMenorSequencia() {
+        return menorSequencia;
+    }
+
+    public long getMaiorSequencia() {
+        return maiorSequencia;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SegmentoHistorico{arquivo=%s, sequencias=%d..%d, quantidade=%d}",
+            arquivo.getFileName(), menorSequencia, maiorSequencia, quantidade);
+    }
+}
@@ -0,0 +1,129 @@
+package banco;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sequência global das transações do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Todo lançamento recebe um número de 64 bits único e crescente, alocado
+ * sem trava (getAndIncrement). Lotes reservam um bloco inteiro com um único
+ * getAndAdd.
+ *
+ * O número é dado no momento em que a transação entra no histórico, sob o
+ * monitor dele, e confirmado logo depois da gravação. A marca de confirmação
+ * (confirmada) é a maior sequência com todas as anteriores já gravadas: quem
+ * pagina por sequência só lê até ela, senão um número menor ainda em voo
+ * apareceria depois do cursor e seria pulado.
+ *
+ * As confirmações ficam num anel de JANELA posições (como o barramento de
+ * eventos): a sequência s só é alocada depois que s - JANELA foi confirmada.
+ */
+final class SequenciaTransacoes {
+    // Máximo de sequências em voo ao mesmo tempo (potência de 2); também o maior bloco
+    static final int JANELA = 1 << 14;
+    private static final int MASCARA = JANELA - 1;
+
+    private static final AtomicLong PROXIMA = new AtomicLong(1);
+
+    // Por posição do anel: a última sequência daquela posição que já foi gravada
+    private static final AtomicLongArray CONFIRMADAS = new AtomicLongArray(JANELA);
+
+    // Maior sequência com todas as anteriores confirmadas (só avança)
+    private static final AtomicLong MARCA = new AtomicLong(0);
+
+    private SequenciaTransacoes() {
+    }
+
+    static long proxima() {
+        long sequencia = PROXIMA.getAndIncrement();
+        aguardarPosicao(sequencia);
+        return sequencia;
+    }
+
+    // Última sequência já alocada (0 se nenhuma)
+    static long ultima() {
+        return PROXIMA.get() - 1;
+    }
+
+    static Bloco reservar(int quantidade) {
+        if (quantidade <= 0 || quantidade > JANELA) {
+            throw new IllegalArgumentException("Quantidade do bloco deve estar entre 1 e " + JANELA);
+        }
+        long inicio = PROXIMA.getAndAdd(quantidade);
+        for (long sequencia = inicio; sequencia < inicio + quantidade; sequencia++) {
+            aguardarPosicao(sequencia);
+        }
+        return new Bloco(inicio, inicio + quantidade);
+    }
+
+    // Chamado depois que a transação de número 'sequencia' já está no histórico
+    static void confirmar(long sequencia) {
+        CONFIRMADAS.set((int) (sequencia & MASCARA), sequencia);
+    }
+
+    /**
+     * Maior sequência que pode servir de limite de paginação: todas as
+     * transações com número até ela já estão em algum histórico.
+     */
+    static long confirmada() {
+        long marca = MARCA.get();
+        long seguinte = marca + 1;
+        // Valor maior na posição é de uma volta seguinte, que só começa depois desta confirmada
+        while (CONFIRMADAS.get((int) (seguinte & MASCARA)) >= seguinte) {
+            seguinte++;
+        }
+
+        long nova = seguinte - 1;
+        while (nova > marca && !MARCA.compareAndSet(marca, nova)) {
+            marca = MARCA.get();
+        }
+        return Math.max(nova, marca);
+    }
+
+    /*
+     * A posição do anel só é reaproveitada depois que a volta anterior foi
+     * confirmada. Quem está em voo só grava e confirma (nada bloqueia dentro
+     * dessa janela), então a espera é curta e não forma ciclo.
+     */
+    private static void aguardarPosicao(long sequencia) {
+        int posicao = (int) (sequencia & MASCARA);
+        int tentativas = 0;
+        while (CONFIRMADAS.get(posicao) < sequencia - JANELA) {
+            if (++tentativas < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Bloco reservado para um lote - usado por uma única thread
+     */
+    static final class Bloco {
+        private final long inicio;
+        private long proxima;
+        private final long fim;
+
+        private Bloco(long inicio, long fim) {
+            this.inicio = inicio;
+            this.proxima = inicio;
+            this.fim = fim;
+        }
+
+        long proxima() {
+            if (proxima >= fim) {
+                throw new IllegalStateException("Bloco de sequências esgotado");
+            }
+            return proxima++;
+        }
+
+        // Confirma o bloco inteiro (os números não usados também, para a marca não parar)
+        void confirmar() {
+            for (long sequencia = inicio; sequencia < fim; sequencia++) {
+                SequenciaTransacoes.confirmar(sequencia);
+            }
+        }
+    }
+}
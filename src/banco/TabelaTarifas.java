@@ -0,0 +1,224 @@
+package banco;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Tabela de tarifas do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Regras por tipo de conta e operação, com faixas por valor da operação e
+ * por quantidade de operações do mesmo tipo já feitas no mês.
+ *
+ * Formato do arquivo (uma regra por linha, # para comentários):
+ *   tipoConta ; operacao ; valorMinimo ; operacoesNoMesMinimo ; tarifa
+ *   Conta Corrente ; SAQUE ; 0 ; 0 ; 0.00
+ *   Conta Corrente ; SAQUE ; 0 ; 4 ; 0.50     (a partir do 5º saque no mês)
+ *
+ * Entre as regras que se aplicam vale a mais específica (maior quantidade
+ * mínima; no empate, maior valor mínimo). Sem regra, a tarifa é zero.
+ *
+ * As regras são compiladas na carga em arrays por (tipo, operação), já
+ * ordenados e com as tarifas como BigDecimal prontos: a consulta só compara,
+ * sem alocar. A tabela é imutável; recarregar troca a referência atual.
+ */
+public final class TabelaTarifas {
+
+    private static final TabelaTarifas PADRAO = compilar(List.of(
+        new Regra("Conta Corrente", OperacaoTarifada.SAQUE, BigDecimal.ZERO, 0, new BigDecimal("0.50")),
+        new Regra("Conta Corrente", OperacaoTarifada.TRANSFERENCIA, BigDecimal.ZERO, 0, new BigDecimal("0.50"))));
+
+    private static volatile TabelaTarifas atual = PADRAO;
+    private static volatile Path arquivoAtual;
+    private static volatile FileTime modificacaoAtual;
+
+    // Regras compiladas: tipo de conta -> [operação] -> faixas ordenadas
+    private final Map<String, Faixas[]> faixasPorTipo;
+
+    private TabelaTarifas(Map<String, Faixas[]> faixasPorTipo) {
+        this.faixasPorTipo = faixasPorTipo;
+    }
+
+    // ================= CONSULTA (caminho crítico) =================
+
+    public static TabelaTarifas getAtual() {
+        return atual;
+    }
+
+    /**
+     * Tarifa para a operação
+     *
+     * @param operacoesNoMes quantas operações do mesmo tipo a conta já fez no mês
+     */
+    public BigDecimal calcular(String tipoConta, OperacaoTarifada operacao,
+                               BigDecimal valor, int operacoesNoMes) {
+        Faixas[] porOperacao = faixasPorTipo.get(tipoConta);
+        if (porOperacao == null) {
+            return BigDecimal.ZERO;
+        }
+
+        Faixas faixas = porOperacao[operacao.ordinal()];
+        if (faixas == null) {
+            return BigDecimal.ZERO;
+        }
+
+        // Da mais específica para a menos específica
+        for (int i = faixas.tarifas.length - 1; i >= 0; i--) {
+            if (operacoesNoMes >= faixas.operacoesMinimas[i]
+                    && (valor == null || valor.compareTo(faixas.valoresMinimos[i]) >= 0)) {
+                return faixas.tarifas[i];
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    // ================= CARGA E RECARGA =================
+
+    /**
+     * Carrega e ativa as regras do arquivo. Em caso de erro, a tabela atual é mantida.
+     */
+    public static synchronized void carregarArquivo(Path arquivo) throws IOException {
+        FileTime modificacao = Files.getLastModifiedTime(arquivo);
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+
+        atual = compilar(interpretar(linhas));
+        arquivoAtual = arquivo;
+        modificacaoAtual = modificacao;
+    }
+
+    /**
+     * Recarrega o arquivo se ele mudou desde a última carga - pode ser chamado
+     * periodicamente, sem reiniciar o sistema
+     *
+     * @return true se uma nova tabela foi ativada
+     */
+    public static boolean recarregarSeAlterado() throws IOException {
+        Path arquivo = arquivoAtual;
+        if (arquivo == null || Files.getLastModifiedTime(arquivo).equals(modificacaoAtual)) {
+            return false;
+        }
+        carregarArquivo(arquivo);
+        return true;
+    }
+
+    public static synchronized void restaurarPadrao() {
+        atual = PADRAO;
+        arquivoAtual = null;
+        modificacaoAtual = null;
+    }
+
+    private static List<Regra> interpretar(List<String> linhas) {
+        List<Regra> regras = new ArrayList<>();
+
+        for (int i = 0; i < linhas.size(); i++) {
+            String linha = linhas.get(i).trim();
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                continue;
+            }
+
+            String[] campos = linha.split(";");
+            if (campos.length != 5) {
+                throw new IllegalArgumentException(String.format(
+                    "Linha %d da tabela de tarifas deve ter 5 campos separados por ';'", i + 1));
+            }
+
+            try {
+                regras.add(new Regra(
+                    campos[0].trim(),
+                    OperacaoTarifada.valueOf(campos[1].trim().toUpperCase()),
+                    new BigDecimal(campos[2].trim()),
+                    Integer.parseInt(campos[3].trim()),
+                    new BigDecimal(campos[4].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(
+                    "Linha %d da tabela de tarifas inválida: %s", i + 1, e.getMessage()), e);
+            }
+        }
+
+        return regras;
+    }
+
+    private static TabelaTarifas compilar(List<Regra> regras) {
+        Map<String, List<List<Regra>>> agrupadas = new HashMap<>();
+        for (Regra regra : regras) {
+            if (regra.tarifa.signum() < 0 || regra.valorMinimo.signum() < 0 || regra.operacoesMinimas < 0) {
+                throw new IllegalArgumentException("Regras de tarifa não podem ter valores negativos");
+            }
+
+            List<List<Regra>> porOperacao = agrupadas.computeIfAbsent(regra.tipoConta, tipo -> {
+                List<List<Regra>> listas = new ArrayList<>();
+                for (int i = 0; i < OperacaoTarifada.values().length; i++) {
+                    listas.add(new ArrayList<>());
+                }
+                return listas;
+            });
+            porOperacao.get(regra.operacao.ordinal()).add(regra);
+        }
+
+        Comparator<Regra> especificidade = Comparator
+            .comparingInt((Regra r) -> r.operacoesMinimas)
+            .thenComparing(r -> r.valorMinimo);
+
+        Map<String, Faixas[]> compiladas = new HashMap<>();
+        agrupadas.forEach((tipo, porOperacao) -> {
+            Faixas[] faixas = new Faixas[porOperacao.size()];
+            for (int i = 0; i < faixas.length; i++) {
+                List<Regra> lista = porOperacao.get(i);
+                if (!lista.isEmpty()) {
+                    lista.sort(especificidade);
+                    faixas[i] = new Faixas(lista);
+                }
+            }
+            compiladas.put(tipo, faixas);
+        });
+
+        return new TabelaTarifas(compiladas);
+    }
+
+    // Uma regra como escrita no arquivo
+    private static class Regra {
+        private final String tipoConta;
+        private final OperacaoTarifada operacao;
+        private final BigDecimal valorMinimo;
+        private final int operacoesMinimas;
+        private final BigDecimal tarifa;
+
+        Regra(String tipoConta, OperacaoTarifada operacao, BigDecimal valorMinimo,
+              int operacoesMinimas, BigDecimal tarifa) {
+            this.tipoConta = tipoConta;
+            this.operacao = operacao;
+            this.valorMinimo = valorMinimo;
+            this.operacoesMinimas = operacoesMinimas;
+            this.tarifa = tarifa;
+        }
+    }
+
+    // Faixas compiladas de um par (tipo de conta, operação), em arrays paralelos
+    private static class Faixas {
+        private final BigDecimal[] valoresMinimos;
+        private final int[] operacoesMinimas;
+        private final BigDecimal[] tarifas;
+
+        Faixas(List<Regra> ordenadas) {
+            int n = ordenadas.size();
+            valoresMinimos = new BigDecimal[n];
+            operacoesMinimas = new int[n];
+            tarifas = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                Regra regra = ordenadas.get(i);
+                valoresMinimos[i] = regra.valorMinimo;
+                operacoesMinimas[i] = regra.operacoesMinimas;
+                tarifas[i] = regra.tarifa;
+            }
+        }
+    }
+}
@@ -1,39 +1,91 @@
 package banco;
 
+import monitoramento.EventoTransacaoJfr;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 /**
  * Classe que representa uma transação bancária no YLLOCIN Bank
  * -----------------------------------------------------
- * Objeto imutável que registra todas as informações de uma operação
+ * Registra todas as informações de uma operação. Só a sequência muda depois
+ * da criação (ver abaixo); os demais campos são finais.
+ *
+ * A renderização (formatarEm) escreve direto num StringBuilder reutilizável:
+ * data e valor são montados dígito a dígito, sem DateTimeFormatter nem
+ * String.format. O valor em centavos é calculado uma única vez, na criação.
+ *
+ * A ordem vem da sequência global (SequenciaTransacoes): única, crescente e
+ * comparável entre contas diferentes. O número é atribuído uma única vez,
+ * quando a transação entra no histórico da conta; até lá vale 0. Igualdade
+ * e hash usam só os campos finais, então não mudam com o registro (compareTo
+ * não é consistente com equals).
  */
-public class Transacao {
+public class Transacao implements Comparable<Transacao> {
+    private static final long VALOR_GRANDE = Long.MIN_VALUE;
+    static final long SEM_SEQUENCIA = 0;
+
+    private volatile long sequencia;
     private final TipoTransacao tipo;
     private final BigDecimal valor;
     private final LocalDateTime dataHora;
     private final String descricao;
     private final String contaOrigem;
     private final String contaDestino;
+
+    // Valor arredondado em centavos para exibição (VALOR_GRANDE se não couber num long)
+    private final long centavos;
     
     // Construtor principal (com conta destino)
     public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao, 
                      String contaOrigem, String contaDestino) {
+        this(SEM_SEQUENCIA, tipo, valor, Relogio.atual().agora(), descricao, contaOrigem, contaDestino);
+    }
+    
+    // Construtor simplificado (sem conta destino)
+    public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao, String contaOrigem) {
+        this(tipo, valor, descricao, contaOrigem, null);
+    }
+
+    private Transacao(long sequencia, TipoTransacao tipo, BigDecimal valor, LocalDateTime dataHora,
+                      String descricao, String contaOrigem, String contaDestino) {
+        this.sequencia = sequencia;
         this.tipo = tipo;
         this.valor = valor;
-        this.dataHora = LocalDateTime.now();
+        this.dataHora = dataHora;
         this.descricao = descricao;
         this.contaOrigem = contaOrigem;
         this.contaDestino = contaDestino;
+        this.centavos = paraCentavos(valor);
     }
-    
-    // Construtor simplificado (sem conta destino)
-    public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao, String contaOrigem) {
-        this(tipo, valor, descricao, contaOrigem, null);
+
+    // Transação lida de um arquivo de histórico (não é um lançamento novo)
+    static Transacao restaurar(long sequencia, TipoTransacao tipo, BigDecimal valor, LocalDateTime dataHora,
+                               String descricao, String contaOrigem, String contaDestino) {
+        return new Transacao(sequencia, tipo, valor, dataHora, descricao, contaOrigem, contaDestino);
     }
     
+    // Chamado pela conta, sob o monitor do histórico, ao gravar a transação
+    void atribuirSequencia(long sequencia) {
+        if (this.sequencia != SEM_SEQUENCIA) {
+            throw new IllegalStateException("Transação já registrada com a sequência " + this.sequencia);
+        }
+        this.sequencia = sequencia;
+    }
+
+    // Evento JFR do lançamento: emitido ao entrar no histórico (lotes rejeitados não deixam eventos)
+    void emitirEventoJfr() {
+        EventoTransacaoJfr.emitir(sequencia, tipo.name(), valor, contaOrigem, contaDestino);
+    }
+
     // Getters (sem setters - objeto imutável)
+
+    // 0 enquanto a transação não entrou no histórico (ex.: crédito ainda acumulado)
+    public long getSequencia() {
+        return sequencia;
+    }
+    
     public TipoTransacao getTipo() {
         return tipo;
     }
@@ -73,25 +125,76 @@ public class Transacao {
     
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("[%s] %s - R$ %.2f", 
-            dataHora.format(formatter),
-            tipo.getDescricao(),
-            valor.doubleValue()));
-        
+        return formatarEm(new StringBuilder(96)).toString();
+    }
+
+    /**
+     * Escreve a transação no buffer, no formato
+     * [dd/MM/yyyy HH:mm:ss] Tipo - R$ 0.00 - descrição → Conta destino
+     *
+     * Para muitas linhas (extratos), reutilize o mesmo buffer com setLength(0)
+     * ou acumule tudo nele e imprima uma vez.
+     */
+    public StringBuilder formatarEm(StringBuilder sb) {
+        sb.append('[');
+        anexarDoisDigitos(sb, dataHora.getDayOfMonth());
+        sb.append('/');
+        anexarDoisDigitos(sb, dataHora.getMonthValue());
+        sb.append('/').append(dataHora.getYear()).append(' ');
+        anexarDoisDigitos(sb, dataHora.getHour());
+        sb.append(':');
+        anexarDoisDigitos(sb, dataHora.getMinute());
+        sb.append(':');
+        anexarDoisDigitos(sb, dataHora.getSecond());
+        sb.append("] ").append(tipo.getDescricao()).append(" - R$ ");
+
+        if (centavos != VALOR_GRANDE) {
+            anexarCentavos(sb, centavos);
+        } else {
+            sb.append(valor.setScale(2, RoundingMode.HALF_UP).toPlainString());
+        }
+
         if (descricao != null && !descricao.isEmpty()) {
             sb.append(" - ").append(descricao);
         }
-        
+
         if (contaDestino != null && !contaDestino.isEmpty()) {
             sb.append(" → Conta ").append(contaDestino);
         }
-        
-        return sb.toString();
+
+        return sb;
+    }
+
+    // Centavos como "123.45" (mesmo formato de %.2f)
+    static void anexarCentavos(StringBuilder sb, long centavos) {
+        if (centavos < 0) {
+            sb.append('-');
+            centavos = -centavos;
+        }
+        sb.append(centavos / 100).append('.');
+        anexarDoisDigitos(sb, (int) (centavos % 100));
+    }
+
+    private static void anexarDoisDigitos(StringBuilder sb, int valor) {
+        sb.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+
+    private static long paraCentavos(BigDecimal valor) {
+        if (valor == null) {
+            return VALOR_GRANDE;
+        }
+        BigDecimal arredondado = valor.setScale(2, RoundingMode.HALF_UP);
+        return arredondado.precision() <= 18
+            ? arredondado.unscaledValue().longValue()
+            : VALOR_GRANDE;
     }
     
+    // Ordem global de lançamento
+    @Override
+    public int compareTo(Transacao outra) {
+        return Long.compare(sequencia, outra.sequencia);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -101,11 +204,13 @@ public class Transacao {
         return tipo == transacao.tipo &&
                valor.equals(transacao.valor) &&
                dataHora.equals(transacao.dataHora) &&
-               contaOrigem.equals(transacao.contaOrigem);
+               Objects.equals(descricao, transacao.descricao) &&
+               Objects.equals(contaOrigem, transacao.contaOrigem) &&
+               Objects.equals(contaDestino, transacao.contaDestino);
     }
     
     @Override
     public int hashCode() {
-        return java.util.Objects.hash(tipo, valor, dataHora, contaOrigem);
+        return Objects.hash(tipo, valor, dataHora, descricao, contaOrigem, contaDestino);
     }
 }
\ No newline at end of file
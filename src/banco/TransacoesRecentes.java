@@ -0,0 +1,41 @@
+package banco;
+
+import java.util.function.Consumer;
+
+/**
+ * Anel com as últimas transações de uma conta
+ * -----------------------------------------------------
+ * Array de tamanho fixo (potência de 2) sobrescrito em círculo: registrar e
+ * visitar as N últimas custam O(1) e O(N), sem alocar e sem depender do
+ * tamanho do histórico. Não é thread-safe - a Conta acessa sob o monitor
+ * do histórico, na mesma ordem em que grava nele.
+ */
+final class TransacoesRecentes {
+    private final Transacao[] anel;
+    private final int mascara;
+    private long registradas;
+
+    TransacoesRecentes(int capacidade) {
+        if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2");
+        }
+        this.anel = new Transacao[capacidade];
+        this.mascara = capacidade - 1;
+    }
+
+    void adicionar(Transacao transacao) {
+        anel[(int) (registradas++ & mascara)] = transacao;
+    }
+
+    // Visita as últimas (no máximo a capacidade), da mais antiga para a mais nova
+    void visitar(int quantidade, Consumer<Transacao> visitante) {
+        int n = (int) Math.min(Math.min(quantidade, anel.length), registradas);
+        for (long i = registradas - n; i < registradas; i++) {
+            visitante.accept(anel[(int) (i & mascara)]);
+        }
+    }
+
+    int getCapacidade() {
+        return anel.length;
+    }
+}
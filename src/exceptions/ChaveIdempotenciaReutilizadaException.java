@@ -0,0 +1,11 @@
+package exceptions;
+
+/**
+ * Exception para chave de idempotência já usada numa operação diferente (tipo, valor ou destino)
+ */
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    public ChaveIdempotenciaReutilizadaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,15 @@
+package exceptions;
+
+/**
+ * Exception para quando uma conta ou cliente excede o limite de operações por tempo
+ */
+public class LimiteOperacoesExcedidoException extends RuntimeException {
+
+    public LimiteOperacoesExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+
+    public LimiteOperacoesExcedidoException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,15 @@
+package exceptions;
+
+/**
+ * Exception para operações recusadas por movimentação anormal (velocidade de saques/transferências)
+ */
+public class OperacaoSuspeitaException extends RuntimeException {
+
+    public OperacaoSuspeitaException(String mensagem) {
+        super(mensagem);
+    }
+
+    public OperacaoSuspeitaException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,20 @@
+package interfaces;
+
+import banco.EventoBancario;
+
+/**
+ * Interface para consumidores do barramento de eventos do banco
+ * Cada assinante roda na sua própria thread e recebe os eventos em ordem de sequência
+ */
+public interface IAssinanteEventos {
+
+    /**
+     * @param sequencia posição do evento no barramento
+     * @param fimDoLote true no último evento disponível no momento (bom ponto para flush)
+     */
+    void aoReceber(EventoBancario evento, long sequencia, boolean fimDoLote);
+
+    // Chamado uma vez quando a assinatura termina (liberar arquivos, conexões...)
+    default void aoEncerrar() {
+    }
+}
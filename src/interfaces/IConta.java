@@ -1,9 +1,12 @@
 package interfaces;
 
 import banco.Cliente;
+import banco.OperacaoLote;
+import banco.ResultadoLote;
 import banco.Transacao;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface que define o contrato para operações bancárias no YLLOCIN Bank
@@ -16,6 +19,18 @@ public interface IConta {
     void depositar(BigDecimal valor);
     void transferir(BigDecimal valor, IConta contaDestino);
 
+    // Variantes idempotentes: a mesma chave repetida devolve a transação original
+    Transacao sacar(BigDecimal valor, String chaveIdempotencia);
+    Transacao depositar(BigDecimal valor, String chaveIdempotencia);
+    Transacao transferir(BigDecimal valor, IConta contaDestino, String chaveIdempotencia);
+
+    /**
+     * Executa várias operações de uma vez, validando e gravando o histórico em bloco.
+     * Com atomico = true, qualquer falha rejeita o lote inteiro (nada é aplicado);
+     * com atomico = false, cada item é aplicado ou rejeitado individualmente.
+     */
+    ResultadoLote executarLote(List<OperacaoLote> operacoes, boolean atomico);
+
    // Getters para atributos essenciais
     int getNumero();
     int getAgencia();
@@ -23,6 +38,21 @@ public interface IConta {
     Cliente getCliente();
     String getTipoConta();
     List<Transacao> getHistorico();
+
+    /**
+     * Página do histórico: até 'limite' transações com sequência maior que o
+     * cursor, em ordem de sequência. Use a sequência da última como próximo cursor.
+     */
+    List<Transacao> getHistoricoApos(long sequencia, int limite);
+
+    /**
+     * Visita as últimas transações (da mais antiga para a mais nova) sem copiar
+     * o histórico. O visitante roda sob o monitor do histórico: deve ser rápido.
+     */
+    void visitarTransacoesRecentes(int quantidade, Consumer<Transacao> visitante);
+
+    // Total de transações da conta, incluindo as arquivadas
+    long getTotalTransacoes();
     
     // Operações de consulta
     void imprimirExtrato();
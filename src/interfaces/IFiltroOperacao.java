@@ -0,0 +1,20 @@
+package interfaces;
+
+import banco.TipoTransacao;
+import java.math.BigDecimal;
+
+/**
+ * Interface para filtros executados antes de cada operação de uma conta
+ * Um filtro recusa a operação lançando uma exceção (nada é alterado na conta)
+ */
+public interface IFiltroOperacao {
+
+    void antesDaOperacao(IConta conta, TipoTransacao tipo, BigDecimal valor);
+
+    /**
+     * Desfaz o que antesDaOperacao consumiu quando a operação aceita acabou não
+     * sendo executada (ex.: item de lote recusado na validação)
+     */
+    default void devolver(IConta conta, TipoTransacao tipo, BigDecimal valor) {
+    }
+}
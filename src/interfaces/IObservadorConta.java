@@ -0,0 +1,21 @@
+package interfaces;
+
+import banco.SaldoVersionado;
+import banco.Transacao;
+
+/**
+ * Interface para quem acompanha os lançamentos de uma conta
+ * Chamado logo após cada transação entrar no histórico, ainda na thread da operação
+ */
+public interface IObservadorConta {
+
+    void aoRegistrarTransacao(IConta conta, Transacao transacao, SaldoVersionado saldoApos);
+
+    /**
+     * Depósito que entrou no acumulador de créditos distribuídos: ainda fora
+     * do saldo versionado e do histórico (aoRegistrarTransacao vem depois,
+     * na incorporação). Chamado sem trava nem monitor da conta.
+     */
+    default void aoAcumularCredito(IConta conta, Transacao transacao) {
+    }
+}
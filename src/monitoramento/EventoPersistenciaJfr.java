@@ -0,0 +1,40 @@
+package monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de gravação de dados (backup, segmento de histórico, foto de
+ * replicação ou descarga do arquivo de eventos)
+ */
+@Name("yllocin.banco.Persistencia")
+@Label("Persistência")
+@Category({"YLLOCIN Bank", "Manutenção"})
+@Description("Gravação de snapshot, backup ou descarga de diário de transações")
+public class EventoPersistenciaJfr extends Event {
+
+    @Label("Tipo")
+    public String tipo;
+
+    @Label("Registros")
+    public long registros;
+
+    // Abre o evento antes da escrita; feche com concluir() depois dela
+    public static EventoPersistenciaJfr iniciar() {
+        EventoPersistenciaJfr evento = new EventoPersistenciaJfr();
+        evento.begin();
+        return evento;
+    }
+
+    public void concluir(String tipo, long registros) {
+        end();
+        if (shouldCommit()) {
+            this.tipo = tipo;
+            this.registros = registros;
+            commit();
+        }
+    }
+}
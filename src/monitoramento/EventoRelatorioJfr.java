@@ -0,0 +1,23 @@
+package monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR da geração de um relatório gerencial
+ */
+@Name("yllocin.banco.Relatorio")
+@Label("Relatório")
+@Category({"YLLOCIN Bank", "Relatórios"})
+@Description("Geração de relatório sobre as contas do banco")
+public class EventoRelatorioJfr extends Event {
+
+    @Label("Relatório")
+    public String nome;
+
+    @Label("Contas analisadas")
+    public int contasAnalisadas;
+}
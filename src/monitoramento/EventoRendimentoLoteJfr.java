@@ -0,0 +1,23 @@
+package monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de uma aplicação de rendimento em lote nas poupanças
+ */
+@Name("yllocin.banco.RendimentoLote")
+@Label("Rendimento em lote")
+@Category({"YLLOCIN Bank", "Manutenção"})
+@Description("Aplicação de rendimento em várias contas poupança")
+public class EventoRendimentoLoteJfr extends Event {
+
+    @Label("Contas processadas")
+    public int contasProcessadas;
+
+    @Label("Total de rendimento")
+    public double totalRendimento;
+}
@@ -0,0 +1,49 @@
+package monitoramento;
+
+import java.math.BigDecimal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido a cada Transacao registrada no histórico do YLLOCIN Bank
+ */
+@Name("yllocin.banco.Transacao")
+@Label("Transação")
+@Category({"YLLOCIN Bank", "Operações"})
+@Description("Registro de uma transação (depósito, saque, transferência, taxa ou rendimento)")
+@StackTrace(false)
+public class EventoTransacaoJfr extends Event {
+
+    @Label("Sequência")
+    @Description("Sequência global da transação - ordena eventos de contas diferentes")
+    long sequencia;
+
+    @Label("Tipo")
+    String tipo;
+
+    @Label("Valor")
+    double valor;
+
+    @Label("Conta de origem")
+    String contaOrigem;
+
+    @Label("Conta de destino")
+    String contaDestino;
+
+    // Os campos só são preenchidos se a gravação estiver ativa para este evento
+    public static void emitir(long sequencia, String tipo, BigDecimal valor, String contaOrigem, String contaDestino) {
+        EventoTransacaoJfr evento = new EventoTransacaoJfr();
+        if (evento.shouldCommit()) {
+            evento.sequencia = sequencia;
+            evento.tipo = tipo;
+            evento.valor = valor.doubleValue();
+            evento.contaOrigem = contaOrigem;
+            evento.contaDestino = contaDestino;
+            evento.commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR com a duração de uma transferência, incluindo a espera pelas travas
+ */
+@Name("yllocin.banco.Transferencia")
+@Label("Transferência")
+@Category({"YLLOCIN Bank", "Operações"})
+@Description("Transferência entre contas, do início da validação até a liberação das travas")
+public class EventoTransferenciaJfr extends Event {
+
+    @Label("Conta de origem")
+    public int contaOrigem;
+
+    @Label("Conta de destino")
+    public int contaDestino;
+
+    @Label("Valor")
+    public double valor;
+
+    @Label("Concluída")
+    public boolean concluida;
+}
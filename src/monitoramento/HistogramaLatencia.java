@@ -0,0 +1,101 @@
+package monitoramento;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências no estilo HdrHistogram
+ * -----------------------------------------------------
+ * Faixas logarítmicas (potências de 2 em nanossegundos), cada uma dividida
+ * em 16 sub-faixas lineares: erro relativo máximo de ~6%.
+ * A gravação não aloca memória - só incrementos atômicos em arrays.
+ */
+public class HistogramaLatencia {
+    private static final int BITS_SUBFAIXA = 4;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int FAIXAS = 64 - BITS_SUBFAIXA;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS * SUBFAIXAS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong somaNanos = new AtomicLong();
+    private final AtomicLong maximoNanos = new AtomicLong();
+
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        contagens.incrementAndGet(indice(nanos));
+        total.incrementAndGet();
+        somaNanos.addAndGet(nanos);
+
+        long maximo;
+        while (nanos > (maximo = maximoNanos.get())) {
+            if (maximoNanos.compareAndSet(maximo, nanos)) {
+                break;
+            }
+        }
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMaximoNanos() {
+        return maximoNanos.get();
+    }
+
+    public double getMediaNanos() {
+        long n = total.get();
+        return n == 0 ? 0.0 : (double) somaNanos.get() / n;
+    }
+
+    /**
+     * Valor aproximado (limite superior da sub-faixa) abaixo do qual está
+     * a fração pedida das amostras, ex.: 0.99 para o p99
+     */
+    public long getPercentilNanos(double fracao) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+
+        long alvo = Math.max(1, (long) Math.ceil(fracao * n));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximoNanos.get());
+            }
+        }
+        return maximoNanos.get();
+    }
+
+    public void zerar() {
+        for (int i = 0; i < contagens.length(); i++) {
+            contagens.set(i, 0);
+        }
+        total.set(0);
+        somaNanos.set(0);
+        maximoNanos.set(0);
+    }
+
+    // Faixa = posição do bit mais alto; sub-faixa = os 4 bits seguintes
+    private static int indice(long nanos) {
+        if (nanos < SUBFAIXAS) {
+            return (int) nanos;
+        }
+        int faixa = 63 - Long.numberOfLeadingZeros(nanos) - BITS_SUBFAIXA + 1;
+        int subfaixa = (int) (nanos >>> (faixa - 1)) & (SUBFAIXAS - 1);
+        return faixa * SUBFAIXAS + subfaixa;
+    }
+
+    private static long limiteSuperior(int indice) {
+        int faixa = indice / SUBFAIXAS;
+        int subfaixa = indice % SUBFAIXAS;
+        if (faixa == 0) {
+            return subfaixa;
+        }
+        return ((long) (SUBFAIXAS + subfaixa + 1) << (faixa - 1)) - 1;
+    }
+}
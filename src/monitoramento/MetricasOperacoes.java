@@ -0,0 +1,147 @@
+package monitoramento;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas das operações críticas do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Contadores e histogramas de latência por operação, consultáveis via JMX
+ * (yllocin.banco:type=MetricasOperacoes) ou em texto pelo painel administrativo.
+ *
+ * Uso no código instrumentado:
+ *   long inicio = MetricasOperacoes.iniciar();
+ *   try { ... } finally { MetricasOperacoes.registrar(Operacao.SAQUE, inicio); }
+ *
+ * Desabilitado, iniciar() devolve 0 sem ler o relógio e registrar() retorna
+ * na primeira comparação.
+ */
+public final class MetricasOperacoes implements MetricasOperacoesMBean {
+
+    public enum Operacao {
+        SAQUE("Saque"),
+        DEPOSITO("Depósito"),
+        TRANSFERENCIA("Transferência"),
+        RENDIMENTO("Rendimento"),
+        BUSCA_CONTA("Busca de conta"),
+        BUSCA_CLIENTE("Busca de cliente"),
+        RELATORIO("Relatório");
+
+        private final String descricao;
+
+        Operacao(String descricao) {
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    private static final String NOME_JMX = "yllocin.banco:type=MetricasOperacoes";
+    private static final MetricasOperacoes INSTANCIA = new MetricasOperacoes();
+
+    private static volatile boolean habilitado = false;
+
+    private final Map<Operacao, HistogramaLatencia> histogramas = new EnumMap<>(Operacao.class);
+
+    private MetricasOperacoes() {
+        for (Operacao operacao : Operacao.values()) {
+            histogramas.put(operacao, new HistogramaLatencia());
+        }
+    }
+
+    public static MetricasOperacoes getInstancia() {
+        return INSTANCIA;
+    }
+
+    // ================= GRAVAÇÃO (caminho crítico) =================
+
+    public static long iniciar() {
+        return habilitado ? System.nanoTime() : 0L;
+    }
+
+    public static void registrar(Operacao operacao, long inicio) {
+        if (inicio == 0L) {
+            return;
+        }
+        INSTANCIA.histogramas.get(operacao).registrar(System.nanoTime() - inicio);
+    }
+
+    // ================= CONFIGURAÇÃO =================
+
+    public static void habilitar() {
+        habilitado = true;
+    }
+
+    public static void desabilitar() {
+        habilitado = false;
+    }
+
+    /**
+     * Registra o MBean na plataforma (chamadas repetidas são ignoradas)
+     */
+    public static void registrarJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nome = new ObjectName(NOME_JMX);
+            if (!servidor.isRegistered(nome)) {
+                servidor.registerMBean(INSTANCIA, nome);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar as métricas no JMX", e);
+        }
+    }
+
+    public HistogramaLatencia getHistograma(Operacao operacao) {
+        return histogramas.get(operacao);
+    }
+
+    // ================= MBEAN =================
+
+    @Override
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public void setHabilitado(boolean valor) {
+        habilitado = valor;
+    }
+
+    @Override
+    public long getTotalOperacoes() {
+        return histogramas.values().stream()
+            .mapToLong(HistogramaLatencia::getTotal)
+            .sum();
+    }
+
+    @Override
+    public String getRelatorioTexto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-18s %10s %10s %10s %10s %10s%n",
+            "Operação", "Total", "Média µs", "p50 µs", "p99 µs", "Máx µs"));
+
+        for (Operacao operacao : Operacao.values()) {
+            HistogramaLatencia h = histogramas.get(operacao);
+            sb.append(String.format("%-18s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                operacao.getDescricao(),
+                h.getTotal(),
+                h.getMediaNanos() / 1_000.0,
+                h.getPercentilNanos(0.50) / 1_000.0,
+                h.getPercentilNanos(0.99) / 1_000.0,
+                h.getMaximoNanos() / 1_000.0));
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public void zerar() {
+        histogramas.values().forEach(HistogramaLatencia::zerar);
+    }
+}
@@ -0,0 +1,16 @@
+package monitoramento;
+
+/**
+ * Interface JMX das métricas de operações do YLLOCIN Bank
+ * Exposta como yllocin.banco:type=MetricasOperacoes
+ */
+public interface MetricasOperacoesMBean {
+
+    boolean isHabilitado();
+    void setHabilitado(boolean habilitado);
+
+    long getTotalOperacoes();
+    String getRelatorioTexto();
+
+    void zerar();
+}
@@ -0,0 +1,61 @@
+import banco.AgendadorMensalTeste;
+import banco.BancoParticionadoTeste;
+import banco.BarramentoEventosTeste;
+import banco.CacheIdempotenciaTeste;
+import banco.ClienteTeste;
+import banco.ContaPoupancaTeste;
+import banco.CreditosDistribuidosTeste;
+import banco.DetectorVelocidadeTeste;
+import banco.EventosJfrTeste;
+import banco.FaixaEtariaTeste;
+import banco.HistoricoPaginadoTeste;
+import banco.LimitadorTaxaTeste;
+import banco.LoteOperacoesTeste;
+import banco.MotorTransferenciasTeste;
+import banco.ProjecaoRelatoriosTeste;
+import banco.ProjecaoRendimentosTeste;
+import banco.RelogioTeste;
+import banco.ReplicacaoTeste;
+import banco.SaldoVersionadoTeste;
+import banco.SegmentoHistoricoTeste;
+import banco.TabelaTarifasTeste;
+import banco.TransacoesRecentesTeste;
+import banco.Verificacoes;
+import monitoramento.HistogramaLatenciaTeste;
+
+/**
+ * Executa todos os testes do YLLOCIN Bank
+ * -----------------------------------------------------
+ *   javac -d out $(find src -name '*.java')
+ *   javac -cp out -d out-test $(find test -name '*.java')
+ *   java -cp out:out-test ExecutarTestes
+ */
+public class ExecutarTestes {
+
+    public static void main(String[] args) {
+        MotorTransferenciasTeste.executarCasos();
+        CacheIdempotenciaTeste.executarCasos();
+        HistogramaLatenciaTeste.executarCasos();
+        LimitadorTaxaTeste.executarCasos();
+        BarramentoEventosTeste.executarCasos();
+        BancoParticionadoTeste.executarCasos();
+        ProjecaoRelatoriosTeste.executarCasos();
+        ContaPoupancaTeste.executarCasos();
+        AgendadorMensalTeste.executarCasos();
+        ClienteTeste.executarCasos();
+        HistoricoPaginadoTeste.executarCasos();
+        CreditosDistribuidosTeste.executarCasos();
+        LoteOperacoesTeste.executarCasos();
+        SaldoVersionadoTeste.executarCasos();
+        EventosJfrTeste.executarCasos();
+        TabelaTarifasTeste.executarCasos();
+        ProjecaoRendimentosTeste.executarCasos();
+        RelogioTeste.executarCasos();
+        SegmentoHistoricoTeste.executarCasos();
+        TransacoesRecentesTeste.executarCasos();
+        DetectorVelocidadeTeste.executarCasos();
+        ReplicacaoTeste.executarCasos();
+        FaixaEtariaTeste.executarCasos();
+        Verificacoes.encerrar();
+    }
+}
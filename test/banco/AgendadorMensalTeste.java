@@ -0,0 +1,121 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes do fechamento mensal
+ * -----------------------------------------------------
+ * Meses perdidos cobrados de uma vez, numa passada por conta; fechamento
+ * repetido no mesmo mês sem nova cobrança; executarAgora() percorrendo
+ * todas as contas de uma vez.
+ */
+public final class AgendadorMensalTeste {
+    private static final String TARIFAS = "Conta Corrente ; MANUTENCAO_MENSAL ; 0 ; 0 ; 10.00";
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("agendador: meses perdidos cobrados de uma vez", AgendadorMensalTeste::recuperacao);
+        executar("agendador: mesmo mês não cobra de novo", AgendadorMensalTeste::mesmoMes);
+        executar("agendador: executarAgora percorre todas as contas", AgendadorMensalTeste::todasAsContas);
+    }
+
+    private static void recuperacao() throws Exception {
+        comTarifasERelogio(relogio -> {
+            Banco banco = new Banco("Teste agendador");
+            AgendadorMensal agendador = new AgendadorMensal(banco);
+            ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 1));
+            conta.depositar(new BigDecimal("100.00"));
+            ContaCorrente quaseVazia = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 2));
+            quaseVazia.depositar(new BigDecimal("25.00"));
+
+            // Sistema parado de janeiro a abril: três meses de uma vez
+            relogio.ajustar(LocalDateTime.of(2024, 4, 3, 8, 0));
+            agendador.executarAgora();
+
+            verificarIgual(0, new BigDecimal("70.00").compareTo(conta.getSaldo()), "três tarifas");
+            verificarIgual(0, new BigDecimal("30.00").compareTo(Verificacoes.tarifasPagas(conta)),
+                "um lançamento com os três meses");
+            verificarIgual(0, BigDecimal.ZERO.compareTo(quaseVazia.getSaldo()), "tarifa limitada ao saldo");
+            verificar(agendador.getUltimoFechamento().contains("3 mês(es)"),
+                "resumo do fechamento: " + agendador.getUltimoFechamento());
+        });
+    }
+
+    private static void mesmoMes() throws Exception {
+        comTarifasERelogio(relogio -> {
+            Banco banco = new Banco("Teste agendador");
+            AgendadorMensal agendador = new AgendadorMensal(banco);
+            ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 1));
+            conta.depositar(new BigDecimal("100.00"));
+
+            agendador.executarAgora();
+            verificarIgual(0, new BigDecimal("100.00").compareTo(conta.getSaldo()), "nada no mês corrente");
+
+            relogio.ajustar(LocalDateTime.of(2024, 2, 1, 0, 5));
+            agendador.executarAgora();
+            agendador.executarAgora();
+            // A conta também não cobra duas vezes se chamada direto
+            conta.cobrarManutencaoPendente();
+            verificarIgual(0, new BigDecimal("90.00").compareTo(conta.getSaldo()), "uma tarifa só");
+        });
+    }
+
+    private static void todasAsContas() throws Exception {
+        comTarifasERelogio(relogio -> {
+            Banco banco = new Banco("Teste agendador");
+            AgendadorMensal agendador = new AgendadorMensal(banco);
+            List<ContaCorrente> contas = new ArrayList<>();
+            // Mais contas que uma fatia: executarAgora não é fatiado
+            for (int i = 1; i <= 600; i++) {
+                ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, i));
+                conta.depositar(new BigDecimal("50.00"));
+                contas.add(conta);
+            }
+
+            relogio.ajustar(LocalDateTime.of(2024, 2, 2, 8, 0));
+            agendador.executarAgora();
+            for (ContaCorrente conta : contas) {
+                verificarIgual(0, new BigDecimal("40.00").compareTo(conta.getSaldo()),
+                    "tarifa na conta " + conta.getNumero());
+            }
+            verificar(agendador.getUltimoFechamento().contains("600 contas"),
+                "resumo do fechamento: " + agendador.getUltimoFechamento());
+        });
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComRelogio {
+        void executar(Relogio.Simulado relogio);
+    }
+
+    private static void comTarifasERelogio(CasoComRelogio caso) throws Exception {
+        Path arquivo = Files.createTempFile("tarifas", ".txt");
+        Relogio anterior = Relogio.atual();
+        try {
+            Files.write(arquivo, List.of(TARIFAS), StandardCharsets.UTF_8);
+            TabelaTarifas.carregarArquivo(arquivo);
+            Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 1, 15, 10, 0));
+            Relogio.definir(relogio);
+            caso.executar(relogio);
+        } finally {
+            Relogio.definir(anterior);
+            TabelaTarifas.restaurarPadrao();
+            Files.deleteIfExists(arquivo);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes do lote entre partições (two-phase commit)
+ * -----------------------------------------------------
+ * Confirmação e aborto registrados nos diários do coordenador e das
+ * partições, saldos intactos no aborto e dinheiro conservado (saldos mais
+ * tarifas) com lotes concorrentes em ordens opostas.
+ */
+public final class BancoParticionadoTeste {
+    private static final int PARTICOES = 4;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("2PC: lote entre partições confirma em todas", BancoParticionadoTeste::confirma);
+        executar("2PC: saldo insuficiente aborta sem alterar nada", BancoParticionadoTeste::aborta);
+        executar("2PC: lotes concorrentes conservam a soma dos saldos", BancoParticionadoTeste::concorrentes);
+    }
+
+    private static void confirma() {
+        BancoParticionado banco = new BancoParticionado("Teste 2PC", PARTICOES);
+        List<ContaCorrente> contas = contasEmParticoesDistintas(banco, 2, new BigDecimal("100.00"));
+        ContaCorrente a = contas.get(0);
+        ContaCorrente b = contas.get(1);
+
+        banco.executarTransferenciasEmLote(List.of(
+            new MotorTransferencias.Transferencia(a, b, new BigDecimal("30.00")),
+            new MotorTransferencias.Transferencia(b, a, new BigDecimal("5.00"))));
+
+        // A conta corrente paga tarifa por transferência: o saldo mais as tarifas fecha a conta
+        verificarIgual(0, new BigDecimal("75.00").compareTo(a.getSaldo().add(Verificacoes.tarifasPagas(a))), "saldo de a");
+        verificarIgual(0, new BigDecimal("125.00").compareTo(b.getSaldo().add(Verificacoes.tarifasPagas(b))), "saldo de b");
+
+        verificarIgual(1L, banco.getDiarioCoordenador().getConfirmadas(), "confirmadas no coordenador");
+        for (ContaCorrente conta : contas) {
+            DiarioParticao diario = banco.getDiario(banco.particaoDaConta(conta.getNumero()));
+            verificarIgual(1L, diario.getConfirmadas(), "confirmadas em " + diario.getNome());
+            verificar(diario.getEmAberto().isEmpty(), "nada em aberto em " + diario.getNome());
+        }
+    }
+
+    private static void aborta() {
+        BancoParticionado banco = new BancoParticionado("Teste 2PC", PARTICOES);
+        List<ContaCorrente> contas = contasEmParticoesDistintas(banco, 2, new BigDecimal("100.00"));
+        ContaCorrente a = contas.get(0);
+        ContaCorrente b = contas.get(1);
+        long transacoesA = a.getTotalTransacoes();
+
+        // A primeira transferência caberia sozinha; o lote inteiro não
+        verificarLanca(RuntimeException.class, () -> banco.executarTransferenciasEmLote(List.of(
+            new MotorTransferencias.Transferencia(a, b, new BigDecimal("60.00")),
+            new MotorTransferencias.Transferencia(a, b, new BigDecimal("60.00")))), "lote sem saldo");
+
+        verificarIgual(0, new BigDecimal("100.00").compareTo(a.getSaldo()), "saldo de a intacto");
+        verificarIgual(0, new BigDecimal("100.00").compareTo(b.getSaldo()), "saldo de b intacto");
+        verificarIgual(transacoesA, a.getTotalTransacoes(), "nenhum lançamento em a");
+
+        verificarIgual(1L, banco.getDiarioCoordenador().getAbortadas(), "abortadas no coordenador");
+        verificarIgual(0L, banco.getDiarioCoordenador().getConfirmadas(), "nada confirmado");
+        for (int i = 0; i < PARTICOES; i++) {
+            verificar(banco.getDiario(i).getEmAberto().isEmpty(), "nada em aberto na partição " + i);
+        }
+    }
+
+    private static void concorrentes() throws InterruptedException {
+        BancoParticionado banco = new BancoParticionado("Teste 2PC", PARTICOES);
+        List<ContaCorrente> contas = contasEmParticoesDistintas(banco, PARTICOES, new BigDecimal("1000.00"));
+        BigDecimal somaInicial = Verificacoes.dinheiro(contas);
+
+        int threads = 4;
+        int lotesPorThread = 300;
+        Thread[] executores = new Thread[threads];
+        List<Throwable> erros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random aleatorio = new Random(t);
+            executores[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < lotesPorThread; i++) {
+                        // Ordens aleatórias: sem travas em ordem global haveria impasse
+                        ContaCorrente origem = contas.get(aleatorio.nextInt(contas.size()));
+                        ContaCorrente meio = contas.get(aleatorio.nextInt(contas.size()));
+                        ContaCorrente destino = contas.get(aleatorio.nextInt(contas.size()));
+                        if (origem == meio || meio == destino) {
+                            continue;
+                        }
+                        banco.executarTransferenciasEmLote(List.of(
+                            new MotorTransferencias.Transferencia(origem, meio, BigDecimal.ONE),
+                            new MotorTransferencias.Transferencia(meio, destino, BigDecimal.ONE)));
+                    }
+                } catch (Throwable e) {
+                    synchronized (erros) {
+                        erros.add(e);
+                    }
+                }
+            });
+            executores[t].start();
+        }
+        for (Thread executor : executores) {
+            executor.join(30_000);
+            verificar(!executor.isAlive(), "lote travado (impasse?)");
+        }
+
+        verificar(erros.isEmpty(), "erros nos lotes: " + erros);
+        verificarIgual(0, somaInicial.compareTo(Verificacoes.dinheiro(contas)), "soma dos saldos mais tarifas");
+        for (int i = 0; i < PARTICOES; i++) {
+            verificar(banco.getDiario(i).getEmAberto().isEmpty(), "nada em aberto na partição " + i);
+        }
+    }
+
+    // Uma conta corrente com saldo em cada uma de 'quantidade' partições diferentes
+    private static List<ContaCorrente> contasEmParticoesDistintas(BancoParticionado banco, int quantidade,
+                                                                 BigDecimal saldo) {
+        List<ContaCorrente> contas = new ArrayList<>();
+        boolean[] usadas = new boolean[banco.getQuantidadeParticoes()];
+        for (int numero = 1; contas.size() < quantidade; numero++) {
+            String cpf = Verificacoes.cpf(numero);
+            int particao = banco.particaoDoCpf(cpf);
+            if (usadas[particao]) {
+                continue;
+            }
+            usadas[particao] = true;
+
+            ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, numero));
+            conta.depositar(saldo);
+            contas.add(conta);
+        }
+        return contas;
+    }
+}
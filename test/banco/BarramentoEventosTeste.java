@@ -0,0 +1,168 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testes do barramento de eventos em anel
+ * -----------------------------------------------------
+ * Entrega em ordem, contrapressão (ESPERAR) e descarte (DESCARTAR) com o
+ * anel dando várias voltas.
+ */
+public final class BarramentoEventosTeste {
+    private static final long PRAZO_MILLIS = 10_000;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("barramento: capacidade precisa ser potência de 2", BarramentoEventosTeste::capacidadeInvalida);
+        executar("barramento: sem assinantes não publica", BarramentoEventosTeste::semAssinantes);
+        executar("barramento: ESPERAR entrega tudo em ordem", BarramentoEventosTeste::esperarEntregaTudo);
+        executar("barramento: assinatura DESCARTAR atrasada não segura o produtor",
+            BarramentoEventosTeste::assinaturaDescartarNaoSegura);
+        executar("barramento: política DESCARTAR recusa com o anel cheio",
+            BarramentoEventosTeste::politicaDescartarRecusa);
+        executar("barramento: falha do assinante não para o consumo", BarramentoEventosTeste::falhaDoAssinante);
+    }
+
+    private static void capacidadeInvalida() {
+        verificarLanca(IllegalArgumentException.class,
+            () -> new BarramentoEventos(12, BarramentoEventos.Politica.ESPERAR), "capacidade 12");
+        verificarLanca(IllegalArgumentException.class,
+            () -> new BarramentoEventos(0, BarramentoEventos.Politica.ESPERAR), "capacidade 0");
+    }
+
+    private static void semAssinantes() {
+        BarramentoEventos barramento = new BarramentoEventos(8, BarramentoEventos.Politica.ESPERAR);
+        verificar(!barramento.publicar(evento(1)), "publicar sem assinantes devolve false");
+        verificarIgual(0L, barramento.getPublicados(), "nada entrou no anel");
+    }
+
+    private static void esperarEntregaTudo() {
+        BarramentoEventos barramento = new BarramentoEventos(16, BarramentoEventos.Politica.ESPERAR);
+        List<String> recebidos = new ArrayList<>();
+        AtomicLong anterior = new AtomicLong(-1);
+        AtomicLong foraDeOrdem = new AtomicLong();
+        barramento.assinar("lento", (evento, sequencia, fimDoLote) -> {
+            if (sequencia != anterior.get() + 1) {
+                foraDeOrdem.incrementAndGet();
+            }
+            anterior.set(sequencia);
+            recebidos.add(evento.getCpf());
+            if (sequencia % 64 == 0) {
+                pausar(1);
+            }
+        });
+
+        // Muitas voltas num anel de 16 com um assinante que pausa
+        int total = 2_000;
+        for (int i = 0; i < total; i++) {
+            verificar(barramento.publicar(evento(i)), "ESPERAR nunca descarta");
+        }
+        verificar(barramento.aguardarConsumo(PRAZO_MILLIS), "consumo dentro do prazo");
+        barramento.encerrar(PRAZO_MILLIS);
+
+        verificarIgual((long) total, barramento.getPublicados(), "publicados");
+        verificarIgual(0L, foraDeOrdem.get(), "sequências fora de ordem");
+        verificarIgual(total, recebidos.size(), "recebidos");
+        for (int i = 0; i < total; i++) {
+            verificarIgual(Verificacoes.cpf(i + 1), recebidos.get(i), "evento " + i);
+        }
+    }
+
+    private static void assinaturaDescartarNaoSegura() {
+        BarramentoEventos barramento = new BarramentoEventos(8, BarramentoEventos.Politica.ESPERAR);
+        AtomicLong entregues = new AtomicLong();
+        AtomicLong anterior = new AtomicLong(-1);
+        AtomicLong foraDeOrdem = new AtomicLong();
+        BarramentoEventos.Assinatura assinatura = barramento.assinar("arquivo", (evento, sequencia, fimDoLote) -> {
+            if (sequencia <= anterior.get()) {
+                foraDeOrdem.incrementAndGet();
+            }
+            anterior.set(sequencia);
+            entregues.incrementAndGet();
+            pausar(1);
+        }, BarramentoEventos.Politica.DESCARTAR);
+
+        int total = 5_000;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            verificar(barramento.publicar(evento(i)), "o produtor não é recusado");
+        }
+        long millis = (System.nanoTime() - inicio) / 1_000_000;
+        // Esperando o assinante (1 ms por evento) seriam pelo menos 5 s
+        verificar(millis < 2_000, "produtor segurado pelo assinante DESCARTAR: " + millis + " ms");
+
+        verificar(barramento.aguardarConsumo(PRAZO_MILLIS), "consumo dentro do prazo");
+        barramento.encerrar(PRAZO_MILLIS);
+
+        verificar(assinatura.getPerdidos() > 0, "o assinante lento perdeu eventos");
+        verificarIgual(0L, foraDeOrdem.get(), "sequências repetidas ou fora de ordem");
+        verificarIgual((long) total, entregues.get() + assinatura.getPerdidos(), "entregues + perdidos");
+    }
+
+    private static void politicaDescartarRecusa() {
+        BarramentoEventos barramento = new BarramentoEventos(8, BarramentoEventos.Politica.DESCARTAR);
+        Object trava = new Object();
+        synchronized (trava) {
+            // Assinante preso no primeiro evento: o anel enche e o restante é recusado
+            barramento.assinar("preso", (evento, sequencia, fimDoLote) -> {
+                synchronized (trava) {
+                    // só passa depois que o teste soltar a trava
+                }
+            });
+
+            int aceitos = 0;
+            for (int i = 0; i < 100; i++) {
+                if (barramento.publicar(evento(i))) {
+                    aceitos++;
+                }
+            }
+            verificar(aceitos <= 8 + 1, "aceitou mais que o anel: " + aceitos);
+            verificarIgual(100L, aceitos + barramento.getDescartados(), "aceitos + descartados");
+        }
+        verificar(barramento.aguardarConsumo(PRAZO_MILLIS), "consumo depois de liberado");
+        barramento.encerrar(PRAZO_MILLIS);
+    }
+
+    private static void falhaDoAssinante() {
+        BarramentoEventos barramento = new BarramentoEventos(8, BarramentoEventos.Politica.ESPERAR);
+        AtomicLong recebidos = new AtomicLong();
+        BarramentoEventos.Assinatura assinatura = barramento.assinar("instavel", (evento, sequencia, fimDoLote) -> {
+            recebidos.incrementAndGet();
+            if (sequencia % 10 == 0) {
+                throw new IllegalStateException("falha simulada");
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            barramento.publicar(evento(i));
+        }
+        verificar(barramento.aguardarConsumo(PRAZO_MILLIS), "consumo dentro do prazo");
+        barramento.encerrar(PRAZO_MILLIS);
+
+        verificarIgual(100L, recebidos.get(), "recebidos");
+        verificarIgual(10L, assinatura.getFalhas(), "falhas contadas");
+    }
+
+    private static EventoBancario evento(int i) {
+        return EventoBancario.clienteRemovido(Verificacoes.cpf(i + 1));
+    }
+
+    private static void pausar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package banco;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark das buscas por cliente e por conta do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Mede o custo médio, numa thread, das consultas que passam pelos índices
+ * do banco:
+ * - buscarClientePorCpf (CPF -> cliente)
+ * - buscarContaPorNumero (número -> conta)
+ * - buscarContasPorCliente com outro objeto do mesmo CPF (cliente -> contas)
+ * e o tempo de cadastrar os clientes com uma conta de cada tipo.
+ *
+ * Cada cenário aquece antes de medir. Uso:
+ *   java -cp out:out-test banco.BenchmarkBuscas [segundos] [clientes]
+ */
+public final class BenchmarkBuscas {
+
+    private final long segundos;
+    private final int quantidadeClientes;
+
+    // Evita que o JIT descarte as buscas
+    private long sumidouro;
+
+    private BenchmarkBuscas(long segundos, int quantidadeClientes) {
+        if (segundos <= 0 || quantidadeClientes <= 0) {
+            throw new IllegalArgumentException("Parâmetros do benchmark inválidos");
+        }
+        this.segundos = segundos;
+        this.quantidadeClientes = quantidadeClientes;
+    }
+
+    public static void main(String[] args) {
+        BenchmarkBuscas benchmark = new BenchmarkBuscas(
+            args.length > 0 ? Long.parseLong(args[0]) : 2,
+            args.length > 1 ? Integer.parseInt(args[1]) : 10_000);
+        benchmark.executar();
+    }
+
+    private void executar() {
+        System.out.printf("🏁 Benchmark de buscas: %d s por cenário, %d clientes, %d contas%n",
+            segundos, quantidadeClientes, quantidadeClientes * 2);
+
+        Banco banco = new Banco("Benchmark buscas");
+        List<Cliente> clientes = new ArrayList<>(quantidadeClientes);
+        List<Integer> numeros = new ArrayList<>(quantidadeClientes * 2);
+        long inicio = System.nanoTime();
+        Verificacoes.silenciarConsole();
+        try {
+            for (int i = 1; i <= quantidadeClientes; i++) {
+                Cliente cliente = Verificacoes.novoCliente(banco, i);
+                numeros.add(banco.criarContaCorrente(cliente).getNumero());
+                numeros.add(banco.criarContaPoupanca(cliente).getNumero());
+                clientes.add(cliente);
+            }
+        } finally {
+            Verificacoes.restaurarConsole();
+        }
+        System.out.printf("   • %-32s %,14.1f ms%n", "cadastro (cliente + 2 contas)",
+            (System.nanoTime() - inicio) / 1e6);
+
+        // Objetos novos com os mesmos CPFs: a busca vale pelo CPF, não pela instância
+        List<Cliente> copias = new ArrayList<>(quantidadeClientes);
+        for (Cliente cliente : clientes) {
+            copias.add(new Cliente(cliente.getNome(), cliente.getCpf(), LocalDate.of(1990, 1, 1)));
+        }
+
+        medir("buscarClientePorCpf", aleatorio ->
+            sumidouro += banco.buscarClientePorCpf(clientes.get(aleatorio.nextInt(clientes.size())).getCpf())
+                .hashCode());
+        medir("buscarContaPorNumero", aleatorio ->
+            sumidouro += banco.buscarContaPorNumero(numeros.get(aleatorio.nextInt(numeros.size()))).getNumero());
+        medir("buscarContasPorCliente", aleatorio ->
+            sumidouro += banco.buscarContasPorCliente(copias.get(aleatorio.nextInt(copias.size()))).size());
+
+        if (sumidouro == 42) {
+            System.out.println();
+        }
+    }
+
+    private interface Busca {
+        void executar(Random aleatorio);
+    }
+
+    // Aquece pelo mesmo tempo e mede
+    private void medir(String cenario, Busca busca) {
+        rodar(busca);
+        long[] resultado = rodar(busca);
+        System.out.printf("   • %-32s %,14.1f ns/busca%n", cenario, (double) resultado[1] / resultado[0]);
+    }
+
+    // {buscas, nanos}
+    private long[] rodar(Busca busca) {
+        Random aleatorio = new Random(1);
+        long duracao = segundos * 1_000_000_000L;
+        long inicio = System.nanoTime();
+        long buscas = 0;
+        long decorrido;
+        do {
+            for (int i = 0; i < 1_000; i++) {
+                busca.executar(aleatorio);
+            }
+            buscas += 1_000;
+            decorrido = System.nanoTime() - inicio;
+        } while (decorrido < duracao);
+        return new long[] {buscas, decorrido};
+    }
+}
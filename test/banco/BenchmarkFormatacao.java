@@ -0,0 +1,154 @@
+package banco;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Benchmark da formatação de transações do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Compara Transacao.formatarEm, num buffer reutilizado, com o toString
+ * anterior (DateTimeFormatter e String.format a cada linha, reproduzido
+ * abaixo). Antes de medir, confere que as duas saídas são iguais linha a
+ * linha. Mede tempo por linha e, quando a JVM informa, bytes alocados por
+ * linha.
+ *
+ * Cada cenário aquece antes de medir. Uso:
+ *   java -cp out:out-test banco.BenchmarkFormatacao [segundos] [transacoes]
+ */
+public final class BenchmarkFormatacao {
+    private static final String[] DESCRICOES = {"Depósito realizado", "Saque realizado", "", null};
+
+    private final long segundos;
+    private final Transacao[] transacoes;
+
+    // Evita que o JIT descarte a formatação
+    private long sumidouro;
+
+    private BenchmarkFormatacao(long segundos, int quantidade) {
+        if (segundos <= 0 || quantidade <= 0) {
+            throw new IllegalArgumentException("Parâmetros do benchmark inválidos");
+        }
+        this.segundos = segundos;
+        this.transacoes = gerar(quantidade);
+    }
+
+    public static void main(String[] args) {
+        BenchmarkFormatacao benchmark = new BenchmarkFormatacao(
+            args.length > 0 ? Long.parseLong(args[0]) : 2,
+            args.length > 1 ? Integer.parseInt(args[1]) : 10_000);
+        benchmark.executar();
+    }
+
+    private void executar() {
+        System.out.printf("🏁 Benchmark de formatação: %d s por cenário, %d transações%n",
+            segundos, transacoes.length);
+
+        int iguais = 0;
+        StringBuilder sb = new StringBuilder(128);
+        for (Transacao transacao : transacoes) {
+            sb.setLength(0);
+            if (formatarComoAntes(transacao).contentEquals(transacao.formatarEm(sb))) {
+                iguais++;
+            }
+        }
+        System.out.printf("   • saída idêntica em %d de %d linhas%n", iguais, transacoes.length);
+
+        medir("toString anterior", () -> {
+            for (Transacao transacao : transacoes) {
+                sumidouro += formatarComoAntes(transacao).length();
+            }
+        });
+        medir("formatarEm (buffer reutilizado)", () -> {
+            for (Transacao transacao : transacoes) {
+                sb.setLength(0);
+                sumidouro += transacao.formatarEm(sb).length();
+            }
+        });
+
+        if (sumidouro == 42) {
+            System.out.println();
+        }
+    }
+
+    // Transacao.toString antes do formatarEm
+    private static String formatarComoAntes(Transacao transacao) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[%s] %s - R$ %.2f",
+            transacao.getdataHora().format(formatter),
+            transacao.getTipo().getDescricao(),
+            transacao.getValor().doubleValue()));
+
+        if (transacao.getdescricao() != null && !transacao.getdescricao().isEmpty()) {
+            sb.append(" - ").append(transacao.getdescricao());
+        }
+
+        if (transacao.getContaDestino() != null && !transacao.getContaDestino().isEmpty()) {
+            sb.append(" → Conta ").append(transacao.getContaDestino());
+        }
+
+        return sb.toString();
+    }
+
+    private interface Passada {
+        void executar();
+    }
+
+    // Aquece pelo mesmo tempo e mede
+    private void medir(String cenario, Passada passada) {
+        rodar(passada);
+        long[] resultado = rodar(passada);
+        double linhas = resultado[0];
+        if (resultado[2] >= 0) {
+            System.out.printf("   • %-32s %,10.1f ns/linha %,10.1f bytes/linha%n",
+                cenario, resultado[1] / linhas, resultado[2] / linhas);
+        } else {
+            System.out.printf("   • %-32s %,10.1f ns/linha%n", cenario, resultado[1] / linhas);
+        }
+    }
+
+    // {linhas, nanos, bytes alocados (-1 se a JVM não informa)}
+    private long[] rodar(Passada passada) {
+        long duracao = segundos * 1_000_000_000L;
+        long alocadosAntes = alocados();
+        long inicio = System.nanoTime();
+        long linhas = 0;
+        long decorrido;
+        do {
+            passada.executar();
+            linhas += transacoes.length;
+            decorrido = System.nanoTime() - inicio;
+        } while (decorrido < duracao);
+        long alocadosDepois = alocados();
+        return new long[] {linhas, decorrido, alocadosAntes < 0 ? -1 : alocadosDepois - alocadosAntes};
+    }
+
+    private static long alocados() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    // Tipos, valores, datas e descrições variados, sempre com a mesma semente
+    private static Transacao[] gerar(int quantidade) {
+        Random aleatorio = new Random(38);
+        TipoTransacao[] tipos = TipoTransacao.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Transacao[] geradas = new Transacao[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            BigDecimal valor = BigDecimal.valueOf(aleatorio.nextInt(10_000_000), 2);
+            boolean comDestino = aleatorio.nextInt(4) == 0;
+            geradas[i] = Transacao.restaurar(i + 1, tipos[aleatorio.nextInt(tipos.length)], valor,
+                base.plusSeconds(aleatorio.nextInt(366 * 24 * 3600)),
+                DESCRICOES[aleatorio.nextInt(DESCRICOES.length)], String.valueOf(1000 + i % 100),
+                comDestino ? String.valueOf(2000 + i % 50) : null);
+        }
+        return geradas;
+    }
+}
@@ -0,0 +1,135 @@
+package banco;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark de vazão das transferências do YLLOCIN Bank
+ * -----------------------------------------------------
+ * Mede transferências por segundo em três caminhos:
+ * - transferir() avulso (uma transferência por chamada)
+ * - lote no motor de transferências de um único banco
+ * - lote entre partições (two-phase commit do BancoParticionado)
+ *
+ * Cada cenário aquece antes de medir. Uso:
+ *   java -cp out:out-test banco.BenchmarkTransferencias [segundos] [threads] [contas] [tamanhoLote]
+ */
+public final class BenchmarkTransferencias {
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000.00");
+    private static final BigDecimal VALOR = new BigDecimal("1.00");
+
+    private final long segundos;
+    private final int threads;
+    private final int quantidadeContas;
+    private final int tamanhoLote;
+
+    private BenchmarkTransferencias(long segundos, int threads, int quantidadeContas, int tamanhoLote) {
+        if (segundos <= 0 || threads <= 0 || quantidadeContas < 2 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Parâmetros do benchmark inválidos");
+        }
+        this.segundos = segundos;
+        this.threads = threads;
+        this.quantidadeContas = quantidadeContas;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        BenchmarkTransferencias benchmark = new BenchmarkTransferencias(
+            args.length > 0 ? Long.parseLong(args[0]) : 3,
+            args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors(),
+            args.length > 2 ? Integer.parseInt(args[2]) : 1_000,
+            args.length > 3 ? Integer.parseInt(args[3]) : 16);
+        benchmark.executar();
+    }
+
+    private void executar() throws InterruptedException {
+        System.out.printf("🏁 Benchmark de transferências: %d s por cenário, %d threads, %d contas, lotes de %d%n",
+            segundos, threads, quantidadeContas, tamanhoLote);
+
+        Banco banco = new Banco("Benchmark");
+        List<ContaCorrente> contas = criarContas(banco);
+        medir("transferir() avulso", 1, aleatorio -> {
+            ContaCorrente[] par = par(contas, aleatorio);
+            banco.transferir(par[0].getNumero(), par[1].getNumero(), VALOR);
+        });
+        medir("lote em um banco", tamanhoLote, aleatorio -> banco.executarTransferenciasEmLote(lote(contas, aleatorio)));
+
+        BancoParticionado particionado = new BancoParticionado("Benchmark particionado", 4);
+        List<ContaCorrente> contasParticionadas = criarContas(particionado);
+        medir("lote entre partições (2PC)", tamanhoLote,
+            aleatorio -> particionado.executarTransferenciasEmLote(lote(contasParticionadas, aleatorio)));
+    }
+
+    private interface Operacao {
+        void executar(Random aleatorio);
+    }
+
+    // Aquece pelo mesmo tempo e mede; cada chamada conta 'transferenciasPorChamada'
+    private void medir(String cenario, int transferenciasPorChamada, Operacao operacao) throws InterruptedException {
+        long chamadas;
+        Verificacoes.silenciarConsole();
+        try {
+            rodar(operacao);
+            chamadas = rodar(operacao);
+        } finally {
+            Verificacoes.restaurarConsole();
+        }
+
+        double porSegundo = (double) chamadas * transferenciasPorChamada / segundos;
+        System.out.printf("   • %-28s %,14.0f transferências/s%n", cenario, porSegundo);
+    }
+
+    private long rodar(Operacao operacao) throws InterruptedException {
+        LongAdder chamadas = new LongAdder();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        Thread[] executores = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Random aleatorio = new Random(t);
+            executores[t] = new Thread(() -> {
+                while (System.nanoTime() - fim < 0) {
+                    operacao.executar(aleatorio);
+                    chamadas.increment();
+                }
+            }, "benchmark-" + t);
+            executores[t].start();
+        }
+        for (Thread executor : executores) {
+            executor.join();
+        }
+        return chamadas.sum();
+    }
+
+    private List<ContaCorrente> criarContas(Banco banco) {
+        Verificacoes.silenciarConsole();
+        try {
+            List<ContaCorrente> contas = new ArrayList<>(quantidadeContas);
+            for (int i = 1; i <= quantidadeContas; i++) {
+                ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, i));
+                conta.depositar(SALDO_INICIAL);
+                contas.add(conta);
+            }
+            return contas;
+        } finally {
+            Verificacoes.restaurarConsole();
+        }
+    }
+
+    private List<MotorTransferencias.Transferencia> lote(List<ContaCorrente> contas, Random aleatorio) {
+        List<MotorTransferencias.Transferencia> lote = new ArrayList<>(tamanhoLote);
+        for (int i = 0; i < tamanhoLote; i++) {
+            ContaCorrente[] par = par(contas, aleatorio);
+            lote.add(new MotorTransferencias.Transferencia(par[0], par[1], VALOR));
+        }
+        return lote;
+    }
+
+    private static ContaCorrente[] par(List<ContaCorrente> contas, Random aleatorio) {
+        int origem = aleatorio.nextInt(contas.size());
+        int destino = (origem + 1 + aleatorio.nextInt(contas.size() - 1)) % contas.size();
+        return new ContaCorrente[] {contas.get(origem), contas.get(destino)};
+    }
+}
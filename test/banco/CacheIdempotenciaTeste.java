@@ -0,0 +1,194 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import exceptions.ChaveIdempotenciaReutilizadaException;
+import exceptions.SaldoInsuficienteException;
+import interfaces.IFiltroOperacao;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes do cache de idempotência
+ * -----------------------------------------------------
+ * Foco na remoção por deslocamento do índice: depois de remover uma entrada
+ * do meio de um agrupamento, as que vinham depois precisam continuar
+ * alcançáveis a partir da posição ideal delas. Na conta, uma chave em
+ * andamento só faz esperar as repetições dela mesma.
+ */
+public final class CacheIdempotenciaTeste {
+    private static final long TTL = 1_000;
+    private static final long PRAZO_MILLIS = 10_000;
+    private static final BigDecimal VALOR_LENTO = new BigDecimal("7.77");
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("cache: devolve o resultado guardado", CacheIdempotenciaTeste::devolveGuardado);
+        executar("cache: cheio remove a entrada mais antiga", CacheIdempotenciaTeste::removeMaisAntiga);
+        executar("cache: entradas expiram pelo TTL", CacheIdempotenciaTeste::expiraPeloTtl);
+        executar("cache: remoção por deslocamento mantém o índice íntegro",
+            CacheIdempotenciaTeste::remocaoPorDeslocamento);
+        executar("idempotência: chave em andamento só bloqueia a mesma chave",
+            CacheIdempotenciaTeste::chaveEmAndamento);
+        executar("idempotência: operação que falhou pode ser repetida", CacheIdempotenciaTeste::falhaNaoGuardada);
+    }
+
+    private static void devolveGuardado() {
+        CacheIdempotencia<String> cache = new CacheIdempotencia<>(8, TTL);
+        cache.guardar("a", "resultado-a", 0);
+        cache.guardar("b", "resultado-b", 0);
+
+        verificarIgual("resultado-a", cache.buscar("a", 1), "chave a");
+        verificarIgual("resultado-b", cache.buscar("b", 1), "chave b");
+        verificarIgual(null, cache.buscar("c", 1), "chave nunca guardada");
+    }
+
+    private static void removeMaisAntiga() {
+        CacheIdempotencia<Integer> cache = new CacheIdempotencia<>(4, TTL);
+        for (int i = 0; i < 6; i++) {
+            cache.guardar("chave-" + i, i, 0);
+        }
+
+        verificarIgual(4, cache.getTamanho(), "tamanho limitado à capacidade");
+        verificarIgual(null, cache.buscar("chave-0", 0), "chave-0 removida");
+        verificarIgual(null, cache.buscar("chave-1", 0), "chave-1 removida");
+        for (int i = 2; i < 6; i++) {
+            verificarIgual(i, cache.buscar("chave-" + i, 0), "chave-" + i + " mantida");
+        }
+    }
+
+    private static void expiraPeloTtl() {
+        CacheIdempotencia<String> cache = new CacheIdempotencia<>(8, TTL);
+        cache.guardar("antiga", "x", 0);
+        cache.guardar("nova", "y", 500);
+
+        verificarIgual("x", cache.buscar("antiga", TTL - 1), "ainda dentro do TTL");
+        verificarIgual(null, cache.buscar("antiga", TTL), "expirada no TTL");
+        verificarIgual("y", cache.buscar("nova", TTL), "a mais nova continua");
+        verificarIgual(1, cache.getTamanho(), "expirada saiu do anel");
+    }
+
+    /*
+     * Compara com um modelo simples (fila + mapa) sob muitas inserções,
+     * remoções pela cabeça e expirações. Capacidades pequenas deixam a
+     * tabela com agrupamentos longos, que dão a volta no fim do array.
+     */
+    private static void remocaoPorDeslocamento() {
+        Random aleatorio = new Random(27);
+        for (int capacidade : new int[] {1, 2, 3, 5, 8, 13, 64}) {
+            CacheIdempotencia<Integer> cache = new CacheIdempotencia<>(capacidade, TTL);
+            ArrayDeque<String> ordem = new ArrayDeque<>();
+            Map<String, Integer> modelo = new HashMap<>();
+            Map<String, Long> expiraEm = new HashMap<>();
+            long agora = 0;
+
+            for (int i = 0; i < 20_000; i++) {
+                agora += aleatorio.nextInt(40);
+                while (!ordem.isEmpty() && expiraEm.get(ordem.peekFirst()) <= agora) {
+                    modelo.remove(ordem.pollFirst());
+                }
+
+                String chave = "k" + aleatorio.nextInt(capacidade * 4);
+                Integer esperado = modelo.get(chave);
+                verificarIgual(esperado, cache.buscar(chave, agora),
+                    "capacidade " + capacidade + ", passo " + i + ", " + chave);
+
+                if (esperado == null) {
+                    if (ordem.size() == capacidade) {
+                        modelo.remove(ordem.pollFirst());
+                    }
+                    cache.guardar(chave, i, agora);
+                    ordem.addLast(chave);
+                    modelo.put(chave, i);
+                    expiraEm.put(chave, agora + TTL);
+                }
+
+                verificarIgual(ordem.size(), cache.getTamanho(), "tamanho na capacidade " + capacidade);
+            }
+
+            // Toda chave viva continua alcançável depois de tantos deslocamentos
+            for (Map.Entry<String, Integer> entrada : modelo.entrySet()) {
+                verificar(entrada.getValue().equals(cache.buscar(entrada.getKey(), agora)),
+                    "chave perdida no índice: " + entrada.getKey());
+            }
+        }
+    }
+
+    private static void chaveEmAndamento() throws InterruptedException {
+        Banco banco = new Banco("Teste idempotência");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+
+        // Segura o depósito lento dentro da operação até o teste liberar
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        IFiltroOperacao filtro = (alvo, tipo, valor) -> {
+            if (alvo == conta && VALOR_LENTO.compareTo(valor) == 0) {
+                dentro.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Conta.adicionarFiltro(filtro);
+        try {
+            AtomicReference<Transacao> primeira = new AtomicReference<>();
+            AtomicReference<Transacao> repetida = new AtomicReference<>();
+            Thread lenta = new Thread(() -> primeira.set(conta.depositar(VALOR_LENTO, "lenta")));
+            lenta.start();
+            verificar(dentro.await(PRAZO_MILLIS, TimeUnit.MILLISECONDS), "depósito lento não começou");
+
+            Thread repeticao = new Thread(() -> repetida.set(conta.depositar(VALOR_LENTO, "lenta")));
+            repeticao.start();
+
+            // Outra chave da mesma conta não espera pela lenta
+            Transacao outra = conta.depositar(BigDecimal.ONE, "outra");
+            verificarIgual(0, BigDecimal.ONE.compareTo(outra.getValor()), "outra chave executou");
+            verificarLanca(ChaveIdempotenciaReutilizadaException.class,
+                () -> conta.depositar(BigDecimal.TEN, "lenta"), "mesma chave com outro valor");
+
+            repeticao.join(200);
+            verificar(repeticao.isAlive(), "repetição deveria esperar a original");
+
+            liberar.countDown();
+            lenta.join(PRAZO_MILLIS);
+            repeticao.join(PRAZO_MILLIS);
+            verificar(!lenta.isAlive() && !repeticao.isAlive(), "depósitos travados");
+            verificar(primeira.get() != null && primeira.get() == repetida.get(), "repetição devolve a original");
+        } finally {
+            liberar.countDown();
+            Conta.removerFiltro(filtro);
+        }
+
+        long lentos = conta.getHistoricoCompleto().stream()
+            .filter(transacao -> VALOR_LENTO.compareTo(transacao.getValor()) == 0)
+            .count();
+        verificarIgual(1L, lentos, "depósito lento executado uma vez");
+    }
+
+    private static void falhaNaoGuardada() {
+        Banco banco = new Banco("Teste idempotência");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+
+        verificarLanca(SaldoInsuficienteException.class,
+            () -> conta.sacar(BigDecimal.TEN, "saque"), "sem saldo");
+        conta.depositar(new BigDecimal("20.00"));
+        Transacao saque = conta.sacar(BigDecimal.TEN, "saque");
+        verificar(saque == conta.sacar(BigDecimal.TEN, "saque"), "repetição devolve o saque");
+        verificarIgual(0, BigDecimal.TEN.compareTo(conta.getSaldo()), "um saque só");
+    }
+}
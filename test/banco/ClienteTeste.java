@@ -0,0 +1,74 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Testes da identidade do cliente e dos índices do banco
+ * -----------------------------------------------------
+ * Os dois construtores validam o CPF do mesmo jeito e guardam a mesma
+ * forma; clientes com o mesmo CPF são iguais e acham as mesmas contas.
+ */
+public final class ClienteTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("cliente: construtores validam o CPF do mesmo jeito", ClienteTeste::mesmaValidacao);
+        executar("cliente: mesmo CPF é o mesmo cliente", ClienteTeste::identidade);
+        executar("banco: índices acham cliente e contas pelo CPF", ClienteTeste::indices);
+    }
+
+    private static void mesmaValidacao() {
+        Cliente responsavel = new Cliente("Responsável", Verificacoes.cpf(1), LocalDate.of(1980, 1, 1));
+        LocalDate nascimentoMenor = LocalDate.now().minusYears(10);
+        for (String cpf : new String[] {"111.111.111-11", "0000000000", "", null}) {
+            verificarLanca(IllegalArgumentException.class,
+                () -> new Cliente("Adulto", cpf, LocalDate.of(1990, 1, 1)), "adulto com CPF " + cpf);
+            verificarLanca(IllegalArgumentException.class,
+                () -> new Cliente("Menor", cpf, nascimentoMenor, "", responsavel), "menor com CPF " + cpf);
+        }
+
+        String cpf = Verificacoes.cpf(2);
+        Cliente adulto = new Cliente("Adulto", cpf, LocalDate.of(1990, 1, 1));
+        Cliente menor = new Cliente("Menor", cpf, nascimentoMenor, "", responsavel);
+        verificarIgual(adulto.getCpf(), menor.getCpf(), "mesma forma do CPF");
+        verificarIgual(cpf.substring(0, 3) + "." + cpf.substring(3, 6) + "." + cpf.substring(6, 9) + "-"
+            + cpf.substring(9), adulto.getCpf(), "CPF formatado");
+    }
+
+    private static void identidade() {
+        String cpf = Verificacoes.cpf(3);
+        Cliente a = new Cliente("Ana", cpf, LocalDate.of(1990, 1, 1));
+        Cliente b = new Cliente("Outra Ana", a.getCpf(), LocalDate.of(1991, 2, 2));
+        Cliente c = new Cliente("Ana", Verificacoes.cpf(4), LocalDate.of(1990, 1, 1));
+        verificar(a.equals(b) && a.hashCode() == b.hashCode(), "mesmo CPF, mesmo cliente");
+        verificar(!a.equals(c), "CPF diferente, outro cliente");
+    }
+
+    private static void indices() {
+        Banco banco = new Banco("Teste índices");
+        Cliente cliente = Verificacoes.novoCliente(banco, 5);
+        ContaCorrente corrente = banco.criarContaCorrente(cliente);
+        ContaPoupanca poupanca = banco.criarContaPoupanca(cliente);
+
+        verificar(banco.buscarClientePorCpf(cliente.getCpf()) == cliente, "busca por CPF");
+        verificar(banco.buscarContaPorNumero(poupanca.getNumero()) == poupanca, "busca por número");
+        Cliente mesmoCpf = new Cliente("Cliente Cinco", cliente.getCpf(), LocalDate.of(1990, 1, 1));
+        verificarIgual(List.of(corrente, poupanca), banco.buscarContasPorCliente(mesmoCpf),
+            "contas em ordem de abertura pelo CPF");
+        verificarLanca(IllegalArgumentException.class, () -> banco.adicionarCliente(mesmoCpf), "CPF repetido");
+        verificarLanca(RuntimeException.class, () -> banco.criarContaCorrente(mesmoCpf), "segunda corrente");
+
+        banco.encerrarConta(corrente.getNumero());
+        verificarIgual(List.of(poupanca), banco.buscarContasPorCliente(cliente), "após encerrar");
+    }
+}
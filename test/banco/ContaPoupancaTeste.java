@@ -0,0 +1,117 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Testes do rendimento preguiçoso da conta poupança
+ * -----------------------------------------------------
+ * Meses fechados rendem de uma vez, com juros compostos, no primeiro acesso
+ * depois da virada; o mesmo mês não rende duas vezes e a base é o saldo de
+ * fechamento, sem créditos distribuídos ainda pendentes.
+ */
+public final class ContaPoupancaTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("poupança: três meses parados rendem de uma vez", ContaPoupancaTeste::variosMeses);
+        executar("poupança: o mesmo mês não rende duas vezes", ContaPoupancaTeste::mesmoMes);
+        executar("poupança: movimentação materializa o mês fechado antes", ContaPoupancaTeste::movimentacaoNoMeio);
+        executar("poupança: créditos pendentes ficam fora da base", ContaPoupancaTeste::creditosPendentes);
+    }
+
+    private static void variosMeses() {
+        comRelogio(relogio -> {
+            ContaPoupanca conta = novaPoupanca();
+            conta.depositar(new BigDecimal("1000.00"));
+            long transacoes = conta.getTotalTransacoes();
+
+            relogio.ajustar(LocalDateTime.of(2024, 4, 2, 9, 0));
+            // 1000 * (1.005^3 - 1) = 15.075125
+            verificarIgual(0, new BigDecimal("1015.08").compareTo(conta.getSaldo()), "saldo após três meses");
+            verificarIgual(transacoes + 1, conta.getTotalTransacoes(), "um único lançamento de rendimento");
+            verificarIgual(TipoTransacao.RENDIMENTO, ultima(conta).getTipo(), "tipo do lançamento");
+            verificarIgual(0, new BigDecimal("15.08").compareTo(ultima(conta).getValor()), "valor do rendimento");
+        });
+    }
+
+    private static void mesmoMes() {
+        comRelogio(relogio -> {
+            ContaPoupanca conta = novaPoupanca();
+            conta.depositar(new BigDecimal("200.00"));
+
+            verificarIgual(0, BigDecimal.ZERO.compareTo(conta.aplicarRendimentoPendente()), "nada no mês de abertura");
+            relogio.avancar(Duration.ofDays(31));
+            verificarIgual(0, new BigDecimal("1.00").compareTo(conta.aplicarRendimentoPendente()), "mês fechado");
+            verificarIgual(0, BigDecimal.ZERO.compareTo(conta.aplicarRendimentoPendente()), "segunda chamada");
+            relogio.avancar(Duration.ofDays(5));
+            verificarIgual(0, new BigDecimal("201.00").compareTo(conta.getSaldo()), "saldo no mesmo mês");
+        });
+    }
+
+    private static void movimentacaoNoMeio() {
+        comRelogio(relogio -> {
+            ContaPoupanca conta = novaPoupanca();
+            conta.depositar(new BigDecimal("1000.00"));
+
+            // Depósito em fevereiro: janeiro rende sobre os 1000 antes do crédito
+            relogio.ajustar(LocalDateTime.of(2024, 2, 10, 9, 0));
+            conta.depositar(new BigDecimal("1000.00"));
+            verificarIgual(0, new BigDecimal("2005.00").compareTo(conta.getSaldo()), "saldo em fevereiro");
+
+            // Fevereiro e março sobre 2005: 2005 * 0.010025 = 20.100125
+            relogio.ajustar(LocalDateTime.of(2024, 4, 5, 9, 0));
+            verificarIgual(0, new BigDecimal("2025.10").compareTo(conta.getSaldo()), "saldo em abril");
+        });
+    }
+
+    private static void creditosPendentes() {
+        comRelogio(relogio -> {
+            ContaPoupanca conta = novaPoupanca();
+            conta.depositar(new BigDecimal("1000.00"));
+            conta.ativarCreditosDistribuidos();
+            conta.depositar(new BigDecimal("500.00"));
+            verificarIgual(0, new BigDecimal("1000.00").compareTo(conta.getSaldoVersionado().getSaldo()),
+                "crédito ainda nas células");
+
+            relogio.avancar(Duration.ofDays(31));
+            verificarIgual(0, new BigDecimal("5.00").compareTo(conta.aplicarRendimentoPendente()),
+                "rendimento só sobre o saldo incorporado");
+            verificarIgual(0, new BigDecimal("1505.00").compareTo(conta.getSaldo()), "saldo com o crédito");
+        });
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComRelogio {
+        void executar(Relogio.Simulado relogio);
+    }
+
+    private static void comRelogio(CasoComRelogio caso) {
+        Relogio anterior = Relogio.atual();
+        Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 1, 15, 10, 0));
+        Relogio.definir(relogio);
+        try {
+            caso.executar(relogio);
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    private static ContaPoupanca novaPoupanca() {
+        Banco banco = new Banco("Teste poupança");
+        return banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+    }
+
+    private static Transacao ultima(Conta conta) {
+        return conta.getHistoricoCompleto().get(conta.getHistoricoCompleto().size() - 1);
+    }
+}
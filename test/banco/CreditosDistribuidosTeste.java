@@ -0,0 +1,126 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes dos créditos distribuídos (contas de recebimento)
+ * -----------------------------------------------------
+ * A conta passa sozinha ao modo distribuído quando os depósitos disputam o
+ * saldo; nesse modo, depósitos e saques concorrentes fecham o saldo e o
+ * histórico ao centavo.
+ */
+public final class CreditosDistribuidosTeste {
+    private static final long PRAZO_MILLIS = 30_000;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("créditos: depósitos disputados ativam o modo distribuído", CreditosDistribuidosTeste::ativacao);
+        executar("créditos: depósitos e saques concorrentes somam exatamente", CreditosDistribuidosTeste::concorrentes);
+    }
+
+    private static void ativacao() {
+        Banco banco = new Banco("Teste créditos");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+        conta.depositar(new BigDecimal("10.00"));
+        verificar(!conta.isCreditosDistribuidos(), "começa no modo normal");
+
+        conta.contarDisputasCredito(Conta.LIMIAR_DISPUTAS_CREDITO - 1);
+        verificar(!conta.isCreditosDistribuidos(), "abaixo do limiar");
+
+        // Com a trava ocupada a ativação fica para a próxima disputa
+        conta.getTrava().lock();
+        Thread outra = new Thread(() -> conta.contarDisputasCredito(1));
+        try {
+            outra.start();
+            outra.join(PRAZO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            conta.getTrava().unlock();
+        }
+        verificar(!outra.isAlive(), "ativação esperou pela trava");
+        verificar(!conta.isCreditosDistribuidos(), "trava ocupada adia a ativação");
+
+        conta.contarDisputasCredito(1);
+        verificar(conta.isCreditosDistribuidos(), "conta quente ativada");
+
+        conta.depositar(new BigDecimal("2.50"));
+        verificarIgual(0, new BigDecimal("12.50").compareTo(conta.getSaldo()), "saldo com o crédito pendente");
+        verificarIgual(2, conta.getHistoricoCompleto().size(), "histórico com o crédito incorporado");
+    }
+
+    private static void concorrentes() throws InterruptedException {
+        Banco banco = new Banco("Teste créditos");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+        conta.ativarCreditosDistribuidos();
+
+        int depositantes = 8;
+        int depositosPorThread = 2_000;
+        int saques = 500;
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        Thread[] threads = new Thread[depositantes + 1];
+        for (int t = 0; t < depositantes; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < depositosPorThread; i++) {
+                        conta.depositar(new BigDecimal("0.25"));
+                    }
+                } catch (Throwable e) {
+                    erro.compareAndSet(null, e);
+                }
+            });
+        }
+        // Saques incorporam os créditos pendentes enquanto os depósitos chegam
+        threads[depositantes] = new Thread(() -> {
+            try {
+                for (int feitos = 0; feitos < saques; ) {
+                    if (conta.getSaldo().compareTo(BigDecimal.ONE) >= 0) {
+                        conta.sacar(BigDecimal.ONE);
+                        feitos++;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            } catch (Throwable e) {
+                erro.compareAndSet(null, e);
+            }
+        });
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(PRAZO_MILLIS);
+            verificar(!thread.isAlive(), "thread travada");
+        }
+        verificar(erro.get() == null, "erro nas operações: " + erro.get());
+
+        // 16.000 depósitos de 0,25 menos 500 saques de 1,00
+        BigDecimal esperado = new BigDecimal("3500.00");
+        verificarIgual(0, esperado.compareTo(conta.getSaldo()), "saldo antes de incorporar: " + conta.getSaldo());
+        conta.incorporarCreditosPendentes();
+        verificarIgual(0, esperado.compareTo(conta.getSaldoVersionado().getSaldo()), "saldo incorporado");
+
+        int depositos = 0;
+        BigDecimal movimentado = BigDecimal.ZERO;
+        for (Transacao transacao : conta.getHistoricoCompleto()) {
+            if (transacao.getTipo() == TipoTransacao.DEPOSITO) {
+                depositos++;
+                movimentado = movimentado.add(transacao.getValor());
+            } else {
+                movimentado = movimentado.subtract(transacao.getValor());
+            }
+        }
+        verificarIgual(depositantes * depositosPorThread, depositos, "depósitos no histórico");
+        verificarIgual(0, esperado.compareTo(movimentado), "histórico fecha com o saldo");
+    }
+}
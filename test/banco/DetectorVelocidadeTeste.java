@@ -0,0 +1,170 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import exceptions.OperacaoSuspeitaException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Testes do detector de velocidade
+ * -----------------------------------------------------
+ * Limites de quantidade e de valor exatamente no limiar, janelas que
+ * deslizam com o relógio, limite do cliente somando as contas e o modo que
+ * só sinaliza. Relógio simulado em todos os casos.
+ */
+public final class DetectorVelocidadeTeste {
+    private static final BigDecimal DEZ = new BigDecimal("10.00");
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("velocidade: quantidade no limiar e janela que desliza", DetectorVelocidadeTeste::quantidade);
+        executar("velocidade: valor até o limite exato", DetectorVelocidadeTeste::valor);
+        executar("velocidade: limite do cliente soma as contas", DetectorVelocidadeTeste::cliente);
+        executar("velocidade: sem bloqueio só sinaliza", DetectorVelocidadeTeste::soSinaliza);
+        executar("velocidade: operação recusada não altera a conta", DetectorVelocidadeTeste::naConta);
+    }
+
+    private static void quantidade() {
+        comRelogio(relogio -> {
+            DetectorVelocidade detector = new DetectorVelocidade(
+                new DetectorVelocidade.Limites().quantidade(DetectorVelocidade.Janela.MINUTO, 3),
+                new DetectorVelocidade.Limites(), true);
+            ContaCorrente conta = novaConta(1);
+
+            for (int i = 0; i < 3; i++) {
+                detector.antesDaOperacao(conta, TipoTransacao.SAQUE, DEZ);
+            }
+            // Depósitos não contam
+            detector.antesDaOperacao(conta, TipoTransacao.DEPOSITO, DEZ);
+            verificarLanca(OperacaoSuspeitaException.class,
+                () -> detector.antesDaOperacao(conta, TipoTransacao.TRANSFERENCIA, DEZ), "quarta no minuto");
+            verificarIgual(3L, detector.getQuantidadeConta(conta.getNumero(), DetectorVelocidade.Janela.MINUTO),
+                "recusada não conta");
+            verificarIgual(1L, detector.getSinalizadas(), "sinalizadas");
+
+            // Ainda dentro do minuto: continua recusando
+            relogio.avancar(Duration.ofSeconds(30));
+            verificarLanca(OperacaoSuspeitaException.class,
+                () -> detector.antesDaOperacao(conta, TipoTransacao.SAQUE, DEZ), "meio minuto depois");
+
+            relogio.avancar(Duration.ofSeconds(35));
+            verificarIgual(0L, detector.getQuantidadeConta(conta.getNumero(), DetectorVelocidade.Janela.MINUTO),
+                "minuto esvaziou");
+            verificarIgual(3L, detector.getQuantidadeConta(conta.getNumero(), DetectorVelocidade.Janela.HORA),
+                "a hora ainda conta");
+            detector.antesDaOperacao(conta, TipoTransacao.SAQUE, DEZ);
+        });
+    }
+
+    private static void valor() {
+        comRelogio(relogio -> {
+            DetectorVelocidade detector = new DetectorVelocidade(
+                new DetectorVelocidade.Limites().valor(DetectorVelocidade.Janela.DIA, new BigDecimal("100.00")),
+                new DetectorVelocidade.Limites(), true);
+            ContaCorrente conta = novaConta(2);
+
+            detector.antesDaOperacao(conta, TipoTransacao.SAQUE, new BigDecimal("60.00"));
+            relogio.avancar(Duration.ofHours(5));
+            detector.antesDaOperacao(conta, TipoTransacao.SAQUE, new BigDecimal("40.00"));
+            verificarIgual(0, new BigDecimal("100.00").compareTo(
+                detector.getTotalConta(conta.getNumero(), DetectorVelocidade.Janela.DIA)), "no limite exato");
+            verificarLanca(OperacaoSuspeitaException.class,
+                () -> detector.antesDaOperacao(conta, TipoTransacao.SAQUE, new BigDecimal("0.01")), "um centavo além");
+
+            // Os 60 saem da janela de um dia; os 40 continuam
+            relogio.avancar(Duration.ofHours(20));
+            verificarIgual(0, new BigDecimal("40.00").compareTo(
+                detector.getTotalConta(conta.getNumero(), DetectorVelocidade.Janela.DIA)), "depois de 25 horas");
+            detector.antesDaOperacao(conta, TipoTransacao.SAQUE, new BigDecimal("60.00"));
+        });
+    }
+
+    private static void cliente() {
+        comRelogio(relogio -> {
+            DetectorVelocidade detector = new DetectorVelocidade(
+                new DetectorVelocidade.Limites(),
+                new DetectorVelocidade.Limites().quantidade(DetectorVelocidade.Janela.HORA, 2), true);
+            Banco banco = new Banco("Teste velocidade");
+            Cliente titular = Verificacoes.novoCliente(banco, 3);
+            ContaCorrente corrente = banco.criarContaCorrente(titular);
+            ContaPoupanca poupanca = banco.criarContaPoupanca(titular);
+
+            detector.antesDaOperacao(corrente, TipoTransacao.SAQUE, DEZ);
+            detector.antesDaOperacao(poupanca, TipoTransacao.SAQUE, DEZ);
+            verificarLanca(OperacaoSuspeitaException.class,
+                () -> detector.antesDaOperacao(corrente, TipoTransacao.SAQUE, DEZ), "terceira do CPF");
+
+            verificarIgual(2L, detector.getQuantidadeCliente(titular.getCpf(), DetectorVelocidade.Janela.HORA),
+                "CPF soma as duas contas");
+            verificarIgual(1L, detector.getQuantidadeConta(corrente.getNumero(), DetectorVelocidade.Janela.HORA),
+                "recusa do CPF desfeita na conta");
+        });
+    }
+
+    private static void soSinaliza() {
+        comRelogio(relogio -> {
+            DetectorVelocidade detector = new DetectorVelocidade(
+                new DetectorVelocidade.Limites().quantidade(DetectorVelocidade.Janela.MINUTO, 1),
+                new DetectorVelocidade.Limites(), false);
+            ContaCorrente conta = novaConta(4);
+
+            for (int i = 0; i < 3; i++) {
+                detector.antesDaOperacao(conta, TipoTransacao.SAQUE, DEZ);
+            }
+            verificarIgual(2L, detector.getSinalizadas(), "duas acima do limite");
+            verificarIgual(3L, detector.getQuantidadeConta(conta.getNumero(), DetectorVelocidade.Janela.MINUTO),
+                "todas contadas");
+        });
+    }
+
+    private static void naConta() {
+        comRelogio(relogio -> {
+            DetectorVelocidade detector = new DetectorVelocidade(
+                new DetectorVelocidade.Limites().valor(DetectorVelocidade.Janela.HORA, new BigDecimal("50.00")),
+                new DetectorVelocidade.Limites(), true);
+            ContaCorrente conta = novaConta(5);
+            conta.depositar(new BigDecimal("500.00"));
+            long lancamentos = conta.getTotalTransacoes();
+
+            Conta.adicionarFiltro(detector);
+            try {
+                verificarLanca(OperacaoSuspeitaException.class,
+                    () -> conta.sacar(new BigDecimal("80.00")), "saque acima do padrão");
+            } finally {
+                Conta.removerFiltro(detector);
+            }
+            verificarIgual(0, new BigDecimal("500.00").compareTo(conta.getSaldo()), "saldo intacto");
+            verificarIgual(lancamentos, conta.getTotalTransacoes(), "nenhum lançamento");
+        });
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComRelogio {
+        void executar(Relogio.Simulado relogio);
+    }
+
+    private static void comRelogio(CasoComRelogio caso) {
+        Relogio anterior = Relogio.atual();
+        Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 6, 3, 9, 0));
+        Relogio.definir(relogio);
+        try {
+            caso.executar(relogio);
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    private static ContaCorrente novaConta(int numero) {
+        Banco banco = new Banco("Teste velocidade");
+        return banco.criarContaCorrente(Verificacoes.novoCliente(banco, numero));
+    }
+}
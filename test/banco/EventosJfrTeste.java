@@ -0,0 +1,123 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import exceptions.SaldoInsuficienteException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Testes dos eventos JFR do banco
+ * -----------------------------------------------------
+ * Uma gravação real captura as transações com a sequência global, as
+ * transferências (concluídas ou não) e os relatórios gerenciais.
+ */
+public final class EventosJfrTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("jfr: transações e transferências gravadas com os campos", EventosJfrTeste::transferencias);
+        executar("jfr: relatório gravado com as contas analisadas", EventosJfrTeste::relatorio);
+    }
+
+    private static void transferencias() throws IOException {
+        Banco banco = new Banco("Teste JFR");
+        ContaCorrente origem = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 1));
+        ContaCorrente destino = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 2));
+        String numeroOrigem = String.valueOf(origem.getNumero());
+
+        List<RecordedEvent> eventos = gravar(() -> {
+            origem.depositar(new BigDecimal("100.00"));
+            origem.transferir(new BigDecimal("10.00"), destino);
+            verificarLanca(SaldoInsuficienteException.class,
+                () -> origem.transferir(new BigDecimal("500.00"), destino), "sem saldo");
+        }, "yllocin.banco.Transacao", "yllocin.banco.Transferencia");
+
+        List<String> tipos = new ArrayList<>();
+        long sequenciaAnterior = 0;
+        for (RecordedEvent evento : doTipo(eventos, "yllocin.banco.Transacao")) {
+            if (numeroOrigem.equals(evento.getString("contaOrigem"))) {
+                long sequencia = evento.getLong("sequencia");
+                verificar(sequencia > sequenciaAnterior, "sequência crescente na conta");
+                sequenciaAnterior = sequencia;
+                tipos.add(evento.getString("tipo"));
+            }
+        }
+        // A transferência lança na origem o débito, a tarifa e o registro da transferência
+        verificarIgual(List.of("DEPOSITO", "SAQUE", "TAXA", "TRANSFERENCIA"), tipos, "transações da origem");
+
+        List<RecordedEvent> transferencias = new ArrayList<>();
+        for (RecordedEvent evento : doTipo(eventos, "yllocin.banco.Transferencia")) {
+            if (evento.getInt("contaOrigem") == origem.getNumero()) {
+                transferencias.add(evento);
+            }
+        }
+        verificarIgual(2, transferencias.size(), "duas transferências");
+        RecordedEvent concluida = transferencias.get(0);
+        verificar(concluida.getBoolean("concluida"), "primeira concluída");
+        verificarIgual(destino.getNumero(), concluida.getInt("contaDestino"), "destino");
+        verificarIgual(10.0, concluida.getDouble("valor"), "valor");
+        verificar(!transferencias.get(1).getBoolean("concluida"), "segunda não concluída");
+    }
+
+    private static void relatorio() throws IOException {
+        Banco banco = new Banco("Teste JFR");
+        for (int i = 1; i <= 3; i++) {
+            banco.criarContaPoupanca(Verificacoes.novoCliente(banco, i));
+        }
+
+        List<RecordedEvent> relatorios = doTipo(
+            gravar(banco::gerarRelatorioMovimentacao, "yllocin.banco.Relatorio"), "yllocin.banco.Relatorio");
+        verificarIgual(1, relatorios.size(), "um relatório");
+        verificarIgual("Relatório de movimentação", relatorios.get(0).getString("nome"), "nome");
+        verificarIgual(3, relatorios.get(0).getInt("contasAnalisadas"), "contas analisadas");
+    }
+
+    // ================= APOIO =================
+
+    private interface Acao {
+        void executar() throws IOException;
+    }
+
+    // Grava só os eventos pedidos enquanto a ação roda (sem limiar de duração)
+    private static List<RecordedEvent> gravar(Acao acao, String... nomes) throws IOException {
+        Path arquivo = Files.createTempFile("eventos", ".jfr");
+        try (Recording gravacao = new Recording()) {
+            for (String nome : nomes) {
+                gravacao.enable(nome).withoutThreshold();
+            }
+            gravacao.start();
+            acao.executar();
+            gravacao.stop();
+            gravacao.dump(arquivo);
+            return RecordingFile.readAllEvents(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private static List<RecordedEvent> doTipo(List<RecordedEvent> eventos, String nome) {
+        List<RecordedEvent> doTipo = new ArrayList<>();
+        for (RecordedEvent evento : eventos) {
+            if (evento.getEventType().getName().equals(nome)) {
+                doTipo.add(evento);
+            }
+        }
+        doTipo.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return doTipo;
+    }
+}
@@ -0,0 +1,146 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Testes da idade em cache e das faixas etárias
+ * -----------------------------------------------------
+ * A idade do cliente fica em cache até o próximo aniversário no relógio do
+ * banco: vira exatamente à meia-noite do aniversário, nascidos em 29/02
+ * envelhecem em 01/03 nos anos não bissextos e o relógio voltando recalcula.
+ * Na projeção, as faixas são reclassificadas na virada do dia sem evento.
+ */
+public final class FaixaEtariaTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("faixa etária: limites de cada faixa", FaixaEtariaTeste::limites);
+        executar("idade: vira à meia-noite do aniversário", FaixaEtariaTeste::viraNoAniversario);
+        executar("idade: nascido em 29/02 em ano bissexto e não bissexto", FaixaEtariaTeste::vinteNoveDeFevereiro);
+        executar("idade: relógio voltando e nova data de nascimento recalculam",
+            FaixaEtariaTeste::relogioVoltando);
+        executar("projeção: aniversário muda a faixa na virada do dia", FaixaEtariaTeste::projecaoReclassifica);
+    }
+
+    private static void limites() {
+        verificarIgual(FaixaEtaria.MENOR, FaixaEtaria.daIdade(0), "0 anos");
+        verificarIgual(FaixaEtaria.MENOR, FaixaEtaria.daIdade(17), "17 anos");
+        verificarIgual(FaixaEtaria.JOVEM, FaixaEtaria.daIdade(18), "18 anos");
+        verificarIgual(FaixaEtaria.JOVEM, FaixaEtaria.daIdade(29), "29 anos");
+        verificarIgual(FaixaEtaria.ADULTO, FaixaEtaria.daIdade(30), "30 anos");
+        verificarIgual(FaixaEtaria.ADULTO, FaixaEtaria.daIdade(59), "59 anos");
+        verificarIgual(FaixaEtaria.SENIOR, FaixaEtaria.daIdade(60), "60 anos");
+        verificarIgual(FaixaEtaria.SENIOR, FaixaEtaria.daIdade(120), "120 anos");
+    }
+
+    private static void viraNoAniversario() {
+        comRelogio(LocalDateTime.of(2024, 6, 14, 23, 59), relogio -> {
+            Cliente cliente = new Cliente("Aniversariante", Verificacoes.cpf(1), LocalDate.of(2006, 6, 15));
+            verificarIgual(17, cliente.getIdade(), "véspera do aniversário");
+            verificarIgual(FaixaEtaria.MENOR, cliente.getFaixaEtaria(), "faixa na véspera");
+            verificar(!cliente.podeAbrirContaCorrente(), "menor sem conta corrente");
+
+            relogio.ajustar(LocalDateTime.of(2024, 6, 15, 0, 0));
+            verificarIgual(18, cliente.getIdade(), "meia-noite do aniversário");
+            verificarIgual(FaixaEtaria.JOVEM, cliente.getFaixaEtaria(), "faixa no aniversário");
+            verificar(cliente.podeAbrirContaCorrente(), "maior abre conta corrente");
+
+            relogio.ajustar(LocalDateTime.of(2025, 6, 14, 23, 59));
+            verificarIgual(18, cliente.getIdade(), "véspera do aniversário seguinte");
+        });
+    }
+
+    private static void vinteNoveDeFevereiro() {
+        LocalDate nascimento = LocalDate.of(2004, 2, 29);
+        comRelogio(LocalDateTime.of(2023, 2, 28, 12, 0), relogio -> {
+            Cliente cliente = new Cliente("Bissexto", Verificacoes.cpf(2), nascimento);
+            verificarIgual(18, cliente.getIdade(), "28/02 de ano não bissexto");
+            relogio.ajustar(LocalDateTime.of(2023, 3, 1, 0, 0));
+            verificarIgual(19, cliente.getIdade(), "01/03 de ano não bissexto");
+
+            relogio.ajustar(LocalDateTime.of(2024, 2, 28, 23, 59));
+            verificarIgual(19, cliente.getIdade(), "28/02 de ano bissexto");
+            relogio.ajustar(LocalDateTime.of(2024, 2, 29, 0, 0));
+            verificarIgual(20, cliente.getIdade(), "29/02 de ano bissexto");
+        });
+        verificarIgual(LocalDate.of(2023, 3, 1), FaixaEtaria.proximoAniversario(nascimento, 18),
+            "próximo aniversário em ano não bissexto");
+        verificarIgual(LocalDate.of(2024, 2, 29), FaixaEtaria.proximoAniversario(nascimento, 19),
+            "próximo aniversário em ano bissexto");
+    }
+
+    private static void relogioVoltando() {
+        comRelogio(LocalDateTime.of(2024, 6, 15, 10, 0), relogio -> {
+            Cliente cliente = new Cliente("Cliente", Verificacoes.cpf(3), LocalDate.of(1994, 6, 15));
+            verificarIgual(30, cliente.getIdade(), "no aniversário");
+            verificarIgual(FaixaEtaria.ADULTO, cliente.getFaixaEtaria(), "faixa no aniversário");
+
+            // Antes do início da validade do cache: a idade tem de voltar junto
+            relogio.ajustar(LocalDateTime.of(2024, 6, 14, 10, 0));
+            verificarIgual(29, cliente.getIdade(), "relógio de volta à véspera");
+            verificarIgual(FaixaEtaria.JOVEM, cliente.getFaixaEtaria(), "faixa na véspera");
+
+            cliente.setDataNascimento(LocalDate.of(1964, 1, 1));
+            verificarIgual(60, cliente.getIdade(), "nova data de nascimento");
+            verificarIgual(FaixaEtaria.SENIOR, cliente.getFaixaEtaria(), "faixa da nova data");
+        });
+    }
+
+    private static void projecaoReclassifica() {
+        comRelogio(LocalDateTime.of(2024, 3, 10, 12, 0), relogio -> {
+            Banco banco = new Banco("Teste faixas");
+            banco.adicionarCliente(new Cliente("Quase maior", Verificacoes.cpf(1), LocalDate.of(2006, 3, 11)));
+            banco.adicionarCliente(new Cliente("Quase adulto", Verificacoes.cpf(2), LocalDate.of(1994, 3, 12)));
+            banco.adicionarCliente(new Cliente("Bissexto", Verificacoes.cpf(3), LocalDate.of(1964, 2, 29)));
+
+            ProjecaoRelatorios.FotoRelatorio foto = fotoEmDia(banco);
+            verificarIgual(1, foto.getClientesNaFaixa(FaixaEtaria.MENOR), "menores no início");
+            verificarIgual(1, foto.getClientesNaFaixa(FaixaEtaria.JOVEM), "jovens no início");
+            verificarIgual(1, foto.getClientesNaFaixa(FaixaEtaria.SENIOR), "seniores no início");
+
+            relogio.ajustar(LocalDateTime.of(2024, 3, 11, 0, 0));
+            foto = fotoEmDia(banco);
+            verificarIgual(0, foto.getClientesNaFaixa(FaixaEtaria.MENOR), "menores depois do aniversário");
+            verificarIgual(2, foto.getClientesNaFaixa(FaixaEtaria.JOVEM), "jovens depois do aniversário");
+
+            // Dois dias de uma vez: quem fez aniversário no meio também muda
+            relogio.ajustar(LocalDateTime.of(2024, 3, 13, 8, 0));
+            foto = fotoEmDia(banco);
+            verificarIgual(1, foto.getClientesNaFaixa(FaixaEtaria.JOVEM), "jovens depois do segundo aniversário");
+            verificarIgual(1, foto.getClientesNaFaixa(FaixaEtaria.ADULTO), "adultos depois do segundo aniversário");
+            verificarIgual(1, foto.getClientesNaFaixa(FaixaEtaria.SENIOR), "seniores seguem iguais");
+        });
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComRelogio {
+        void executar(Relogio.Simulado relogio);
+    }
+
+    private static void comRelogio(LocalDateTime inicio, CasoComRelogio caso) {
+        Relogio anterior = Relogio.atual();
+        Relogio.Simulado relogio = Relogio.simulado(inicio);
+        Relogio.definir(relogio);
+        try {
+            caso.executar(relogio);
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    private static ProjecaoRelatorios.FotoRelatorio fotoEmDia(Banco banco) {
+        ProjecaoRelatorios projecao = banco.getProjecao();
+        verificar(projecao.aguardarSequencia(banco.getEventos().getPublicados() - 1, 5_000), "projeção atrasada");
+        return projecao.getFoto(5, 5);
+    }
+}
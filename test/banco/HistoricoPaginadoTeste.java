@@ -0,0 +1,142 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Testes da paginação do histórico e da trilha de auditoria
+ * -----------------------------------------------------
+ * Páginas pelo cursor de sequência cobrem memória e segmentos arquivados
+ * sem repetir nem pular; a trilha intercala as contas na ordem global; a
+ * igualdade de uma transação não muda quando ela recebe a sequência.
+ */
+public final class HistoricoPaginadoTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("histórico: páginas cobrem memória e segmentos sem repetir", HistoricoPaginadoTeste::paginas);
+        executar("auditoria: trilha intercala as contas na ordem global", HistoricoPaginadoTeste::trilha);
+        executar("transação: igualdade não muda com o registro", HistoricoPaginadoTeste::igualdadeEstavel);
+    }
+
+    private static void paginas() throws IOException {
+        Path diretorio = Files.createTempDirectory("historico");
+        try {
+            Banco banco = new Banco("Teste histórico");
+            ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+            CompactadorHistorico compactador = new CompactadorHistorico(diretorio, null, 15);
+            // Dois segmentos arquivados e o resto em memória
+            depositar(conta, 30);
+            compactador.compactar(conta);
+            depositar(conta, 25);
+            compactador.compactar(conta);
+            depositar(conta, 5);
+            verificarIgual(2, conta.getResumoHistorico().getSegmentos().size(), "segmentos arquivados");
+
+            List<Long> esperadas = sequencias(conta.getHistoricoCompleto());
+            List<Long> lidas = new ArrayList<>();
+            long cursor = 0;
+            List<Transacao> pagina;
+            while (!(pagina = conta.getHistoricoApos(cursor, 7)).isEmpty()) {
+                verificar(pagina.size() <= 7, "página maior que o limite");
+                lidas.addAll(sequencias(pagina));
+                cursor = pagina.get(pagina.size() - 1).getSequencia();
+            }
+            verificarIgual(esperadas, lidas, "todas as transações, uma vez cada, em ordem");
+
+            // Cursor no meio de um segmento: começa logo depois dele
+            long meio = esperadas.get(20);
+            verificarIgual(esperadas.subList(21, 24), sequencias(conta.getHistoricoApos(meio, 3)), "cursor no meio");
+        } finally {
+            apagar(diretorio);
+        }
+    }
+
+    private static void trilha() throws IOException {
+        Path diretorio = Files.createTempDirectory("auditoria");
+        try {
+            Banco banco = new Banco("Teste auditoria");
+            List<ContaPoupanca> contas = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                contas.add(banco.criarContaPoupanca(Verificacoes.novoCliente(banco, i)));
+            }
+            for (int rodada = 0; rodada < 12; rodada++) {
+                for (ContaPoupanca conta : contas) {
+                    conta.depositar(BigDecimal.valueOf(rodada + 1));
+                }
+            }
+            new CompactadorHistorico(diretorio, null, 4).compactar(banco);
+
+            List<Transacao> todas = new ArrayList<>();
+            for (ContaPoupanca conta : contas) {
+                todas.addAll(conta.getHistoricoCompleto());
+            }
+            todas.sort(Comparator.naturalOrder());
+
+            List<Long> lidas = new ArrayList<>();
+            long cursor = 0;
+            List<Transacao> pagina;
+            while (!(pagina = banco.gerarTrilhaAuditoria(cursor, 5)).isEmpty()) {
+                lidas.addAll(sequencias(pagina));
+                cursor = pagina.get(pagina.size() - 1).getSequencia();
+            }
+            verificarIgual(sequencias(todas), lidas, "trilha na ordem global");
+        } finally {
+            apagar(diretorio);
+        }
+    }
+
+    private static void igualdadeEstavel() {
+        Transacao transacao = new Transacao(TipoTransacao.DEPOSITO, BigDecimal.TEN, "Depósito realizado", "1");
+        Transacao igual = Transacao.restaurar(0, TipoTransacao.DEPOSITO, BigDecimal.TEN, transacao.getdataHora(),
+            "Depósito realizado", "1", null);
+        int hash = transacao.hashCode();
+        verificar(transacao.equals(igual), "mesmos campos, mesma transação");
+
+        // Número tirado da sequência global precisa ser confirmado, senão trava as próximas alocações
+        long sequencia = SequenciaTransacoes.proxima();
+        transacao.atribuirSequencia(sequencia);
+        SequenciaTransacoes.confirmar(sequencia);
+        verificarIgual(hash, transacao.hashCode(), "hash depois do registro");
+        verificar(transacao.equals(igual), "igualdade depois do registro");
+        verificar(transacao.compareTo(igual) > 0, "a sequência ainda ordena");
+    }
+
+    // ================= APOIO =================
+
+    private static void depositar(Conta conta, int quantidade) {
+        for (int i = 1; i <= quantidade; i++) {
+            conta.depositar(BigDecimal.valueOf(i));
+        }
+    }
+
+    private static List<Long> sequencias(List<Transacao> transacoes) {
+        List<Long> sequencias = new ArrayList<>(transacoes.size());
+        for (Transacao transacao : transacoes) {
+            sequencias.add(transacao.getSequencia());
+        }
+        return sequencias;
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        try (Stream<Path> caminhos = Files.walk(diretorio)) {
+            for (Path caminho : (Iterable<Path>) caminhos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(caminho);
+            }
+        }
+    }
+}
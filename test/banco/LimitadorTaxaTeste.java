@@ -0,0 +1,157 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarLanca;
+
+import exceptions.LimiteOperacoesExcedidoException;
+import exceptions.SaldoInsuficienteException;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Testes do limitador de taxa (balde de fichas)
+ * -----------------------------------------------------
+ * Rajada até a capacidade, recarga com o tempo, limite somado por CPF e
+ * espera na fila quando há espera máxima. Num lote, só os itens executados
+ * consomem fichas.
+ */
+public final class LimitadorTaxaTeste {
+    private static final BigDecimal VALOR = new BigDecimal("10.00");
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("limitador: parâmetros inválidos", LimitadorTaxaTeste::parametrosInvalidos);
+        executar("limitador: rajada até a capacidade da conta", LimitadorTaxaTeste::rajadaDaConta);
+        executar("limitador: fichas recarregam com o tempo", LimitadorTaxaTeste::recarga);
+        executar("limitador: limite do cliente soma as contas", LimitadorTaxaTeste::limiteDoCliente);
+        executar("limitador: com espera máxima a operação aguarda a ficha", LimitadorTaxaTeste::esperaNaFila);
+        executar("limitador: lote só consome fichas dos itens executados", LimitadorTaxaTeste::loteParcial);
+        executar("limitador: lote atômico rejeitado devolve todas as fichas", LimitadorTaxaTeste::loteRejeitado);
+    }
+
+    private static void parametrosInvalidos() {
+        verificarLanca(IllegalArgumentException.class,
+            () -> new LimitadorTaxa(0, 1, 1, 1, 0), "capacidade zero");
+        verificarLanca(IllegalArgumentException.class,
+            () -> new LimitadorTaxa(1, 1, 1, 1, -1), "espera negativa");
+    }
+
+    private static void rajadaDaConta() {
+        LimitadorTaxa limitador = new LimitadorTaxa(3, 1, 100, 100, 0);
+        ContaCorrente conta = novaContaCorrente(1);
+
+        for (int i = 0; i < 3; i++) {
+            limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR);
+        }
+        verificarLanca(LimiteOperacoesExcedidoException.class,
+            () -> limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR), "quarta operação da rajada");
+    }
+
+    private static void recarga() throws InterruptedException {
+        // 1 ficha a cada 10 ms
+        LimitadorTaxa limitador = new LimitadorTaxa(1, 100, 100, 100, 0);
+        ContaCorrente conta = novaContaCorrente(2);
+
+        limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR);
+        verificarLanca(LimiteOperacoesExcedidoException.class,
+            () -> limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR), "sem ficha");
+
+        Thread.sleep(30);
+        limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR);
+    }
+
+    private static void limiteDoCliente() {
+        LimitadorTaxa limitador = new LimitadorTaxa(5, 1, 3, 1, 0);
+        Banco banco = new Banco("Teste limitador");
+        Cliente cliente = Verificacoes.novoCliente(banco, 3);
+        ContaCorrente corrente = banco.criarContaCorrente(cliente);
+        ContaPoupanca poupanca = banco.criarContaPoupanca(cliente);
+
+        limitador.antesDaOperacao(corrente, TipoTransacao.DEPOSITO, VALOR);
+        limitador.antesDaOperacao(corrente, TipoTransacao.DEPOSITO, VALOR);
+        limitador.antesDaOperacao(poupanca, TipoTransacao.DEPOSITO, VALOR);
+        verificarLanca(LimiteOperacoesExcedidoException.class,
+            () -> limitador.antesDaOperacao(poupanca, TipoTransacao.DEPOSITO, VALOR),
+            "quarta operação do mesmo CPF");
+        verificarLanca(LimiteOperacoesExcedidoException.class,
+            () -> limitador.antesDaOperacao(corrente, TipoTransacao.DEPOSITO, VALOR),
+            "a corrente tem fichas, mas o CPF não");
+    }
+
+    private static void esperaNaFila() {
+        // 1 ficha a cada 50 ms, aguardando até 200 ms
+        LimitadorTaxa limitador = new LimitadorTaxa(1, 20, 100, 100, 200);
+        ContaCorrente conta = novaContaCorrente(4);
+
+        limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR);
+        long inicio = System.nanoTime();
+        limitador.antesDaOperacao(conta, TipoTransacao.DEPOSITO, VALOR);
+        long millis = (System.nanoTime() - inicio) / 1_000_000;
+        verificar(millis >= 40, "a segunda operação deveria esperar ~50 ms, esperou " + millis);
+
+        // 1 ficha por segundo: a espera passaria do máximo, então recusa na hora
+        LimitadorTaxa lento = new LimitadorTaxa(1, 1, 100, 100, 200);
+        ContaCorrente outra = novaContaCorrente(5);
+        lento.antesDaOperacao(outra, TipoTransacao.DEPOSITO, VALOR);
+        inicio = System.nanoTime();
+        verificarLanca(LimiteOperacoesExcedidoException.class,
+            () -> lento.antesDaOperacao(outra, TipoTransacao.DEPOSITO, VALOR), "espera acima do máximo");
+        millis = (System.nanoTime() - inicio) / 1_000_000;
+        verificar(millis < 100, "a recusa não deveria esperar, esperou " + millis);
+    }
+
+    private static void loteParcial() {
+        LimitadorTaxa limitador = new LimitadorTaxa(3, 1, 100, 100, 0);
+        ContaCorrente conta = novaContaCorrente(6);
+        Conta.adicionarFiltro(limitador);
+        try {
+            // Só o depósito executa: o saque sem saldo devolve a ficha, o valor inválido nem consome
+            ResultadoLote resultado = conta.executarLote(List.of(
+                OperacaoLote.deposito(VALOR),
+                OperacaoLote.saque(new BigDecimal("1000.00")),
+                OperacaoLote.saque(BigDecimal.ZERO)), false);
+            verificar(resultado.getAplicadas() == 1, "um item aplicado");
+
+            conta.depositar(VALOR);
+            conta.depositar(VALOR);
+            verificarLanca(LimiteOperacoesExcedidoException.class, () -> conta.depositar(VALOR),
+                "capacidade 3 menos o item executado e dois depósitos");
+        } finally {
+            Conta.removerFiltro(limitador);
+        }
+    }
+
+    private static void loteRejeitado() {
+        LimitadorTaxa limitador = new LimitadorTaxa(3, 1, 100, 100, 0);
+        ContaCorrente conta = novaContaCorrente(7);
+        Conta.adicionarFiltro(limitador);
+        try {
+            verificarLanca(SaldoInsuficienteException.class, () -> conta.executarLote(List.of(
+                OperacaoLote.deposito(VALOR),
+                OperacaoLote.saque(new BigDecimal("1000.00"))), true), "lote atômico sem saldo");
+
+            conta.depositar(VALOR);
+            conta.depositar(VALOR);
+
+            // Recusa no meio da filtragem devolve a ficha do item já filtrado
+            verificarLanca(LimiteOperacoesExcedidoException.class, () -> conta.executarLote(List.of(
+                OperacaoLote.deposito(VALOR), OperacaoLote.deposito(VALOR)), false), "segundo item sem ficha");
+
+            conta.depositar(VALOR);
+            verificarLanca(LimiteOperacoesExcedidoException.class, () -> conta.depositar(VALOR),
+                "as três fichas usadas fora dos lotes");
+        } finally {
+            Conta.removerFiltro(limitador);
+        }
+    }
+
+    private static ContaCorrente novaContaCorrente(int numero) {
+        Banco banco = new Banco("Teste limitador");
+        return banco.criarContaCorrente(Verificacoes.novoCliente(banco, numero));
+    }
+}
@@ -0,0 +1,89 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import exceptions.SaldoInsuficienteException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testes do lote de depósitos e saques de uma conta
+ * -----------------------------------------------------
+ * Lote parcial aplica o que cabe e informa a falha de cada item; lote
+ * atômico rejeita tudo sem alterar a conta.
+ */
+public final class LoteOperacoesTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("lote: parcial aplica o que cabe e informa cada falha", LoteOperacoesTeste::parcial);
+        executar("lote: atômico com falha não altera a conta", LoteOperacoesTeste::atomico);
+        executar("lote: vazio e nulo", LoteOperacoesTeste::vazio);
+    }
+
+    private static void parcial() {
+        ContaCorrente conta = novaConta("100.00");
+        long antes = conta.getTotalTransacoes();
+
+        // Com o depósito há 150: o saque de 200 falha e o de 30 ainda cabe
+        ResultadoLote resultado = conta.executarLote(Arrays.asList(
+            OperacaoLote.deposito(new BigDecimal("50.00")),
+            OperacaoLote.saque(new BigDecimal("200.00")),
+            OperacaoLote.saque(new BigDecimal("30.00")),
+            OperacaoLote.saque(new BigDecimal("-1.00")),
+            null), false);
+
+        verificarIgual(5, resultado.getTotalOperacoes(), "um resultado por item");
+        verificarIgual(2, resultado.getAplicadas(), "aplicadas");
+        verificarIgual(3, resultado.getRejeitadas(), "rejeitadas");
+        verificar(resultado.isSucesso(0) && resultado.isSucesso(2), "depósito e saque que cabe");
+        verificar(resultado.getMensagemFalha(1).startsWith("Saldo insuficiente"), resultado.getMensagemFalha(1));
+        verificarIgual("Valor deve ser positivo", resultado.getMensagemFalha(3), "valor negativo");
+        verificarIgual("Valor deve ser positivo", resultado.getMensagemFalha(4), "item nulo");
+
+        // 100 + 50 - 30 - tarifa do saque
+        BigDecimal esperado = new BigDecimal("119.50");
+        verificarIgual(0, esperado.compareTo(conta.getSaldo()), "saldo: " + conta.getSaldo());
+        verificarIgual(0, esperado.compareTo(resultado.getSaldoFinal()), "saldo final do resultado");
+        verificarIgual(antes + 3, conta.getTotalTransacoes(), "depósito, saque e tarifa no histórico");
+    }
+
+    private static void atomico() {
+        ContaCorrente conta = novaConta("100.00");
+        long antes = conta.getTotalTransacoes();
+        List<OperacaoLote> semSaldo = List.of(
+            OperacaoLote.deposito(new BigDecimal("10.00")),
+            OperacaoLote.saque(new BigDecimal("500.00")));
+        List<OperacaoLote> invalido = List.of(
+            OperacaoLote.deposito(new BigDecimal("10.00")),
+            OperacaoLote.deposito(BigDecimal.ZERO));
+
+        verificarLanca(SaldoInsuficienteException.class, () -> conta.executarLote(semSaldo, true), "sem saldo");
+        verificarLanca(IllegalArgumentException.class, () -> conta.executarLote(invalido, true), "valor zero");
+        verificarIgual(0, new BigDecimal("100.00").compareTo(conta.getSaldo()), "saldo intacto");
+        verificarIgual(antes, conta.getTotalTransacoes(), "nenhum lançamento novo");
+    }
+
+    private static void vazio() {
+        ContaCorrente conta = novaConta("100.00");
+        ResultadoLote resultado = conta.executarLote(List.of(), true);
+        verificarIgual(0, resultado.getTotalOperacoes(), "nenhum item");
+        verificarIgual(0, new BigDecimal("100.00").compareTo(resultado.getSaldoFinal()), "saldo atual");
+        verificarLanca(IllegalArgumentException.class, () -> conta.executarLote(null, false), "lista nula");
+    }
+
+    private static ContaCorrente novaConta(String saldo) {
+        Banco banco = new Banco("Teste lote");
+        ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 1));
+        conta.depositar(new BigDecimal(saldo));
+        return conta;
+    }
+}
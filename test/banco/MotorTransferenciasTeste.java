@@ -0,0 +1,216 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import exceptions.SaldoInsuficienteException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes das transferências atômicas e do motor de lotes (um banco só)
+ * -----------------------------------------------------
+ * Lote tudo ou nada, rollback quando uma perna falha, transferências
+ * simultâneas em sentidos opostos sem impasse e lote grande aplicado depois
+ * de uma virada de mês (rendimento pendente nas poupanças).
+ */
+public final class MotorTransferenciasTeste {
+    private static final long PRAZO_MILLIS = 30_000;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("motor: lote aplica todas as transferências em ordem", MotorTransferenciasTeste::loteAplica);
+        executar("motor: perna sem saldo desfaz o lote inteiro", MotorTransferenciasTeste::pernaSemSaldo);
+        executar("motor: lote inválido é recusado antes das travas", MotorTransferenciasTeste::loteInvalido);
+        executar("transferir: falha não altera nenhuma das contas", MotorTransferenciasTeste::transferenciaFalha);
+        executar("transferir: sentidos opostos em paralelo não travam",
+            MotorTransferenciasTeste::sentidosOpostos);
+        executar("motor: lote grande depois da virada do mês", MotorTransferenciasTeste::loteGrandeNaViradaDoMes);
+    }
+
+    private static void loteAplica() {
+        Banco banco = new Banco("Teste motor");
+        List<ContaCorrente> contas = contasCorrentes(banco, 3, "100.00");
+        ContaCorrente a = contas.get(0);
+        ContaCorrente b = contas.get(1);
+        ContaCorrente c = contas.get(2);
+        BigDecimal antes = Verificacoes.dinheiro(contas);
+
+        // b só consegue pagar c com o que recebeu de a no mesmo lote
+        banco.executarTransferenciasEmLote(List.of(
+            new MotorTransferencias.Transferencia(a, b, new BigDecimal("90.00")),
+            new MotorTransferencias.Transferencia(b, c, new BigDecimal("180.00"))));
+
+        verificarIgual(0, new BigDecimal("10.00").compareTo(a.getSaldo().add(Verificacoes.tarifasPagas(a))),
+            "saldo de a");
+        verificarIgual(0, new BigDecimal("10.00").compareTo(b.getSaldo().add(Verificacoes.tarifasPagas(b))),
+            "saldo de b");
+        verificarIgual(0, new BigDecimal("280.00").compareTo(c.getSaldo()), "saldo de c");
+        verificarIgual(0, antes.compareTo(Verificacoes.dinheiro(contas)), "dinheiro conservado");
+    }
+
+    private static void pernaSemSaldo() {
+        Banco banco = new Banco("Teste motor");
+        List<ContaCorrente> contas = contasCorrentes(banco, 3, "100.00");
+        ContaCorrente a = contas.get(0);
+        ContaCorrente b = contas.get(1);
+        ContaCorrente c = contas.get(2);
+        long[] lancamentos = lancamentos(contas);
+
+        // As duas primeiras cabem; a terceira não, e o lote inteiro é desfeito
+        verificarLanca(SaldoInsuficienteException.class, () -> banco.executarTransferenciasEmLote(List.of(
+            new MotorTransferencias.Transferencia(a, b, new BigDecimal("40.00")),
+            new MotorTransferencias.Transferencia(b, c, new BigDecimal("40.00")),
+            new MotorTransferencias.Transferencia(c, a, new BigDecimal("500.00")))), "terceira perna");
+
+        for (ContaCorrente conta : contas) {
+            verificarIgual(0, new BigDecimal("100.00").compareTo(conta.getSaldo()),
+                "saldo intacto na conta " + conta.getNumero());
+        }
+        verificar(Arrays.equals(lancamentos, lancamentos(contas)), "nenhum lançamento novo");
+        for (ContaCorrente conta : contas) {
+            verificar(!conta.getTrava().isLocked(), "trava liberada na conta " + conta.getNumero());
+        }
+    }
+
+    private static void loteInvalido() {
+        Banco banco = new Banco("Teste motor");
+        List<ContaCorrente> contas = contasCorrentes(banco, 2, "100.00");
+        ContaCorrente a = contas.get(0);
+
+        verificarLanca(IllegalArgumentException.class,
+            () -> banco.executarTransferenciasEmLote(List.of()), "lote vazio");
+        verificarLanca(IllegalArgumentException.class, () -> banco.executarTransferenciasEmLote(List.of(
+            new MotorTransferencias.Transferencia(a, a, BigDecimal.ONE))), "mesma conta");
+        verificarLanca(IllegalArgumentException.class, () -> banco.executarTransferenciasEmLote(List.of(
+            new MotorTransferencias.Transferencia(a, contas.get(1), BigDecimal.ZERO))), "valor zero");
+        verificarIgual(0, new BigDecimal("100.00").compareTo(a.getSaldo()), "saldo intacto");
+    }
+
+    private static void transferenciaFalha() {
+        Banco banco = new Banco("Teste motor");
+        List<ContaCorrente> contas = contasCorrentes(banco, 2, "50.00");
+        ContaCorrente a = contas.get(0);
+        ContaCorrente b = contas.get(1);
+        long[] lancamentos = lancamentos(contas);
+
+        // 50 não cobre 50 mais a tarifa da transferência
+        verificarLanca(SaldoInsuficienteException.class,
+            () -> a.transferir(new BigDecimal("50.00"), b), "sem saldo para a tarifa");
+        verificarLanca(IllegalArgumentException.class, () -> a.transferir(new BigDecimal("1.00"), a), "mesma conta");
+
+        verificarIgual(0, new BigDecimal("50.00").compareTo(a.getSaldo()), "origem intacta");
+        verificarIgual(0, new BigDecimal("50.00").compareTo(b.getSaldo()), "destino intacto");
+        verificar(Arrays.equals(lancamentos, lancamentos(contas)), "nenhum lançamento novo");
+    }
+
+    private static void sentidosOpostos() throws InterruptedException {
+        Banco banco = new Banco("Teste motor");
+        List<ContaCorrente> contas = contasCorrentes(banco, 2, "100000.00");
+        ContaCorrente a = contas.get(0);
+        ContaCorrente b = contas.get(1);
+        BigDecimal antes = Verificacoes.dinheiro(contas);
+
+        int repeticoes = 2_000;
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        Thread ida = new Thread(() -> repetir(repeticoes, erro,
+            () -> a.transferir(BigDecimal.ONE, b)));
+        Thread volta = new Thread(() -> repetir(repeticoes, erro,
+            () -> b.transferir(BigDecimal.ONE, a)));
+        // Lotes no sentido oposto disputando as mesmas travas
+        Thread lotes = new Thread(() -> repetir(repeticoes / 10, erro,
+            () -> banco.executarTransferenciasEmLote(List.of(
+                new MotorTransferencias.Transferencia(b, a, BigDecimal.ONE),
+                new MotorTransferencias.Transferencia(a, b, BigDecimal.ONE)))));
+
+        ida.start();
+        volta.start();
+        lotes.start();
+        for (Thread thread : new Thread[] {ida, volta, lotes}) {
+            thread.join(PRAZO_MILLIS);
+            verificar(!thread.isAlive(), "transferências travadas (impasse?)");
+        }
+
+        verificar(erro.get() == null, "erro nas transferências: " + erro.get());
+        verificarIgual(0, antes.compareTo(Verificacoes.dinheiro(contas)), "dinheiro conservado");
+    }
+
+    private static void loteGrandeNaViradaDoMes() throws InterruptedException {
+        Relogio anterior = Relogio.atual();
+        Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 1, 20, 10, 0));
+        Relogio.definir(relogio);
+        try {
+            Banco banco = new Banco("Teste motor");
+            List<ContaPoupanca> poupancas = new ArrayList<>();
+            for (int i = 1; i <= 8; i++) {
+                ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, i));
+                conta.depositar(new BigDecimal("1000.00"));
+                poupancas.add(conta);
+            }
+
+            // Rendimento de janeiro pendente em todas as contas do lote
+            relogio.avancar(Duration.ofDays(15));
+            List<MotorTransferencias.Transferencia> lote = new ArrayList<>();
+            for (int i = 0; i < 128; i++) {
+                lote.add(new MotorTransferencias.Transferencia(
+                    poupancas.get(i % 8), poupancas.get((i + 3) % 8), BigDecimal.ONE));
+            }
+
+            Thread executor = new Thread(() -> banco.executarTransferenciasEmLote(lote));
+            executor.start();
+            executor.join(PRAZO_MILLIS);
+            verificar(!executor.isAlive(), "lote travado");
+
+            // Cada conta envia e recebe 16: sobra o saldo com o rendimento de um mês
+            for (ContaPoupanca conta : poupancas) {
+                verificarIgual(0, new BigDecimal("1005.00").compareTo(conta.getSaldo()),
+                    "saldo da conta " + conta.getNumero() + ": " + conta.getSaldo());
+            }
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    private interface Acao {
+        void executar();
+    }
+
+    private static void repetir(int vezes, AtomicReference<Throwable> erro, Acao acao) {
+        try {
+            for (int i = 0; i < vezes; i++) {
+                acao.executar();
+            }
+        } catch (Throwable e) {
+            erro.compareAndSet(null, e);
+        }
+    }
+
+    private static List<ContaCorrente> contasCorrentes(Banco banco, int quantidade, String saldo) {
+        List<ContaCorrente> contas = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, i));
+            conta.depositar(new BigDecimal(saldo));
+            contas.add(conta);
+        }
+        return contas;
+    }
+
+    private static long[] lancamentos(List<ContaCorrente> contas) {
+        long[] totais = new long[contas.size()];
+        for (int i = 0; i < totais.length; i++) {
+            totais[i] = contas.get(i).getTotalTransacoes();
+        }
+        return totais;
+    }
+}
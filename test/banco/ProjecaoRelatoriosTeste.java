@@ -0,0 +1,297 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes do modelo de leitura dos relatórios
+ * -----------------------------------------------------
+ * A foto alimentada direto por eventos: totais, contas por tipo e rankings
+ * conferidos contra o esperado, com remoções no meio dos vetores e com
+ * itens suficientes para a passada rodar em fork-join. Ligada a um banco, a
+ * foto bate com os saldos das contas (rendimento e créditos pendentes
+ * incluídos) sem que o relatório materialize nada nelas.
+ */
+public final class ProjecaoRelatoriosTeste {
+    private static final String CORRENTE = "Conta Corrente";
+    private static final String POUPANCA = "Conta Poupança";
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    private long sequencia;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("projeção: foto soma saldos e ordena os rankings", ProjecaoRelatoriosTeste::fotoPequena);
+        executar("projeção: remoções no meio mantêm os vetores", ProjecaoRelatoriosTeste::remocoes);
+        executar("projeção: passada em fork-join bate com a conta", ProjecaoRelatoriosTeste::fotoGrande);
+        executar("projeção: evento antigo não faz o saldo voltar", ProjecaoRelatoriosTeste::foraDeOrdem);
+        executar("projeção: pendências batem com o banco vivo", ProjecaoRelatoriosTeste::bancoVivo);
+        executar("projeção: virada do mês rende sem evento", ProjecaoRelatoriosTeste::viradaSemEvento);
+    }
+
+    private static void fotoPequena() {
+        ProjecaoRelatoriosTeste eventos = new ProjecaoRelatoriosTeste();
+        ProjecaoRelatorios projecao = new ProjecaoRelatorios();
+        for (int i = 1; i <= 4; i++) {
+            eventos.cadastrar(projecao, i);
+            eventos.abrir(projecao, i, CORRENTE, i);
+        }
+        eventos.abrir(projecao, 5, POUPANCA, 4);
+        // Patrimônios 100, 200, 300 e 400 + 50 na poupança; a conta 2 é a mais movimentada
+        for (int i = 1; i <= 4; i++) {
+            eventos.movimentar(projecao, i, new BigDecimal(i * 100), 1);
+        }
+        eventos.movimentar(projecao, 5, new BigDecimal("50.00"), 1);
+        eventos.movimentar(projecao, 2, new BigDecimal("150.00"), 2);
+        eventos.movimentar(projecao, 2, new BigDecimal("200.00"), 3);
+
+        ProjecaoRelatorios.FotoRelatorio foto = projecao.getFoto(2, 1);
+        verificarIgual(4, foto.getTotalClientes(), "clientes");
+        verificarIgual(5, foto.getTotalContas(), "contas");
+        verificarIgual(4, foto.getContasPorTipo(CORRENTE), "correntes");
+        verificarIgual(1, foto.getContasPorTipo(POUPANCA), "poupanças");
+        verificarIgual(0, new BigDecimal("1050.00").compareTo(foto.getPatrimonioTotal()), "patrimônio total");
+        verificarIgual(eventos.sequencia - 1, foto.getSequencia(), "sequência da foto");
+
+        List<ProjecaoRelatorios.PosicaoCliente> top = foto.getTopClientes();
+        verificarIgual(2, top.size(), "tamanho do top de clientes");
+        verificarIgual("Cliente 4", top.get(0).getNome(), "maior patrimônio");
+        verificarIgual(0, new BigDecimal("450.00").compareTo(top.get(0).getPatrimonio()), "patrimônio do maior");
+        verificarIgual("Cliente 3", top.get(1).getNome(), "segundo maior");
+
+        List<ProjecaoRelatorios.PosicaoConta> movimentadas = foto.getMaisMovimentadas();
+        verificarIgual(1, movimentadas.size(), "tamanho do top de contas");
+        verificarIgual(2, movimentadas.get(0).getNumero(), "conta mais movimentada");
+        verificarIgual(3L, movimentadas.get(0).getTransacoes(), "transações da mais movimentada");
+        verificarIgual(CORRENTE, movimentadas.get(0).getTipoConta(), "tipo da mais movimentada");
+        verificarIgual("Cliente 2", movimentadas.get(0).getTitular(), "titular da mais movimentada");
+
+        ProjecaoRelatorios.FotoRelatorio semRanking = projecao.getFoto(0, 0);
+        verificar(semRanking.getTopClientes().isEmpty(), "top zero de clientes");
+        verificar(semRanking.getMaisMovimentadas().isEmpty(), "top zero de contas");
+    }
+
+    private static void remocoes() {
+        ProjecaoRelatoriosTeste eventos = new ProjecaoRelatoriosTeste();
+        ProjecaoRelatorios projecao = new ProjecaoRelatorios();
+        for (int i = 1; i <= 5; i++) {
+            eventos.cadastrar(projecao, i);
+            eventos.abrir(projecao, i, i % 2 == 0 ? POUPANCA : CORRENTE, i);
+            eventos.movimentar(projecao, i, new BigDecimal(i * 10), 1);
+        }
+
+        // Tira do meio: o último ocupa o lugar e leva os seus números junto
+        eventos.encerrar(projecao, 2);
+        eventos.removerCliente(projecao, 2);
+        eventos.encerrar(projecao, 4);
+        eventos.movimentar(projecao, 5, new BigDecimal("500.00"), 2);
+
+        ProjecaoRelatorios.FotoRelatorio foto = projecao.getFoto(10, 10);
+        verificarIgual(4, foto.getTotalClientes(), "clientes");
+        verificarIgual(3, foto.getTotalContas(), "contas");
+        verificarIgual(3, foto.getContasPorTipo(CORRENTE), "correntes");
+        verificar(!foto.getContasPorTipo().containsKey(POUPANCA), "tipo sem contas some da foto");
+        verificarIgual(0, new BigDecimal("540.00").compareTo(foto.getPatrimonioTotal()), "patrimônio total");
+
+        List<ProjecaoRelatorios.PosicaoCliente> top = foto.getTopClientes();
+        verificarIgual("Cliente 5", top.get(0).getNome(), "maior patrimônio");
+        verificarIgual(0, new BigDecimal("500.00").compareTo(top.get(0).getPatrimonio()), "patrimônio do maior");
+        // O cliente 4 ficou sem conta: patrimônio zero, em último
+        verificarIgual("Cliente 4", top.get(top.size() - 1).getNome(), "menor patrimônio");
+        verificarIgual(0, BigDecimal.ZERO.compareTo(top.get(top.size() - 1).getPatrimonio()), "patrimônio zerado");
+        verificarIgual(5, foto.getMaisMovimentadas().get(0).getNumero(), "conta mais movimentada");
+    }
+
+    private static void fotoGrande() {
+        ProjecaoRelatoriosTeste eventos = new ProjecaoRelatoriosTeste();
+        ProjecaoRelatorios projecao = new ProjecaoRelatorios();
+        int clientes = 12_000;
+        BigDecimal esperado = BigDecimal.ZERO;
+        for (int i = 1; i <= clientes; i++) {
+            eventos.cadastrar(projecao, i);
+            eventos.abrir(projecao, i, i % 3 == 0 ? POUPANCA : CORRENTE, i);
+            // Saldos que não repetem: o ranking tem uma única resposta
+            BigDecimal saldo = BigDecimal.valueOf((i * 7919L) % 100_003, 2);
+            eventos.movimentar(projecao, i, saldo, 1);
+            esperado = esperado.add(saldo);
+        }
+
+        ProjecaoRelatorios.FotoRelatorio foto = projecao.getFoto(3, 3);
+        verificarIgual(clientes, foto.getTotalClientes(), "clientes");
+        verificarIgual(clientes / 3, foto.getContasPorTipo(POUPANCA), "poupanças");
+        verificarIgual(clientes - clientes / 3, foto.getContasPorTipo(CORRENTE), "correntes");
+        verificarIgual(0, esperado.compareTo(foto.getPatrimonioTotal()), "patrimônio total");
+
+        List<ProjecaoRelatorios.PosicaoCliente> top = foto.getTopClientes();
+        verificarIgual(3, top.size(), "tamanho do top");
+        for (int i = 1; i < top.size(); i++) {
+            verificar(top.get(i - 1).getPatrimonio().compareTo(top.get(i).getPatrimonio()) > 0,
+                "top fora de ordem na posição " + i);
+        }
+        verificarIgual(0, BigDecimal.valueOf(maiorResto(clientes), 2).compareTo(top.get(0).getPatrimonio()),
+            "maior patrimônio");
+    }
+
+    private static void foraDeOrdem() {
+        ProjecaoRelatoriosTeste eventos = new ProjecaoRelatoriosTeste();
+        ProjecaoRelatorios projecao = new ProjecaoRelatorios();
+        eventos.cadastrar(projecao, 1);
+        eventos.abrir(projecao, 1, CORRENTE, 1);
+        eventos.movimentar(projecao, 1, new BigDecimal("80.00"), 3);
+        eventos.movimentar(projecao, 1, new BigDecimal("30.00"), 2);
+
+        ProjecaoRelatorios.FotoRelatorio foto = projecao.getFoto(1, 1);
+        verificarIgual(0, new BigDecimal("80.00").compareTo(foto.getPatrimonioTotal()), "saldo da versão maior");
+        verificarIgual(2L, foto.getMaisMovimentadas().get(0).getTransacoes(), "as duas transações contam");
+    }
+
+    private static void bancoVivo() throws InterruptedException {
+        comRelogio(relogio -> {
+            Banco banco = new Banco("Teste projeção");
+            List<Conta> contas = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                Cliente cliente = Verificacoes.novoCliente(banco, i);
+                ContaCorrente corrente = banco.criarContaCorrente(cliente);
+                ContaPoupanca poupanca = banco.criarContaPoupanca(cliente);
+                corrente.depositar(new BigDecimal(i * 300));
+                poupanca.depositar(new BigDecimal(i * 1000));
+                contas.add(corrente);
+                contas.add(poupanca);
+            }
+            contas.get(0).transferir(new BigDecimal("50.00"), contas.get(3));
+
+            // Créditos nas células: uma corrente e uma poupança de recebimento
+            contas.get(2).ativarCreditosDistribuidos();
+            contas.get(5).ativarCreditosDistribuidos();
+            for (int i = 0; i < 3; i++) {
+                contas.get(2).depositar(new BigDecimal("100.00"));
+                contas.get(5).depositar(new BigDecimal("70.00"));
+            }
+
+            // Dois meses fechados sem movimentação nas poupanças
+            relogio.ajustar(LocalDateTime.of(2024, 3, 3, 9, 0));
+            long[] versoes = new long[contas.size()];
+            long[] lancamentos = new long[contas.size()];
+            for (int i = 0; i < contas.size(); i++) {
+                versoes[i] = contas.get(i).getSaldoVersionado().getVersao();
+                lancamentos[i] = contas.get(i).getTotalTransacoes();
+            }
+
+            banco.gerarRelatorioCompleto();
+            ProjecaoRelatorios.FotoRelatorio foto = fotoEmDia(banco);
+            for (int i = 0; i < contas.size(); i++) {
+                verificarIgual(versoes[i], contas.get(i).getSaldoVersionado().getVersao(),
+                    "relatório mexeu no saldo da conta " + contas.get(i).getNumero());
+                verificarIgual(lancamentos[i], contas.get(i).getTotalTransacoes(),
+                    "relatório lançou na conta " + contas.get(i).getNumero());
+            }
+
+            // Agora sim as contas materializam: os números têm de ser os mesmos
+            BigDecimal total = BigDecimal.ZERO;
+            for (Conta conta : contas) {
+                total = total.add(conta.getSaldo());
+            }
+            verificarIgual(0, total.compareTo(foto.getPatrimonioTotal()),
+                "patrimônio total (projeção " + foto.getPatrimonioTotal() + ", contas " + total + ")");
+            BigDecimal doMaior = contas.get(4).getSaldo().add(contas.get(5).getSaldo());
+            verificarIgual("Cliente 3", foto.getTopClientes().get(0).getNome(), "maior patrimônio");
+            verificarIgual(0, doMaior.compareTo(foto.getTopClientes().get(0).getPatrimonio()),
+                "patrimônio do cliente 3");
+            verificarIgual(0, total.compareTo(fotoEmDia(banco).getPatrimonioTotal()),
+                "foto depois da materialização");
+        });
+    }
+
+    private static void viradaSemEvento() throws InterruptedException {
+        comRelogio(relogio -> {
+            Banco banco = new Banco("Teste projeção");
+            ContaPoupanca poupanca = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+            poupanca.depositar(new BigDecimal("1000.00"));
+            verificarIgual(0, new BigDecimal("1000.00").compareTo(fotoEmDia(banco).getPatrimonioTotal()),
+                "mês de abertura");
+
+            relogio.ajustar(LocalDateTime.of(2024, 2, 1, 0, 1));
+            verificarIgual(0, new BigDecimal("1005.00").compareTo(fotoEmDia(banco).getPatrimonioTotal()),
+                "um mês pendente");
+            // 1000 * 0.010025 = 10.025, arredondado para o par
+            relogio.ajustar(LocalDateTime.of(2024, 3, 1, 0, 1));
+            verificarIgual(0, new BigDecimal("1010.02").compareTo(fotoEmDia(banco).getPatrimonioTotal()),
+                "dois meses pendentes");
+            verificarIgual(0, new BigDecimal("1000.00").compareTo(poupanca.getSaldoVersionado().getSaldo()),
+                "conta segue sem materializar");
+        });
+    }
+
+    private interface CasoComRelogio {
+        void executar(Relogio.Simulado relogio) throws InterruptedException;
+    }
+
+    private static void comRelogio(CasoComRelogio caso) throws InterruptedException {
+        Relogio anterior = Relogio.atual();
+        Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 1, 15, 10, 0));
+        Relogio.definir(relogio);
+        try {
+            caso.executar(relogio);
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    private static ProjecaoRelatorios.FotoRelatorio fotoEmDia(Banco banco) {
+        ProjecaoRelatorios projecao = banco.getProjecao();
+        verificar(projecao.aguardarSequencia(banco.getEventos().getPublicados() - 1, 5_000), "projeção atrasada");
+        return projecao.getFoto(5, 5);
+    }
+
+    private static long maiorResto(int clientes) {
+        long maior = 0;
+        for (int i = 1; i <= clientes; i++) {
+            maior = Math.max(maior, (i * 7919L) % 100_003);
+        }
+        return maior;
+    }
+
+    // ================= EVENTOS =================
+
+    private void cadastrar(ProjecaoRelatorios projecao, int cliente) {
+        publicar(projecao, EventoBancario.restaurar(EventoBancario.Tipo.CLIENTE_CADASTRADO, AGORA, 0, null,
+            Verificacoes.cpf(cliente), "Cliente " + cliente, LocalDate.of(1990, 1, 1), null, null, 0L));
+    }
+
+    private void removerCliente(ProjecaoRelatorios projecao, int cliente) {
+        publicar(projecao, EventoBancario.restaurar(EventoBancario.Tipo.CLIENTE_REMOVIDO, AGORA, 0, null,
+            Verificacoes.cpf(cliente), null, null, null, null, 0L));
+    }
+
+    private void abrir(ProjecaoRelatorios projecao, int numero, String tipoConta, int cliente) {
+        publicar(projecao, EventoBancario.restaurar(EventoBancario.Tipo.CONTA_ABERTA, AGORA, numero, tipoConta,
+            Verificacoes.cpf(cliente), null, null, null, BigDecimal.ZERO, 0L));
+    }
+
+    private void encerrar(ProjecaoRelatorios projecao, int numero) {
+        publicar(projecao, EventoBancario.restaurar(EventoBancario.Tipo.CONTA_ENCERRADA, AGORA, numero, null,
+            null, null, null, null, BigDecimal.ZERO, 0L));
+    }
+
+    private void movimentar(ProjecaoRelatorios projecao, int numero, BigDecimal saldo, long versao) {
+        Transacao transacao = new Transacao(TipoTransacao.DEPOSITO, BigDecimal.ONE, "Depósito realizado",
+            String.valueOf(numero));
+        publicar(projecao, EventoBancario.restaurar(EventoBancario.Tipo.TRANSACAO, AGORA, numero, null,
+            null, null, null, transacao, saldo, versao));
+    }
+
+    private void publicar(ProjecaoRelatorios projecao, EventoBancario evento) {
+        projecao.aoReceber(evento, sequencia++, true);
+    }
+}
@@ -0,0 +1,137 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Testes da projeção de rendimentos
+ * -----------------------------------------------------
+ * A fórmula fechada confere com a simulação mês a mês (com e sem taxa), os
+ * totais por mês batem com as projeções por conta e o aporte para a meta
+ * chega na meta.
+ */
+public final class ProjecaoRendimentosTeste {
+    private static final double TAXA = 0.005;
+    private static final double TOLERANCIA = 1e-6;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("projeção: fórmula fechada igual à simulação mês a mês", ProjecaoRendimentosTeste::formulaFechada);
+        executar("projeção: taxa zero só soma os aportes", ProjecaoRendimentosTeste::taxaZero);
+        executar("projeção: totais por mês batem com as contas", ProjecaoRendimentosTeste::totaisPorMes);
+        executar("projeção: aporte para a meta", ProjecaoRendimentosTeste::aporteParaMeta);
+        executar("projeção: parâmetros inválidos", ProjecaoRendimentosTeste::parametrosInvalidos);
+        executar("projeção: foto das poupanças do banco", ProjecaoRendimentosTeste::fotoDoBanco);
+    }
+
+    private static void formulaFechada() {
+        double[] saldos = {0.0, 1_000.0, 25_000.50, 7.77};
+        double[] aportes = {100.0, 0.0, 500.0, 12.34};
+        ProjecaoRendimentos projecao = new ProjecaoRendimentos(TAXA, numeros(saldos.length), saldos, aportes);
+
+        for (int meses : new int[] {0, 1, 12, 120, 360}) {
+            double[] projetados = projecao.projetarSaldos(meses);
+            for (int i = 0; i < saldos.length; i++) {
+                double simulado = simular(saldos[i], aportes[i], TAXA, meses);
+                verificarProximo(simulado, projetados[i], "conta " + i + " em " + meses + " meses");
+            }
+        }
+    }
+
+    private static void taxaZero() {
+        double[] saldos = {100.0, 200.0};
+        double[] aportes = {10.0, 0.0};
+        ProjecaoRendimentos projecao = new ProjecaoRendimentos(0.0, numeros(2), saldos, aportes);
+
+        verificarIgual(12.0, ProjecaoRendimentos.fatorAportes(0.0, 12), "fator de aportes sem taxa");
+        verificar(Arrays.equals(new double[] {220.0, 200.0}, projecao.projetarSaldos(12)), "saldos");
+        verificarProximo(0.0, projecao.projetarRendimento(12), "sem rendimento");
+    }
+
+    private static void totaisPorMes() {
+        double[] saldos = {1_000.0, 3_000.0, 50.0};
+        double[] aportes = {50.0, 0.0, 10.0};
+        ProjecaoRendimentos projecao = new ProjecaoRendimentos(TAXA, numeros(3), saldos, aportes);
+
+        double[] totais = projecao.projetarTotaisPorMes(24);
+        verificarIgual(25, totais.length, "hoje mais 24 meses");
+        verificarProximo(projecao.getTotalSaldos(), totais[0], "posição 0 é hoje");
+        for (int m = 0; m <= 24; m++) {
+            double soma = 0.0;
+            for (double projetado : projecao.projetarSaldos(m)) {
+                soma += projetado;
+            }
+            verificarProximo(soma, totais[m], "total do mês " + m);
+            verificarProximo(soma, projecao.projetarTotal(m), "projetarTotal no mês " + m);
+        }
+
+        // Rendimento = total - saldos - aportes feitos
+        verificarProximo(totais[24] - 4_050.0 - 60.0 * 24, projecao.projetarRendimento(24), "rendimento");
+    }
+
+    private static void aporteParaMeta() {
+        double aporte = ProjecaoRendimentos.aporteParaMeta(1_000.0, 10_000.0, TAXA, 60);
+        verificarProximo(10_000.0, simular(1_000.0, aporte, TAXA, 60), "meta alcançada");
+        verificarIgual(0.0, ProjecaoRendimentos.aporteParaMeta(10_000.0, 10_000.0, TAXA, 1),
+            "rendimento sozinho basta");
+    }
+
+    private static void parametrosInvalidos() {
+        verificarLanca(IllegalArgumentException.class,
+            () -> new ProjecaoRendimentos(-0.01, numeros(1), new double[1], null), "taxa negativa");
+        verificarLanca(IllegalArgumentException.class,
+            () -> new ProjecaoRendimentos(TAXA, numeros(2), new double[1], null), "tamanhos diferentes");
+        ProjecaoRendimentos projecao = new ProjecaoRendimentos(TAXA, numeros(1), new double[1], null);
+        verificarLanca(IllegalArgumentException.class, () -> projecao.projetarSaldos(-1), "prazo negativo");
+        verificarLanca(IllegalArgumentException.class,
+            () -> ProjecaoRendimentos.aporteParaMeta(0.0, 1.0, TAXA, 0), "prazo zero para a meta");
+    }
+
+    private static void fotoDoBanco() {
+        Banco banco = new Banco("Teste projeção");
+        ContaPoupanca a = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+        ContaPoupanca b = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 2));
+        banco.criarContaCorrente(Verificacoes.novoCliente(banco, 3)).depositar(new BigDecimal("999.00"));
+        a.depositar(new BigDecimal("1000.00"));
+        b.depositar(new BigDecimal("500.00"));
+
+        ProjecaoRendimentos projecao = ProjecaoRendimentos.dasPoupancas(banco);
+        verificarIgual(2, projecao.getQuantidadeContas(), "só as poupanças");
+        verificarIgual(a.getTaxaRendimento(), projecao.getTaxaMensal(), "taxa da poupança");
+        verificarProximo(1_500.0, projecao.getTotalSaldos(), "saldos");
+        verificarProximo(1_500.0 * Math.pow(1.0 + a.getTaxaRendimento(), 12), projecao.projetarTotal(12),
+            "total em um ano");
+    }
+
+    // ================= APOIO =================
+
+    // Mês a mês: rende sobre o saldo e recebe o aporte no fim do mês
+    private static double simular(double saldo, double aporte, double taxa, int meses) {
+        for (int m = 0; m < meses; m++) {
+            saldo = saldo * (1.0 + taxa) + aporte;
+        }
+        return saldo;
+    }
+
+    private static int[] numeros(int quantidade) {
+        int[] numeros = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            numeros[i] = 1001 + i;
+        }
+        return numeros;
+    }
+
+    private static void verificarProximo(double esperado, double obtido, String mensagem) {
+        double erro = Math.abs(esperado - obtido) / Math.max(1.0, Math.abs(esperado));
+        verificar(erro < TOLERANCIA, mensagem + " (esperado " + esperado + ", obtido " + obtido + ")");
+    }
+}
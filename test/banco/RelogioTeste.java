@@ -0,0 +1,100 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testes do relógio
+ * -----------------------------------------------------
+ * O relógio grosso (sobre uma fonte de milissegundos controlada) vira o mês
+ * e acompanha o horário de verão no milissegundo certo, mesmo com o fuso
+ * guardado entre leituras; o simulado só anda quando mandam.
+ */
+public final class RelogioTeste {
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final ZoneId NOVA_YORK = ZoneId.of("America/New_York");
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("relógio grosso: vira o mês no milissegundo certo", RelogioTeste::viradaDoMes);
+        executar("relógio grosso: resolução trunca e reaproveita a leitura", RelogioTeste::resolucao);
+        executar("relógio grosso: acompanha o horário de verão", RelogioTeste::horarioDeVerao);
+        executar("relógio simulado: só anda quando mandam", RelogioTeste::simulado);
+    }
+
+    private static void viradaDoMes() {
+        AtomicLong fonte = new AtomicLong(millis(LocalDateTime.of(2024, 1, 31, 23, 59, 59, 999_000_000), SAO_PAULO));
+        Relogio relogio = Relogio.grosso(SAO_PAULO, 1, fonte::get);
+
+        verificarIgual(LocalDateTime.of(2024, 1, 31, 23, 59, 59, 999_000_000), relogio.agora(), "último instante");
+        verificarIgual(2024 * 12, MesCorrente.de(relogio.hoje()), "ainda janeiro");
+
+        fonte.incrementAndGet();
+        verificarIgual(LocalDateTime.of(2024, 2, 1, 0, 0), relogio.agora(), "meia-noite");
+        verificarIgual(2024 * 12 + 1, MesCorrente.de(relogio.hoje()), "já fevereiro");
+
+        // Virada de ano com um intervalo longo entre leituras
+        fonte.set(millis(LocalDateTime.of(2025, 1, 1, 0, 0), SAO_PAULO) - 1);
+        verificarIgual(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_000_000), relogio.agora(), "fim do ano");
+        fonte.incrementAndGet();
+        verificarIgual(LocalDateTime.of(2025, 1, 1, 0, 0), relogio.agora(), "ano novo");
+    }
+
+    private static void resolucao() {
+        AtomicLong fonte = new AtomicLong(millis(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 500_000_000), SAO_PAULO));
+        Relogio relogio = Relogio.grosso(SAO_PAULO, 1_000, fonte::get);
+
+        LocalDateTime primeira = relogio.agora();
+        verificarIgual(LocalDateTime.of(2024, 2, 29, 23, 59, 59), primeira, "truncado ao segundo");
+        fonte.addAndGet(499);
+        verificar(primeira == relogio.agora(), "mesma leitura dentro da resolução");
+        verificarIgual(fonte.get(), relogio.millis(), "millis sem arredondar");
+
+        fonte.incrementAndGet();
+        verificarIgual(LocalDateTime.of(2024, 3, 1, 0, 0), relogio.agora(), "março no segundo seguinte");
+        verificarLanca(IllegalArgumentException.class,
+            () -> Relogio.grosso(SAO_PAULO, 0, fonte::get), "resolução zero");
+    }
+
+    private static void horarioDeVerao() {
+        // 10/03/2024: às 2h os relógios de Nova York pulam para as 3h
+        AtomicLong fonte = new AtomicLong(millis(LocalDateTime.of(2024, 3, 10, 1, 59, 59, 999_000_000), NOVA_YORK));
+        Relogio relogio = Relogio.grosso(NOVA_YORK, 1, fonte::get);
+        relogio.agora();
+        fonte.incrementAndGet();
+        verificarIgual(LocalDateTime.of(2024, 3, 10, 3, 0), relogio.agora(), "início do horário de verão");
+
+        // 03/11/2024: às 2h (horário de verão) voltam para 1h
+        fonte.set(millis(LocalDateTime.of(2024, 11, 3, 1, 59, 59, 999_000_000), NOVA_YORK));
+        verificarIgual(LocalDateTime.of(2024, 11, 3, 1, 59, 59, 999_000_000), relogio.agora(), "antes do fim");
+        fonte.incrementAndGet();
+        verificarIgual(LocalDateTime.of(2024, 11, 3, 1, 0), relogio.agora(), "fim do horário de verão");
+    }
+
+    private static void simulado() {
+        Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 1, 31, 12, 0));
+        LocalDateTime inicio = relogio.agora();
+        verificarIgual(inicio, relogio.agora(), "parado");
+
+        relogio.avancar(Duration.ofHours(12));
+        verificarIgual(LocalDateTime.of(2024, 2, 1, 0, 0), relogio.agora(), "avançou");
+        relogio.ajustar(LocalDateTime.of(2023, 12, 1, 8, 0));
+        verificarIgual(LocalDateTime.of(2023, 12, 1, 8, 0), relogio.agora(), "ajustado para trás");
+        verificarLanca(IllegalArgumentException.class, () -> Relogio.definir(null), "relógio nulo");
+    }
+
+    private static long millis(LocalDateTime dataHora, ZoneId zona) {
+        return dataHora.atZone(zona).toInstant().toEpochMilli();
+    }
+}
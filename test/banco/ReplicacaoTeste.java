@@ -0,0 +1,160 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import interfaces.IConta;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Testes da replicação por envio do diário
+ * -----------------------------------------------------
+ * Primário e réplica em sockets locais: a réplica nova recebe a foto e
+ * alcança o primário; ao reconectar continua pelo diário sem foto nova; se
+ * ficou para trás do que o diário guarda, recebe outra foto.
+ */
+public final class ReplicacaoTeste {
+    private static final long PRAZO_MILLIS = 15_000;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("replicação: réplica nova alcança o primário", ReplicacaoTeste::alcanca);
+        executar("replicação: reconexão continua pelo diário", ReplicacaoTeste::continuaPeloDiario);
+        executar("replicação: atrasada além do diário recebe outra foto", ReplicacaoTeste::fotoNova);
+    }
+
+    private static void alcanca() throws Exception {
+        Banco banco = new Banco("Teste replicação");
+        List<ContaCorrente> contas = contas(banco, 3);
+        movimentar(contas, 5);
+
+        comReplicacao(banco, 65_536, replica -> {
+            aguardarIgual(banco, replica);
+            verificarIgual(1L, replica.getFotosRecebidas(), "uma foto ao conectar");
+            verificarIgual(3, replica.getTotalContas(), "contas");
+            verificarIgual(3, replica.getTotalClientes(), "clientes");
+
+            // Registros depois da foto chegam um a um
+            movimentar(contas, 5);
+            aguardarIgual(banco, replica);
+            verificarIgual(1L, replica.getFotosRecebidas(), "sem foto nova");
+
+            ContaCorrente conta = contas.get(0);
+            List<Transacao> historico = conta.getHistoricoCompleto();
+            List<Transacao> extrato = replica.getExtrato(conta.getNumero(), 4);
+            verificarIgual(historico.subList(historico.size() - 4, historico.size()), extrato, "extrato da réplica");
+        });
+    }
+
+    private static void continuaPeloDiario() throws Exception {
+        Banco banco = new Banco("Teste replicação");
+        List<ContaCorrente> contas = contas(banco, 2);
+
+        comReplicacao(banco, 65_536, replica -> {
+            aguardarIgual(banco, replica);
+            long aplicada = replica.getUltimaAplicada();
+
+            replica.parar();
+            movimentar(contas, 20);
+            replica.iniciar();
+
+            aguardarIgual(banco, replica);
+            verificarIgual(1L, replica.getFotosRecebidas(), "reconectou sem foto");
+            verificar(replica.getUltimaAplicada() > aplicada, "aplicou os registros do diário");
+        });
+    }
+
+    private static void fotoNova() throws Exception {
+        Banco banco = new Banco("Teste replicação");
+        List<ContaCorrente> contas = contas(banco, 2);
+
+        // Diário de 8 registros: 20 rodadas de movimentação não cabem nele
+        comReplicacao(banco, 8, replica -> {
+            aguardarIgual(banco, replica);
+            long fotos = replica.getFotosRecebidas();
+
+            replica.parar();
+            movimentar(contas, 20);
+            replica.iniciar();
+
+            aguardarIgual(banco, replica);
+            verificar(replica.getFotosRecebidas() > fotos, "foto nova ao reconectar");
+        });
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComReplica {
+        void executar(ReplicaBanco replica) throws Exception;
+    }
+
+    private static void comReplicacao(Banco banco, int capacidadeDiario, CasoComReplica caso) throws Exception {
+        ReplicadorPrimario replicador = new ReplicadorPrimario(banco, 0, capacidadeDiario);
+        replicador.iniciar();
+        ReplicaBanco replica = new ReplicaBanco("127.0.0.1", replicador.getPorta());
+        try {
+            replica.iniciar();
+            caso.executar(replica);
+        } finally {
+            replica.parar();
+            replicador.parar();
+        }
+    }
+
+    private static List<ContaCorrente> contas(Banco banco, int quantidade) {
+        List<ContaCorrente> contas = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, i));
+            conta.depositar(new BigDecimal("1000.00"));
+            contas.add(conta);
+        }
+        return contas;
+    }
+
+    // Cada rodada: um depósito e uma transferência para a conta seguinte (com tarifa)
+    private static void movimentar(List<ContaCorrente> contas, int rodadas) {
+        for (int r = 0; r < rodadas; r++) {
+            for (int i = 0; i < contas.size(); i++) {
+                contas.get(i).depositar(BigDecimal.valueOf(r + 1));
+                contas.get(i).transferir(BigDecimal.ONE, contas.get((i + 1) % contas.size()));
+            }
+        }
+    }
+
+    // O diário é copiado do barramento em segundo plano: espera saldos e contagens baterem
+    private static void aguardarIgual(Banco banco, ReplicaBanco replica) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PRAZO_MILLIS);
+        String diferenca;
+        while ((diferenca = diferenca(banco, replica)) != null) {
+            verificar(System.nanoTime() - limite < 0, "réplica não alcançou o primário: " + diferenca
+                + " | " + replica.getStatus());
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+    }
+
+    private static String diferenca(Banco banco, ReplicaBanco replica) {
+        if (replica.getTotalContas() != banco.getContas().size()) {
+            return "contas: " + replica.getTotalContas();
+        }
+        for (IConta conta : banco.getContas()) {
+            try {
+                if (replica.getSaldo(conta.getNumero()).compareTo(conta.getSaldo()) != 0
+                        || replica.getTotalTransacoes(conta.getNumero()) != conta.getTotalTransacoes()) {
+                    return "conta " + conta.getNumero();
+                }
+            } catch (RuntimeException e) {
+                return "conta " + conta.getNumero() + " ainda ausente";
+            }
+        }
+        return null;
+    }
+}
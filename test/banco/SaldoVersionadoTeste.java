@@ -0,0 +1,99 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes do saldo versionado
+ * -----------------------------------------------------
+ * Cada alteração publica uma versão nova; um lote vira uma única versão; e
+ * quem lê sem trava sempre vê saldo e versão do mesmo instante, com a versão
+ * só avançando.
+ */
+public final class SaldoVersionadoTeste {
+    private static final long PRAZO_MILLIS = 30_000;
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("saldo versionado: cada alteração avança a versão", SaldoVersionadoTeste::versaoPorAlteracao);
+        executar("saldo versionado: leitura sem trava é consistente", SaldoVersionadoTeste::leituraConsistente);
+    }
+
+    private static void versaoPorAlteracao() {
+        Banco banco = new Banco("Teste saldo");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+        verificarIgual(0L, conta.getSaldoVersionado().getVersao(), "versão inicial");
+
+        conta.depositar(new BigDecimal("100.00"));
+        conta.sacar(new BigDecimal("40.00"));
+        SaldoVersionado depois = conta.getSaldoVersionado();
+        verificarIgual(2L, depois.getVersao(), "depósito e saque");
+        verificarIgual(0, new BigDecimal("60.00").compareTo(depois.getSaldo()), "saldo");
+
+        // O lote aplica a variação líquida de uma vez
+        conta.executarLote(List.of(
+            OperacaoLote.deposito(BigDecimal.TEN),
+            OperacaoLote.saque(BigDecimal.ONE),
+            OperacaoLote.saque(BigDecimal.ONE)), true);
+        verificarIgual(3L, conta.getSaldoVersionado().getVersao(), "lote em uma versão");
+        verificar(depois.getVersao() == 2L, "instância publicada não muda");
+    }
+
+    private static void leituraConsistente() throws InterruptedException {
+        Banco banco = new Banco("Teste saldo");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+        BigDecimal inicial = new BigDecimal("100000.00");
+        conta.depositar(inicial);
+        long versaoInicial = conta.getSaldoVersionado().getVersao();
+
+        int threads = 4;
+        int saquesPorThread = 2_000;
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        Thread[] sacadores = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            sacadores[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < saquesPorThread; i++) {
+                        conta.sacar(BigDecimal.ONE);
+                    }
+                } catch (Throwable e) {
+                    erro.compareAndSet(null, e);
+                }
+            });
+            sacadores[t].start();
+        }
+
+        // Cada versão nova é exatamente um saque de 1,00 a menos
+        long ultima = versaoInicial;
+        boolean vivos = true;
+        while (vivos) {
+            SaldoVersionado lido = conta.getSaldoVersionado();
+            verificar(lido.getVersao() >= ultima, "versão voltou de " + ultima + " para " + lido.getVersao());
+            BigDecimal esperado = inicial.subtract(BigDecimal.valueOf(lido.getVersao() - versaoInicial));
+            verificarIgual(0, esperado.compareTo(lido.getSaldo()), "saldo da versão " + lido.getVersao());
+            ultima = lido.getVersao();
+
+            vivos = false;
+            for (Thread sacador : sacadores) {
+                vivos |= sacador.isAlive();
+            }
+        }
+        for (Thread sacador : sacadores) {
+            sacador.join(PRAZO_MILLIS);
+        }
+
+        verificar(erro.get() == null, "erro nos saques: " + erro.get());
+        verificarIgual(versaoInicial + threads * saquesPorThread, conta.getSaldoVersionado().getVersao(),
+            "uma versão por saque");
+        verificarIgual(0, new BigDecimal("92000.00").compareTo(conta.getSaldo()), "saldo final");
+    }
+}
@@ -0,0 +1,157 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Testes do arquivamento do histórico
+ * -----------------------------------------------------
+ * O segmento GZIP devolve exatamente o que foi gravado, nunca sobrescreve
+ * nem deixa arquivo pela metade; a compactação por idade tira só as
+ * transações velhas e o resumo continua contando o que saiu da memória.
+ */
+public final class SegmentoHistoricoTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("segmento: gravar e ler devolve as mesmas transações", SegmentoHistoricoTeste::idaEVolta);
+        executar("segmento: não sobrescreve e recusa arquivo inválido", SegmentoHistoricoTeste::protecoes);
+        executar("compactação: por idade arquiva só as antigas", SegmentoHistoricoTeste::porIdade);
+    }
+
+    private static void idaEVolta() throws IOException {
+        comDiretorio(diretorio -> {
+            LocalDateTime momento = LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_456_789);
+            List<Transacao> transacoes = List.of(
+                Transacao.restaurar(10, TipoTransacao.DEPOSITO, new BigDecimal("100.00"), momento,
+                    "Depósito realizado", "1001", null),
+                Transacao.restaurar(11, TipoTransacao.TRANSFERENCIA, new BigDecimal("12345678901234.56"),
+                    momento.plusSeconds(1), "Transferência para Conta 1002 — ção", "1001", "1002"),
+                Transacao.restaurar(15, TipoTransacao.TAXA, new BigDecimal("0.5"), momento.plusDays(1),
+                    null, "1001", null));
+
+            SegmentoHistorico segmento = SegmentoHistorico.gravar(diretorio, 1001, transacoes);
+            verificarIgual(10L, segmento.getMenorSequencia(), "menor sequência");
+            verificarIgual(15L, segmento.getMaiorSequencia(), "maior sequência");
+            verificarIgual(3, segmento.getQuantidade(), "quantidade");
+
+            List<Transacao> lidas = segmento.ler();
+            verificarIgual(transacoes, lidas, "mesmos campos");
+            for (int i = 0; i < transacoes.size(); i++) {
+                verificarIgual(transacoes.get(i).getSequencia(), lidas.get(i).getSequencia(), "sequência " + i);
+                verificarIgual(transacoes.get(i).getValor().scale(), lidas.get(i).getValor().scale(), "escala " + i);
+            }
+
+            // GZIP de verdade e nenhum temporário sobrando
+            try (InputStream entrada = Files.newInputStream(segmento.getArquivo())) {
+                verificarIgual(0x1f, entrada.read(), "primeiro byte GZIP");
+                verificarIgual(0x8b, entrada.read(), "segundo byte GZIP");
+            }
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                verificarIgual(1L, arquivos.count(), "só o segmento no diretório");
+            }
+        });
+    }
+
+    private static void protecoes() throws IOException {
+        comDiretorio(diretorio -> {
+            List<Transacao> transacoes = List.of(Transacao.restaurar(7, TipoTransacao.SAQUE, BigDecimal.ONE,
+                LocalDateTime.of(2024, 1, 1, 0, 0), "Saque realizado", "1001", null));
+            SegmentoHistorico.gravar(diretorio, 1001, transacoes);
+
+            verificarLanca(FileAlreadyExistsException.class,
+                () -> SegmentoHistorico.gravar(diretorio, 1001, transacoes), "mesma faixa de novo");
+            verificarLanca(IllegalArgumentException.class,
+                () -> SegmentoHistorico.gravar(diretorio, 1001, List.of()), "segmento vazio");
+
+            // Um GZIP qualquer com o mesmo tamanho de cabeçalho não é aceito
+            Path estranho = diretorio.resolve("estranho.hist.gz");
+            try (GZIPOutputStream saida = new GZIPOutputStream(Files.newOutputStream(estranho))) {
+                saida.write(new byte[12]);
+            }
+            SegmentoHistorico segmento = SegmentoHistorico.gravar(diretorio, 1002, transacoes);
+            Files.copy(estranho, segmento.getArquivo(), StandardCopyOption.REPLACE_EXISTING);
+            verificarLanca(IOException.class, segmento::ler, "marca inválida");
+        });
+    }
+
+    private static void porIdade() throws IOException {
+        Relogio anterior = Relogio.atual();
+        Relogio.Simulado relogio = Relogio.simulado(LocalDateTime.of(2024, 3, 1, 10, 0));
+        Relogio.definir(relogio);
+        try {
+            comDiretorio(diretorio -> {
+                Banco banco = new Banco("Teste arquivo");
+                ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+                conta.depositar(new BigDecimal("100.00"));
+                conta.depositar(new BigDecimal("50.00"));
+                conta.sacar(new BigDecimal("30.00"));
+                relogio.avancar(Duration.ofDays(10));
+                conta.depositar(new BigDecimal("5.00"));
+                List<Transacao> antes = conta.getHistoricoCompleto();
+                BigDecimal saldo = conta.getSaldo();
+
+                CompactadorHistorico compactador = new CompactadorHistorico(diretorio, Duration.ofDays(7), 100);
+                verificarIgual(3, compactador.compactar(conta), "três transações velhas");
+                verificarIgual(0, compactador.compactar(conta), "nada mais a arquivar");
+
+                ResumoHistorico resumo = conta.getResumoHistorico();
+                verificarIgual(3L, resumo.getQuantidade(), "quantidade no resumo");
+                verificarIgual(2L, resumo.getQuantidade(TipoTransacao.DEPOSITO), "depósitos arquivados");
+                verificarIgual(0, new BigDecimal("150.00").compareTo(resumo.getTotal(TipoTransacao.DEPOSITO)),
+                    "total depositado arquivado");
+                verificarIgual(0, new BigDecimal("30.00").compareTo(resumo.getTotal(TipoTransacao.SAQUE)),
+                    "total sacado arquivado");
+                verificarIgual(LocalDateTime.of(2024, 3, 1, 10, 0), resumo.getPrimeiraData(), "primeira data");
+
+                verificarIgual(1, conta.getHistorico().size(), "só a recente em memória");
+                verificarIgual(antes, conta.getHistoricoCompleto(), "histórico completo igual ao de antes");
+                verificarIgual(0, saldo.compareTo(conta.getSaldo()), "saldo intacto");
+            });
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComDiretorio {
+        void executar(Path diretorio) throws IOException;
+    }
+
+    private static void comDiretorio(CasoComDiretorio caso) throws IOException {
+        Path diretorio = Files.createTempDirectory("segmentos");
+        try {
+            caso.executar(diretorio);
+        } finally {
+            List<Path> caminhos = new ArrayList<>();
+            try (Stream<Path> todos = Files.walk(diretorio)) {
+                todos.sorted(Comparator.reverseOrder()).forEach(caminhos::add);
+            }
+            for (Path caminho : caminhos) {
+                Files.delete(caminho);
+            }
+        }
+    }
+}
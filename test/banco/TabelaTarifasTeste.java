@@ -0,0 +1,142 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Testes da tabela de tarifas
+ * -----------------------------------------------------
+ * Tabela padrão, escolha da regra mais específica, arquivo inválido sem
+ * trocar a tabela, recarga quando o arquivo muda e cobrança na conta a
+ * partir da faixa de quantidade no mês.
+ */
+public final class TabelaTarifasTeste {
+    private static final String CORRENTE = "Conta Corrente";
+    private static final String POUPANCA = "Conta Poupança";
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("tarifas: tabela padrão", TabelaTarifasTeste::padrao);
+        executar("tarifas: vale a regra mais específica", TabelaTarifasTeste::maisEspecifica);
+        executar("tarifas: arquivo inválido mantém a tabela atual", TabelaTarifasTeste::arquivoInvalido);
+        executar("tarifas: recarrega só quando o arquivo muda", TabelaTarifasTeste::recarga);
+        executar("tarifas: conta cobra a partir do quinto saque no mês", TabelaTarifasTeste::faixaNaConta);
+    }
+
+    private static void padrao() {
+        TabelaTarifas.restaurarPadrao();
+        TabelaTarifas tabela = TabelaTarifas.getAtual();
+        verificarIgual(new BigDecimal("0.50"), tabela.calcular(CORRENTE, OperacaoTarifada.SAQUE, BigDecimal.TEN, 0),
+            "saque na corrente");
+        verificarIgual(new BigDecimal("0.50"),
+            tabela.calcular(CORRENTE, OperacaoTarifada.TRANSFERENCIA, BigDecimal.TEN, 9), "transferência na corrente");
+        verificarIgual(BigDecimal.ZERO, tabela.calcular(POUPANCA, OperacaoTarifada.SAQUE, BigDecimal.TEN, 0),
+            "poupança sem tarifa");
+        verificarIgual(BigDecimal.ZERO,
+            tabela.calcular(CORRENTE, OperacaoTarifada.MANUTENCAO_MENSAL, null, 0), "sem regra de manutenção");
+    }
+
+    private static void maisEspecifica() throws Exception {
+        comArquivo(List.of(
+            "# regras fora de ordem de propósito",
+            "Conta Corrente ; SAQUE ; 1000 ; 4 ; 2.00",
+            "Conta Corrente ; SAQUE ; 0 ; 0 ; 0.00",
+            "Conta Corrente ; saque ; 1000 ; 0 ; 1.00",
+            "",
+            "Conta Corrente ; SAQUE ; 0 ; 4 ; 0.50"), arquivo -> {
+                TabelaTarifas tabela = TabelaTarifas.getAtual();
+                verificarIgual(new BigDecimal("0.00"), calcular(tabela, "100", 0), "pequeno, no início do mês");
+                verificarIgual(new BigDecimal("0.50"), calcular(tabela, "100", 4), "pequeno, a partir do 5º");
+                verificarIgual(new BigDecimal("1.00"), calcular(tabela, "2000", 0), "grande, no início do mês");
+                verificarIgual(new BigDecimal("2.00"), calcular(tabela, "2000", 5), "grande, a partir do 5º");
+                verificarIgual(BigDecimal.ZERO,
+                    tabela.calcular(CORRENTE, OperacaoTarifada.TRANSFERENCIA, BigDecimal.TEN, 0),
+                    "operação sem regra no arquivo");
+            });
+    }
+
+    private static void arquivoInvalido() throws Exception {
+        comArquivo(List.of("Conta Corrente ; SAQUE ; 0 ; 0 ; 1.00"), arquivo -> {
+            TabelaTarifas carregada = TabelaTarifas.getAtual();
+            for (List<String> linhas : List.of(
+                    List.of("Conta Corrente ; SAQUE ; 0 ; 0"),
+                    List.of("Conta Corrente ; PIX ; 0 ; 0 ; 1.00"),
+                    List.of("Conta Corrente ; SAQUE ; 0 ; 0 ; -1.00"))) {
+                Files.write(arquivo, linhas, StandardCharsets.UTF_8);
+                verificarLanca(IllegalArgumentException.class,
+                    () -> TabelaTarifas.carregarArquivo(arquivo), "linha inválida: " + linhas);
+                verificar(carregada == TabelaTarifas.getAtual(), "tabela trocada por " + linhas);
+            }
+        });
+    }
+
+    private static void recarga() throws Exception {
+        comArquivo(List.of("Conta Corrente ; SAQUE ; 0 ; 0 ; 1.00"), arquivo -> {
+            verificar(!TabelaTarifas.recarregarSeAlterado(), "arquivo não mudou");
+
+            Files.write(arquivo, List.of("Conta Corrente ; SAQUE ; 0 ; 0 ; 3.00"), StandardCharsets.UTF_8);
+            // A data de modificação pode não andar num intervalo tão curto
+            Files.setLastModifiedTime(arquivo,
+                FileTime.fromMillis(Files.getLastModifiedTime(arquivo).toMillis() + 2_000));
+            verificar(TabelaTarifas.recarregarSeAlterado(), "arquivo mudou");
+            verificarIgual(new BigDecimal("3.00"), calcular(TabelaTarifas.getAtual(), "10", 0), "regra nova");
+        });
+        verificar(!TabelaTarifas.recarregarSeAlterado(), "tabela padrão não tem arquivo");
+    }
+
+    private static void faixaNaConta() throws Exception {
+        Relogio anterior = Relogio.atual();
+        Relogio.definir(Relogio.simulado(LocalDateTime.of(2024, 3, 10, 10, 0)));
+        try {
+            comArquivo(List.of("Conta Corrente ; SAQUE ; 0 ; 4 ; 0.50"), arquivo -> {
+                Banco banco = new Banco("Teste tarifas");
+                ContaCorrente conta = banco.criarContaCorrente(Verificacoes.novoCliente(banco, 1));
+                conta.depositar(new BigDecimal("100.00"));
+                for (int i = 0; i < 6; i++) {
+                    conta.sacar(BigDecimal.ONE);
+                }
+                verificarIgual(0, new BigDecimal("1.00").compareTo(Verificacoes.tarifasPagas(conta)),
+                    "tarifa só no 5º e no 6º saque");
+                verificarIgual(0, new BigDecimal("93.00").compareTo(conta.getSaldo()), "saldo");
+            });
+        } finally {
+            Relogio.definir(anterior);
+        }
+    }
+
+    // ================= APOIO =================
+
+    private interface CasoComArquivo {
+        void executar(Path arquivo) throws Exception;
+    }
+
+    private static void comArquivo(List<String> linhas, CasoComArquivo caso) throws Exception {
+        Path arquivo = Files.createTempFile("tarifas", ".txt");
+        try {
+            Files.write(arquivo, linhas, StandardCharsets.UTF_8);
+            TabelaTarifas.carregarArquivo(arquivo);
+            caso.executar(arquivo);
+        } finally {
+            TabelaTarifas.restaurarPadrao();
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private static BigDecimal calcular(TabelaTarifas tabela, String valor, int operacoesNoMes) {
+        return tabela.calcular(CORRENTE, OperacaoTarifada.SAQUE, new BigDecimal(valor), operacoesNoMes);
+    }
+}
@@ -0,0 +1,86 @@
+package banco;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificarIgual;
+import static banco.Verificacoes.verificarLanca;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes do anel de transações recentes
+ * -----------------------------------------------------
+ * Antes e depois de dar a volta no array, o anel devolve as últimas N na
+ * ordem de registro; a conta serve a mesma visão do fim do histórico.
+ */
+public final class TransacoesRecentesTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("recentes: capacidade inválida", TransacoesRecentesTeste::capacidadeInvalida);
+        executar("recentes: últimas em ordem antes e depois da volta", TransacoesRecentesTeste::volta);
+        executar("recentes: conta mostra o fim do histórico", TransacoesRecentesTeste::naConta);
+    }
+
+    private static void capacidadeInvalida() {
+        verificarLanca(IllegalArgumentException.class, () -> new TransacoesRecentes(0), "zero");
+        verificarLanca(IllegalArgumentException.class, () -> new TransacoesRecentes(12), "não é potência de 2");
+    }
+
+    private static void volta() {
+        TransacoesRecentes recentes = new TransacoesRecentes(4);
+        verificarIgual(List.of(), visitar(recentes, 4), "vazio");
+
+        List<Transacao> registradas = new ArrayList<>();
+        for (int i = 1; i <= 11; i++) {
+            Transacao transacao = transacao(i);
+            registradas.add(transacao);
+            recentes.adicionar(transacao);
+
+            // A cada passo: as últimas min(n, registradas, capacidade), da mais antiga para a mais nova
+            for (int n = 1; n <= 6; n++) {
+                int esperadas = Math.min(Math.min(n, i), 4);
+                verificarIgual(registradas.subList(i - esperadas, i), visitar(recentes, n),
+                    "últimas " + n + " depois de " + i);
+            }
+        }
+    }
+
+    private static void naConta() {
+        Banco banco = new Banco("Teste recentes");
+        ContaPoupanca conta = banco.criarContaPoupanca(Verificacoes.novoCliente(banco, 1));
+        for (int i = 1; i <= 40; i++) {
+            conta.depositar(BigDecimal.valueOf(i));
+        }
+        conta.executarLote(List.of(OperacaoLote.saque(BigDecimal.ONE), OperacaoLote.saque(BigDecimal.TEN)), true);
+
+        List<Transacao> historico = conta.getHistoricoCompleto();
+        List<Transacao> visitadas = new ArrayList<>();
+        conta.visitarTransacoesRecentes(10, visitadas::add);
+        verificarIgual(historico.subList(historico.size() - 10, historico.size()), visitadas, "fim do histórico");
+
+        verificarLanca(IllegalArgumentException.class,
+            () -> conta.visitarTransacoesRecentes(0, visitadas::add), "quantidade zero");
+        verificarLanca(IllegalArgumentException.class,
+            () -> conta.visitarTransacoesRecentes(17, visitadas::add), "acima da capacidade");
+    }
+
+    // ================= APOIO =================
+
+    private static List<Transacao> visitar(TransacoesRecentes recentes, int quantidade) {
+        List<Transacao> visitadas = new ArrayList<>();
+        recentes.visitar(quantidade, visitadas::add);
+        return visitadas;
+    }
+
+    private static Transacao transacao(int numero) {
+        return Transacao.restaurar(numero, TipoTransacao.DEPOSITO, BigDecimal.valueOf(numero),
+            LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(numero), "Depósito " + numero, "1001", null);
+    }
+}
@@ -0,0 +1,139 @@
+package banco;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Apoio dos testes do YLLOCIN Bank
+ * -----------------------------------------------------
+ * O projeto não usa framework de testes: cada classe de teste é um main
+ * comum que executa seus casos por aqui. Um caso falha ao lançar qualquer
+ * exceção; o resultado vai para o console e o processo termina com código
+ * diferente de zero se algum caso falhou.
+ */
+public final class Verificacoes {
+    private static final PrintStream CONSOLE = System.out;
+
+    private static int executados;
+    private static int falhas;
+
+    private Verificacoes() {
+    }
+
+    public interface Caso {
+        void executar() throws Exception;
+    }
+
+    public static void executar(String nome, Caso caso) {
+        executados++;
+        // Os casos usam o banco de verdade, que escreve no console
+        silenciarConsole();
+        try {
+            caso.executar();
+            CONSOLE.println("✅ " + nome);
+        } catch (Throwable e) {
+            falhas++;
+            CONSOLE.println("❌ " + nome + ": " + e);
+        } finally {
+            System.setOut(CONSOLE);
+        }
+    }
+
+    public static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new AssertionError(mensagem);
+        }
+    }
+
+    public static void verificarIgual(Object esperado, Object obtido, String mensagem) {
+        if (esperado == null ? obtido != null : !esperado.equals(obtido)) {
+            throw new AssertionError(mensagem + " (esperado " + esperado + ", obtido " + obtido + ")");
+        }
+    }
+
+    public static void verificarLanca(Class<? extends Throwable> tipo, Caso caso, String mensagem) {
+        try {
+            caso.executar();
+        } catch (Throwable e) {
+            if (tipo.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(mensagem + " (lançou " + e + ")");
+        }
+        throw new AssertionError(mensagem + " (nada foi lançado)");
+    }
+
+    /**
+     * Resume a execução e encerra o processo (código 1 se houve falha)
+     */
+    public static void encerrar() {
+        CONSOLE.printf("%n📋 %d casos, %d falhas%n", executados, falhas);
+        System.exit(falhas == 0 ? 0 : 1);
+    }
+
+    public static void silenciarConsole() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    public static void restaurarConsole() {
+        System.setOut(CONSOLE);
+    }
+
+    // Cliente adulto com CPF válido gerado a partir do número, já cadastrado no banco
+    public static Cliente novoCliente(Banco banco, int numero) {
+        Cliente cliente = new Cliente("Cliente " + numero, cpf(numero), LocalDate.of(1990, 1, 1));
+        banco.adicionarCliente(cliente);
+        return cliente;
+    }
+
+    /**
+     * Saldos somados às tarifas já pagas: só muda se dinheiro for criado ou
+     * perdido (as contas correntes pagam tarifa por transferência)
+     */
+    public static BigDecimal dinheiro(List<? extends Conta> contas) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Conta conta : contas) {
+            total = total.add(conta.getSaldo()).add(tarifasPagas(conta));
+        }
+        return total;
+    }
+
+    public static BigDecimal tarifasPagas(Conta conta) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transacao transacao : conta.getHistoricoCompleto()) {
+            if (transacao.getTipo() == TipoTransacao.TAXA) {
+                total = total.add(transacao.getValor());
+            }
+        }
+        return total;
+    }
+
+    // CPF válido (dígitos verificadores calculados) a partir de um número de 1 a 99.999.999
+    public static String cpf(int numero) {
+        int[] digitos = new int[11];
+        String base = String.format("%09d", 100_000_000 + numero);
+        for (int i = 0; i < 9; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        StringBuilder sb = new StringBuilder(11);
+        for (int digito : digitos) {
+            sb.append(digito);
+        }
+        return sb.toString();
+    }
+
+    private static int digitoVerificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
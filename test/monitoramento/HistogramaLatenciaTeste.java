@@ -0,0 +1,105 @@
+package monitoramento;
+
+import static banco.Verificacoes.executar;
+import static banco.Verificacoes.verificar;
+import static banco.Verificacoes.verificarIgual;
+
+import banco.Verificacoes;
+
+/**
+ * Testes do histograma de latências
+ * -----------------------------------------------------
+ * Percentis dentro do erro relativo das sub-faixas (~6%), valores exatos
+ * abaixo de 16 ns e gravação concorrente sem perda de amostras.
+ */
+public final class HistogramaLatenciaTeste {
+
+    public static void main(String[] args) {
+        executarCasos();
+        Verificacoes.encerrar();
+    }
+
+    public static void executarCasos() {
+        executar("histograma: vazio devolve zero", HistogramaLatenciaTeste::vazio);
+        executar("histograma: valores pequenos são exatos", HistogramaLatenciaTeste::valoresPequenos);
+        executar("histograma: percentis dentro do erro relativo", HistogramaLatenciaTeste::percentis);
+        executar("histograma: média, máximo e zerar", HistogramaLatenciaTeste::mediaMaximoEZerar);
+        executar("histograma: gravação concorrente não perde amostras", HistogramaLatenciaTeste::concorrente);
+    }
+
+    private static void vazio() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        verificarIgual(0L, histograma.getTotal(), "total");
+        verificarIgual(0L, histograma.getPercentilNanos(0.99), "p99");
+        verificar(histograma.getMediaNanos() == 0.0, "média");
+    }
+
+    private static void valoresPequenos() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long nanos = 0; nanos < 16; nanos++) {
+            histograma.registrar(nanos);
+        }
+        for (int i = 1; i <= 16; i++) {
+            verificarIgual((long) (i - 1), histograma.getPercentilNanos(i / 16.0), "percentil " + i + "/16");
+        }
+
+        // Negativos (relógio voltando) contam como zero
+        histograma.registrar(-5);
+        verificarIgual(17L, histograma.getTotal(), "total com negativo");
+    }
+
+    private static void percentis() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        // 1 µs a 10 ms, uniforme
+        int amostras = 10_000;
+        for (int i = 1; i <= amostras; i++) {
+            histograma.registrar(i * 1_000L);
+        }
+
+        for (double fracao : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            long exato = (long) Math.ceil(fracao * amostras) * 1_000L;
+            long obtido = histograma.getPercentilNanos(fracao);
+            verificar(obtido >= exato, "p" + fracao + " abaixo do exato: " + obtido + " < " + exato);
+            verificar(obtido <= exato * 1.07, "p" + fracao + " fora do erro: " + obtido + " para " + exato);
+        }
+        verificarIgual(amostras * 1_000L, histograma.getPercentilNanos(1.0), "p100 é o máximo");
+    }
+
+    private static void mediaMaximoEZerar() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(100);
+        histograma.registrar(300);
+        histograma.registrar(5_000_000_000L);
+
+        verificarIgual(3L, histograma.getTotal(), "total");
+        verificarIgual(5_000_000_000L, histograma.getMaximoNanos(), "máximo");
+        verificar(Math.abs(histograma.getMediaNanos() - 5_000_000_400L / 3.0) < 1, "média");
+
+        histograma.zerar();
+        verificarIgual(0L, histograma.getTotal(), "total depois de zerar");
+        verificarIgual(0L, histograma.getMaximoNanos(), "máximo depois de zerar");
+        verificarIgual(0L, histograma.getPercentilNanos(0.5), "p50 depois de zerar");
+    }
+
+    private static void concorrente() throws InterruptedException {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        int threads = 4;
+        int porThread = 100_000;
+        Thread[] gravadores = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long base = (t + 1) * 1_000L;
+            gravadores[t] = new Thread(() -> {
+                for (int i = 0; i < porThread; i++) {
+                    histograma.registrar(base + i % 1_000);
+                }
+            });
+            gravadores[t].start();
+        }
+        for (Thread gravador : gravadores) {
+            gravador.join();
+        }
+
+        verificarIgual((long) threads * porThread, histograma.getTotal(), "total");
+        verificarIgual(threads * 1_000L + 999, histograma.getMaximoNanos(), "máximo");
+    }
+}